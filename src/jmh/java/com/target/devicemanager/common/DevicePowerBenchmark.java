@@ -0,0 +1,55 @@
+package com.target.devicemanager.common;
+
+import jpos.JposConst;
+import jpos.Scanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DevicePower looks up the power methods by reflection on every call, this runs on every health check and connect.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DevicePowerBenchmark {
+
+    private final DevicePower devicePower = new DevicePower();
+    private final PowerReportingScanner scanner = new PowerReportingScanner();
+
+    @Benchmark
+    public int getPowerState() {
+        return devicePower.getPowerState(scanner);
+    }
+
+    @Benchmark
+    public void enablePowerNotification() {
+        devicePower.enablePowerNotification(scanner);
+    }
+
+    /**
+     * A control that answers the power properties without an open service, so the benchmark measures the
+     * reflection and not the JavaPOS "not opened" exception.
+     */
+    public static class PowerReportingScanner extends Scanner {
+        @Override
+        public int getCapPowerReporting() {
+            return JposConst.JPOS_PR_STANDARD;
+        }
+
+        @Override
+        public int getPowerNotify() {
+            return JposConst.JPOS_PN_ENABLED;
+        }
+
+        @Override
+        public int getPowerState() {
+            return JposConst.JPOS_PS_ONLINE;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.target.devicemanager.common;
+
+import jpos.JposConst;
+import jpos.events.JposEvent;
+import jpos.events.StatusUpdateEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Round trip through the phaser that hands a JavaPOS event from the service thread to the waiting request thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventSynchronizerBenchmark {
+
+    private final JposEvent event = new StatusUpdateEvent(this, JposConst.JPOS_SUE_POWER_ONLINE);
+    private EventSynchronizer eventSynchronizer;
+    private Thread eventThread;
+    private volatile boolean running;
+    private volatile boolean eventRequested;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eventSynchronizer = new EventSynchronizer(new Phaser(1));
+        running = true;
+        //Plays the part of the JavaPOS service thread that fires the event
+        eventThread = new Thread(() -> {
+            while (running) {
+                if (eventRequested) {
+                    eventRequested = false;
+                    eventSynchronizer.triggerEvent(event);
+                } else {
+                    LockSupport.park();
+                }
+            }
+        }, "jmh-event-thread");
+        eventThread.setDaemon(true);
+        eventThread.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        running = false;
+        LockSupport.unpark(eventThread);
+    }
+
+    @Benchmark
+    public JposEvent sameThreadRoundTrip() {
+        eventSynchronizer.startEventSynchronizer();
+        eventSynchronizer.triggerEvent(event);
+        return eventSynchronizer.waitForEvent();
+    }
+
+    @Benchmark
+    public JposEvent crossThreadRoundTrip() {
+        eventSynchronizer.startEventSynchronizer();
+        eventRequested = true;
+        LockSupport.unpark(eventThread);
+        return eventSynchronizer.waitForEvent();
+    }
+}
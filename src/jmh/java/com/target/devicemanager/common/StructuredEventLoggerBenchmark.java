@@ -0,0 +1,54 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.LogField;
+import jpos.JposConst;
+import jpos.JposException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.helpers.NOPLogger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every device call logs several structured events, most of them below the enabled level. The payload is built and
+ * serialized before the level check, so this is paid on every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StructuredEventLoggerBenchmark {
+
+    private final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScannerServiceName(), "StructuredEventLoggerBenchmark", NOPLogger.NOP_LOGGER);
+    private final JposException jposException = new JposException(JposConst.JPOS_E_TIMEOUT);
+
+    @Benchmark
+    public void success() {
+        log.success("getData(in)", 1);
+    }
+
+    @Benchmark
+    public void failureWithJposException() {
+        log.failure("Failed to Handle Data", 17, jposException);
+    }
+
+    @Benchmark
+    public void successAPI() {
+        log.successAPI("response", 1, "/v1/scan", "{\"data\":\"012345678905\"}", 200);
+    }
+
+    @Benchmark
+    public String payloadToJson() {
+        return new LogPayloadBuilder()
+                .add(LogField.SERVICE_NAME, "scanner")
+                .add(LogField.COMPONENT, "ScannerManager")
+                .add(LogField.EVENT_ACTION, "getData")
+                .add(LogField.EVENT_OUTCOME, "success")
+                .add(LogField.EVENT_SEVERITY, 1)
+                .add(LogField.MESSAGE, "getData(in)")
+                .toJson();
+    }
+}
@@ -0,0 +1,74 @@
+package com.target.devicemanager.components.printer;
+
+import com.target.devicemanager.common.DeviceConnector;
+import com.target.devicemanager.common.DevicePower;
+import com.target.devicemanager.common.EventSynchronizer;
+import com.target.devicemanager.common.SimulatedDynamicDevice;
+import com.target.devicemanager.components.printer.entities.BarcodeContent;
+import com.target.devicemanager.components.printer.entities.BarcodeType;
+import com.target.devicemanager.components.printer.entities.ContentType;
+import com.target.devicemanager.components.printer.entities.PrinterContent;
+import com.target.devicemanager.components.printer.entities.PrinterException;
+import com.target.devicemanager.components.printer.entities.PrinterStationType;
+import com.target.devicemanager.components.printer.entities.TextContent;
+import com.target.devicemanager.components.printer.simulator.SimulatedJposPrinter;
+import jpos.JposException;
+import jpos.loader.JposServiceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A receipt print against SimulatedJposPrinter, from the printer lock through the output complete event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrinterDeviceBenchmark {
+
+    @Param({"10", "60"})
+    private int receiptLines;
+
+    private PrinterDevice printerDevice;
+    private List<PrinterContent> receipt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimulatedJposPrinter simulatedPrinter = new SimulatedJposPrinter();
+        printerDevice = new PrinterDevice(
+                new SimulatedDynamicDevice<>(simulatedPrinter, new DevicePower(), new DeviceConnector<>(simulatedPrinter, JposServiceLoader.getManager().getEntryRegistry())),
+                new PrinterDeviceListener(new EventSynchronizer(new Phaser(1))));
+        printerDevice.connect();
+
+        receipt = new ArrayList<>();
+        for (int line = 0; line < receiptLines; line++) {
+            TextContent textContent = new TextContent();
+            textContent.setType(ContentType.TEXT);
+            textContent.setData("ITEM " + line + "                          1.99\n");
+            receipt.add(textContent);
+        }
+        BarcodeContent barcodeContent = new BarcodeContent();
+        barcodeContent.setType(ContentType.BARCODE);
+        barcodeContent.setData("012345678905");
+        barcodeContent.barcodeType = BarcodeType.UPCA;
+        barcodeContent.height = 80;
+        barcodeContent.width = 2;
+        receipt.add(barcodeContent);
+    }
+
+    @Benchmark
+    public void printReceipt() throws JposException, PrinterException {
+        printerDevice.printContent(receipt, PrinterStationType.RECEIPT_PRINTER.getValue());
+    }
+}
@@ -0,0 +1,26 @@
+package com.target.devicemanager.components.scale.entities;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A FormattedWeight is created for every live weight event the scale sends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormattedWeightBenchmark {
+
+    private int weightFromScale = 1234;
+
+    @Benchmark
+    public FormattedWeight newFormattedWeight() {
+        return new FormattedWeight(weightFromScale);
+    }
+}
@@ -0,0 +1,87 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.common.DeviceConnector;
+import com.target.devicemanager.common.DevicePower;
+import com.target.devicemanager.common.EventSynchronizer;
+import com.target.devicemanager.common.SimulatedDynamicDevice;
+import com.target.devicemanager.components.scanner.entities.Barcode;
+import com.target.devicemanager.components.scanner.entities.BarcodeType;
+import com.target.devicemanager.components.scanner.entities.ScannerException;
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import com.target.devicemanager.components.scanner.simulator.ScanSimulatorController;
+import com.target.devicemanager.components.scanner.simulator.SimulatedJposScanner;
+import com.target.devicemanager.configuration.ApplicationConfig;
+import jpos.config.JposEntryRegistry;
+import jpos.loader.JposServiceLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * End to end scan request against the simulated scanners, wired the same way ScannerConfig does in simulation mode.
+ * A background thread keeps posting a label through the simulator controller, the time measured is enabling the
+ * scanner, receiving the data event, building the Barcode and disabling again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScannerManagerBenchmark {
+
+    private ScannerManager scannerManager;
+    private Thread labelThread;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("useSimulators", "true");
+        ApplicationConfig applicationConfig = new ApplicationConfig();
+        JposEntryRegistry deviceRegistry = JposServiceLoader.getManager().getEntryRegistry();
+        SimulatedJposScanner simulatedFlatbedScanner = new SimulatedJposScanner(ScannerType.FLATBED);
+        ScannerDevice flatbedScanner = new ScannerDevice(
+                new ScannerDeviceListener(new EventSynchronizer(new Phaser(1))),
+                new SimulatedDynamicDevice<>(simulatedFlatbedScanner, new DevicePower(), new DeviceConnector<>(simulatedFlatbedScanner, deviceRegistry)),
+                ScannerType.FLATBED,
+                applicationConfig);
+        flatbedScanner.connect();
+        scannerManager = new ScannerManager(List.of(flatbedScanner), new ReentrantLock());
+
+        ScanSimulatorController scanSimulatorController = new ScanSimulatorController(applicationConfig, List.of(simulatedFlatbedScanner));
+        Barcode barcode = new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED);
+        running = true;
+        labelThread = new Thread(() -> {
+            while (running) {
+                try {
+                    scanSimulatorController.setBarcodeData(barcode);
+                } catch (ScannerException scannerException) {
+                    return;
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(20));
+            }
+        }, "jmh-label-thread");
+        labelThread.setDaemon(true);
+        labelThread.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        running = false;
+        labelThread.join();
+    }
+
+    @Benchmark
+    public Barcode getData() throws ScannerException {
+        return scannerManager.getData(ScannerType.FLATBED);
+    }
+}
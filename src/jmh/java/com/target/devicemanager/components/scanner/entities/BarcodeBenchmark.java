@@ -0,0 +1,51 @@
+package com.target.devicemanager.components.scanner.entities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpos.ScannerConst;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of the JavaPOS scan data type to BarcodeType, done for every scanned label, and the JSON form used by the
+ * scan simulator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BarcodeBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private final String barcodeJson = "{\"data\":\"012345678905\",\"type\":\"upca\",\"source\":\"FLATBED\"}";
+
+    @Benchmark
+    public BarcodeType fromIntFirstEntry() {
+        return BarcodeType.fromInt(ScannerConst.SCAN_SDT_UPCA);
+    }
+
+    @Benchmark
+    public BarcodeType fromIntNotFound() {
+        return BarcodeType.fromInt(-1);
+    }
+
+    @Benchmark
+    public BarcodeType fromValue() {
+        return BarcodeType.fromValue("datamatrix");
+    }
+
+    @Benchmark
+    public Barcode newBarcodeFromScanDataType() {
+        return new Barcode("012345678905", ScannerConst.SCAN_SDT_EAN13, ScannerType.FLATBED);
+    }
+
+    @Benchmark
+    public Barcode readBarcodeJson() throws JsonProcessingException {
+        return MAPPER.readValue(barcodeJson, Barcode.class);
+    }
+}
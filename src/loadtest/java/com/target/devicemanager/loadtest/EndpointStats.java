@@ -0,0 +1,94 @@
+package com.target.devicemanager.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes of one endpoint. Every sample is kept so the percentiles are exact, a run of a few minutes
+ * against one lane stays well below a million samples.
+ */
+class EndpointStats {
+
+    private final String endpoint;
+    private long[] latencyNanos = new long[1024];
+    private int count = 0;
+    private final Map<String, Integer> errors = new TreeMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    synchronized void record(long nanos, int statusCode) {
+        if (count == latencyNanos.length) {
+            latencyNanos = Arrays.copyOf(latencyNanos, count * 2);
+        }
+        latencyNanos[count++] = nanos;
+        if (statusCode < 200 || statusCode >= 300) {
+            errors.merge(String.valueOf(statusCode), 1, Integer::sum);
+        }
+    }
+
+    synchronized void recordFailure(long nanos, Throwable throwable) {
+        if (count == latencyNanos.length) {
+            latencyNanos = Arrays.copyOf(latencyNanos, count * 2);
+        }
+        latencyNanos[count++] = nanos;
+        errors.merge(throwable.getClass().getSimpleName(), 1, Integer::sum);
+    }
+
+    synchronized Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(latencyNanos, count);
+        Arrays.sort(sorted);
+        int errorCount = errors.values().stream().mapToInt(Integer::intValue).sum();
+        return new Summary(endpoint,
+                count,
+                errorCount,
+                new TreeMap<>(errors),
+                toMillis(percentile(sorted, 50)),
+                toMillis(percentile(sorted, 99)),
+                toMillis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                elapsedSeconds <= 0 ? 0 : count / elapsedSeconds);
+    }
+
+    /**
+     * Nearest-rank percentile.
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public static class Summary {
+        public final String endpoint;
+        public final int count;
+        public final int errorCount;
+        public final Map<String, Integer> errors;
+        public final double p50Millis;
+        public final double p99Millis;
+        public final double maxMillis;
+        public final double throughputPerSecond;
+
+        Summary(String endpoint, int count, int errorCount, Map<String, Integer> errors, double p50Millis, double p99Millis, double maxMillis, double throughputPerSecond) {
+            this.endpoint = endpoint;
+            this.count = count;
+            this.errorCount = errorCount;
+            this.errors = errors;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+            this.throughputPerSecond = throughputPerSecond;
+        }
+    }
+}
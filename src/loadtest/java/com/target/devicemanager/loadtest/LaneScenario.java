@@ -0,0 +1,146 @@
+package com.target.devicemanager.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * One virtual lane running scripted checkouts until the deadline. A checkout is a burst of scans, a few weighed
+ * items, a receipt print and, for every third checkout, a cash drawer open. The simulator endpoints play the part
+ * of the cashier and the hardware.
+ */
+class LaneScenario implements Runnable {
+
+    private static final int SIMULATOR_RETRY_MSEC = 5;
+    private static final int DRAWER_OPEN_MSEC = 100;
+    private static final int MIN_SCANS = 3;
+    private static final int MAX_SCANS = 12;
+    private static final int MAX_WEIGHED_ITEMS = 2;
+    private static final int DRAWER_OPEN_EVERY = 3;
+
+    private final int laneId;
+    private final PossumClient client;
+    private final Random random;
+    private final long deadlineNanos;
+    private final int thinkMillis;
+
+    LaneScenario(int laneId, PossumClient client, Random random, long deadlineNanos, int thinkMillis) {
+        this.laneId = laneId;
+        this.client = client;
+        this.random = random;
+        this.deadlineNanos = deadlineNanos;
+        this.thinkMillis = thinkMillis;
+    }
+
+    @Override
+    public void run() {
+        int checkout = 0;
+        try {
+            while (System.nanoTime() < deadlineNanos) {
+                checkout++;
+                runCheckout(checkout);
+            }
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runCheckout(int checkout) throws InterruptedException {
+        int scans = MIN_SCANS + random.nextInt(MAX_SCANS - MIN_SCANS + 1);
+        for (int item = 0; item < scans; item++) {
+            step(() -> scanItem(randomUpc()));
+        }
+        int weighedItems = random.nextInt(MAX_WEIGHED_ITEMS + 1);
+        for (int item = 0; item < weighedItems; item++) {
+            step(this::weighItem);
+        }
+        step(() -> printReceipt(checkout, scans + weighedItems));
+        if (checkout % DRAWER_OPEN_EVERY == 0) {
+            step(this::openDrawer);
+        }
+    }
+
+    /**
+     * Requests a scan and keeps presenting the label until the request returns, the label is only picked up once
+     * the scanner has been enabled.
+     */
+    private void scanItem(String upc) throws IOException, InterruptedException {
+        CompletableFuture<HttpResponse<String>> scanRequest = client.getAsync("/v1/scan/FLATBED");
+        String barcode = "{\"data\":\"" + upc + "\",\"type\":\"UPCA\",\"source\":\"FLATBED\"}";
+        while (!scanRequest.isDone()) {
+            client.post("/v1/simulate/scan", barcode);
+            if (!scanRequest.isDone()) {
+                Thread.sleep(SIMULATOR_RETRY_MSEC);
+            }
+        }
+        await(scanRequest);
+    }
+
+    private void weighItem() throws IOException, InterruptedException {
+        BigDecimal weight = BigDecimal.valueOf(10 + random.nextInt(490)).divide(BigDecimal.valueOf(100), 2, RoundingMode.UNNECESSARY);
+        client.post("/v1/simulate/scaleWeight?weight=" + weight.toPlainString());
+        client.get("/v1/stableweight");
+    }
+
+    private void printReceipt(int checkout, int items) throws IOException, InterruptedException {
+        StringBuilder receipt = new StringBuilder("[");
+        receipt.append("{\"type\":\"TEXT\",\"data\":\"LANE ").append(laneId).append(" CHECKOUT ").append(checkout).append("\\n\"}");
+        for (int item = 0; item < items; item++) {
+            receipt.append(",{\"type\":\"TEXT\",\"data\":\"ITEM ").append(item).append("                          1.99\\n\"}");
+        }
+        receipt.append(",{\"type\":\"BARCODE\",\"data\":\"").append(randomUpc()).append("\",\"barcodeType\":\"UPCA\",\"height\":80,\"width\":2}");
+        receipt.append("]");
+        client.post("/v1/print", receipt.toString());
+    }
+
+    /**
+     * Opens the drawer and closes it again through the simulator once the cashier is done.
+     */
+    private void openDrawer() throws IOException, InterruptedException {
+        CompletableFuture<HttpResponse<String>> openRequest = client.postAsync("/v1/cashdrawer/open");
+        Thread.sleep(DRAWER_OPEN_MSEC);
+        while (!openRequest.isDone()) {
+            client.post("/v1/simulate/cashdrawerStatus?cashDrawerStatus=DRAWER_CLOSED");
+            if (!openRequest.isDone()) {
+                Thread.sleep(SIMULATOR_RETRY_MSEC);
+            }
+        }
+        await(openRequest);
+    }
+
+    private void step(Step step) throws InterruptedException {
+        try {
+            step.run();
+        } catch (IOException ioException) {
+            //Already counted against the endpoint, the lane carries on with the next step
+        }
+        if (thinkMillis > 0) {
+            Thread.sleep(thinkMillis);
+        }
+    }
+
+    private static void await(CompletableFuture<HttpResponse<String>> request) throws InterruptedException {
+        try {
+            request.get();
+        } catch (ExecutionException executionException) {
+            //Already counted against the endpoint
+        }
+    }
+
+    private String randomUpc() {
+        StringBuilder upc = new StringBuilder(12);
+        for (int digit = 0; digit < 12; digit++) {
+            upc.append(random.nextInt(10));
+        }
+        return upc.toString();
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,103 @@
+package com.target.devicemanager.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a POSSUM instance started with -DuseSimulators=true and the local profile through scripted checkouts, then
+ * reports latency percentiles and throughput per endpoint.
+ *
+ * Settings are read from system properties so they can be passed straight through Gradle:
+ * ./gradlew loadTest -Dloadtest.lanes=4 -Dloadtest.durationSeconds=120
+ */
+public class LoadTestMain {
+
+    private static final String DEFAULT_BASE_URL = "http://localhost:8080";
+    private static final String DEFAULT_REPORT = "build/reports/loadtest/results.json";
+    private static final int SHUTDOWN_GRACE_SECONDS = 120;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String baseUrl = System.getProperty("loadtest.baseUrl", DEFAULT_BASE_URL);
+        int lanes = Integer.getInteger("loadtest.lanes", 1);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 60);
+        int thinkMillis = Integer.getInteger("loadtest.thinkMillis", 0);
+        long seed = Long.getLong("loadtest.seed", 1L);
+        String reportPath = System.getProperty("loadtest.report", DEFAULT_REPORT);
+
+        if (!isReachable(baseUrl)) {
+            System.err.println("POSSUM is not reachable at " + baseUrl + ", start it with -DuseSimulators=true and SPRING_PROFILES_ACTIVE=local");
+            System.exit(1);
+        }
+
+        System.out.println("Running " + lanes + " lane(s) against " + baseUrl + " for " + durationSeconds + "s");
+        PossumClient client = new PossumClient(baseUrl);
+        ExecutorService laneExecutor = Executors.newFixedThreadPool(lanes);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        for (int lane = 1; lane <= lanes; lane++) {
+            //A fixed seed per lane keeps the scripted checkouts identical between runs
+            laneExecutor.execute(new LaneScenario(lane, client, new Random(seed + lane), deadline, thinkMillis));
+        }
+        laneExecutor.shutdown();
+        if (!laneExecutor.awaitTermination(durationSeconds + SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+            laneExecutor.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        List<EndpointStats.Summary> summaries = client.summarize(elapsedSeconds);
+        printSummaries(summaries);
+        writeReport(new File(reportPath), baseUrl, lanes, elapsedSeconds, seed, summaries);
+    }
+
+    private static boolean isReachable(String baseUrl) {
+        try {
+            HttpResponse<String> response = new PossumClient(baseUrl).get("/v1/health");
+            return response.statusCode() == 200;
+        } catch (IOException | InterruptedException exception) {
+            return false;
+        }
+    }
+
+    private static void printSummaries(List<EndpointStats.Summary> summaries) {
+        System.out.printf("%-40s %8s %8s %10s %10s %10s %10s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "max ms", "req/s");
+        for (EndpointStats.Summary summary : summaries) {
+            System.out.printf("%-40s %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    summary.endpoint,
+                    summary.count,
+                    summary.errorCount,
+                    summary.p50Millis,
+                    summary.p99Millis,
+                    summary.maxMillis,
+                    summary.throughputPerSecond);
+            if (!summary.errors.isEmpty()) {
+                System.out.println("    errors: " + summary.errors);
+            }
+        }
+    }
+
+    private static void writeReport(File reportFile, String baseUrl, int lanes, double elapsedSeconds, long seed, List<EndpointStats.Summary> summaries) throws IOException {
+        File reportDirectory = reportFile.getAbsoluteFile().getParentFile();
+        if (reportDirectory != null && !reportDirectory.exists() && !reportDirectory.mkdirs()) {
+            throw new IOException("Unable to create " + reportDirectory);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", baseUrl);
+        report.put("lanes", lanes);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("seed", seed);
+        report.put("endpoints", summaries);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report);
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,102 @@
+package com.target.devicemanager.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP client for a POSSUM instance that times every call and files it under "METHOD path", without the query.
+ */
+class PossumClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Map<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+
+    PossumClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send("GET", path, HttpRequest.BodyPublishers.noBody());
+    }
+
+    HttpResponse<String> post(String path) throws IOException, InterruptedException {
+        return send("POST", path, HttpRequest.BodyPublishers.noBody());
+    }
+
+    HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        return send("POST", path, HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    /**
+     * Starts a call that only completes once the simulator is driven, such as a scan or a drawer open.
+     */
+    CompletableFuture<HttpResponse<String>> getAsync(String path) {
+        return sendAsync("GET", path, HttpRequest.BodyPublishers.noBody());
+    }
+
+    CompletableFuture<HttpResponse<String>> postAsync(String path) {
+        return sendAsync("POST", path, HttpRequest.BodyPublishers.noBody());
+    }
+
+    List<EndpointStats.Summary> summarize(double elapsedSeconds) {
+        List<EndpointStats.Summary> summaries = new ArrayList<>();
+        endpointStats.values().forEach(stats -> summaries.add(stats.summarize(elapsedSeconds)));
+        summaries.sort((first, second) -> first.endpoint.compareTo(second.endpoint));
+        return summaries;
+    }
+
+    private HttpResponse<String> send(String method, String path, HttpRequest.BodyPublisher body) throws IOException, InterruptedException {
+        EndpointStats stats = getStats(method, path);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(buildRequest(method, path, body), HttpResponse.BodyHandlers.ofString());
+            stats.record(System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException ioException) {
+            stats.recordFailure(System.nanoTime() - start, ioException);
+            throw ioException;
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync(String method, String path, HttpRequest.BodyPublisher body) {
+        EndpointStats stats = getStats(method, path);
+        long start = System.nanoTime();
+        return httpClient.sendAsync(buildRequest(method, path, body), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null) {
+                        stats.recordFailure(System.nanoTime() - start, throwable);
+                    } else {
+                        stats.record(System.nanoTime() - start, response.statusCode());
+                    }
+                });
+    }
+
+    private HttpRequest buildRequest(String method, String path, HttpRequest.BodyPublisher body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, body)
+                .build();
+    }
+
+    private EndpointStats getStats(String method, String path) {
+        int queryStart = path.indexOf('?');
+        String endpoint = method + " " + (queryStart < 0 ? path : path.substring(0, queryStart));
+        return endpointStats.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+}
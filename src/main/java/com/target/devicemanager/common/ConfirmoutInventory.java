@@ -0,0 +1,49 @@
+package com.target.devicemanager.common;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parsed contents of a confirmout file together with the file attributes it was read from.
+ * The device entries carry isFunctional = false and are never handed out directly; callers copy them
+ * with the live health merged in.
+ */
+public final class ConfirmoutInventory {
+
+    private static final AtomicLong versionCounter = new AtomicLong();
+    static final ConfirmoutInventory EMPTY = new ConfirmoutInventory(null, -1, -1, Collections.emptyList());
+
+    private final long version;
+    private final String path;
+    private final long lastModified;
+    private final long size;
+    private final List<DeviceConfigResponse> devices;
+
+    ConfirmoutInventory(String path, long lastModified, long size, List<DeviceConfigResponse> devices) {
+        this.version = versionCounter.incrementAndGet();
+        this.path = path;
+        this.lastModified = lastModified;
+        this.size = size;
+        this.devices = Collections.unmodifiableList(devices);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    List<DeviceConfigResponse> getDevices() {
+        return devices;
+    }
+
+    /**
+     * Returns true when the file still has the path, modification time and size this inventory was parsed from.
+     */
+    boolean matches(File confirmoutFile, long lastModified, long size) {
+        return path != null
+                && path.equals(confirmoutFile.getPath())
+                && this.lastModified == lastModified
+                && this.size == size;
+    }
+}
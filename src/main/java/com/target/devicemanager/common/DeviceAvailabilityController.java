@@ -1,5 +1,6 @@
 package com.target.devicemanager.common;
 
+import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,12 +11,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -31,28 +34,31 @@ public class DeviceAvailabilityController {
     public DeviceAvailabilityService deviceAvailabilityService;
 
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "200", description = "OK",
+                    content = @Content(schema = @Schema(implementation = DeviceAvailabilityResponse.class))),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified since the ETag sent in If-None-Match",
+                    content = @Content(schema = @Schema(hidden = true))),
             @ApiResponse(
                     responseCode = "404",
                     description = "Not found",
                     content = @Content(schema = @Schema(hidden = true)))
     })
-    @GetMapping("/v1/peripherals")
-    public DeviceAvailabilityResponse getDeviceAvailability() {
-        return deviceAvailabilityService.getAvailableDevices(CONFIRMOUT_LOCATION);
+    @GetMapping(value = "/v1/peripherals", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getDeviceAvailability(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return deviceAvailabilityService.getAvailableDevicesResponse(CONFIRMOUT_LOCATION, ifNoneMatch);
     }
 
+    @Operation(description = "Streams device faults. The first event is a snapshot of all devices, later events are per-device deltas. Reconnecting clients may send Last-Event-ID to replay missed deltas.")
     @GetMapping("/v1/deviceerror")
-    public SseEmitter getDeviceError() throws IOException {
+    public SseEmitter getDeviceError(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws DeviceException {
         String url = "/v1/deviceerror";
         log.successAPI("API Request Received", 1, url, null, 0);
         try {
             SseEmitter sseEmitter = new SseEmitter(Long.MAX_VALUE);
-            deviceAvailabilityService.subscribeToDeviceError(sseEmitter);
+            deviceAvailabilityService.subscribeToDeviceError(sseEmitter, parseLastEventId(lastEventId));
             return sseEmitter;
-        } catch (IOException ioException) {
-            log.failureAPI("API Request Failed with IOException", 9, url, ioException.getMessage(), 500, ioException);
-            throw ioException;
         } catch (Exception exception) {
             log.failureAPI("API Request Failed with Exception", 9, url, exception.getMessage(), 500, exception);
             throw exception;
@@ -66,4 +72,15 @@ public class DeviceAvailabilityController {
         return deviceAvailabilityService.getHealth();
     }
 
+    private Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException numberFormatException) {
+            log.failure("Ignoring invalid Last-Event-ID: " + lastEventId, 5, null);
+            return null;
+        }
+    }
 }
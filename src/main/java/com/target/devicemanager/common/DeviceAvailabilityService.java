@@ -1,8 +1,9 @@
 package com.target.devicemanager.common;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.target.devicemanager.common.entities.DeviceErrorStatusResponse;
+import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealth;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import com.target.devicemanager.components.scanner.entities.ScannerType;
@@ -10,6 +11,7 @@ import com.target.devicemanager.configuration.ApplicationConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -22,19 +24,25 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
 
 @Service
 public class DeviceAvailabilityService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DeviceAvailabilityService.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCommonServiceName(), "DeviceAvailabilityService", LOGGER);
-    public static final List<SseEmitter> deviceErrorClientList = new CopyOnWriteArrayList<>();
     ApplicationConfig applicationConfig;
     private String simulatorRegisterType = "default";
     private String customConfigPath;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private final Map<String, File> simulatorConfirmoutFiles = new ConcurrentHashMap<>();
+    private volatile ConfirmoutInventory confirmoutInventory;
+    private volatile PeripheralsPayload peripheralsPayload;
 
     public DeviceAvailabilityService(){}
     @Autowired
@@ -51,215 +59,241 @@ public class DeviceAvailabilityService {
     }
 
     public DeviceAvailabilityResponse getAvailableDevices(String confirmOutLoc) {
-        DeviceAvailabilityResponse deviceAvailabilityResponse = new DeviceAvailabilityResponse();
-        File jsonConfirm = null;
+        return mergeDeviceHealth(getConfirmoutInventory(confirmOutLoc));
+    }
+
+    /**
+     * Serves the peripheral list from a pre-serialized payload. The payload is rebuilt only when the confirmout file
+     * or one of the device health flags changed, and a matching If-None-Match answers 304 without a body.
+     */
+    public ResponseEntity<byte[]> getAvailableDevicesResponse(String confirmOutLoc, String ifNoneMatch) {
+        ConfirmoutInventory confirmoutInventory = getConfirmoutInventory(confirmOutLoc);
+        DeviceAvailabilityResponse deviceAvailabilityResponse = mergeDeviceHealth(confirmoutInventory);
+        StringBuilder payloadKey = new StringBuilder()
+                .append(confirmoutInventory.getVersion()).append(':')
+                .append(deviceAvailabilityResponse.possumversion).append(':')
+                .append(deviceAvailabilityResponse.confirmversion).append(':');
+        deviceAvailabilityResponse.devicelist.forEach(device -> payloadKey.append(device.isFunctional ? '1' : '0'));
 
-        if(applicationConfig != null && applicationConfig.IsSimulationMode()) {
+        PeripheralsPayload payload = peripheralsPayload;
+        if (payload == null || !payload.key.equals(payloadKey.toString())) {
+            try {
+                byte[] body = MAPPER.writeValueAsBytes(deviceAvailabilityResponse);
+                CRC32 crc32 = new CRC32();
+                crc32.update(body);
+                payload = new PeripheralsPayload(payloadKey.toString(), body, "\"" + Long.toHexString(crc32.getValue()) + "\"");
+                peripheralsPayload = payload;
+            } catch (JsonProcessingException jsonProcessingException) {
+                log.failure("Failed to serialize peripherals", 17, jsonProcessingException);
+                return ResponseEntity.internalServerError().build();
+            }
+        }
+
+        if (isETagMatch(ifNoneMatch, payload.eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(payload.eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(payload.eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.body);
+    }
+
+    private DeviceAvailabilityResponse mergeDeviceHealth(ConfirmoutInventory confirmoutInventory) {
+        DeviceAvailabilityResponse deviceAvailabilityResponse = new DeviceAvailabilityResponse();
+        if (isSimulationMode()) {
             deviceAvailabilityResponse.possumversion = "possum_simulator";
             deviceAvailabilityResponse.confirmversion = "confirm_simulator";
-            log.success("Simulator register type: " + simulatorRegisterType, 9);
+        } else {
+            deviceAvailabilityResponse.possumversion = System.getenv("POSSUM_VERSION");
+            deviceAvailabilityResponse.confirmversion = System.getenv("CONFIRM_VERSION");
+        }
 
-            if (!simulatorRegisterType.equals("default")) {
-                if ("CUSTOM".equals(simulatorRegisterType) && customConfigPath != null && !customConfigPath.isEmpty()) {
-                    jsonConfirm = new File(customConfigPath);
-                    if (!jsonConfirm.exists()) {
-                        log.success("Custom config path doesn't exist: " + customConfigPath, 13);
-                    }
-                }
+        Map<String, Boolean> functionalByDevice = new HashMap<>();
+        for (DeviceConfigResponse device : confirmoutInventory.getDevices()) {
+            boolean isFunctional = functionalByDevice.computeIfAbsent(device.devicename, devName -> findDevStatus(devName) == DeviceHealth.READY);
+            deviceAvailabilityResponse.devicelist.add(device.withFunctional(isFunctional));
+        }
+        return deviceAvailabilityResponse;
+    }
 
-                if (jsonConfirm == null || !jsonConfirm.exists()) {
-                    String fileName = "simulator_confirmout_" + simulatorRegisterType + ".json";
-                    jsonConfirm = new File("src/main/resources/" + fileName);
+    private ConfirmoutInventory getConfirmoutInventory(String confirmOutLoc) {
+        File jsonConfirm = isSimulationMode() ? getSimulatorConfirmout() : new File(confirmOutLoc);
+        if (jsonConfirm == null || !jsonConfirm.exists() || !jsonConfirm.isFile()) {
+            log.failure("JSON file not found or invalid", 17, null);
+            return ConfirmoutInventory.EMPTY;
+        }
 
-                    if (!jsonConfirm.exists()) {
-                        try (InputStream in = this.getClass().getClassLoader()
-                                .getResourceAsStream(fileName)) {
+        long lastModified = jsonConfirm.lastModified();
+        long size = jsonConfirm.length();
+        ConfirmoutInventory cachedInventory = confirmoutInventory;
+        if (cachedInventory != null && cachedInventory.matches(jsonConfirm, lastModified, size)) {
+            return cachedInventory;
+        }
 
-                            if (in == null) {
-                                throw new IllegalStateException(fileName + " not found as resource");
-                            }
+        try {
+            List<DeviceConfigResponse> devices = new ArrayList<>();
+            JsonNode rootDevNode = MAPPER.readTree(jsonConfirm);
+            Iterator<String> fieldNames = rootDevNode.fieldNames();
 
-                            Path tempFile = Files.createTempFile("simulator_confirmout-", ".json");
-                            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
-                            jsonConfirm = tempFile.toFile();
-                            jsonConfirm.deleteOnExit();
-                        } catch (IOException e) {
-                            throw new RuntimeException("Failed to load resource file: " + fileName, e);
+            while(fieldNames.hasNext()){
+                String devName = fieldNames.next();
+                JsonNode deviceNodes = rootDevNode.path(devName);
+                if(deviceNodes.isArray()) {
+                    for (JsonNode device : deviceNodes) {
+                        if (!devName.equals("scale")) {
+                            devices.add(new DeviceConfigResponse(
+                                    devName,
+                                    device.get("vidpid").asText(),
+                                    device.get("usbport").asText(),
+                                    device.get("manufacturer").asText(),
+                                    device.get("model").asText(),
+                                    device.get("config").asText(),
+                                    device.get("firmware").asText(),
+                                    device.get("serialnumber").asText(),
+                                    false,
+                                    !device.get("vidpid").asText().isEmpty()
+                            ));
+                        } else {
+                            devices.add(new ScaleConfigResponse(
+                                    devName,
+                                    device.get("vidpid").asText(),
+                                    device.get("usbport").asText(),
+                                    device.get("manufacturer").asText(),
+                                    device.get("model").asText(),
+                                    device.get("config").asText(),
+                                    device.get("firmware").asText(),
+                                    device.get("serialnumber").asText(),
+                                    false,
+                                    !device.get("vidpid").asText().isEmpty(),
+                                    device.hasNonNull("calibrated")?device.get("calibrated").asBoolean():null,
+                                    device.hasNonNull("calibrated_count")?device.get("calibrated_count").asInt():null,
+                                    device.hasNonNull("has_remote_display")?device.get("has_remote_display").asBoolean():null
+                            ));
                         }
                     }
                 }
-            } else {
-                jsonConfirm = new File("src/main/resources/simulator_confirmout.json");
-
-                if (!jsonConfirm.exists()) {
-                    try (InputStream in = this.getClass().getClassLoader()
-                            .getResourceAsStream("simulator_confirmout.json")) {
-
-                        if (in == null) {
-                            throw new IllegalStateException("simulator_confirmout.json not found as resource");
-                        }
+            }
+            cachedInventory = new ConfirmoutInventory(jsonConfirm.getPath(), lastModified, size, devices);
+            confirmoutInventory = cachedInventory;
+            log.success("Parsed " + jsonConfirm.getPath() + " with " + devices.size() + " devices", 9);
+            return cachedInventory;
+        } catch (IOException ioException) {
+            log.failure("Received IOException", 17, ioException);
+            return ConfirmoutInventory.EMPTY;
+        }
+    }
 
-                        Path tempFile = Files.createTempFile("simulator_confirmout-", ".json");
-                        Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
-                        jsonConfirm = tempFile.toFile();
-                        jsonConfirm.deleteOnExit();
-                    } catch (IOException e) {
-                        throw new RuntimeException("Failed to load resource file", e);
-                    }
+    private File getSimulatorConfirmout() {
+        log.success("Simulator register type: " + simulatorRegisterType, 9);
+        if (!simulatorRegisterType.equals("default")) {
+            if ("CUSTOM".equals(simulatorRegisterType) && customConfigPath != null && !customConfigPath.isEmpty()) {
+                File customConfirm = new File(customConfigPath);
+                if (customConfirm.exists()) {
+                    return customConfirm;
                 }
+                log.success("Custom config path doesn't exist: " + customConfigPath, 13);
             }
-        } else {
-            deviceAvailabilityResponse.possumversion = System.getenv("POSSUM_VERSION");
-            deviceAvailabilityResponse.confirmversion = System.getenv("CONFIRM_VERSION");
-            jsonConfirm = new File(confirmOutLoc);
+            return getSimulatorResource("simulator_confirmout_" + simulatorRegisterType + ".json");
         }
+        return getSimulatorResource("simulator_confirmout.json");
+    }
 
-        try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            if(jsonConfirm != null && jsonConfirm.exists() && jsonConfirm.isFile()){
-                JsonNode rootDevNode = objectMapper.readTree(jsonConfirm);
-                Iterator<String> fieldNames = rootDevNode.fieldNames();
+    private File getSimulatorResource(String fileName) {
+        File jsonConfirm = new File("src/main/resources/" + fileName);
+        if (jsonConfirm.exists()) {
+            return jsonConfirm;
+        }
 
-                while(fieldNames.hasNext()){
-                    String devName = fieldNames.next();
-                    JsonNode devices = rootDevNode.path(devName);
-                    if(devices.isArray()) {
-                        for (JsonNode device : devices) {
-                            if (!devName.equals("scale")) {
-                                deviceAvailabilityResponse.devicelist.add(new DeviceConfigResponse(
-                                        devName,
-                                        device.get("vidpid").asText(),
-                                        device.get("usbport").asText(),
-                                        device.get("manufacturer").asText(),
-                                        device.get("model").asText(),
-                                        device.get("config").asText(),
-                                        device.get("firmware").asText(),
-                                        device.get("serialnumber").asText(),
-                                        findDevStatus(devName) == DeviceHealth.READY,
-                                        !device.get("vidpid").asText().isEmpty()
-                                ));
-                            } else {
-                                deviceAvailabilityResponse.devicelist.add(new ScaleConfigResponse(
-                                        devName,
-                                        device.get("vidpid").asText(),
-                                        device.get("usbport").asText(),
-                                        device.get("manufacturer").asText(),
-                                        device.get("model").asText(),
-                                        device.get("config").asText(),
-                                        device.get("firmware").asText(),
-                                        device.get("serialnumber").asText(),
-                                        findDevStatus(devName) == DeviceHealth.READY,
-                                        !device.get("vidpid").asText().isEmpty(),
-                                        device.hasNonNull("calibrated")?device.get("calibrated").asBoolean():null,
-                                        device.hasNonNull("calibrated_count")?device.get("calibrated_count").asInt():null,
-                                        device.hasNonNull("has_remote_display")?device.get("has_remote_display").asBoolean():null
-                                ));
-                            }
-                        }
-                    }
-                }
-            } else {
-                log.failure("JSON file not found or invalid", 17, null);
+        //Copy the classpath resource once and keep reusing the temp file while it exists
+        File copiedConfirm = simulatorConfirmoutFiles.get(fileName);
+        if (copiedConfirm != null && copiedConfirm.exists()) {
+            return copiedConfirm;
+        }
+        try (InputStream in = this.getClass().getClassLoader().getResourceAsStream(fileName)) {
+            if (in == null) {
+                throw new IllegalStateException(fileName + " not found as resource");
             }
-        } catch (IOException ioException) {
-            log.failure("Received IOException", 17, ioException);
+
+            Path tempFile = Files.createTempFile("simulator_confirmout-", ".json");
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            copiedConfirm = tempFile.toFile();
+            copiedConfirm.deleteOnExit();
+            simulatorConfirmoutFiles.put(fileName, copiedConfirm);
+            return copiedConfirm;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load resource file: " + fileName, e);
         }
+    }
 
-        return deviceAvailabilityResponse;
+    private boolean isSimulationMode() {
+        return applicationConfig != null && applicationConfig.IsSimulationMode();
     }
 
+    private static boolean isETagMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the health the device's manager last published, so listing the peripherals never calls into a driver.
+     * A device that has not published yet is NOTREADY.
+     */
     public DeviceHealth findDevStatus(String devName) {
-        DeviceAvailabilitySingleton deviceAvailabilitySingleton = DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton();
-        DeviceHealth healthStatus = DeviceHealth.NOTREADY;
-        if(applicationConfig != null && applicationConfig.IsSimulationMode()){
+        if(isSimulationMode()){
             return DeviceHealth.READY;
         }
         switch (devName){
-            case "flatbedscanner":
-                if(deviceAvailabilitySingleton.getScannerManager() != null) {
-                    healthStatus = deviceAvailabilitySingleton.getScannerManager().getScannerHealthStatus("FLATBED");
-                } else {
-                    log.failure("Failed to Connect to " + devName, 1, null);
-                }
-                break;
-            case "handscanner":
-                if(deviceAvailabilitySingleton.getScannerManager() != null) {
-                    healthStatus = deviceAvailabilitySingleton.getScannerManager().getScannerHealthStatus("HANDHELD");
-                } else {
-                    log.failure("Failed to Connect to " + devName, 1, null);
-                }
-                break;
-            case "scale":
-                if(deviceAvailabilitySingleton.getScaleManager() != null) {
-                    healthStatus = deviceAvailabilitySingleton.getScaleManager().getStatus().getHealthStatus();
-                } else {
-                    log.failure("Failed to Connect to " + devName, 1, null);
-                }
-                break;
-            case "printer":
-                if(deviceAvailabilitySingleton.getPrinterManager() != null) {
-                    healthStatus = deviceAvailabilitySingleton.getPrinterManager().getStatus().getHealthStatus();
-                } else {
-                    log.failure("Failed to Connect to " + devName, 1, null);
-                }
-                break;
-            case "linedisplay":
-                if(deviceAvailabilitySingleton.getLineDisplayManager() != null) {
-                    healthStatus = deviceAvailabilitySingleton.getLineDisplayManager().getStatus().getHealthStatus();
-                } else {
-                    log.failure("Failed to Connect to " + devName, 1, null);
-                }
-                break;
+            case DeviceHealthSnapshotSingleton.FLATBED_SCANNER:
+            case DeviceHealthSnapshotSingleton.HANDHELD_SCANNER:
+            case DeviceHealthSnapshotSingleton.SCALE:
+            case DeviceHealthSnapshotSingleton.PRINTER:
+            case DeviceHealthSnapshotSingleton.LINE_DISPLAY:
+                return DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(devName, devName).getHealthStatus();
             default:
                 log.failure("Not a known device: " + devName, 1, null);
+                return DeviceHealth.NOTREADY;
         }
-        return healthStatus;
     }
 
-    public void subscribeToDeviceError(SseEmitter sseEmitter) throws IOException {
-        sseEmitter.onCompletion(() -> this.deviceErrorClientList.remove(sseEmitter));
-        sseEmitter.onTimeout(() -> this.deviceErrorClientList.remove(sseEmitter));
-        deviceErrorClientList.add(sseEmitter);
-        sseEmitter.send(DeviceErrorStatusResponse.getDeviceErrorStatusResponse(), MediaType.APPLICATION_JSON);
-    }
-
-    public static void fireDeviceErrorEvent() {
-        List<SseEmitter> deadEmitterList = new ArrayList<>();
-        deviceErrorClientList.forEach(emitter -> {
-            try {
-                emitter.send(DeviceErrorStatusResponse.getDeviceErrorStatusResponse(), MediaType.APPLICATION_JSON);
-            } catch(IOException ioException) {
-                //Remove the client from the connection pool
-                deadEmitterList.add(emitter);
-            }
-        });
-        deviceErrorClientList.removeAll(deadEmitterList);
+    public void subscribeToDeviceError(SseEmitter sseEmitter, Long lastEventId) throws DeviceException {
+        DeviceErrorBus.getDeviceErrorBus().subscribe(sseEmitter, lastEventId);
     }
 
     public ResponseEntity<List<DeviceHealthResponse>> getHealth() {
         List<DeviceHealthResponse> responseList = new ArrayList<>();
-        if(applicationConfig != null && applicationConfig.IsSimulationMode()){
+        if(isSimulationMode()){
             responseList.add(new DeviceHealthResponse("All Simulated Devices", DeviceHealth.READY));
             return ResponseEntity.ok(responseList);
         }
         if(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getCashDrawerManager() != null) {
-            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getCashDrawerManager().getHealth());
+            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getCashDrawerManager().getHealthSnapshot());
         }
         if(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getMicrManager() != null) {
-            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getMicrManager().getHealth());
+            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getMicrManager().getHealthSnapshot());
         }
 
         if(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getLineDisplayManager() != null) {
-            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getLineDisplayManager().getHealth());
+            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getLineDisplayManager().getHealthSnapshot());
         }
         if(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getPrinterManager() != null) {
-            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getPrinterManager().getHealth());
+            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getPrinterManager().getHealthSnapshot());
         }
         if(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getScaleManager() != null) {
-            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getScaleManager().getHealth());
+            responseList.add(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getScaleManager().getHealthSnapshot());
         }
         if(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getScannerManager() != null) {
-                responseList.addAll(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getScannerManager().getHealth(ScannerType.BOTH));
+                responseList.addAll(DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().getScannerManager().getHealthSnapshot(ScannerType.BOTH));
         }
         return ResponseEntity.ok(responseList);
     }
@@ -271,4 +305,16 @@ public class DeviceAvailabilityService {
     public String getCustomConfigPath() {
         return this.customConfigPath;
     }
+
+    private static final class PeripheralsPayload {
+        private final String key;
+        private final byte[] body;
+        private final String eTag;
+
+        private PeripheralsPayload(String key, byte[] body, String eTag) {
+            this.key = key;
+            this.body = body;
+            this.eTag = eTag;
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package com.target.devicemanager.common;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Source of time for the device layer and the simulators. Anything that sleeps, polls or waits with a timeout goes
+ * through a DeviceClock so the same code can run on wall clock time or on a VirtualDeviceClock in tests and
+ * benchmarks.
+ */
+public interface DeviceClock {
+
+    long currentTimeMillis();
+
+    void sleep(long millis) throws InterruptedException;
+
+    /**
+     * Waits for the future the way Future.get(timeout, unit) does, with the timeout measured on this clock.
+     */
+    <T> T get(Future<T> future, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException;
+
+    /**
+     * Registers device work the caller is about to hand to another thread and wait on. Until the participation is
+     * closed a clock that moves by itself only moves while that work is blocked on the clock, so the caller's
+     * timeout cannot expire while the work is still running. Wall clock time needs no bookkeeping.
+     */
+    default Participation participate() {
+        return Participation.NONE;
+    }
+
+    static DeviceClock system() {
+        return SystemDeviceClock.INSTANCE;
+    }
+
+    interface Participation extends AutoCloseable {
+
+        Participation NONE = new Participation() {
+            @Override
+            public <T> Callable<T> wrap(Callable<T> task) {
+                return task;
+            }
+
+            @Override
+            public void close() {
+                // nothing registered
+            }
+        };
+
+        /**
+         * Wraps the task so the thread running it is the registered work.
+         */
+        <T> Callable<T> wrap(Callable<T> task);
+
+        @Override
+        void close();
+    }
+}
@@ -25,6 +25,13 @@ public class DeviceConfigResponse {
         this.attached = attached;
     }
 
+    /**
+     * Returns a copy of this device entry with the given live health flag.
+     */
+    public DeviceConfigResponse withFunctional(boolean isFunctional) {
+        return new DeviceConfigResponse(devicename, vidpid, usbport, manufacturer, model, config, firmware, serialnumber, isFunctional, attached);
+    }
+
     public String toString() {
         return
                 "deviceName=" + devicename +
@@ -2,18 +2,21 @@ package com.target.devicemanager.common;
 
 import jpos.BaseJposControl;
 import jpos.JposException;
+import jpos.config.JposEntry;
 import jpos.config.JposEntryRegistry;
 import jpos.config.simple.SimpleEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class DeviceConnector<T extends BaseJposControl> {
 
     private final T device;
     private final AbstractMap.SimpleEntry<String, String> customFilter;
+    private final Predicate<JposEntry> entryFilter;
     private final JposEntryRegistry deviceRegistry;
     private String connectedDeviceName;
     private static final int CLAIM_TIMEOUT_IN_MSEC = 30000;
@@ -27,6 +30,14 @@ public class DeviceConnector<T extends BaseJposControl> {
     }
 
     public DeviceConnector(T device, JposEntryRegistry deviceRegistry, AbstractMap.SimpleEntry<String, String> customFilter) {
+        this(device, deviceRegistry, customFilter, entry -> true);
+    }
+
+    /**
+     * @param entryFilter further narrows the registry entries this device is discovered over, for example to leave
+     *                    out entries another device of the same category owns.
+     */
+    public DeviceConnector(T device, JposEntryRegistry deviceRegistry, AbstractMap.SimpleEntry<String, String> customFilter, Predicate<JposEntry> entryFilter) {
         if (device == null) {
             throw new IllegalArgumentException("device cannot be null");
         }
@@ -35,6 +46,7 @@ public class DeviceConnector<T extends BaseJposControl> {
         }
         this.device = device;
         this.customFilter = customFilter;
+        this.entryFilter = entryFilter == null ? entry -> true : entryFilter;
         this.deviceRegistry = deviceRegistry;
         this.connectedDeviceName = getDefaultDeviceName();
     }
@@ -77,17 +89,33 @@ public class DeviceConnector<T extends BaseJposControl> {
     }
 
     private boolean connect(String configName) {
+            DeviceOperationMetrics metrics = DeviceOperationMetrics.getDeviceOperationMetrics();
+            String deviceTag = DeviceOperationMetrics.getDeviceTag(device.getClass());
             synchronized (device) {
+                long connectStart = System.nanoTime();
+                DeviceOperationEvent.Connect connectEvent = new DeviceOperationEvent.Connect(deviceTag);
+                connectEvent.begin();
                 try {
                     device.open(configName);
                 } catch (JposException jposException){
                     log.failure("failed to open " + configName + " with error " + jposException.getErrorCode(), 17, jposException);
+                    metrics.recordFailure(deviceTag, "connect", configName, connectStart, jposException);
+                    connectEvent.commitFailure(configName, jposException);
                     return false;
                 }
+                long claimStart = System.nanoTime();
+                DeviceOperationEvent.Claim claimEvent = new DeviceOperationEvent.Claim(deviceTag);
+                claimEvent.begin();
                 try {
                     device.claim(CLAIM_TIMEOUT_IN_MSEC);
+                    metrics.recordSuccess(deviceTag, "claim", configName, claimStart);
+                    claimEvent.commitSuccess(configName);
                 } catch (JposException jposException){
                     log.failure("failed to claim " + configName + " with error " + jposException.getErrorCode(), 17, jposException);
+                    metrics.recordFailure(deviceTag, "claim", configName, claimStart, jposException);
+                    claimEvent.commitFailure(configName, jposException);
+                    metrics.recordFailure(deviceTag, "connect", configName, connectStart, jposException);
+                    connectEvent.commitFailure(configName, jposException);
                     return false;
                 }
                 //this is a test, some devices wont signal connected status until enabled
@@ -96,15 +124,21 @@ public class DeviceConnector<T extends BaseJposControl> {
                     device.setDeviceEnabled(true);
                 } catch (JposException jposException){
                     log.failure("failed to enable " + configName + " with error " + jposException.getErrorCode(), 17, jposException);
+                    metrics.recordFailure(deviceTag, "connect", configName, connectStart, jposException);
+                    connectEvent.commitFailure(configName, jposException);
                     return false;
                 }
                 try {
                     device.setDeviceEnabled(false);
                 } catch (JposException jposException){
                     log.failure("failed to disable " + configName + " with error " + jposException.getErrorCode(), 17, jposException);
+                    metrics.recordFailure(deviceTag, "connect", configName, connectStart, jposException);
+                    connectEvent.commitFailure(configName, jposException);
                     return false;
                 }
                 this.connectedDeviceName = configName;
+                metrics.recordSuccess(deviceTag, "connect", configName, connectStart);
+                connectEvent.commitSuccess(configName);
                 log.success("successfully connected " + configName, 9);
                 return true;
             }
@@ -131,9 +165,10 @@ public class DeviceConnector<T extends BaseJposControl> {
                 .filter(x -> {
                     if (customFilter == null) return true;
 
-                    String customFilterValue = x.getPropertyValue(customFilter.getKey()).toString();
-                    return customFilter.getValue().equals(customFilterValue);
+                    Object customFilterValue = x.getPropertyValue(customFilter.getKey());
+                    return customFilterValue != null && customFilter.getValue().equals(customFilterValue.toString());
                 })
+                .filter(entryFilter)
                 .map(x -> x.getPropertyValue("logicalName").toString())
                 .collect(Collectors.toCollection(ArrayList::new));
     }
@@ -0,0 +1,148 @@
+package com.target.devicemanager.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.target.devicemanager.common.entities.DeviceError;
+import com.target.devicemanager.common.entities.DeviceErrorEvent;
+import com.target.devicemanager.common.entities.DeviceErrorStatus;
+import com.target.devicemanager.common.entities.DeviceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DeviceErrorBus {
+
+    /**
+     * This class owns the fault state of every device. Publishers only update the map and queue the change on the
+     * SseHub, so a slow client never blocks a device event thread.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceErrorBus.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCommonServiceName(), "DeviceErrorBus", LOGGER);
+    private static final String CONFIRMOUT_LOCATION = "/var/tmp/CONFIRMOUT/confirmout.json";
+    private static final int REPLAY_BUFFER_SIZE = 256;
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String DELTA_EVENT = "delta";
+    static final String TOPIC = "deviceerror";
+    private static final DeviceErrorBus deviceErrorBus = new DeviceErrorBus(CONFIRMOUT_LOCATION, SseHub.getSseHub());
+
+    private final Map<String, DeviceErrorEvent> deviceErrors = new LinkedHashMap<>();
+    private final ArrayDeque<DeviceErrorEvent> replayBuffer = new ArrayDeque<>(REPLAY_BUFFER_SIZE);
+    private final SseHub sseHub;
+    private long sequence = 0;
+
+    DeviceErrorBus(String confirmOutLoc, SseHub sseHub) {
+        if (sseHub == null) {
+            throw new IllegalArgumentException("sseHub cannot be null");
+        }
+        this.sseHub = sseHub;
+        //A client that falls this far behind is disconnected and catches up through Last-Event-ID
+        this.sseHub.registerTopic(TOPIC, REPLAY_BUFFER_SIZE, SseHub.OverflowPolicy.DISCONNECT);
+        File jsonConfirm = new File(confirmOutLoc);
+        if (jsonConfirm.exists() && jsonConfirm.isFile()) {
+            try {
+                JsonNode rootDevNode = new ObjectMapper().readTree(jsonConfirm);
+                Iterator<String> fieldNames = rootDevNode.fieldNames();
+                while (fieldNames.hasNext()) {
+                    String deviceName = fieldNames.next();
+                    deviceErrors.put(deviceName, new DeviceErrorEvent(0, deviceName, false, null));
+                }
+            } catch (IOException ioException) {
+                log.failure("Error in parsing confirmout", 17, ioException);
+            }
+        } else {
+            log.failure("JSON is in wrong format", 17, null);
+        }
+    }
+
+    public static DeviceErrorBus getDeviceErrorBus() {
+        return deviceErrorBus;
+    }
+
+    /**
+     * Marks a fault on the device. The fault stays present until it is cleared.
+     */
+    public void publishError(String deviceName, DeviceError deviceError) {
+        publish(deviceName, true, deviceError);
+    }
+
+    public void clearError(String deviceName) {
+        publish(deviceName, false, null);
+    }
+
+    public void clearAllErrors() {
+        List<String> faultedDevices = new ArrayList<>();
+        synchronized (this) {
+            deviceErrors.values().forEach(event -> {
+                if (Boolean.TRUE.equals(event.faultPresent)) {
+                    faultedDevices.add(event.deviceName);
+                }
+            });
+        }
+        faultedDevices.forEach(this::clearError);
+    }
+
+    public synchronized List<DeviceErrorStatus> getDeviceErrorStatuses() {
+        List<DeviceErrorStatus> deviceErrorStatuses = new ArrayList<>(deviceErrors.size());
+        deviceErrors.values().forEach(event -> deviceErrorStatuses.add(event.toDeviceErrorStatus()));
+        return deviceErrorStatuses;
+    }
+
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Registers an SSE client. A client that sends a Last-Event-ID still covered by the replay buffer receives the
+     * missed deltas, every other client starts with a full snapshot. The catch-up is queued while holding the bus
+     * lock, so no delta is lost or sent twice between the catch-up and the live stream.
+     */
+    public synchronized void subscribe(SseEmitter sseEmitter, Long lastEventId) throws DeviceException {
+        SseConnection connection = sseHub.subscribe(TOPIC, sseEmitter);
+        if (lastEventId != null && canReplayFrom(lastEventId)) {
+            for (DeviceErrorEvent event : replayBuffer) {
+                if (event.sequence > lastEventId) {
+                    sseHub.send(connection, DELTA_EVENT, String.valueOf(event.sequence), event);
+                }
+            }
+        } else {
+            sseHub.send(connection, SNAPSHOT_EVENT, String.valueOf(sequence), getDeviceErrorStatuses());
+        }
+    }
+
+    private void publish(String deviceName, boolean faultPresent, DeviceError deviceError) {
+        DeviceErrorEvent event;
+        synchronized (this) {
+            DeviceErrorEvent current = deviceErrors.get(deviceName);
+            if (current != null && Boolean.valueOf(faultPresent).equals(current.faultPresent) && current.deviceError == deviceError) {
+                return;
+            }
+            event = new DeviceErrorEvent(++sequence, deviceName, faultPresent, deviceError);
+            deviceErrors.put(deviceName, event);
+            if (replayBuffer.size() == REPLAY_BUFFER_SIZE) {
+                replayBuffer.removeFirst();
+            }
+            replayBuffer.addLast(event);
+            sseHub.publish(TOPIC, DELTA_EVENT, String.valueOf(event.sequence), event);
+        }
+        log.success("Device error event: " + event, 9);
+    }
+
+    private boolean canReplayFrom(long lastEventId) {
+        if (lastEventId > sequence) {
+            return false;
+        }
+        if (replayBuffer.isEmpty()) {
+            return lastEventId == sequence;
+        }
+        return lastEventId >= replayBuffer.peekFirst().sequence - 1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.DeviceHealth;
+import com.target.devicemanager.common.entities.DeviceHealthResponse;
+import com.target.devicemanager.common.entities.DeviceHealthSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DeviceHealthSnapshotSingleton {
+
+    /**
+     * This class holds the latest health of every device. The managers publish into it from the connect loop and
+     * from device events, and the health endpoints read from it so a request never has to probe a driver.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceHealthSnapshotSingleton.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCommonServiceName(), "DeviceHealthSnapshotSingleton", LOGGER);
+    private static final DeviceHealthSnapshotSingleton deviceHealthSnapshotSingleton = new DeviceHealthSnapshotSingleton();
+    public static final String CASH_DRAWER = "cashdrawer";
+    public static final String MICR = "micr";
+    public static final String LINE_DISPLAY = "linedisplay";
+    public static final String PRINTER = "printer";
+    public static final String SCALE = "scale";
+    public static final String FLATBED_SCANNER = "flatbedscanner";
+    public static final String HANDHELD_SCANNER = "handscanner";
+    private final AtomicReference<DeviceHealthSnapshot> snapshot = new AtomicReference<>(DeviceHealthSnapshot.EMPTY);
+
+    private DeviceHealthSnapshotSingleton() {
+        // do nothing at the moment
+    }
+
+    public static DeviceHealthSnapshotSingleton getDeviceHealthSnapshotSingleton() {
+        return deviceHealthSnapshotSingleton;
+    }
+
+    public DeviceHealthSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Publishes the health of one device. Publishing an unchanged health does not create a new snapshot.
+     */
+    public void publish(String healthKey, String deviceName, DeviceHealth health) {
+        DeviceHealthSnapshot current;
+        DeviceHealthSnapshot next;
+        do {
+            current = snapshot.get();
+            if (current.contains(healthKey, deviceName, health)) {
+                return;
+            }
+            next = current.with(healthKey, deviceName, health);
+        } while (!snapshot.compareAndSet(current, next));
+        log.success(healthKey + " health changed to " + health + " (version " + next.getVersion() + ")", 9);
+    }
+
+    /**
+     * Reads the published health of one device. A device that has not been published yet is reported as NOTREADY.
+     */
+    public DeviceHealthResponse getHealth(String healthKey, String deviceName) {
+        DeviceHealthResponse deviceHealthResponse = snapshot.get().get(healthKey);
+        if (deviceHealthResponse == null) {
+            return new DeviceHealthResponse(deviceName, DeviceHealth.NOTREADY);
+        }
+        return deviceHealthResponse;
+    }
+
+    /**
+     * This method is only used to reset the snapshot for unit testing
+     */
+    void reset() {
+        snapshot.set(DeviceHealthSnapshot.EMPTY);
+    }
+}
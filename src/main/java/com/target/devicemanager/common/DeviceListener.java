@@ -22,6 +22,7 @@ import java.util.concurrent.atomic.AtomicReference;
 public class DeviceListener implements DataListener, ErrorListener, StatusUpdateListener, OutputCompleteListener {
 
     private final EventSynchronizer eventSynchronizer;
+    private final JposEventRecorder eventRecorder;
     private static final Logger LOGGER = LoggerFactory.getLogger(DeviceListener.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCommonServiceName(), "DeviceListener", LOGGER);
 
@@ -31,20 +32,34 @@ public class DeviceListener implements DataListener, ErrorListener, StatusUpdate
     private final AtomicLong lastErrorLogTime = new AtomicLong(0);
 
     public DeviceListener(EventSynchronizer eventSynchronizer) {
+        this(eventSynchronizer, JposEventRecorder.getRecorder("device"));
+    }
+
+    /**
+     * @param eventSynchronizer hands events to the waiting request.
+     * @param eventRecorder keeps every event this listener receives.
+     */
+    public DeviceListener(EventSynchronizer eventSynchronizer, JposEventRecorder eventRecorder) {
         if (eventSynchronizer == null) {
             throw new IllegalArgumentException("eventSynchronizer cannot be null");
         }
+        if (eventRecorder == null) {
+            throw new IllegalArgumentException("eventRecorder cannot be null");
+        }
         this.eventSynchronizer = eventSynchronizer;
+        this.eventRecorder = eventRecorder;
     }
 
     @Override
     public void dataOccurred(DataEvent dataEvent) {
+        eventRecorder.record(dataEvent);
         log.success("dataOccurred(): " + dataEvent.getStatus(), 1);
         eventSynchronizer.triggerEvent(dataEvent);
     }
 
     @Override
     public void errorOccurred(ErrorEvent errorEvent) {
+        eventRecorder.record(errorEvent);
         int errorCode = errorEvent.getErrorCode();
         int errorExt = errorEvent.getErrorCodeExtended();
         int errorLocus = errorEvent.getErrorLocus();
@@ -90,6 +105,7 @@ public class DeviceListener implements DataListener, ErrorListener, StatusUpdate
 
     @Override
     public void statusUpdateOccurred(StatusUpdateEvent statusUpdateEvent) {
+        eventRecorder.record(statusUpdateEvent);
         log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
         if (isFailureStatus(statusUpdateEvent.getStatus())) {
             //Don't trigger the event for things we expect, like online statuses
@@ -99,6 +115,7 @@ public class DeviceListener implements DataListener, ErrorListener, StatusUpdate
 
     @Override
     public void outputCompleteOccurred(OutputCompleteEvent outputCompleteEvent) {
+        eventRecorder.record(outputCompleteEvent);
         log.success("outputCompleteOccurred(): " + outputCompleteEvent.getOutputID(), 1);
         eventSynchronizer.triggerEvent(outputCompleteEvent);
     }
@@ -0,0 +1,138 @@
+package com.target.devicemanager.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a device operation, so a recording shows scans, print jobs and the like on the same
+ * timeline as GC pauses and thread activity. Call begin() when the operation starts and commitSuccess or
+ * commitFailure when it ends; while the event type is disabled that costs next to nothing. The operations are the
+ * ones timed by DeviceOperationMetrics and report the same device tag and outcome.
+ */
+@Category({"POSSUM", "Device"})
+@StackTrace(false)
+public abstract class DeviceOperationEvent extends Event {
+
+    static final String NAME_PREFIX = "com.target.possum.";
+
+    @Label("Device")
+    private String device;
+
+    @Label("Logical Name")
+    private String logicalName;
+
+    @Label("Outcome")
+    @Description("success, failure or cancelled")
+    private String outcome;
+
+    @Label("Error")
+    private String error;
+
+    DeviceOperationEvent(String device) {
+        this.device = device;
+    }
+
+    public void commitSuccess(String logicalName) {
+        end();
+        if (shouldCommit()) {
+            this.logicalName = logicalName;
+            this.outcome = DeviceOperationMetrics.SUCCESS;
+            commit();
+        }
+    }
+
+    /**
+     * @param cause why the operation failed, a JavaPOS disabled error is reported as cancelled.
+     */
+    public void commitFailure(String logicalName, Throwable cause) {
+        end();
+        if (shouldCommit()) {
+            this.logicalName = logicalName;
+            this.outcome = DeviceOperationMetrics.getOutcome(cause);
+            this.error = DeviceOperationMetrics.getErrorTag(cause);
+            commit();
+        }
+    }
+
+    public String getDevice() {
+        return device;
+    }
+
+    public String getLogicalName() {
+        return logicalName;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Name(NAME_PREFIX + "ScanSession")
+    @Label("Scan Session")
+    @Description("Scanner enabled until a label was read, the scan was cancelled or it failed")
+    public static class ScanSession extends DeviceOperationEvent {
+        public ScanSession(String device) {
+            super(device);
+        }
+    }
+
+    @Name(NAME_PREFIX + "PrintJob")
+    @Label("Print Job")
+    @Description("Receipt or slip print from request until the printer completed the output")
+    public static class PrintJob extends DeviceOperationEvent {
+        public PrintJob(String device) {
+            super(device);
+        }
+    }
+
+    @Name(NAME_PREFIX + "StableWeightRead")
+    @Label("Stable Weight Read")
+    @Description("Scale read from request until the weight settled or the read timed out")
+    public static class StableWeightRead extends DeviceOperationEvent {
+        public StableWeightRead(String device) {
+            super(device);
+        }
+    }
+
+    @Name(NAME_PREFIX + "DrawerCycle")
+    @Label("Drawer Cycle")
+    @Description("Cash drawer opened until it was closed again")
+    public static class DrawerCycle extends DeviceOperationEvent {
+        public DrawerCycle(String device) {
+            super(device);
+        }
+    }
+
+    @Name(NAME_PREFIX + "MicrRead")
+    @Label("MICR Read")
+    @Description("Check inserted until the MICR data or an error arrived")
+    public static class MicrRead extends DeviceOperationEvent {
+        public MicrRead(String device) {
+            super(device);
+        }
+    }
+
+    @Name(NAME_PREFIX + "Connect")
+    @Label("Device Connect")
+    @Description("Open, claim and test enable of one devcon.xml entry")
+    public static class Connect extends DeviceOperationEvent {
+        public Connect(String device) {
+            super(device);
+        }
+    }
+
+    @Name(NAME_PREFIX + "Claim")
+    @Label("Device Claim")
+    public static class Claim extends DeviceOperationEvent {
+        public Claim(String device) {
+            super(device);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.target.devicemanager.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jpos.BaseJposControl;
+import jpos.JposConst;
+import jpos.JposException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times device operations end to end, from the request reaching the device until the device reports the outcome.
+ * Every operation lands in possum.device.operation tagged by device, operation, logical name and outcome, with a
+ * percentile histogram so latency can be compared lane by lane. Failures are also counted by error in
+ * possum.device.operation.errors.
+ */
+public class DeviceOperationMetrics {
+
+    static final String OPERATION_TIMER = "possum.device.operation";
+    static final String ERROR_COUNTER = "possum.device.operation.errors";
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+    static final String CANCELLED = "cancelled";
+    private static final String UNKNOWN = "unknown";
+    private static final DeviceOperationMetrics deviceOperationMetrics = new DeviceOperationMetrics(Metrics.globalRegistry);
+
+    private final MeterRegistry meterRegistry;
+    //Meters by tag values, so an operation only looks its meters up instead of building and registering them
+    private final Map<List<String>, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    DeviceOperationMetrics(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("meterRegistry cannot be null");
+        }
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static DeviceOperationMetrics getDeviceOperationMetrics() {
+        return deviceOperationMetrics;
+    }
+
+    /**
+     * Records an operation that completed.
+     * @param device device tag, see getDeviceTag.
+     * @param operation what was timed, for example scan or print.
+     * @param logicalName devcon.xml logical name of the connected device.
+     * @param startNanos System.nanoTime() when the operation started.
+     */
+    public void recordSuccess(String device, String operation, String logicalName, long startNanos) {
+        getTimer(device, operation, logicalName, SUCCESS).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records an operation that failed. A JavaPOS disabled error is how a client cancel surfaces, it is recorded as
+     * cancelled and not counted as an error.
+     * @param device device tag, see getDeviceTag.
+     * @param operation what was timed, for example scan or print.
+     * @param logicalName devcon.xml logical name of the connected device.
+     * @param startNanos System.nanoTime() when the operation started.
+     * @param cause why the operation failed, may be null.
+     */
+    public void recordFailure(String device, String operation, String logicalName, long startNanos, Throwable cause) {
+        String outcome = getOutcome(cause);
+        getTimer(device, operation, logicalName, outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (!CANCELLED.equals(outcome)) {
+            getErrorCounter(device, operation, logicalName, getErrorTag(cause)).increment();
+        }
+    }
+
+    /**
+     * Device tag of a JavaPOS control, the lower case name of its JavaPOS control class (scanner, posprinter, scale,
+     * cashdrawer, micr, linedisplay) so simulated and real devices report under the same tag.
+     */
+    public static String getDeviceTag(Class<? extends BaseJposControl> control) {
+        if (control == null) {
+            return UNKNOWN;
+        }
+        Class<?> controlClass = control;
+        while (controlClass.getSuperclass() != null && !"jpos".equals(controlClass.getPackageName())) {
+            controlClass = controlClass.getSuperclass();
+        }
+        return "jpos".equals(controlClass.getPackageName()) ? controlClass.getSimpleName().toLowerCase() : UNKNOWN;
+    }
+
+    private Timer getTimer(String device, String operation, String logicalName, String outcome) {
+        List<String> tagValues = getTagValues(device, operation, logicalName, outcome);
+        return timers.computeIfAbsent(tagValues, key -> Timer.builder(OPERATION_TIMER)
+                .description("Time taken by a device operation from request to completion")
+                .tags(getTags(key))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter getErrorCounter(String device, String operation, String logicalName, String error) {
+        List<String> tagValues = getTagValues(device, operation, logicalName, error);
+        return errorCounters.computeIfAbsent(tagValues, key -> Counter.builder(ERROR_COUNTER)
+                .description("Device operations that ended in an error")
+                .tags(getTags(key))
+                .tag("error", error)
+                .register(meterRegistry));
+    }
+
+    private static List<String> getTagValues(String device, String operation, String logicalName, String last) {
+        return List.of(
+                device == null ? UNKNOWN : device,
+                operation,
+                logicalName == null || logicalName.isEmpty() ? UNKNOWN : logicalName,
+                last);
+    }
+
+    private static Tags getTags(List<String> tagValues) {
+        return Tags.of(
+                "device", tagValues.get(0),
+                "operation", tagValues.get(1),
+                "logical.name", tagValues.get(2));
+    }
+
+    /**
+     * Outcome of an operation that failed with the given cause, cancelled for a JavaPOS disabled error.
+     */
+    static String getOutcome(Throwable cause) {
+        boolean cancelled = cause instanceof JposException && ((JposException) cause).getErrorCode() == JposConst.JPOS_E_DISABLED;
+        return cancelled ? CANCELLED : FAILURE;
+    }
+
+    static String getErrorTag(Throwable cause) {
+        if (cause instanceof JposException) {
+            return "JPOS_" + ((JposException) cause).getErrorCode();
+        }
+        return cause == null ? UNKNOWN : cause.getClass().getSimpleName();
+    }
+}
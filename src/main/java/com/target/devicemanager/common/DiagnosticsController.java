@@ -0,0 +1,45 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.JposEventRecord;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@Tag(name = "Diagnostics")
+public class DiagnosticsController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiagnosticsController.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCommonServiceName(), "DiagnosticsController", LOGGER);
+
+    @Operation(description = "Recent JavaPOS events of every device, oldest first")
+    @GetMapping(path = "/v1/diagnostics/jposevents")
+    public Map<String, List<JposEventRecord>> getJposEvents() {
+        log.successAPI("API Request Received", 1, "/v1/diagnostics/jposevents", null, 0);
+        Map<String, List<JposEventRecord>> events = new LinkedHashMap<>();
+        JposEventRecorder.getRecorders().forEach((device, recorder) -> events.put(device, recorder.getEvents()));
+        return events;
+    }
+
+    @Operation(description = "Recent JavaPOS events of one device, oldest first")
+    @GetMapping(path = "/v1/diagnostics/jposevents/{device}")
+    public ResponseEntity<List<JposEventRecord>> getJposEvents(@PathVariable String device) {
+        String url = "/v1/diagnostics/jposevents/" + device;
+        log.successAPI("API Request Received", 1, url, null, 0);
+        JposEventRecorder recorder = JposEventRecorder.getRecorders().get(device);
+        if (recorder == null) {
+            log.failureAPI("API Request Failed: unknown device", 9, url, null, 404, null);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(recorder.getEvents());
+    }
+}
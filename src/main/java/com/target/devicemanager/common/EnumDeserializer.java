@@ -1,17 +1,35 @@
 package com.target.devicemanager.common;
 
-import java.util.List;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 
 public final class EnumDeserializer {
     private EnumDeserializer() {
     }
 
-    public static <T extends Enum> T deserialize(List<T> possibleValues, String valueToDeserialize) {
-        for (T value : possibleValues) {
-            if (value.name().equalsIgnoreCase(valueToDeserialize)) {
-                return value;
-            }
+    /**
+     * Builds a case-insensitive name table for an enum. Enums keep the table in a static field so deserializing a
+     * value is a hash lookup instead of a scan over a fresh copy of values().
+     * @param enumClass enum to build the table for.
+     * @return table keyed by the upper case constant name.
+     */
+    public static <T extends Enum<T>> Map<String, T> lookupTable(Class<T> enumClass) {
+        T[] constants = enumClass.getEnumConstants();
+        Map<String, T> lookupTable = new HashMap<>(constants.length * 2);
+        for (T constant : constants) {
+            lookupTable.put(constant.name().toUpperCase(Locale.ROOT), constant);
         }
-        return null;
+        return Collections.unmodifiableMap(lookupTable);
+    }
+
+    public static <T extends Enum<T>> T deserialize(Map<String, T> lookupTable, String valueToDeserialize) {
+        if (valueToDeserialize == null) {
+            return null;
+        }
+        //Clients almost always send the constant name as is, only fold the case when that misses
+        T value = lookupTable.get(valueToDeserialize);
+        return value != null ? value : lookupTable.get(valueToDeserialize.toUpperCase(Locale.ROOT));
     }
 }
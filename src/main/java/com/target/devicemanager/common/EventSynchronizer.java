@@ -56,23 +56,30 @@ public class EventSynchronizer {
 
     //Do not make this synchronized, the phaser guarantees this will only trigger when the other threads send us data
     public JposEvent waitForEvent() {
+        EventSynchronizerWaitEvent waitEvent = new EventSynchronizerWaitEvent();
+        waitEvent.begin();
         phaser.awaitAdvance(waitingPhase.get());
         JposEvent tmpEvent;
         synchronized (this) {
             areEventsActive.set(false);
             tmpEvent = lastEvent;
         }
+        waitEvent.commitWait(tmpEvent, false);
         return tmpEvent;
     }
 
     // Waits for an event up to the specified timeout.
     public JposEvent waitForEvent(long timeout, TimeUnit unit) throws JposException {
+        EventSynchronizerWaitEvent waitEvent = new EventSynchronizerWaitEvent();
+        waitEvent.timeout = unit.toMillis(timeout);
+        waitEvent.begin();
         try {
             phaser.awaitAdvanceInterruptibly(waitingPhase.get(), timeout, unit);
         } catch (TimeoutException timeoutException) {
             synchronized (this) {
                 areEventsActive.set(false);
             }
+            waitEvent.commitWait(null, true);
             log.failure("waitForEvent timed out after " + unit.toMillis(timeout) + "ms", 18, null);
             throw new JposException(JposConst.JPOS_E_TIMEOUT);
         } catch (InterruptedException interruptedException) {
@@ -80,6 +87,7 @@ public class EventSynchronizer {
             synchronized (this) {
                 areEventsActive.set(false);
             }
+            waitEvent.commitWait(null, false);
             log.failure("waitForEvent interrupted", 17, interruptedException);
             throw new JposException(JposConst.JPOS_E_TIMEOUT);
         }
@@ -88,6 +96,7 @@ public class EventSynchronizer {
             areEventsActive.set(false);
             tmpEvent = lastEvent;
         }
+        waitEvent.commitWait(tmpEvent, false);
         return tmpEvent;
     }
 
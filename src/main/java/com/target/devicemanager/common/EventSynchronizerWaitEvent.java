@@ -0,0 +1,41 @@
+package com.target.devicemanager.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import jpos.events.JposEvent;
+
+/**
+ * Flight recorder event for a request thread parked in EventSynchronizer until the device answered.
+ */
+@Name(DeviceOperationEvent.NAME_PREFIX + "EventSynchronizerWait")
+@Label("Event Synchronizer Wait")
+@Description("Request thread waiting for a JavaPOS event")
+@Category({"POSSUM", "Device"})
+@StackTrace(true)
+class EventSynchronizerWaitEvent extends Event {
+
+    @Label("Timeout")
+    @Timespan(Timespan.MILLISECONDS)
+    long timeout;
+
+    @Label("Event Type")
+    @Description("Type of the event that ended the wait, empty when it timed out")
+    String eventType;
+
+    @Label("Timed Out")
+    boolean timedOut;
+
+    void commitWait(JposEvent jposEvent, boolean timedOut) {
+        end();
+        if (shouldCommit()) {
+            this.eventType = jposEvent == null ? "" : jposEvent.getClass().getSimpleName();
+            this.timedOut = timedOut;
+            commit();
+        }
+    }
+}
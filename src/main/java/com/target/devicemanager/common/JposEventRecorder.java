@@ -0,0 +1,180 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.JposEventRecord;
+import jpos.events.DataEvent;
+import jpos.events.DirectIOEvent;
+import jpos.events.ErrorEvent;
+import jpos.events.JposEvent;
+import jpos.events.OutputCompleteEvent;
+import jpos.events.StatusUpdateEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the last JavaPOS events a device delivered, like a flight recorder, so what led up to a fault can be read
+ * back from /v1/diagnostics/jposevents without running the driver logs at DEBUG. Every event is recorded; the ring is
+ * preallocated and recording copies a few ints into it, so it costs nothing measurable on the event thread and never
+ * allocates. The oldest events are overwritten once the ring is full.
+ */
+public class JposEventRecorder {
+
+    static final int DEFAULT_CAPACITY = 256;
+    static final String DATA = "DATA";
+    static final String ERROR = "ERROR";
+    static final String STATUS_UPDATE = "STATUS_UPDATE";
+    static final String OUTPUT_COMPLETE = "OUTPUT_COMPLETE";
+    static final String DIRECT_IO = "DIRECT_IO";
+    static final String OTHER = "OTHER";
+    private static final String[] EVENT_TYPES = {DATA, ERROR, STATUS_UPDATE, OUTPUT_COMPLETE, DIRECT_IO, OTHER};
+    //Wall clock at the time of the nanoTime base, used to turn recorded nanoTimes into timestamps when dumping
+    private static final long BASE_NANO_TIME = System.nanoTime();
+    private static final long BASE_EPOCH_NANOS = System.currentTimeMillis() * 1_000_000L;
+    private static final Map<String, JposEventRecorder> recorders = new ConcurrentHashMap<>();
+
+    private final String device;
+    private final long[] nanoTimes;
+    private final int[] eventTypes;
+    private final int[] codes;
+    private final int[] codesExtended;
+    private final int[] errorLoci;
+    private final int[] errorResponses;
+    private final long[] threadIds;
+    private final String[] threadNames;
+    private long recorded = 0;
+    //Devices that forward events between their listeners see the same event twice, it is only recorded once
+    private JposEvent lastEvent;
+
+    JposEventRecorder(String device, int capacity) {
+        if (device == null) {
+            throw new IllegalArgumentException("device cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.device = device;
+        this.nanoTimes = new long[capacity];
+        this.eventTypes = new int[capacity];
+        this.codes = new int[capacity];
+        this.codesExtended = new int[capacity];
+        this.errorLoci = new int[capacity];
+        this.errorResponses = new int[capacity];
+        this.threadIds = new long[capacity];
+        this.threadNames = new String[capacity];
+    }
+
+    /**
+     * Recorder of a device, created on first use. -DjposEventRecorderSize sets how many events each device keeps,
+     * 256 by default.
+     * @param device name the events are dumped under, for example posprinter or scanner.flatbed.
+     */
+    public static JposEventRecorder getRecorder(String device) {
+        return recorders.computeIfAbsent(device, name -> new JposEventRecorder(name, Integer.getInteger("jposEventRecorderSize", DEFAULT_CAPACITY)));
+    }
+
+    /**
+     * Recorders by device name, sorted by name.
+     */
+    public static Map<String, JposEventRecorder> getRecorders() {
+        return Collections.unmodifiableMap(new TreeMap<>(recorders));
+    }
+
+    /**
+     * Records the event together with the time and the thread that delivered it. Null events are ignored.
+     */
+    public void record(JposEvent jposEvent) {
+        if (jposEvent == null) {
+            return;
+        }
+        long nanoTime = System.nanoTime();
+        Thread thread = Thread.currentThread();
+        int eventType;
+        int code = 0;
+        int codeExtended = 0;
+        int errorLocus = 0;
+        int errorResponse = 0;
+        if (jposEvent instanceof DataEvent) {
+            eventType = 0;
+            code = ((DataEvent) jposEvent).getStatus();
+        } else if (jposEvent instanceof ErrorEvent) {
+            ErrorEvent errorEvent = (ErrorEvent) jposEvent;
+            eventType = 1;
+            code = errorEvent.getErrorCode();
+            codeExtended = errorEvent.getErrorCodeExtended();
+            errorLocus = errorEvent.getErrorLocus();
+            errorResponse = errorEvent.getErrorResponse();
+        } else if (jposEvent instanceof StatusUpdateEvent) {
+            eventType = 2;
+            code = ((StatusUpdateEvent) jposEvent).getStatus();
+        } else if (jposEvent instanceof OutputCompleteEvent) {
+            eventType = 3;
+            code = ((OutputCompleteEvent) jposEvent).getOutputID();
+        } else if (jposEvent instanceof DirectIOEvent) {
+            eventType = 4;
+            code = ((DirectIOEvent) jposEvent).getEventNumber();
+            codeExtended = ((DirectIOEvent) jposEvent).getData();
+        } else {
+            eventType = 5;
+        }
+        synchronized (this) {
+            if (jposEvent == lastEvent) {
+                return;
+            }
+            lastEvent = jposEvent;
+            int slot = (int) (recorded % nanoTimes.length);
+            nanoTimes[slot] = nanoTime;
+            eventTypes[slot] = eventType;
+            codes[slot] = code;
+            codesExtended[slot] = codeExtended;
+            errorLoci[slot] = errorLocus;
+            errorResponses[slot] = errorResponse;
+            threadIds[slot] = thread.getId();
+            threadNames[slot] = thread.getName();
+            recorded++;
+        }
+    }
+
+    /**
+     * Copy of the events still in the ring, oldest first.
+     */
+    public synchronized List<JposEventRecord> getEvents() {
+        int size = (int) Math.min(recorded, nanoTimes.length);
+        List<JposEventRecord> events = new ArrayList<>(size);
+        for (long sequence = recorded - size; sequence < recorded; sequence++) {
+            int slot = (int) (sequence % nanoTimes.length);
+            long epochNanos = BASE_EPOCH_NANOS + (nanoTimes[slot] - BASE_NANO_TIME);
+            events.add(new JposEventRecord(
+                    sequence,
+                    Instant.ofEpochSecond(0, epochNanos).toString(),
+                    nanoTimes[slot],
+                    EVENT_TYPES[eventTypes[slot]],
+                    codes[slot],
+                    codesExtended[slot],
+                    errorLoci[slot],
+                    errorResponses[slot],
+                    threadNames[slot],
+                    threadIds[slot]));
+        }
+        return events;
+    }
+
+    /**
+     * Number of events recorded since startup, including the ones already overwritten.
+     */
+    public synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    public int getCapacity() {
+        return nanoTimes.length;
+    }
+
+    public String getDevice() {
+        return device;
+    }
+}
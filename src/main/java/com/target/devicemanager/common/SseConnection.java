@@ -0,0 +1,104 @@
+package com.target.devicemanager.common;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One client of an SseHub topic. Outbound events wait in a bounded queue and are written by a single hub thread at a
+ * time, so a slow client only ever backs up its own queue and holds only its own sender thread.
+ */
+public class SseConnection {
+
+    private final String topic;
+    private final SseEmitter emitter;
+    private final ArrayBlockingQueue<QueuedEvent> outbound;
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+    //When the send in progress started, 0 while no send is running
+    private volatile long sendStartedNanos;
+
+    SseConnection(String topic, SseEmitter emitter, int queueCapacity) {
+        this.topic = topic;
+        this.emitter = emitter;
+        this.outbound = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    ArrayBlockingQueue<QueuedEvent> getOutbound() {
+        return outbound;
+    }
+
+    AtomicBoolean getDraining() {
+        return draining;
+    }
+
+    long getSendStartedNanos() {
+        return sendStartedNanos;
+    }
+
+    void setSendStartedNanos(long sendStartedNanos) {
+        this.sendStartedNanos = sendStartedNanos;
+    }
+
+    void close() {
+        closed = true;
+        outbound.clear();
+    }
+
+    static final class QueuedEvent {
+        final String name;
+        final String id;
+        final String data;
+        final String comment;
+        final long bytes;
+        final long enqueuedNanos;
+
+        QueuedEvent(String name, String id, String data, String comment) {
+            this.name = name;
+            this.id = id;
+            this.data = data;
+            this.comment = comment;
+            this.bytes = (id == null ? 0 : id.length())
+                    + (name == null ? 0 : name.length())
+                    + (comment == null ? 0 : comment.length())
+                    + (data == null ? 0 : data.getBytes(StandardCharsets.UTF_8).length);
+            this.enqueuedNanos = System.nanoTime();
+        }
+
+        /**
+         * Event builders are consumed when they are sent, so every connection builds its own from the shared payload.
+         */
+        SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (id != null) {
+                event.id(id);
+            }
+            if (name != null) {
+                event.name(name);
+            }
+            if (comment != null) {
+                event.comment(comment);
+            }
+            if (data != null) {
+                event.data(data, MediaType.APPLICATION_JSON);
+            }
+            return event;
+        }
+
+    }
+}
@@ -0,0 +1,287 @@
+package com.target.devicemanager.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.target.devicemanager.common.entities.DeviceError;
+import com.target.devicemanager.common.entities.DeviceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SseHub {
+
+    /**
+     * Every server-sent event stream is served from this hub. Publishers serialize once and only enqueue, sender
+     * threads write to the clients, at most one per connection, so a client stalled in a blocking write holds only its
+     * own stream. Each connection has a bounded queue, so a stalled client can not hold memory or a publisher thread,
+     * a send that does not finish within the send timeout closes the connection, and an idle stream carries a
+     * heartbeat comment so dead peers are noticed.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SseHub.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCommonServiceName(), "SseHub", LOGGER);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int DEFAULT_MAX_CONNECTIONS = 32;
+    private static final long HEARTBEAT_INTERVAL_MSEC = 15000;
+    private static final long SEND_TIMEOUT_MSEC = 10000;
+    static final String HEARTBEAT_COMMENT = "heartbeat";
+    private static final SseHub sseHub = new SseHub(Metrics.globalRegistry, DEFAULT_MAX_CONNECTIONS, HEARTBEAT_INTERVAL_MSEC);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxConnections;
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final long sendTimeoutNanos;
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final ExecutorService senderExecutor;
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    public enum OverflowPolicy {
+        /** Discard the oldest queued event. Use for streams where only the latest value matters. */
+        DROP_OLDEST,
+        /** Close the connection. Use for streams the client can resume with Last-Event-ID. */
+        DISCONNECT
+    }
+
+    SseHub(MeterRegistry meterRegistry, int maxConnections, long heartbeatIntervalMsec) {
+        this(meterRegistry, maxConnections, heartbeatIntervalMsec, SEND_TIMEOUT_MSEC);
+    }
+
+    SseHub(MeterRegistry meterRegistry, int maxConnections, long heartbeatIntervalMsec, long sendTimeoutMsec) {
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("meterRegistry cannot be null");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxConnections = maxConnections;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMsec);
+        //Threads come and go with busy connections, a connection is drained by one thread at a time
+        this.senderExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sse-hub-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "sse-hub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.heartbeatExecutor = executor;
+        this.heartbeatExecutor.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatIntervalMsec, heartbeatIntervalMsec, TimeUnit.MILLISECONDS);
+        long stallCheckMsec = Math.max(1, sendTimeoutMsec / 2);
+        this.heartbeatExecutor.scheduleWithFixedDelay(this::closeStalledConnections, stallCheckMsec, stallCheckMsec, TimeUnit.MILLISECONDS);
+    }
+
+    public static SseHub getSseHub() {
+        return sseHub;
+    }
+
+    /**
+     * Creates the topic and its meters. Registering an existing topic again keeps the first settings.
+     */
+    public void registerTopic(String topic, int queueCapacity, OverflowPolicy overflowPolicy) {
+        topics.computeIfAbsent(topic, name -> new Topic(name, queueCapacity, overflowPolicy, meterRegistry));
+    }
+
+    /**
+     * Adds the emitter to the topic. Throws SSE_CONNECTION_LIMIT when the hub already serves the maximum number of
+     * streams across all topics.
+     */
+    public SseConnection subscribe(String topic, SseEmitter emitter) throws DeviceException {
+        Topic registeredTopic = getTopic(topic);
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            registeredTopic.rejected.increment();
+            log.failure("Rejected " + topic + " subscriber, " + maxConnections + " streams already open", 13, null);
+            throw new DeviceException(DeviceError.SSE_CONNECTION_LIMIT);
+        }
+        SseConnection connection = new SseConnection(topic, emitter, registeredTopic.queueCapacity);
+        registeredTopic.connections.add(connection);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(throwable -> remove(connection));
+        return connection;
+    }
+
+    /**
+     * Sends the event to every subscriber of the topic. The data is serialized once, a String is sent as is.
+     */
+    public void publish(String topic, String eventName, String eventId, Object data) {
+        Topic registeredTopic = getTopic(topic);
+        if (registeredTopic.connections.isEmpty()) {
+            return;
+        }
+        SseConnection.QueuedEvent event = new SseConnection.QueuedEvent(eventName, eventId, serialize(data), null);
+        registeredTopic.connections.forEach(connection -> enqueue(registeredTopic, connection, event));
+    }
+
+    /**
+     * Sends the event to a single subscriber, for example the initial snapshot of a new stream.
+     */
+    public void send(SseConnection connection, String eventName, String eventId, Object data) {
+        enqueue(getTopic(connection.getTopic()), connection, new SseConnection.QueuedEvent(eventName, eventId, serialize(data), null));
+    }
+
+    public int getSubscriberCount(String topic) {
+        Topic registeredTopic = topics.get(topic);
+        return registeredTopic == null ? 0 : registeredTopic.connections.size();
+    }
+
+    private Topic getTopic(String topic) {
+        Topic registeredTopic = topics.get(topic);
+        if (registeredTopic == null) {
+            throw new IllegalArgumentException("topic " + topic + " is not registered");
+        }
+        return registeredTopic;
+    }
+
+    private void enqueue(Topic topic, SseConnection connection, SseConnection.QueuedEvent event) {
+        if (connection.isClosed()) {
+            return;
+        }
+        if (!connection.getOutbound().offer(event)) {
+            if (topic.overflowPolicy == OverflowPolicy.DISCONNECT) {
+                topic.dropped.increment();
+                log.failure("Closing slow " + topic.name + " subscriber", 13, null);
+                remove(connection);
+                //Publishers may hold locks, completing waits for a send in progress so it is left to a sender thread
+                senderExecutor.execute(() -> complete(connection));
+                return;
+            }
+            while (!connection.getOutbound().offer(event)) {
+                if (connection.getOutbound().poll() != null) {
+                    topic.dropped.increment();
+                }
+            }
+        }
+        scheduleDrain(topic, connection);
+    }
+
+    private void scheduleDrain(Topic topic, SseConnection connection) {
+        if (connection.getDraining().compareAndSet(false, true)) {
+            senderExecutor.execute(() -> drain(topic, connection));
+        }
+    }
+
+    /**
+     * Only one thread drains a connection at a time, which keeps the events of one stream in order.
+     */
+    private void drain(Topic topic, SseConnection connection) {
+        try {
+            SseConnection.QueuedEvent event;
+            while (!connection.isClosed() && (event = connection.getOutbound().poll()) != null) {
+                try {
+                    connection.setSendStartedNanos(System.nanoTime());
+                    connection.getEmitter().send(event.toEvent());
+                    topic.bytes.increment(event.bytes);
+                    topic.sendLatency.record(System.nanoTime() - event.enqueuedNanos, TimeUnit.NANOSECONDS);
+                } catch (IOException | IllegalStateException exception) {
+                    //Remove the client from the connection pool
+                    remove(connection);
+                    return;
+                } finally {
+                    connection.setSendStartedNanos(0);
+                }
+            }
+        } finally {
+            connection.getDraining().set(false);
+        }
+        if (!connection.isClosed() && !connection.getOutbound().isEmpty()) {
+            scheduleDrain(topic, connection);
+        }
+    }
+
+    private void sendHeartbeats() {
+        topics.values().forEach(topic -> topic.connections.forEach(connection -> {
+            //A full queue means the stream is already busy, there is no need to add to it
+            if (connection.getOutbound().offer(new SseConnection.QueuedEvent(null, null, null, HEARTBEAT_COMMENT))) {
+                scheduleDrain(topic, connection);
+            }
+        }));
+    }
+
+    /**
+     * Closes connections whose send has been blocked longer than the send timeout. The blocked sender thread is
+     * released once the container gives up on the write, the connection slot is freed right away.
+     */
+    private void closeStalledConnections() {
+        long now = System.nanoTime();
+        for (Topic topic : topics.values()) {
+            for (SseConnection connection : topic.connections) {
+                long sendStartedNanos = connection.getSendStartedNanos();
+                if (sendStartedNanos != 0 && now - sendStartedNanos > sendTimeoutNanos) {
+                    topic.dropped.increment();
+                    log.failure("Closing stalled " + topic.name + " subscriber", 13, null);
+                    remove(connection);
+                    senderExecutor.execute(() -> complete(connection));
+                }
+            }
+        }
+    }
+
+    private static void complete(SseConnection connection) {
+        try {
+            connection.getEmitter().complete();
+        } catch (IllegalStateException illegalStateException) {
+            //Already completed by the container
+        }
+    }
+
+    private void remove(SseConnection connection) {
+        Topic topic = topics.get(connection.getTopic());
+        if (topic != null && topic.connections.remove(connection)) {
+            connectionCount.decrementAndGet();
+        }
+        connection.close();
+    }
+
+    private static String serialize(Object data) {
+        if (data == null || data instanceof String) {
+            return (String) data;
+        }
+        try {
+            return MAPPER.writeValueAsString(data);
+        } catch (JsonProcessingException jsonProcessingException) {
+            throw new IllegalArgumentException("Unable to serialize event data", jsonProcessingException);
+        }
+    }
+
+    private static final class Topic {
+        private final String name;
+        private final int queueCapacity;
+        private final OverflowPolicy overflowPolicy;
+        private final List<SseConnection> connections = new CopyOnWriteArrayList<>();
+        private final Counter bytes;
+        private final Counter dropped;
+        private final Counter rejected;
+        private final Timer sendLatency;
+
+        private Topic(String name, int queueCapacity, OverflowPolicy overflowPolicy, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.queueCapacity = queueCapacity;
+            this.overflowPolicy = overflowPolicy;
+            Gauge.builder("possum.sse.subscribers", connections, List::size)
+                    .tag("topic", name)
+                    .register(meterRegistry);
+            this.bytes = Counter.builder("possum.sse.bytes").tag("topic", name).baseUnit("bytes").register(meterRegistry);
+            this.dropped = Counter.builder("possum.sse.dropped").tag("topic", name).register(meterRegistry);
+            this.rejected = Counter.builder("possum.sse.rejected").tag("topic", name).register(meterRegistry);
+            this.sendLatency = Timer.builder("possum.sse.send.latency").tag("topic", name).register(meterRegistry);
+        }
+    }
+}
@@ -100,12 +100,15 @@ public class StructuredEventLogger {
     }
 
     private LogPayloadBuilder base(String action, String outcome, int severity) {
+        TraceContext traceContext = TraceContext.current();
         return new LogPayloadBuilder()
                 .add(LogField.SERVICE_NAME, serviceName)
                 .add(LogField.COMPONENT, component)
                 .add(LogField.EVENT_ACTION, action)
                 .add(LogField.EVENT_OUTCOME, outcome)
-                .add(LogField.EVENT_SEVERITY, severity);
+                .add(LogField.EVENT_SEVERITY, severity)
+                .add(LogField.TRACE_ID, traceContext == null ? null : traceContext.getTraceId())
+                .add(LogField.TRANSACTION_ID, traceContext == null ? null : traceContext.getTransactionId());
     }
 
     private void emitBySeverity(LogPayloadBuilder b, int severity) {
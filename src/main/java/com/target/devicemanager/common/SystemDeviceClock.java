@@ -0,0 +1,33 @@
+package com.target.devicemanager.common;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wall clock time, used in production and whenever no other clock is configured.
+ */
+final class SystemDeviceClock implements DeviceClock {
+
+    static final SystemDeviceClock INSTANCE = new SystemDeviceClock();
+
+    private SystemDeviceClock() {
+        // use DeviceClock.system()
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    @Override
+    public <T> T get(Future<T> future, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        return future.get(timeout, unit);
+    }
+}
@@ -0,0 +1,138 @@
+package com.target.devicemanager.common;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace and transaction id of the request a device call is made for. The context lives in a thread local, so it has
+ * to be carried across every thread hop: wrap tasks handed to executors, and have devices attach the context of the
+ * running operation while handling JavaPOS events, which arrive on the driver's threads. While attached the ids are
+ * also in the MDC, so every log line carries them.
+ */
+public final class TraceContext {
+
+    public static final String CORRELATION_HEADER = "X-Correlation-ID";
+    static final String MDC_TRACE_ID = "trace.id";
+    static final String MDC_TRANSACTION_ID = "transaction.id";
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+    private static final Scope NO_SCOPE = () -> { };
+
+    private final String traceId;
+    private final String transactionId;
+
+    public TraceContext(String traceId, String transactionId) {
+        if (traceId == null) {
+            throw new IllegalArgumentException("traceId cannot be null");
+        }
+        if (transactionId == null) {
+            throw new IllegalArgumentException("transactionId cannot be null");
+        }
+        this.traceId = traceId;
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * Context attached to the calling thread, null outside of a traced request.
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Attaches the context to the calling thread until the returned scope is closed, which puts back whatever was
+     * attached before. A null context leaves the thread as it is.
+     */
+    public static Scope attach(TraceContext context) {
+        if (context == null) {
+            return NO_SCOPE;
+        }
+        TraceContext previous = CURRENT.get();
+        context.bind();
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+                MDC.remove(MDC_TRACE_ID);
+                MDC.remove(MDC_TRANSACTION_ID);
+            } else {
+                previous.bind();
+            }
+        };
+    }
+
+    /**
+     * Carries the caller's context into a task run on another thread.
+     */
+    public static Runnable wrap(Runnable task) {
+        TraceContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope scope = attach(context)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Carries the caller's context into a task run on another thread.
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        TraceContext context = CURRENT.get();
+        if (context == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope scope = attach(context)) {
+                return task.call();
+            }
+        };
+    }
+
+    /**
+     * Random lower case hex id, 32 characters for a trace id and 16 for a transaction id, as in W3C trace context.
+     */
+    static String newId(int length) {
+        StringBuilder id = new StringBuilder(length);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (id.length() < length) {
+            String chunk = Long.toHexString(random.nextLong());
+            for (int pad = chunk.length(); pad < 16 && id.length() < length; pad++) {
+                id.append('0');
+            }
+            id.append(chunk, 0, Math.min(chunk.length(), length - id.length()));
+        }
+        return id.toString();
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    private void bind() {
+        CURRENT.set(this);
+        MDC.put(MDC_TRACE_ID, traceId);
+        MDC.put(MDC_TRANSACTION_ID, transactionId);
+    }
+
+    public String toString() {
+        return "TraceContext{" +
+                "traceId='" + traceId + '\'' +
+                ", transactionId='" + transactionId + '\'' +
+                '}';
+    }
+
+    /**
+     * Detaches the context again, does not throw.
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
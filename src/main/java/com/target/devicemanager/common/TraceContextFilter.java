@@ -0,0 +1,67 @@
+package com.target.devicemanager.common;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Attaches a TraceContext to every request. The transaction id comes from the X-Correlation-ID header, so a client
+ * can tie a receipt to the scans and weights of the same sale, and is echoed back on the response. The trace id is
+ * the one of the exported server span when tracing is on, otherwise it is taken from a W3C traceparent header or
+ * made up.
+ */
+@Component
+public class TraceContextFilter extends OncePerRequestFilter {
+
+    private static final String TRACEPARENT_HEADER = "traceparent";
+    private static final Pattern CORRELATION_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+    private static final Pattern TRACEPARENT = Pattern.compile("[0-9a-f]{2}-[0-9a-f]{32}-[0-9a-f]{16}-[0-9a-f]{2}");
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    public TraceContextFilter(ObjectProvider<Tracer> tracerProvider) {
+        if (tracerProvider == null) {
+            throw new IllegalArgumentException("tracerProvider cannot be null");
+        }
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        TraceContext traceContext = new TraceContext(getTraceId(request), getTransactionId(request));
+        response.setHeader(TraceContext.CORRELATION_HEADER, traceContext.getTransactionId());
+        try (TraceContext.Scope scope = TraceContext.attach(traceContext)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private String getTraceId(HttpServletRequest request) {
+        Tracer tracer = tracerProvider.getIfAvailable();
+        Span span = tracer == null ? null : tracer.currentSpan();
+        if (span != null) {
+            return span.context().traceId();
+        }
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        if (traceparent != null && TRACEPARENT.matcher(traceparent).matches()) {
+            return traceparent.substring(3, 35);
+        }
+        return TraceContext.newId(32);
+    }
+
+    private static String getTransactionId(HttpServletRequest request) {
+        String correlationId = request.getHeader(TraceContext.CORRELATION_HEADER);
+        if (correlationId != null && CORRELATION_ID.matcher(correlationId).matches()) {
+            return correlationId;
+        }
+        return TraceContext.newId(16);
+    }
+}
@@ -0,0 +1,254 @@
+package com.target.devicemanager.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A clock that only moves when it is told to. Sleeps and timed waits block until advance() has moved the clock past
+ * their deadline, so a test can step a device through a 30 second timeout in microseconds and always in the same
+ * order.
+ *
+ * With autoAdvance the clock moves by itself, straight to the earliest deadline of the blocked threads, but only once
+ * every participating piece of device work is blocked on the clock as well. Polling loops then run without waiting,
+ * and a timeout cannot run out while the work it is waiting for is still running.
+ */
+public class VirtualDeviceClock implements DeviceClock {
+
+    //Futures cannot signal completion, so timed waits look at them this often in real time
+    private static final long FUTURE_POLL_MSEC = 1;
+
+    private final boolean autoAdvance;
+    private final Object monitor = new Object();
+    private final List<Waiter> waiters = new ArrayList<>();
+    private final Map<Thread, VirtualParticipation> participations = new HashMap<>();
+    private long nowMillis;
+    private int runningParticipants = 0;
+
+    public VirtualDeviceClock(long startMillis) {
+        this(startMillis, false);
+    }
+
+    public VirtualDeviceClock(long startMillis, boolean autoAdvance) {
+        this.nowMillis = startMillis;
+        this.autoAdvance = autoAdvance;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        synchronized (monitor) {
+            return nowMillis;
+        }
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        synchronized (monitor) {
+            Waiter waiter = park(nowMillis + Math.max(0, millis), null);
+            try {
+                while (nowMillis < waiter.deadlineMillis) {
+                    if (!advanceIfIdle()) {
+                        monitor.wait(FUTURE_POLL_MSEC);
+                    }
+                }
+            } finally {
+                unpark(waiter);
+            }
+        }
+    }
+
+    /**
+     * A future that completes before the clock reaches the deadline is returned, once the clock is at the deadline
+     * the wait times out even if the future completes afterwards.
+     */
+    @Override
+    public <T> T get(Future<T> future, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        synchronized (monitor) {
+            long startMillis = nowMillis;
+            Waiter waiter = park(startMillis + Math.max(0, unit.toMillis(timeout)), future);
+            try {
+                while (true) {
+                    if (future.isDone() && (nowMillis < waiter.deadlineMillis || waiter.deadlineMillis == startMillis)) {
+                        return future.get();
+                    }
+                    if (nowMillis >= waiter.deadlineMillis) {
+                        throw new TimeoutException();
+                    }
+                    if (!advanceIfIdle()) {
+                        monitor.wait(FUTURE_POLL_MSEC);
+                    }
+                }
+            } finally {
+                unpark(waiter);
+            }
+        }
+    }
+
+    /**
+     * Without autoAdvance nothing waits on participating work, so there is nothing to register.
+     */
+    @Override
+    public Participation participate() {
+        if (!autoAdvance) {
+            return Participation.NONE;
+        }
+        synchronized (monitor) {
+            runningParticipants++;
+            return new VirtualParticipation();
+        }
+    }
+
+    /**
+     * Moves the clock forward and wakes every sleep and timed wait whose deadline has passed.
+     * @param millis how far to move the clock.
+     */
+    public void advance(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("millis cannot be negative");
+        }
+        synchronized (monitor) {
+            moveTo(nowMillis + millis);
+        }
+    }
+
+    /**
+     * Waits in real time until the given number of threads are blocked on this clock, so a test knows a device
+     * has reached its sleep or timed wait before advancing.
+     * @param count number of blocked threads to wait for.
+     * @param timeoutMillis real time to wait.
+     * @return true when the threads are blocked, false on timeout.
+     */
+    public boolean awaitWaiters(int count, long timeoutMillis) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (monitor) {
+            while (waiters.size() < count) {
+                long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(monitor, remainingNanos);
+            }
+            return true;
+        }
+    }
+
+    public int getWaiterCount() {
+        synchronized (monitor) {
+            return waiters.size();
+        }
+    }
+
+    private Waiter park(long deadlineMillis, Future<?> future) {
+        Waiter waiter = new Waiter(deadlineMillis, future, participations.get(Thread.currentThread()));
+        if (waiter.participation != null && !waiter.participation.closed) {
+            runningParticipants--;
+        }
+        waiters.add(waiter);
+        monitor.notifyAll();
+        return waiter;
+    }
+
+    private void unpark(Waiter waiter) {
+        waiters.remove(waiter);
+        if (waiter.participation != null && !waiter.participation.closed) {
+            runningParticipants++;
+        }
+    }
+
+    /**
+     * Jumps to the earliest deadline once no participating work is running and no waiter is about to return a
+     * completed future, the next thing that can happen is then that deadline passing.
+     * @return true when the clock moved.
+     */
+    private boolean advanceIfIdle() {
+        if (!autoAdvance || runningParticipants > 0) {
+            return false;
+        }
+        long nextMillis = Long.MAX_VALUE;
+        for (Waiter waiter : waiters) {
+            if (waiter.future != null && waiter.future.isDone()) {
+                return false;
+            }
+            nextMillis = Math.min(nextMillis, waiter.deadlineMillis);
+        }
+        if (nextMillis == Long.MAX_VALUE || nextMillis <= nowMillis) {
+            return false;
+        }
+        moveTo(nextMillis);
+        return true;
+    }
+
+    private void moveTo(long millis) {
+        if (millis > nowMillis) {
+            nowMillis = millis;
+            monitor.notifyAll();
+        }
+    }
+
+    private static final class Waiter {
+        private final long deadlineMillis;
+        private final Future<?> future;
+        private final VirtualParticipation participation;
+
+        private Waiter(long deadlineMillis, Future<?> future, VirtualParticipation participation) {
+            this.deadlineMillis = deadlineMillis;
+            this.future = future;
+            this.participation = participation;
+        }
+    }
+
+    /**
+     * Counts as running from participate() until close(), except while the thread running the wrapped task is
+     * blocked on the clock.
+     */
+    private final class VirtualParticipation implements Participation {
+        private boolean closed = false;
+
+        @Override
+        public <T> Callable<T> wrap(Callable<T> task) {
+            return () -> {
+                Thread thread = Thread.currentThread();
+                synchronized (monitor) {
+                    if (!closed) {
+                        participations.put(thread, this);
+                    }
+                }
+                try {
+                    return task.call();
+                } finally {
+                    //Stays registered until the caller closes it, the result is not visible to the caller yet
+                    synchronized (monitor) {
+                        participations.remove(thread, this);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            synchronized (monitor) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                boolean parked = false;
+                for (Waiter waiter : waiters) {
+                    parked |= waiter.participation == this;
+                }
+                if (!parked) {
+                    runningParticipants--;
+                }
+                monitor.notifyAll();
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@ public class DeviceError {
     public static final DeviceError SSE_TIMEOUT = new DeviceError("SSE_TIMEOUT", "Timeout reached", HttpStatus.REQUEST_TIMEOUT);
     public static final DeviceError BAD_INPUT = new DeviceError("BAD_INPUT", "Invalid data", HttpStatus.BAD_REQUEST);
     public static final DeviceError REMOVE_CASH = new DeviceError("REMOVE_CASH", "Remove dispensed bill.", HttpStatus.BAD_REQUEST);
+    public static final DeviceError SSE_CONNECTION_LIMIT = new DeviceError("SSE_CONNECTION_LIMIT", "Too many open event streams.", HttpStatus.SERVICE_UNAVAILABLE);
 
     private final String code;
     private final String description;
@@ -0,0 +1,32 @@
+package com.target.devicemanager.common.entities;
+
+/**
+ * One change of a device's fault state. Sequence numbers increase monotonically across all devices and are used
+ * as the SSE event id, so a reconnecting client can resume with Last-Event-ID.
+ */
+public class DeviceErrorEvent {
+    public final long sequence;
+    public final String deviceName;
+    public final Boolean faultPresent;
+    public final DeviceError deviceError;
+
+    public DeviceErrorEvent(long sequence, String deviceName, Boolean faultPresent, DeviceError deviceError) {
+        this.sequence = sequence;
+        this.deviceName = deviceName;
+        this.faultPresent = faultPresent;
+        this.deviceError = deviceError;
+    }
+
+    public DeviceErrorStatus toDeviceErrorStatus() {
+        return new DeviceErrorStatus(deviceName, faultPresent, deviceError);
+    }
+
+    public String toString() {
+        return "DeviceErrorEvent{" +
+                "sequence=" + sequence +
+                ", deviceName='" + deviceName + '\'' +
+                ", faultPresent=" + faultPresent +
+                ", deviceError=" + (deviceError == null ? null : deviceError.getCode()) +
+                '}';
+    }
+}
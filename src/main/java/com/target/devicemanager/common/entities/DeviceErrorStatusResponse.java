@@ -1,69 +1,28 @@
 package com.target.devicemanager.common.entities;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.target.devicemanager.common.DeviceAvailabilityService;
-import com.target.devicemanager.common.StructuredEventLogger;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.target.devicemanager.common.DeviceErrorBus;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DeviceErrorStatusResponse {
-    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceErrorStatusResponse.class);
-    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCommonServiceName(), "DeviceErrorStatusResponse", LOGGER);
-    private static final DeviceErrorStatusResponse deviceErrorStatusResponse = new DeviceErrorStatusResponse();
-    private static List<DeviceErrorStatus> deviceErrorStatuses;
 
     private DeviceErrorStatusResponse(){
-        deviceErrorStatuses = new CopyOnWriteArrayList<>();
-        ObjectMapper objectMapper = new ObjectMapper();
-        File jsonConfirm = new File("/var/tmp/CONFIRMOUT/confirmout.json");
-        if(jsonConfirm.exists() && jsonConfirm.isFile()){
-            JsonNode rootDevNode = null;
-            try {
-                rootDevNode = objectMapper.readTree(jsonConfirm);
-            } catch (IOException ioException) {
-                log.failure("Error in parsing confirmout", 17, ioException);
-            }
-            Iterator<String> fieldNames = rootDevNode.fieldNames();
-
-            while(fieldNames.hasNext()){
-                deviceErrorStatuses.add(new DeviceErrorStatus(fieldNames.next(), false, null));
-            }
-        } else {
-            log.failure("JSON is in wrong format", 17, null);
-        }
+        //Fault state is owned by DeviceErrorBus, this class only keeps the original static entry points
     }
 
     public static List<DeviceErrorStatus> getDeviceErrorStatusResponse(){
-        return deviceErrorStatusResponse.deviceErrorStatuses;
+        return DeviceErrorBus.getDeviceErrorBus().getDeviceErrorStatuses();
     }
 
     public static void setDeviceErrorStatusResponse(String deviceName, DeviceError deviceError){
-        for(DeviceErrorStatus deviceErrorStatus : deviceErrorStatuses){
-            if(deviceErrorStatus.deviceName.equals(deviceName)){
-                deviceErrorStatus.faultPresent = true;
-                deviceErrorStatus.deviceError = deviceError;
-            }
-        }
-        DeviceAvailabilityService.fireDeviceErrorEvent();
-        clearError();
+        DeviceErrorBus.getDeviceErrorBus().publishError(deviceName, deviceError);
     }
 
-    private static void clearError(){
-        for(DeviceErrorStatus deviceErrorStatus : deviceErrorStatuses){
-                deviceErrorStatus.faultPresent = false;
-                deviceErrorStatus.deviceError = null;
-        }
+    public static void sendClearError(String deviceName){
+        DeviceErrorBus.getDeviceErrorBus().clearError(deviceName);
     }
 
     public static void sendClearError(){
-        clearError();
-        DeviceAvailabilityService.fireDeviceErrorEvent();
+        DeviceErrorBus.getDeviceErrorBus().clearAllErrors();
     }
 }
@@ -0,0 +1,79 @@
+package com.target.devicemanager.common.entities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the last known health of every device. A new snapshot is built for every change,
+ * so readers never see a partially updated set of devices.
+ */
+public final class DeviceHealthSnapshot {
+
+    public static final DeviceHealthSnapshot EMPTY = new DeviceHealthSnapshot(0, 0, Collections.emptyMap());
+
+    private final long version;
+    private final long updatedAtMillis;
+    private final Map<String, DeviceHealthResponse> devices;
+
+    private DeviceHealthSnapshot(long version, long updatedAtMillis, Map<String, DeviceHealthResponse> devices) {
+        this.version = version;
+        this.updatedAtMillis = updatedAtMillis;
+        this.devices = devices;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    /**
+     * Returns a copy of the health stored under the given key, or null when the device was never published.
+     */
+    public DeviceHealthResponse get(String healthKey) {
+        DeviceHealthResponse deviceHealthResponse = devices.get(healthKey);
+        if (deviceHealthResponse == null) {
+            return null;
+        }
+        return new DeviceHealthResponse(deviceHealthResponse.getDeviceName(), deviceHealthResponse.getHealthStatus());
+    }
+
+    public List<DeviceHealthResponse> getDeviceHealthResponses() {
+        List<DeviceHealthResponse> responseList = new ArrayList<>(devices.size());
+        devices.values().forEach(response -> responseList.add(new DeviceHealthResponse(response.getDeviceName(), response.getHealthStatus())));
+        return responseList;
+    }
+
+    /**
+     * Returns true when the given key already holds the same device name and health.
+     */
+    public boolean contains(String healthKey, String deviceName, DeviceHealth health) {
+        DeviceHealthResponse deviceHealthResponse = devices.get(healthKey);
+        return deviceHealthResponse != null
+                && deviceHealthResponse.getHealthStatus() == health
+                && deviceHealthResponse.getDeviceName().equals(deviceName == null ? "" : deviceName);
+    }
+
+    /**
+     * Builds the next snapshot with the given key replaced. This snapshot is left untouched.
+     */
+    public DeviceHealthSnapshot with(String healthKey, String deviceName, DeviceHealth health) {
+        Map<String, DeviceHealthResponse> nextDevices = new LinkedHashMap<>(devices);
+        nextDevices.put(healthKey, new DeviceHealthResponse(deviceName, health));
+        return new DeviceHealthSnapshot(version + 1, System.currentTimeMillis(), Collections.unmodifiableMap(nextDevices));
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceHealthSnapshot{" +
+                "version=" + version +
+                ", updatedAtMillis=" + updatedAtMillis +
+                ", devices=" + devices.values() +
+                '}';
+    }
+}
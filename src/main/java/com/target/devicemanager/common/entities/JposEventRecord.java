@@ -0,0 +1,86 @@
+package com.target.devicemanager.common.entities;
+
+/**
+ * One JavaPOS event as kept by the event recorder. The code is the status of data and status update events, the
+ * error code of error events, the output id of output complete events and the event number of direct IO events.
+ */
+public class JposEventRecord {
+
+    private final long sequence;
+    private final String timestamp;
+    private final long nanoTime;
+    private final String eventType;
+    private final int code;
+    private final int codeExtended;
+    private final int errorLocus;
+    private final int errorResponse;
+    private final String threadName;
+    private final long threadId;
+
+    public JposEventRecord(long sequence, String timestamp, long nanoTime, String eventType, int code, int codeExtended,
+                           int errorLocus, int errorResponse, String threadName, long threadId) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.nanoTime = nanoTime;
+        this.eventType = eventType;
+        this.code = code;
+        this.codeExtended = codeExtended;
+        this.errorLocus = errorLocus;
+        this.errorResponse = errorResponse;
+        this.threadName = threadName;
+        this.threadId = threadId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public int getCodeExtended() {
+        return codeExtended;
+    }
+
+    public int getErrorLocus() {
+        return errorLocus;
+    }
+
+    public int getErrorResponse() {
+        return errorResponse;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String toString() {
+        return "JposEventRecord{" +
+                "sequence=" + sequence +
+                ", timestamp='" + timestamp + '\'' +
+                ", eventType='" + eventType + '\'' +
+                ", code=" + code +
+                ", codeExtended=" + codeExtended +
+                ", errorLocus=" + errorLocus +
+                ", errorResponse=" + errorResponse +
+                ", threadName='" + threadName + '\'' +
+                '}';
+    }
+}
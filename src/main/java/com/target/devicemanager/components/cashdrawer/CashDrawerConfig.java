@@ -6,11 +6,14 @@ import com.target.devicemanager.configuration.ApplicationConfig;
 import jpos.CashDrawer;
 import jpos.config.JposEntryRegistry;
 import jpos.loader.JposServiceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.io.IOException;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -19,6 +22,8 @@ import java.util.concurrent.locks.ReentrantLock;
 class CashDrawerConfig {
     private final SimulatedJposCashDrawer simulatedCashDrawer;
     private final ApplicationConfig applicationConfig;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CashDrawerConfig.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCashDrawerServiceName(), "CashDrawerConfig", LOGGER);
 
     @Autowired
     CashDrawerConfig(ApplicationConfig applicationConfig) {
@@ -38,16 +43,32 @@ class CashDrawerConfig {
             dynamicCashDrawer = new DynamicDevice<>(cashDrawer, new DevicePower(), new DeviceConnector<>(cashDrawer, deviceRegistry));
         }
 
+        CashDrawerJournal journal = openJournal();
         CashDrawerManager cashDrawerManager = new CashDrawerManager(
                 new CashDrawerDevice(
                         dynamicCashDrawer,
-                        new CashDrawerDeviceListener(new EventSynchronizer(new Phaser(1)))),
-                new ReentrantLock());
+                        new CashDrawerDeviceListener(new EventSynchronizer(new Phaser(1))),
+                        new ReentrantLock(true),
+                        applicationConfig.getDeviceClock(),
+                        journal),
+                new ReentrantLock(),
+                null,
+                journal);
 
         DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().setCashDrawerManager(cashDrawerManager);
         return cashDrawerManager;
     }
 
+    private static CashDrawerJournal openJournal() {
+        try {
+            return CashDrawerJournal.open();
+        } catch (IOException | RuntimeException exception) {
+            //The drawer works without its journal, only the statistics endpoint is lost
+            log.failure("Cash drawer journal could not be opened", 17, exception);
+            return null;
+        }
+    }
+
     @Bean
     SimulatedJposCashDrawer getSimulatedCashDrawer() {
         return simulatedCashDrawer;
@@ -5,6 +5,7 @@ import com.target.devicemanager.common.entities.DeviceError;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import com.target.devicemanager.components.cashdrawer.entities.CashDrawerError;
+import com.target.devicemanager.components.cashdrawer.entities.CashDrawerOpenStatistics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,8 +19,13 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
 @RestController
 @RequestMapping("/v1/cashdrawer")
 @Tag(name = "Cash Drawer")
@@ -86,12 +92,44 @@ public class CashDrawerController {
         }
     }
 
+    @Operation(description = "Open-duration statistics for cash drawer opens between from and to (ISO-8601 instants), by default the last 24 hours.")
+    @GetMapping("/journal/stats")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "400", description = "BAD_INPUT",
+                    content = @Content(schema = @Schema(implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "500", description = "UNEXPECTED_ERROR",
+                    content = @Content(schema = @Schema(implementation = DeviceError.class)))
+    })
+    public CashDrawerOpenStatistics getOpenStatistics(@RequestParam(required = false) String from,
+                                                      @RequestParam(required = false) String to) throws DeviceException {
+        String url = "/v1/cashdrawer/journal/stats";
+        log.successAPI("request", 1, url, null, 0);
+        try {
+            Instant toInstant;
+            Instant fromInstant;
+            try {
+                toInstant = to == null ? Instant.now() : Instant.parse(to);
+                fromInstant = from == null ? toInstant.minus(Duration.ofHours(24)) : Instant.parse(from);
+            } catch (DateTimeParseException dateTimeParseException) {
+                throw new DeviceException(DeviceError.BAD_INPUT);
+            }
+            CashDrawerOpenStatistics statistics = cashDrawerManager.getOpenStatistics(fromInstant.toEpochMilli(), toInstant.toEpochMilli());
+            log.successAPI("response", 1, url, statistics.toString(), 200);
+            return statistics;
+        } catch (DeviceException deviceException) {
+            int statusCode = deviceException.getDeviceError().getStatusCode().value();
+            log.failureAPI("response", 13, url, deviceException.getDeviceError().toString(), statusCode, deviceException);
+            throw deviceException;
+        }
+    }
+
     @Operation(description = "Reports cash drawer health")
     @GetMapping("/health")
     public DeviceHealthResponse getHealth() {
         String url = "/v1/cashdrawer/health";
         log.successAPI("request", 1, url, null, 0);
-        DeviceHealthResponse response = cashDrawerManager.getHealth();
+        DeviceHealthResponse response = cashDrawerManager.getHealthSnapshot();
         log.successAPI("response", 1, url, response.toString(), 200);
         return response;
     }
@@ -1,7 +1,12 @@
 package com.target.devicemanager.components.cashdrawer;
 
+import com.target.devicemanager.common.DeviceClock;
+import com.target.devicemanager.common.DeviceOperationEvent;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.JposEventRecorder;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.DeviceListener;
 import com.target.devicemanager.components.cashdrawer.entities.CashDrawerError;
@@ -26,8 +31,15 @@ public class CashDrawerDevice implements StatusUpdateListener{
     private boolean cashDrawerOpen = false;
     private boolean areListenersAttached;
     private final ReentrantLock connectLock;
+    private final DeviceClock deviceClock;
+    //Audit journal of drawer events, null when it could not be opened
+    private final CashDrawerJournal journal;
     private boolean isLocked = false;
     private static final int DRAWER_STATUS_CHECK_INTERVAL = 500;
+    //Trace of the operation in progress, JavaPOS events are logged under it
+    private volatile TraceContext operationTrace;
+    private static final String DEVICE_TAG = DeviceOperationMetrics.getDeviceTag(CashDrawer.class);
+    private static final JposEventRecorder eventRecorder = JposEventRecorder.getRecorder(DEVICE_TAG);
     private static final Logger LOGGER = LoggerFactory.getLogger(CashDrawerDevice.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCashDrawerServiceName(), "CashDrawerDevice", LOGGER);
 
@@ -41,6 +53,14 @@ public class CashDrawerDevice implements StatusUpdateListener{
     }
 
     public CashDrawerDevice(DynamicDevice<? extends CashDrawer> dynamicCashDrawer, DeviceListener deviceListener, ReentrantLock connectLock) {
+        this(dynamicCashDrawer, deviceListener, connectLock, DeviceClock.system());
+    }
+
+    public CashDrawerDevice(DynamicDevice<? extends CashDrawer> dynamicCashDrawer, DeviceListener deviceListener, ReentrantLock connectLock, DeviceClock deviceClock) {
+        this(dynamicCashDrawer, deviceListener, connectLock, deviceClock, null);
+    }
+
+    public CashDrawerDevice(DynamicDevice<? extends CashDrawer> dynamicCashDrawer, DeviceListener deviceListener, ReentrantLock connectLock, DeviceClock deviceClock, CashDrawerJournal journal) {
         if (dynamicCashDrawer == null) {
             IllegalArgumentException illegalArgumentException = new IllegalArgumentException("simpleCashDrawer cannot be null");
             log.failure("Cash Drawer Failed in Constructor: simpleCashDrawer cannot be null", 18,
@@ -56,6 +76,8 @@ public class CashDrawerDevice implements StatusUpdateListener{
         this.dynamicCashDrawer = dynamicCashDrawer;
         this.deviceListener = deviceListener;
         this.connectLock = connectLock;
+        this.deviceClock = deviceClock;
+        this.journal = journal;
     }
 
     /**
@@ -194,12 +216,32 @@ public class CashDrawerDevice implements StatusUpdateListener{
                 throw deviceException;
             }
             log.success("Opening cash drawer...", 1);
-            cashDrawer.openDrawer();
-            waitForCashDrawerClose();
-            if(!deviceConnected) {
-                DeviceException deviceException = new DeviceException(CashDrawerError.DEVICE_OFFLINE);
-                log.failure("Cash Drawer is offline after closing: " + CashDrawerError.DEVICE_OFFLINE.getDescription(), 18, deviceException);
-                throw deviceException;
+            long drawerOpenStart = System.nanoTime();
+            DeviceOperationEvent.DrawerCycle drawerCycleEvent = new DeviceOperationEvent.DrawerCycle(DEVICE_TAG);
+            drawerCycleEvent.begin();
+            operationTrace = TraceContext.current();
+            try {
+                appendToJournal(CashDrawerJournal.OPEN_REQUESTED);
+                try {
+                    cashDrawer.openDrawer();
+                } catch (JposException jposException) {
+                    DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "drawerOpen", getDeviceName(), drawerOpenStart, jposException);
+                    drawerCycleEvent.commitFailure(getDeviceName(), jposException);
+                    throw jposException;
+                }
+                waitForCashDrawerClose();
+                if(!deviceConnected) {
+                    DeviceException deviceException = new DeviceException(CashDrawerError.DEVICE_OFFLINE);
+                    DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "drawerOpen", getDeviceName(), drawerOpenStart, deviceException);
+                    drawerCycleEvent.commitFailure(getDeviceName(), deviceException);
+                    log.failure("Cash Drawer is offline after closing: " + CashDrawerError.DEVICE_OFFLINE.getDescription(), 18, deviceException);
+                    throw deviceException;
+                }
+                DeviceOperationMetrics.getDeviceOperationMetrics().recordSuccess(DEVICE_TAG, "drawerOpen", getDeviceName(), drawerOpenStart);
+                drawerCycleEvent.commitSuccess(getDeviceName());
+            } finally {
+                //Later events belong to no request
+                operationTrace = null;
             }
         }
     }
@@ -258,7 +300,7 @@ public class CashDrawerDevice implements StatusUpdateListener{
         //This do/while is necessary for status to stabilize when cash drawer opens
         do {
             try {
-                Thread.sleep(DRAWER_STATUS_CHECK_INTERVAL);
+                deviceClock.sleep(DRAWER_STATUS_CHECK_INTERVAL);
             } catch (InterruptedException interruptedException) {
                 //don't worry bout it
             }
@@ -272,29 +314,42 @@ public class CashDrawerDevice implements StatusUpdateListener{
      */
     @Override
     public void statusUpdateOccurred(StatusUpdateEvent statusUpdateEvent) {
-        int status = statusUpdateEvent.getStatus();
-        log.success("Cash Drawer statusUpdateOccurred(): " + status, 1);
-        switch(status) {
-            case JposConst.JPOS_SUE_POWER_OFF:
-            case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
-            case JposConst.JPOS_SUE_POWER_OFFLINE:
-                log.failure("Cash Drawer Status Update: Power offline", 13, null);
-                deviceConnected = false;
-                break;
-            case JposConst.JPOS_SUE_POWER_ONLINE:
-                log.success("Status Update: Power online", 5);
-                deviceConnected = true;
-                break;
-            case CashDrawerConst.CASH_SUE_DRAWEROPEN:
-                log.success("Cash drawer opened", 1);
-                cashDrawerOpen = true;
-                break;
-            case CashDrawerConst.CASH_SUE_DRAWERCLOSED:
-                log.success("Cash drawer closed", 1);
-                cashDrawerOpen = false;
-                break;
-            default:
-                break;
+        eventRecorder.record(statusUpdateEvent);
+        //JavaPOS delivers events on its own thread, handle them under the trace of the running operation
+        try (TraceContext.Scope scope = TraceContext.attach(operationTrace)) {
+            int status = statusUpdateEvent.getStatus();
+            log.success("Cash Drawer statusUpdateOccurred(): " + status, 1);
+            switch(status) {
+                case JposConst.JPOS_SUE_POWER_OFF:
+                case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
+                case JposConst.JPOS_SUE_POWER_OFFLINE:
+                    log.failure("Cash Drawer Status Update: Power offline", 13, null);
+                    deviceConnected = false;
+                    appendToJournal(CashDrawerJournal.OFFLINE);
+                    break;
+                case JposConst.JPOS_SUE_POWER_ONLINE:
+                    log.success("Status Update: Power online", 5);
+                    deviceConnected = true;
+                    break;
+                case CashDrawerConst.CASH_SUE_DRAWEROPEN:
+                    log.success("Cash drawer opened", 1);
+                    cashDrawerOpen = true;
+                    appendToJournal(CashDrawerJournal.OPENED);
+                    break;
+                case CashDrawerConst.CASH_SUE_DRAWERCLOSED:
+                    log.success("Cash drawer closed", 1);
+                    cashDrawerOpen = false;
+                    appendToJournal(CashDrawerJournal.CLOSED);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void appendToJournal(int eventType) {
+        if (journal != null) {
+            journal.append(eventType, deviceClock.currentTimeMillis());
         }
     }
 
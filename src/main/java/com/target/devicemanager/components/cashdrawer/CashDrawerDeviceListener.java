@@ -1,7 +1,10 @@
 package com.target.devicemanager.components.cashdrawer;
 
 import com.target.devicemanager.common.DeviceListener;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.EventSynchronizer;
+import com.target.devicemanager.common.JposEventRecorder;
+import jpos.CashDrawer;
 import jpos.CashDrawerConst;
 import jpos.JposConst;
 import org.springframework.context.annotation.Profile;
@@ -10,7 +13,7 @@ import org.springframework.context.annotation.Profile;
 public class CashDrawerDeviceListener extends DeviceListener {
 
     public CashDrawerDeviceListener(EventSynchronizer eventSynchronizer) {
-        super(eventSynchronizer);
+        super(eventSynchronizer, JposEventRecorder.getRecorder(DeviceOperationMetrics.getDeviceTag(CashDrawer.class)));
     }
 
     @Override
@@ -0,0 +1,316 @@
+package com.target.devicemanager.components.cashdrawer;
+
+import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.components.cashdrawer.entities.CashDrawerOpenStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Append-only journal of cash drawer events for loss prevention. Every event is a fixed 16 byte record, the wall
+ * clock time in milliseconds followed by the event type, written straight into a memory-mapped file so an append on
+ * the open path is a couple of stores into the page cache with no syscall and no allocation. The kernel writes the
+ * pages back, so the journal survives a POSSUM crash, not a power loss.
+ * <p>
+ * The file holds a fixed number of records. When it is full it is moved aside to a .1 file, replacing the one
+ * before, and a new file is started; statistics are read from both.
+ */
+public class CashDrawerJournal {
+
+    static final int OPEN_REQUESTED = 1;
+    static final int OPENED = 2;
+    static final int CLOSED = 3;
+    static final int OFFLINE = 4;
+
+    static final int DEFAULT_CAPACITY = 65536;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+    private static final long MAGIC = 0x504F5353554D4344L; //POSSUMCD
+    private static final int VERSION = 1;
+    private static final Logger LOGGER = LoggerFactory.getLogger(CashDrawerJournal.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCashDrawerServiceName(), "CashDrawerJournal", LOGGER);
+
+    private final Path path;
+    private final Path previousPath;
+    private final int capacity;
+    private ByteBuffer records;
+    private ByteBuffer previousRecords;
+    private int previousCount;
+    private int count;
+
+    /**
+     * Opens the journal at -DcashDrawerJournal, by default cashdrawer.journal in the POSSUM log directory.
+     */
+    public static CashDrawerJournal open() throws IOException {
+        String journalPath = System.getProperty("cashDrawerJournal");
+        if (journalPath == null) {
+            String logPath = System.getenv("POSSUM_LOG_PATH");
+            journalPath = (logPath == null ? "/var/log/target/possum" : logPath) + "/cashdrawer.journal";
+        }
+        return new CashDrawerJournal(Paths.get(journalPath), DEFAULT_CAPACITY);
+    }
+
+    CashDrawerJournal(Path path, int capacity) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.path = path.toAbsolutePath();
+        this.previousPath = Paths.get(this.path + ".1");
+        this.capacity = capacity;
+        Files.createDirectories(this.path.getParent());
+        if (Files.exists(previousPath)) {
+            previousRecords = mapPrevious(previousPath);
+            previousCount = previousRecords == null ? 0 : countRecords(previousRecords, recordCapacity(previousRecords));
+        }
+        if (Files.exists(this.path) && Files.size(this.path) != fileSize(capacity)) {
+            log.failure("Cash drawer journal has an unexpected size, starting a new one", 13, null);
+            Files.move(this.path, Paths.get(this.path + ".bad"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        records = map(this.path, capacity);
+        count = countRecords(records, capacity);
+    }
+
+    /**
+     * Appends an event. Never throws, a drawer must open even when its journal cannot be written.
+     * @param eventType one of OPEN_REQUESTED, OPENED, CLOSED or OFFLINE.
+     */
+    public synchronized void append(int eventType, long timeMillis) {
+        if (count == capacity && !rotate()) {
+            return;
+        }
+        int offset = HEADER_SIZE + count * RECORD_SIZE;
+        records.putLong(offset, timeMillis);
+        //The type goes in last, a record with a zero type was never completed
+        records.putInt(offset + 8, eventType);
+        count++;
+    }
+
+    /**
+     * Scans the journal for drawer opens that started between from and to. An open is matched with the close that
+     * follows it even when that is after to; an open followed by an offline event or by nothing counts as unclosed.
+     */
+    public CashDrawerOpenStatistics getOpenStatistics(long fromMillis, long toMillis) {
+        ByteBuffer current;
+        int currentCount;
+        ByteBuffer previous;
+        int previousRecordCount;
+        synchronized (this) {
+            current = records;
+            currentCount = count;
+            previous = previousRecords;
+            previousRecordCount = previousCount;
+        }
+        //Records below the counts are never written again, so the scan runs without holding the lock
+        OpenStatisticsScan scan = new OpenStatisticsScan(fromMillis, toMillis);
+        if (previous != null && scan.scan(previous, previousRecordCount)) {
+            return scan.getStatistics();
+        }
+        scan.scan(current, currentCount);
+        return scan.getStatistics();
+    }
+
+    /**
+     * @return the number of events in the current journal file.
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private boolean rotate() {
+        try {
+            Files.move(path, previousPath, StandardCopyOption.REPLACE_EXISTING);
+            //The mapping stays valid after the move, it keeps serving statistics for the previous file
+            previousRecords = records;
+            previousCount = count;
+            records = map(path, capacity);
+            count = 0;
+            log.success("Cash drawer journal full, moved to " + previousPath, 5);
+            return true;
+        } catch (IOException ioException) {
+            log.failure("Cash drawer journal could not be rotated, dropping event", 17, ioException);
+            return false;
+        }
+    }
+
+    private static ByteBuffer map(Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(capacity));
+            if (buffer.getLong(0) == 0) {
+                buffer.putInt(8, VERSION);
+                buffer.putInt(12, RECORD_SIZE);
+                buffer.putLong(0, MAGIC);
+            } else if (buffer.getLong(0) != MAGIC || buffer.getInt(8) != VERSION) {
+                throw new IOException(path + " is not a cash drawer journal");
+            }
+            return buffer;
+        }
+    }
+
+    private static ByteBuffer mapPrevious(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || (size - HEADER_SIZE) % RECORD_SIZE != 0) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return buffer.getLong(0) == MAGIC && buffer.getInt(8) == VERSION ? buffer : null;
+        } catch (IOException ioException) {
+            log.failure("Previous cash drawer journal could not be read", 13, ioException);
+            return null;
+        }
+    }
+
+    private static long fileSize(int capacity) {
+        return HEADER_SIZE + (long) capacity * RECORD_SIZE;
+    }
+
+    private static int recordCapacity(ByteBuffer buffer) {
+        return (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /**
+     * Records are written front to back, so the written ones are a prefix of the file and a binary search for the
+     * first empty record finds the count.
+     */
+    private static int countRecords(ByteBuffer buffer, int capacity) {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (eventType(buffer, middle) != 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the first record at or after the given time. Records are in wall clock order unless the clock was set
+     * back, in which case the search may start a little late.
+     */
+    private static int firstRecordAtOrAfter(ByteBuffer buffer, int count, long timeMillis) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timeMillis(buffer, middle) < timeMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long timeMillis(ByteBuffer buffer, int index) {
+        return buffer.getLong(HEADER_SIZE + index * RECORD_SIZE);
+    }
+
+    private static int eventType(ByteBuffer buffer, int index) {
+        return buffer.getInt(HEADER_SIZE + index * RECORD_SIZE + 8);
+    }
+
+    private static class OpenStatisticsScan {
+        private final long fromMillis;
+        private final long toMillis;
+        private int openRequests;
+        private int opens;
+        private int closedOpens;
+        private int unclosedOpens;
+        private int offlineEvents;
+        private long totalOpenMillis;
+        private long maxOpenMillis;
+        private long openedAt = -1;
+
+        OpenStatisticsScan(long fromMillis, long toMillis) {
+            this.fromMillis = fromMillis;
+            this.toMillis = toMillis;
+        }
+
+        /**
+         * @return true once the scan is past to with no open left to match, so later records need not be read.
+         */
+        boolean scan(ByteBuffer buffer, int count) {
+            int index = openedAt < 0 ? firstRecordAtOrAfter(buffer, count, fromMillis) : 0;
+            for (; index < count; index++) {
+                long time = timeMillis(buffer, index);
+                if (time >= toMillis && openedAt < 0) {
+                    return true;
+                }
+                int eventType = eventType(buffer, index);
+                boolean inRange = time >= fromMillis && time < toMillis;
+                switch (eventType) {
+                    case OPEN_REQUESTED:
+                        if (inRange) {
+                            openRequests++;
+                        }
+                        break;
+                    case OPENED:
+                        if (openedAt >= 0) {
+                            unclosedOpens++;
+                            openedAt = -1;
+                        }
+                        if (inRange) {
+                            opens++;
+                            openedAt = time;
+                        }
+                        break;
+                    case CLOSED:
+                        if (openedAt >= 0) {
+                            long openMillis = Math.max(0, time - openedAt);
+                            closedOpens++;
+                            totalOpenMillis += openMillis;
+                            maxOpenMillis = Math.max(maxOpenMillis, openMillis);
+                            openedAt = -1;
+                        }
+                        break;
+                    case OFFLINE:
+                        if (inRange) {
+                            offlineEvents++;
+                        }
+                        if (openedAt >= 0) {
+                            unclosedOpens++;
+                            openedAt = -1;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return false;
+        }
+
+        CashDrawerOpenStatistics getStatistics() {
+            int unclosed = unclosedOpens + (openedAt >= 0 ? 1 : 0);
+            return new CashDrawerOpenStatistics(
+                    Instant.ofEpochMilli(fromMillis).toString(),
+                    Instant.ofEpochMilli(toMillis).toString(),
+                    openRequests,
+                    opens,
+                    closedOpens,
+                    unclosed,
+                    offlineEvents,
+                    totalOpenMillis,
+                    closedOpens == 0 ? 0 : totalOpenMillis / closedOpens,
+                    maxOpenMillis);
+        }
+    }
+}
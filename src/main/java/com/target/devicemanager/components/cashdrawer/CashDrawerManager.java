@@ -1,8 +1,10 @@
 package com.target.devicemanager.components.cashdrawer;
 
+import com.target.devicemanager.common.DeviceHealthSnapshotSingleton;
 import com.target.devicemanager.common.StructuredEventLogger;
 import com.target.devicemanager.common.entities.*;
 import com.target.devicemanager.components.cashdrawer.entities.CashDrawerError;
+import com.target.devicemanager.components.cashdrawer.entities.CashDrawerOpenStatistics;
 import jpos.JposException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +28,7 @@ public class CashDrawerManager {
 
     private final CashDrawerDevice cashDrawerDevice;
     private final Lock cashDrawerLock;
+    private final CashDrawerJournal journal;
     private ConnectEnum connectStatus = ConnectEnum.FIRST_CONNECT;
     private static final Logger LOGGER = LoggerFactory.getLogger(CashDrawerManager.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCashDrawerServiceName(), "CashDrawerManager", LOGGER);
@@ -35,6 +38,10 @@ public class CashDrawerManager {
     }
 
     public CashDrawerManager(CashDrawerDevice cashDrawerDevice, Lock cashDrawerLock, CacheManager cacheManager) {
+        this(cashDrawerDevice, cashDrawerLock, cacheManager, null);
+    }
+
+    public CashDrawerManager(CashDrawerDevice cashDrawerDevice, Lock cashDrawerLock, CacheManager cacheManager, CashDrawerJournal journal) {
         if (cashDrawerDevice == null) {
             throw new IllegalArgumentException("cashDrawerDevice cannot be null");
         }
@@ -43,6 +50,7 @@ public class CashDrawerManager {
         }
         this.cashDrawerDevice = cashDrawerDevice;
         this.cashDrawerLock = cashDrawerLock;
+        this.journal = journal;
 
         if(cacheManager != null) {
             this.cacheManager = cacheManager;
@@ -59,6 +67,8 @@ public class CashDrawerManager {
             }
         }
 
+        publishHealth(cashDrawerDevice.isConnected());
+
         if (connectStatus == ConnectEnum.FIRST_CONNECT) {
             connectStatus = ConnectEnum.CHECK_HEALTH;
         }
@@ -97,6 +107,19 @@ public class CashDrawerManager {
         }
     }
 
+    /**
+     * Open-duration statistics for drawer opens between from and to, read from the drawer journal.
+     * @throws DeviceException when the journal is not available.
+     */
+    public CashDrawerOpenStatistics getOpenStatistics(long fromMillis, long toMillis) throws DeviceException {
+        if (journal == null) {
+            DeviceException deviceException = new DeviceException(DeviceError.UNEXPECTED_ERROR);
+            log.failure("Cash drawer journal is not available", 13, deviceException);
+            throw deviceException;
+        }
+        return journal.getOpenStatistics(fromMillis, toMillis);
+    }
+
     public DeviceHealthResponse getHealth() {
         DeviceHealthResponse deviceHealthResponse;
         if (cashDrawerDevice.isConnected()) {
@@ -104,6 +127,7 @@ public class CashDrawerManager {
         } else {
             deviceHealthResponse = new DeviceHealthResponse(cashDrawerDevice.getDeviceName(), DeviceHealth.NOTREADY);
         }
+        publishHealth(deviceHealthResponse.getHealthStatus() == DeviceHealth.READY);
         try {
             Objects.requireNonNull(cacheManager.getCache("cashDrawerHealth")).put("health", deviceHealthResponse);
         } catch (Exception exception) {
@@ -112,6 +136,10 @@ public class CashDrawerManager {
         return deviceHealthResponse;
     }
 
+    public DeviceHealthResponse getHealthSnapshot() {
+        return DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(DeviceHealthSnapshotSingleton.CASH_DRAWER, cashDrawerDevice.getDeviceName());
+    }
+
     public DeviceHealthResponse getStatus() {
         try {
             if (cacheManager != null && Objects.requireNonNull(cacheManager.getCache("cashDrawerHealth")).get("health") != null) {
@@ -128,4 +156,8 @@ public class CashDrawerManager {
             return getHealth();
         }
     }
+
+    private void publishHealth(boolean isReady) {
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.CASH_DRAWER, cashDrawerDevice.getDeviceName(), isReady ? DeviceHealth.READY : DeviceHealth.NOTREADY);
+    }
 }
@@ -0,0 +1,89 @@
+package com.target.devicemanager.components.cashdrawer.entities;
+
+/**
+ * Cash drawer opens that started in a time range, as read from the drawer journal. Durations are in milliseconds
+ * and only cover opens that were closed again.
+ */
+public class CashDrawerOpenStatistics {
+
+    private final String from;
+    private final String to;
+    private final int openRequests;
+    private final int opens;
+    private final int closedOpens;
+    private final int unclosedOpens;
+    private final int offlineEvents;
+    private final long totalOpenMillis;
+    private final long averageOpenMillis;
+    private final long maxOpenMillis;
+
+    public CashDrawerOpenStatistics(String from, String to, int openRequests, int opens, int closedOpens,
+                                    int unclosedOpens, int offlineEvents, long totalOpenMillis, long averageOpenMillis,
+                                    long maxOpenMillis) {
+        this.from = from;
+        this.to = to;
+        this.openRequests = openRequests;
+        this.opens = opens;
+        this.closedOpens = closedOpens;
+        this.unclosedOpens = unclosedOpens;
+        this.offlineEvents = offlineEvents;
+        this.totalOpenMillis = totalOpenMillis;
+        this.averageOpenMillis = averageOpenMillis;
+        this.maxOpenMillis = maxOpenMillis;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public int getOpenRequests() {
+        return openRequests;
+    }
+
+    public int getOpens() {
+        return opens;
+    }
+
+    public int getClosedOpens() {
+        return closedOpens;
+    }
+
+    public int getUnclosedOpens() {
+        return unclosedOpens;
+    }
+
+    public int getOfflineEvents() {
+        return offlineEvents;
+    }
+
+    public long getTotalOpenMillis() {
+        return totalOpenMillis;
+    }
+
+    public long getAverageOpenMillis() {
+        return averageOpenMillis;
+    }
+
+    public long getMaxOpenMillis() {
+        return maxOpenMillis;
+    }
+
+    public String toString() {
+        return "CashDrawerOpenStatistics{" +
+                "from='" + from + '\'' +
+                ", to='" + to + '\'' +
+                ", openRequests=" + openRequests +
+                ", opens=" + opens +
+                ", closedOpens=" + closedOpens +
+                ", unclosedOpens=" + unclosedOpens +
+                ", offlineEvents=" + offlineEvents +
+                ", totalOpenMillis=" + totalOpenMillis +
+                ", averageOpenMillis=" + averageOpenMillis +
+                ", maxOpenMillis=" + maxOpenMillis +
+                '}';
+    }
+}
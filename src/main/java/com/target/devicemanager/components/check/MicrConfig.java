@@ -23,7 +23,7 @@ class MicrConfig {
     @Autowired
     MicrConfig(ApplicationConfig applicationConfig) {
         this.applicationConfig = applicationConfig;
-        this.simulatedMicr = new SimulatedJposMicr();
+        this.simulatedMicr = new SimulatedJposMicr(applicationConfig.getDeviceClock());
     }
 
     @Bean
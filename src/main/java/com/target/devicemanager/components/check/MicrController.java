@@ -160,7 +160,7 @@ public class MicrController {
     public DeviceHealthResponse getHealth() {
         String url = "/v1/check/health";
         log.successAPI("request", 1, url, null, 0);
-        DeviceHealthResponse response = micrManager.getHealth();
+        DeviceHealthResponse response = micrManager.getHealthSnapshot();
         log.successAPI("response", 1, url, response.toString(), 200);
         return response;
     }
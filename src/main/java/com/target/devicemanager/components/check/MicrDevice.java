@@ -1,7 +1,11 @@
 package com.target.devicemanager.components.check;
 
+import com.target.devicemanager.common.DeviceOperationEvent;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.JposEventRecorder;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.events.ConnectionEvent;
 import com.target.devicemanager.common.events.ConnectionEventListener;
 import com.target.devicemanager.components.check.entities.MicrData;
@@ -28,6 +32,13 @@ public class MicrDevice implements StatusUpdateListener, ErrorListener, DataList
     private static final int RETURN_IMMEDIATE = 0;
     private final ReentrantLock connectLock;
     private boolean isLocked = false;
+    //System.nanoTime() when the check went in, 0 while no read is pending
+    private volatile long checkInsertedNanos = 0;
+    private volatile DeviceOperationEvent.MicrRead micrReadEvent;
+    //Trace of the operation in progress, JavaPOS events are logged under it
+    private volatile TraceContext operationTrace;
+    private static final String DEVICE_TAG = DeviceOperationMetrics.getDeviceTag(MICR.class);
+    private static final JposEventRecorder eventRecorder = JposEventRecorder.getRecorder(DEVICE_TAG);
     private static final Logger LOGGER = LoggerFactory.getLogger(MicrDevice.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getCheckServiceName(), "MicrDevice", LOGGER);
 
@@ -170,41 +181,55 @@ public class MicrDevice implements StatusUpdateListener, ErrorListener, DataList
      */
     void insertCheck() throws MicrException {
         log.success("waiting for check to be inserted...", 1);
+        operationTrace = TraceContext.current();
         /*
         We are waiting for the check to be inserted. There are only 3 ways to get out of this black hole
         1. CHECK is inserted
         2. CLIENT calls a cancel
         3. Device error occurs and a JPOS exception (other than timeout) is raised
         */
-        MICR micr = dynamicMicr.getDevice();
-        synchronized (micr) {
-            while (!isCheckCancelReceived()) {
+        boolean inserted = false;
+        try {
+            MICR micr = dynamicMicr.getDevice();
+            synchronized (micr) {
+                while (!isCheckCancelReceived()) {
 
-                try {
-                    micr.beginInsertion(250);
-                    micr.endInsertion();
-                    return;
+                    try {
+                        micr.beginInsertion(250);
+                        micr.endInsertion();
+                        DeviceOperationEvent.MicrRead insertedEvent = new DeviceOperationEvent.MicrRead(DEVICE_TAG);
+                        insertedEvent.begin();
+                        micrReadEvent = insertedEvent;
+                        checkInsertedNanos = System.nanoTime();
+                        inserted = true;
+                        return;
 
-                } catch (JposException jposException) {
-                    if (jposException.getErrorCode() != JposConst.JPOS_E_TIMEOUT) {
-                        log.failure("Check Reader Failed to Insert Check", 17, jposException);
-                        this.micrEventListeners.forEach(listener -> listener
-                                .micrErrorEventOccurred(new MicrErrorEvent(this, jposException)));
-                        setCheckCancelReceived(true);
-                        try {
-                            // Insert may fail if a check is already inserted from a previous MICR read,
-                            // calling withdraw to return the printer to a state that is ready for the next MICR read
-                            withdrawCheck();
-                        } catch (JposException jposException1) {
-                            // withdrawCheck() logs exceptions within the method, throwing original insertion exception
+                    } catch (JposException jposException) {
+                        if (jposException.getErrorCode() != JposConst.JPOS_E_TIMEOUT) {
+                            log.failure("Check Reader Failed to Insert Check", 17, jposException);
+                            this.micrEventListeners.forEach(listener -> listener
+                                    .micrErrorEventOccurred(new MicrErrorEvent(this, jposException)));
+                            setCheckCancelReceived(true);
+                            try {
+                                // Insert may fail if a check is already inserted from a previous MICR read,
+                                // calling withdraw to return the printer to a state that is ready for the next MICR read
+                                withdrawCheck();
+                            } catch (JposException jposException1) {
+                                // withdrawCheck() logs exceptions within the method, throwing original insertion exception
+                            }
+                            throw new MicrException(jposException);
                         }
-                        throw new MicrException(jposException);
                     }
                 }
             }
+            //If we are here, CLIENT called a cancel.
+            fireMicrErrorEvent(new JposException(JposConst.JPOS_E_TIMEOUT));
+        } finally {
+            if (!inserted) {
+                //The read ended without a check, later events belong to no request
+                operationTrace = null;
+            }
         }
-        //If we are here, CLIENT called a cancel.
-        fireMicrErrorEvent(new JposException(JposConst.JPOS_E_TIMEOUT));
     }
 
     /**
@@ -246,20 +271,24 @@ public class MicrDevice implements StatusUpdateListener, ErrorListener, DataList
      * @param statusUpdateEvent
      */
     public void statusUpdateOccurred(StatusUpdateEvent statusUpdateEvent) {
-        log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
-        int status = statusUpdateEvent.getStatus();
-        switch (status) {
-            case JposConst.JPOS_SUE_POWER_OFF:
-            case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
-            case JposConst.JPOS_SUE_POWER_OFFLINE:
-                log.failure("Check Reader Status Update: Power offline", 13, null);
-                disconnect();
-                break;
-            case JposConst.JPOS_SUE_POWER_ONLINE:
-                connect();
-                break;
-            default:
-                break;
+        eventRecorder.record(statusUpdateEvent);
+        //JavaPOS delivers events on its own thread, handle them under the trace of the running operation
+        try (TraceContext.Scope scope = TraceContext.attach(operationTrace)) {
+            log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
+            int status = statusUpdateEvent.getStatus();
+            switch (status) {
+                case JposConst.JPOS_SUE_POWER_OFF:
+                case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
+                case JposConst.JPOS_SUE_POWER_OFFLINE:
+                    log.failure("Check Reader Status Update: Power offline", 13, null);
+                    disconnect();
+                    break;
+                case JposConst.JPOS_SUE_POWER_ONLINE:
+                    connect();
+                    break;
+                default:
+                    break;
+            }
         }
     }
 
@@ -268,9 +297,16 @@ public class MicrDevice implements StatusUpdateListener, ErrorListener, DataList
      * @param errorEvent event error.
      */
     public void errorOccurred(ErrorEvent errorEvent) {
-        JposException jposException = new JposException(errorEvent.getErrorCode(), errorEvent.getErrorCodeExtended());
-        log.failure("Check Reader Received an Error", 17, jposException);
-        fireMicrErrorEvent(jposException);
+        eventRecorder.record(errorEvent);
+        try (TraceContext.Scope scope = TraceContext.attach(operationTrace)) {
+            JposException jposException = new JposException(errorEvent.getErrorCode(), errorEvent.getErrorCodeExtended());
+            log.failure("Check Reader Received an Error", 17, jposException);
+            recordRead(jposException);
+            fireMicrErrorEvent(jposException);
+        } finally {
+            //The read ended, later events belong to no request
+            operationTrace = null;
+        }
     }
 
     /**
@@ -278,23 +314,56 @@ public class MicrDevice implements StatusUpdateListener, ErrorListener, DataList
      * @param dataEvent
      */
     public void dataOccurred(DataEvent dataEvent) {
-        log.success("dataOccurred(): " + dataEvent.getStatus(), 1);
-        try {
-            MICR micr = (MICR) dataEvent.getSource();
-            MicrData micrData = new MicrData(
-                    micr.getAccountNumber(),
-                    micr.getBankNumber(),
-                    micr.getTransitNumber(),
-                    micr.getRawData(),
-                    micr.getSerialNumber());
-            fireMicrDataEvent(micrData);
-            micr.clearInput();
+        eventRecorder.record(dataEvent);
+        try (TraceContext.Scope scope = TraceContext.attach(operationTrace)) {
+            log.success("dataOccurred(): " + dataEvent.getStatus(), 1);
+            try {
+                MICR micr = (MICR) dataEvent.getSource();
+                MicrData micrData = new MicrData(
+                        micr.getAccountNumber(),
+                        micr.getBankNumber(),
+                        micr.getTransitNumber(),
+                        micr.getRawData(),
+                        micr.getSerialNumber());
+                recordRead(null);
+                fireMicrDataEvent(micrData);
+                micr.clearInput();
 
-        } catch (JposException jposException) {
-            log.failure("Check Reader Received an Error in Data", 17, jposException);
-            fireMicrErrorEvent(jposException);
+            } catch (JposException jposException) {
+                log.failure("Check Reader Received an Error in Data", 17, jposException);
+                recordRead(jposException);
+                fireMicrErrorEvent(jposException);
+            }
+
+        } finally {
+            //The read ended, later events belong to no request
+            operationTrace = null;
         }
+    }
 
+    /**
+     * Records the insert-to-data time of the pending read, if there is one.
+     * @param readError error that ended the read, null when data arrived.
+     */
+    private void recordRead(JposException readError) {
+        long insertedNanos = checkInsertedNanos;
+        DeviceOperationEvent.MicrRead readEvent = micrReadEvent;
+        if (insertedNanos == 0) {
+            return;
+        }
+        checkInsertedNanos = 0;
+        micrReadEvent = null;
+        if (readError == null) {
+            DeviceOperationMetrics.getDeviceOperationMetrics().recordSuccess(DEVICE_TAG, "micrRead", getDeviceName(), insertedNanos);
+            if (readEvent != null) {
+                readEvent.commitSuccess(getDeviceName());
+            }
+        } else {
+            DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "micrRead", getDeviceName(), insertedNanos, readError);
+            if (readEvent != null) {
+                readEvent.commitFailure(getDeviceName(), readError);
+            }
+        }
     }
 
     /**
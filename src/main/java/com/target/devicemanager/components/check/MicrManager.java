@@ -1,5 +1,6 @@
 package com.target.devicemanager.components.check;
 
+import com.target.devicemanager.common.DeviceHealthSnapshotSingleton;
 import com.target.devicemanager.common.StructuredEventLogger;
 import com.target.devicemanager.common.entities.*;
 import com.target.devicemanager.common.events.ConnectionEvent;
@@ -64,6 +65,8 @@ public class MicrManager implements MicrEventListener, ConnectionEventListener {
             }
         }
 
+        publishHealth(micrDevice.isConnected());
+
         if (connectStatus == ConnectEnum.FIRST_CONNECT) {
             connectStatus = ConnectEnum.CHECK_HEALTH;
         }
@@ -139,6 +142,7 @@ public class MicrManager implements MicrEventListener, ConnectionEventListener {
 
     @Override
     public void connectionEventOccurred(ConnectionEvent connectionEvent) {
+        publishHealth(connectionEvent.isConnected());
     }
 
     public DeviceHealthResponse getHealth() {
@@ -148,6 +152,7 @@ public class MicrManager implements MicrEventListener, ConnectionEventListener {
         } else {
             deviceHealthResponse = new DeviceHealthResponse(micrDevice.getDeviceName(), DeviceHealth.NOTREADY);
         }
+        publishHealth(deviceHealthResponse.getHealthStatus() == DeviceHealth.READY);
         try {
             Objects.requireNonNull(cacheManager.getCache("micrHealth")).put("health", deviceHealthResponse);
         } catch (Exception exception) {
@@ -156,6 +161,10 @@ public class MicrManager implements MicrEventListener, ConnectionEventListener {
         return deviceHealthResponse;
     }
 
+    public DeviceHealthResponse getHealthSnapshot() {
+        return DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(DeviceHealthSnapshotSingleton.MICR, micrDevice.getDeviceName());
+    }
+
     public DeviceHealthResponse getStatus() {
         try {
             if (cacheManager != null && Objects.requireNonNull(cacheManager.getCache("micrHealth")).get("health") != null) {
@@ -172,4 +181,8 @@ public class MicrManager implements MicrEventListener, ConnectionEventListener {
             return getHealth();
         }
     }
+
+    private void publishHealth(boolean isReady) {
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.MICR, micrDevice.getDeviceName(), isReady ? DeviceHealth.READY : DeviceHealth.NOTREADY);
+    }
 }
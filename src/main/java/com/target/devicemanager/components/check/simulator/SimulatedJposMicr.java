@@ -1,5 +1,6 @@
 package com.target.devicemanager.components.check.simulator;
 
+import com.target.devicemanager.common.DeviceClock;
 import com.target.devicemanager.common.SimulatorState;
 import com.target.devicemanager.components.check.entities.MicrData;
 import jpos.JposConst;
@@ -12,12 +13,18 @@ import jpos.events.StatusUpdateListener;
 
 public class SimulatedJposMicr extends MICR {
 
+    private final DeviceClock deviceClock;
     private SimulatorState simulatorState;
     private int statusUpdateStatus;
     private boolean isCheckInserted;
     private MicrData micrData;
 
     public SimulatedJposMicr() {
+        this(DeviceClock.system());
+    }
+
+    public SimulatedJposMicr(DeviceClock deviceClock) {
+        this.deviceClock = deviceClock;
         simulatorState = SimulatorState.ONLINE;
         isCheckInserted = false;
     }
@@ -115,7 +122,7 @@ public class SimulatedJposMicr extends MICR {
 
         if(!isCheckInserted) {
             try {
-                Thread.sleep(timeoutMsec);
+                deviceClock.sleep(timeoutMsec);
             } catch(Exception exception) {
                 //This is fine
             }
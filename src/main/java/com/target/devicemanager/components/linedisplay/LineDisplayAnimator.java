@@ -0,0 +1,94 @@
+package com.target.devicemanager.components.linedisplay;
+
+import com.target.devicemanager.common.TraceContext;
+import com.target.devicemanager.components.linedisplay.entities.LineDisplayAnimation;
+import com.target.devicemanager.components.linedisplay.entities.LineEffect;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Renders line display animations on the server, so a client sends one request instead of a frame every few hundred
+ * milliseconds. Each line is a window with its own effect, and every step renders both lines into one 2x20 frame.
+ * The frames are timed in software: the JavaPOS marquee and window properties are optional capabilities the
+ * supported displays do not share.
+ */
+class LineDisplayAnimator {
+
+    static final int LINE_WIDTH = 20;
+    static final int DEFAULT_INTERVAL_MSEC = 300;
+    static final int MIN_INTERVAL_MSEC = 100;
+    //Spacing between the end of scrolling text and its next pass
+    private static final String SCROLL_GAP = "   ";
+
+    private final ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> runningAnimation;
+
+    LineDisplayAnimator(ScheduledExecutorService scheduler) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler cannot be null");
+        }
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Replaces the running animation. The first frame is rendered at once.
+     * @param frameSink receives line 1 and line 2 of every frame, must not throw.
+     */
+    synchronized void start(LineDisplayAnimation animation, Consumer<String[]> frameSink) {
+        stop();
+        AtomicLong step = new AtomicLong();
+        runningAnimation = scheduler.scheduleAtFixedRate(
+                TraceContext.wrap(() -> frameSink.accept(renderFrame(animation, step.getAndIncrement()))),
+                0,
+                getIntervalMsec(animation),
+                TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (runningAnimation != null) {
+            runningAnimation.cancel(false);
+            runningAnimation = null;
+        }
+    }
+
+    synchronized boolean isRunning() {
+        return runningAnimation != null;
+    }
+
+    static int getIntervalMsec(LineDisplayAnimation animation) {
+        if (animation.intervalMsec == null) {
+            return DEFAULT_INTERVAL_MSEC;
+        }
+        return Math.max(MIN_INTERVAL_MSEC, animation.intervalMsec);
+    }
+
+    static String[] renderFrame(LineDisplayAnimation animation, long step) {
+        return new String[] {
+                renderLine(animation.line1, animation.line1Effect, step),
+                renderLine(animation.line2, animation.line2Effect, step)};
+    }
+
+    /**
+     * Text of one line at the given step, always exactly the display width.
+     */
+    static String renderLine(String text, LineEffect effect, long step) {
+        String lineText = text == null ? "" : text;
+        if (effect == LineEffect.SCROLL && !lineText.isEmpty()) {
+            String track = lineText + SCROLL_GAP;
+            int start = (int) (step % track.length());
+            StringBuilder window = new StringBuilder(LINE_WIDTH);
+            for (int index = 0; index < LINE_WIDTH; index++) {
+                window.append(track.charAt((start + index) % track.length()));
+            }
+            return window.toString();
+        }
+        if (effect == LineEffect.BLINK && step % 2 == 1) {
+            lineText = "";
+        }
+        return String.format("%-" + LINE_WIDTH + "." + LINE_WIDTH + "s", lineText);
+    }
+}
@@ -11,6 +11,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
 @Configuration
 @Profile({"local","dev","prod"})
 class LineDisplayConfig {
@@ -36,13 +39,29 @@ class LineDisplayConfig {
             dynamicLineDisplay = new DynamicDevice<>(lineDisplay, new DevicePower(), new DeviceConnector<>(lineDisplay, deviceRegistry ));
         }
 
+        //Animation steps are timed on the display worker, they queue their frames like any other request
+        ScheduledExecutorService displayWorker = newDisplayWorker();
         LineDisplayManager lineDisplayManager = new LineDisplayManager(
-                new LineDisplayDevice(dynamicLineDisplay));
+                new LineDisplayDevice(dynamicLineDisplay),
+                null,
+                displayWorker,
+                displayWorker);
 
         DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().setLineDisplayManager(lineDisplayManager);
         return lineDisplayManager;
     }
 
+    /**
+     * USB writes to the display run here rather than on request threads, see LineDisplayManager.
+     */
+    private static ScheduledExecutorService newDisplayWorker() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "linedisplay-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Bean
     SimulatedJposLineDisplay getSimulatedLineDisplay() {
         return simulatedLineDisplay;
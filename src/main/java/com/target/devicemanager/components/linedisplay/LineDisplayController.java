@@ -4,6 +4,7 @@ import com.target.devicemanager.common.StructuredEventLogger;
 import com.target.devicemanager.common.entities.DeviceError;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
+import com.target.devicemanager.components.linedisplay.entities.LineDisplayAnimation;
 import com.target.devicemanager.components.linedisplay.entities.LineDisplayData;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -55,12 +56,42 @@ public class LineDisplayController {
         }
     }
 
+    @Operation(description = "Plays an animation on 2x20 until the next display, animation or stop request. Each line scrolls, blinks or stays static on its own.")
+    @PostMapping(path = "/animation")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "400", description = "BAD_INPUT", content = @Content(schema = @Schema(implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "500", description = "UNEXPECTED_ERROR", content = @Content(schema = @Schema(implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "404", description = "DEVICE_OFFLINE", content = @Content(schema = @Schema(implementation = DeviceError.class)))
+    })
+    public void startAnimation(@RequestBody LineDisplayAnimation animation) throws DeviceException {
+        String url = "/v1/linedisplay/animation";
+        log.successAPI("request", 1, url, null, 0);
+        try {
+            lineDisplayManager.startAnimation(animation);
+            log.successAPI("response", 1, url, null, 200);
+        } catch (DeviceException deviceException) {
+            int statusCode = deviceException.getDeviceError().getStatusCode().value();
+            log.failureAPI("response", 13, url, deviceException.getDeviceError().toString(), statusCode, deviceException);
+            throw deviceException;
+        }
+    }
+
+    @Operation(description = "Stops the running animation, the last frame stays on the display.")
+    @DeleteMapping(path = "/animation")
+    public void stopAnimation() {
+        String url = "/v1/linedisplay/animation";
+        log.successAPI("request", 1, url, null, 0);
+        lineDisplayManager.stopAnimation();
+        log.successAPI("response", 1, url, null, 200);
+    }
+
     @Operation(description = "Reports linedisplay health")
     @GetMapping(path = "/health")
     public DeviceHealthResponse getHealth() {
         String url = "/v1/linedisplay/health";
         log.successAPI("request", 1, url, null, 0);
-        DeviceHealthResponse response = lineDisplayManager.getHealth();
+        DeviceHealthResponse response = lineDisplayManager.getHealthSnapshot();
         log.successAPI("response", 1, url, response.toString(), 200);
         return response;
     }
@@ -1,9 +1,14 @@
 package com.target.devicemanager.components.linedisplay;
 
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.JposEventRecorder;
 import com.target.devicemanager.common.StructuredEventLogger;
 import com.target.devicemanager.common.events.ConnectionEvent;
 import com.target.devicemanager.common.events.ConnectionEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import jpos.JposConst;
 import jpos.JposException;
 import jpos.LineDisplay;
@@ -14,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
@@ -25,8 +31,16 @@ public class LineDisplayDevice implements StatusUpdateListener {
     private final List<ConnectionEventListener> connectionEventListeners;
     private final ReentrantLock connectLock;
     private boolean isLocked = false;
+    //What the display shows as far as we know. Null when unknown, which forces a full write
+    private final String[] shownLines = new String[LINE_COUNT];
+    //Bumped whenever the display may have lost its contents, so a write racing a disconnect is not remembered
+    private long shownGeneration = 0;
+    private final Counter skippedWrites;
+    private final Counter savedRoundTrips;
+    private static final int LINE_COUNT = 2;
     private static final Logger LOGGER = LoggerFactory.getLogger(LineDisplayDevice.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getLineDisplayServiceName(), "LineDisplayDevice", LOGGER);
+    private static final JposEventRecorder eventRecorder = JposEventRecorder.getRecorder(DeviceOperationMetrics.getDeviceTag(LineDisplay.class));
 
     /**
      * Initializes LineDisplayDevice and gets it ready for use.
@@ -42,6 +56,13 @@ public class LineDisplayDevice implements StatusUpdateListener {
      * @param dynamicLineDisplay The dynamic device is the line display.
      */
     public LineDisplayDevice(DynamicDevice<LineDisplay> dynamicLineDisplay, List<ConnectionEventListener> connectionEventListenerList, ReentrantLock connectLock) {
+        this(dynamicLineDisplay, connectionEventListenerList, connectLock, Metrics.globalRegistry);
+    }
+
+    /**
+     * @param meterRegistry registry for possum.linedisplay.writes.skipped and possum.linedisplay.roundtrips.saved.
+     */
+    public LineDisplayDevice(DynamicDevice<LineDisplay> dynamicLineDisplay, List<ConnectionEventListener> connectionEventListenerList, ReentrantLock connectLock, MeterRegistry meterRegistry) {
         if (dynamicLineDisplay == null) {
             log.failure("dynamicLineDisplay cannot be null", 17, new IllegalArgumentException("dynamicLineDisplay cannot be null"));
             throw new IllegalArgumentException("dynamicLineDisplay cannot be null");
@@ -51,6 +72,15 @@ public class LineDisplayDevice implements StatusUpdateListener {
         LineDisplay lineDisplay = dynamicLineDisplay.getDevice();
         lineDisplay.addStatusUpdateListener(this);
         this.connectLock = connectLock;
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("meterRegistry cannot be null");
+        }
+        this.skippedWrites = Counter.builder("possum.linedisplay.writes.skipped")
+                .description("Display requests that matched what the display already showed and were not sent")
+                .register(meterRegistry);
+        this.savedRoundTrips = Counter.builder("possum.linedisplay.roundtrips.saved")
+                .description("Line writes not sent to the display because the line was unchanged")
+                .register(meterRegistry);
     }
 
     /**
@@ -86,6 +116,7 @@ public class LineDisplayDevice implements StatusUpdateListener {
             }
             //First connection, fire the event and clear the screen
             if(connectionResult == DynamicDevice.ConnectionResult.CONNECTED) {
+                forgetShownLines();
                 lineDisplay.clearText();
                 fireConnectionEvent(true);
             }
@@ -104,6 +135,7 @@ public class LineDisplayDevice implements StatusUpdateListener {
      */
     void disconnect() {
         if (dynamicLineDisplay.isConnected()) {
+            forgetShownLines();
             dynamicLineDisplay.disconnect();
             fireConnectionEvent(false);
         }
@@ -118,7 +150,8 @@ public class LineDisplayDevice implements StatusUpdateListener {
     }
 
     /**
-     * Makes sure it displays the lines on device.
+     * Makes sure it displays the lines on device. Only what changed since the last write is sent: an unchanged line is
+     * skipped and a changed line of the same length is rewritten from its first to its last changed character.
      * @param line1Text displays the first line text.
      * @param line2Text displays second line text.
      * @throws JposException
@@ -131,8 +164,11 @@ public class LineDisplayDevice implements StatusUpdateListener {
         try {
             LineDisplay lineDisplay;
             synchronized (lineDisplay = dynamicLineDisplay.getDevice()) {
-                lineDisplay.displayTextAt(0, 0, line1Text, LineDisplayConst.DISP_DT_NORMAL);
-                lineDisplay.displayTextAt(1, 0, line2Text, LineDisplayConst.DISP_DT_NORMAL);
+                boolean line1Sent = writeLine(lineDisplay, 0, line1Text);
+                boolean line2Sent = writeLine(lineDisplay, 1, line2Text);
+                if (!line1Sent && !line2Sent) {
+                    skippedWrites.increment();
+                }
             }
         } catch (JposException jposException) {
             int severity = isConnected() ? 17 : 1;
@@ -141,6 +177,60 @@ public class LineDisplayDevice implements StatusUpdateListener {
         }
     }
 
+    /**
+     * Sends the part of the line that differs from what the display shows. Callers hold the line display.
+     * @return false when the line was unchanged and nothing was sent.
+     */
+    private boolean writeLine(LineDisplay lineDisplay, int row, String text) throws JposException {
+        String shown;
+        long generation;
+        synchronized (shownLines) {
+            shown = shownLines[row];
+            generation = shownGeneration;
+            //A failed write leaves the line in an unknown state, the next write sends it whole
+            shownLines[row] = null;
+        }
+        if (text == null || shown == null || shown.length() != text.length()) {
+            lineDisplay.displayTextAt(row, 0, text, LineDisplayConst.DISP_DT_NORMAL);
+        } else {
+            int first = 0;
+            while (first < text.length() && shown.charAt(first) == text.charAt(first)) {
+                first++;
+            }
+            if (first == text.length()) {
+                rememberShownLine(row, text, generation);
+                savedRoundTrips.increment();
+                return false;
+            }
+            int last = text.length() - 1;
+            while (shown.charAt(last) == text.charAt(last)) {
+                last--;
+            }
+            lineDisplay.displayTextAt(row, first, text.substring(first, last + 1), LineDisplayConst.DISP_DT_NORMAL);
+        }
+        rememberShownLine(row, text, generation);
+        return true;
+    }
+
+    private void rememberShownLine(int row, String text, long generation) {
+        synchronized (shownLines) {
+            if (generation == shownGeneration) {
+                shownLines[row] = text;
+            }
+        }
+    }
+
+    /**
+     * The display was cleared or may have lost its contents, send the next lines whole. Does not take the line
+     * display, disconnect runs from status update events while a write may hold it.
+     */
+    private void forgetShownLines() {
+        synchronized (shownLines) {
+            Arrays.fill(shownLines, null);
+            shownGeneration++;
+        }
+    }
+
     /**
      * Gets device name.
      * @return returns device name.
@@ -155,6 +245,7 @@ public class LineDisplayDevice implements StatusUpdateListener {
      */
     @Override
     public void statusUpdateOccurred(StatusUpdateEvent statusUpdateEvent) {
+        eventRecorder.record(statusUpdateEvent);
         log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
         int status = statusUpdateEvent.getStatus();
         switch (status) {
@@ -1,9 +1,12 @@
 package com.target.devicemanager.components.linedisplay;
 
+import com.target.devicemanager.common.DeviceHealthSnapshotSingleton;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.entities.*;
 import com.target.devicemanager.common.events.ConnectionEvent;
 import com.target.devicemanager.common.events.ConnectionEventListener;
+import com.target.devicemanager.components.linedisplay.entities.LineDisplayAnimation;
 import jpos.JposException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +18,10 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Profile({"local","dev","prod"})
 @EnableScheduling
@@ -26,6 +33,15 @@ public class LineDisplayManager implements ConnectionEventListener {
 
     private final LineDisplayDevice lineDisplayDevice;
     private ConnectEnum connectStatus = ConnectEnum.FIRST_CONNECT;
+    //Writes frames off the request thread, null writes them on the caller's thread
+    private final Executor displayWorker;
+    //Latest frame not yet written, a newer frame replaces it
+    private final AtomicReference<String[]> pendingFrame = new AtomicReference<>();
+    //Null when no scheduler was given, animations are then not supported
+    private final LineDisplayAnimator animator;
+    //Guards currentAnimation, so a step that races a new request never writes over its frame
+    private final Object animationLock = new Object();
+    private LineDisplayAnimation currentAnimation;
     private static final Logger LOGGER = LoggerFactory.getLogger(LineDisplayManager.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getLineDisplayServiceName(), "LineDisplayManager", LOGGER);
 
@@ -34,10 +50,28 @@ public class LineDisplayManager implements ConnectionEventListener {
     }
 
     public LineDisplayManager(LineDisplayDevice lineDisplayDevice, CacheManager cacheManager) {
+        this(lineDisplayDevice, cacheManager, null);
+    }
+
+    /**
+     * @param displayWorker single thread that writes to the display. When set, displayLine only leaves the frame for
+     *                      the worker and returns, and frames that arrive while one is pending replace it, so the
+     *                      latest frame waits behind at most one write. Null writes on the caller's thread.
+     */
+    public LineDisplayManager(LineDisplayDevice lineDisplayDevice, CacheManager cacheManager, Executor displayWorker) {
+        this(lineDisplayDevice, cacheManager, displayWorker, null);
+    }
+
+    /**
+     * @param animationScheduler times the steps of animations, may be the display worker. Null rejects animations.
+     */
+    public LineDisplayManager(LineDisplayDevice lineDisplayDevice, CacheManager cacheManager, Executor displayWorker, ScheduledExecutorService animationScheduler) {
         if (lineDisplayDevice == null) {
             throw new IllegalArgumentException("lineDisplayDevice cannot be null");
         }
         this.lineDisplayDevice = lineDisplayDevice;
+        this.displayWorker = displayWorker;
+        this.animator = animationScheduler == null ? null : new LineDisplayAnimator(animationScheduler);
         this.lineDisplayDevice.addConnectionEventListener(this);
 
         if(cacheManager != null) {
@@ -55,6 +89,8 @@ public class LineDisplayManager implements ConnectionEventListener {
             }
         }
 
+        publishHealth(lineDisplayDevice.isConnected());
+
         if (connectStatus == ConnectEnum.FIRST_CONNECT) {
             connectStatus = ConnectEnum.CHECK_HEALTH;
         }
@@ -80,6 +116,11 @@ public class LineDisplayManager implements ConnectionEventListener {
         String line1formatted = formatLineText(line1);
         String line2formatted = formatLineText(line2);
         log.success("displayLine(): line1=" + line1formatted + " line2=" + line2formatted, 1);
+        stopAnimation();
+        if (displayWorker != null) {
+            queueFrame(line1formatted, line2formatted);
+            return;
+        }
         try {
             lineDisplayDevice.displayLine(line1formatted, line2formatted);
         } catch (JposException jposException) {
@@ -88,8 +129,100 @@ public class LineDisplayManager implements ConnectionEventListener {
         }
     }
 
+    /**
+     * Plays the animation until the next display request, animation or stop replaces it.
+     */
+    public void startAnimation(LineDisplayAnimation animation) throws DeviceException {
+        if (animation == null) {
+            throw new DeviceException(DeviceError.BAD_INPUT);
+        }
+        if (animator == null) {
+            log.failure("animations need an animation scheduler", 17, null);
+            throw new DeviceException(DeviceError.UNEXPECTED_ERROR);
+        }
+        if (!lineDisplayDevice.isConnected()) {
+            throw new DeviceException(DeviceError.DEVICE_OFFLINE);
+        }
+        log.success("startAnimation(): line1=" + animation.line1 + " (" + animation.line1Effect + ") line2=" + animation.line2
+                + " (" + animation.line2Effect + ") every " + LineDisplayAnimator.getIntervalMsec(animation) + "ms", 1);
+        synchronized (animationLock) {
+            currentAnimation = animation;
+            animator.start(animation, frame -> writeAnimationFrame(animation, frame));
+        }
+    }
+
+    public void stopAnimation() {
+        if (animator == null) {
+            return;
+        }
+        synchronized (animationLock) {
+            currentAnimation = null;
+            animator.stop();
+        }
+    }
+
+    public boolean isAnimating() {
+        return animator != null && animator.isRunning();
+    }
+
+    /**
+     * Runs on the animation scheduler. The display may come and go while an animation plays, failed steps are
+     * dropped and the animation carries on.
+     */
+    private void writeAnimationFrame(LineDisplayAnimation animation, String[] frame) {
+        synchronized (animationLock) {
+            if (animation != currentAnimation) {
+                return;
+            }
+            try {
+                if (displayWorker != null) {
+                    queueFrame(frame[0], frame[1]);
+                } else {
+                    lineDisplayDevice.displayLine(frame[0], frame[1]);
+                }
+            } catch (DeviceException | JposException exception) {
+                log.failure("animation step not displayed", 1, exception);
+            }
+        }
+    }
+
+    /**
+     * Leaves the frame for the display worker. A write failure can no longer reach the caller, so an offline display
+     * is reported up front.
+     */
+    private void queueFrame(String line1, String line2) throws DeviceException {
+        if (!lineDisplayDevice.isConnected()) {
+            throw new DeviceException(DeviceError.DEVICE_OFFLINE);
+        }
+        if (pendingFrame.getAndSet(new String[] {line1, line2}) != null) {
+            //The worker has not picked up the previous frame yet, it will write this one instead
+            return;
+        }
+        try {
+            displayWorker.execute(TraceContext.wrap(this::writePendingFrame));
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            pendingFrame.set(null);
+            log.failure("display worker rejected the frame", 17, rejectedExecutionException);
+            throw new DeviceException(DeviceError.UNEXPECTED_ERROR);
+        }
+    }
+
+    private void writePendingFrame() {
+        String[] frame = pendingFrame.getAndSet(null);
+        if (frame == null) {
+            return;
+        }
+        try {
+            lineDisplayDevice.displayLine(frame[0], frame[1]);
+        } catch (JposException jposException) {
+            log.failure("display worker failed to write frame", 13, jposException);
+        }
+    }
+
     @Override
-    public void connectionEventOccurred(ConnectionEvent connectionEvent) {}
+    public void connectionEventOccurred(ConnectionEvent connectionEvent) {
+        publishHealth(connectionEvent.isConnected());
+    }
 
     private String formatLineText(String lineText) {
         //right pad line to 20 characters (-20)
@@ -105,6 +238,7 @@ public class LineDisplayManager implements ConnectionEventListener {
         } else {
             deviceHealthResponse = new DeviceHealthResponse(lineDisplayDevice.getDeviceName(), DeviceHealth.NOTREADY);
         }
+        publishHealth(deviceHealthResponse.getHealthStatus() == DeviceHealth.READY);
         try {
             Objects.requireNonNull(cacheManager.getCache("lineDisplayHealth")).put("health", deviceHealthResponse);
         } catch (Exception exception) {
@@ -113,6 +247,10 @@ public class LineDisplayManager implements ConnectionEventListener {
         return deviceHealthResponse;
     }
 
+    public DeviceHealthResponse getHealthSnapshot() {
+        return DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(DeviceHealthSnapshotSingleton.LINE_DISPLAY, lineDisplayDevice.getDeviceName());
+    }
+
     public DeviceHealthResponse getStatus() {
         try {
             if (cacheManager != null && Objects.requireNonNull(cacheManager.getCache("lineDisplayHealth")).get("health") != null) {
@@ -129,4 +267,8 @@ public class LineDisplayManager implements ConnectionEventListener {
             return getHealth();
         }
     }
+
+    private void publishHealth(boolean isReady) {
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.LINE_DISPLAY, lineDisplayDevice.getDeviceName(), isReady ? DeviceHealth.READY : DeviceHealth.NOTREADY);
+    }
 }
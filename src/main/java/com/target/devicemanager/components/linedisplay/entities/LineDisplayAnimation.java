@@ -0,0 +1,11 @@
+package com.target.devicemanager.components.linedisplay.entities;
+
+public class LineDisplayAnimation {
+    public String line1;
+    public String line2;
+    //Effect of each line, STATIC when omitted
+    public LineEffect line1Effect;
+    public LineEffect line2Effect;
+    //Time between steps, 300 when omitted, at least 100
+    public Integer intervalMsec;
+}
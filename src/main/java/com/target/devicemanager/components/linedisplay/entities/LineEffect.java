@@ -0,0 +1,10 @@
+package com.target.devicemanager.components.linedisplay.entities;
+
+public enum LineEffect {
+    //Text stays put, longer text is cut at the display width
+    STATIC,
+    //Text runs right to left across the line and starts over, like a marquee
+    SCROLL,
+    //Text shows and blanks on every step
+    BLINK
+}
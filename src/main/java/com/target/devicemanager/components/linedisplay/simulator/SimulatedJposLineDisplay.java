@@ -59,14 +59,27 @@ public class SimulatedJposLineDisplay extends LineDisplay  {
     @Override
     public void displayTextAt(int lineIndex, int columnIndex, String lineDisplayText, int textType) {
         if(lineIndex == 0) {
-            displayLines.line1 = lineDisplayText;
+            displayLines.line1 = writeAt(displayLines.line1, columnIndex, lineDisplayText);
         } else if (lineIndex == 1) {
-            displayLines.line2 = lineDisplayText;
+            displayLines.line2 = writeAt(displayLines.line2, columnIndex, lineDisplayText);
         }
 
         //Do nothing if the index is OOB
     }
 
+    //Overwrites the line from the column on, like the hardware does, so partial line updates show correctly
+    private static String writeAt(String line, int columnIndex, String text) {
+        if (columnIndex <= 0 || text == null) {
+            return text;
+        }
+        StringBuilder updated = new StringBuilder(line == null ? "" : line);
+        while (updated.length() < columnIndex) {
+            updated.append(' ');
+        }
+        updated.replace(columnIndex, Math.min(updated.length(), columnIndex + text.length()), text);
+        return updated.toString();
+    }
+
     public LineDisplayData getDisplayText() {
         return displayLines;
     }
@@ -6,10 +6,13 @@ import com.target.devicemanager.configuration.ApplicationConfig;
 import jpos.POSPrinter;
 import jpos.config.JposEntryRegistry;
 import jpos.loader.JposServiceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -17,12 +20,14 @@ import java.util.concurrent.locks.ReentrantLock;
 class PrinterConfig {
     private final SimulatedJposPrinter simulatedPrinter;
     private final ApplicationConfig applicationConfig;
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrinterConfig.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getPrinterServiceName(), "PrinterConfig", LOGGER);
 
     @Autowired
     PrinterConfig(ApplicationConfig applicationConfig) {
 
-        this.simulatedPrinter = new SimulatedJposPrinter();
         this.applicationConfig = applicationConfig;
+        this.simulatedPrinter = new SimulatedJposPrinter(applicationConfig.getDeviceClock());
     }
 
     @Bean
@@ -39,13 +44,29 @@ class PrinterConfig {
         }
 
         PrinterManager printerManager = new PrinterManager(
-                new PrinterDevice(dynamicPrinter, new PrinterDeviceListener(new EventSynchronizer(new Phaser(1)))),
-                new ReentrantLock());
+                new PrinterDevice(dynamicPrinter, new PrinterDeviceListener(new EventSynchronizer(new Phaser(1))), new ReentrantLock(true), applicationConfig.getDeviceClock()),
+                new ReentrantLock(),
+                null,
+                null,
+                false,
+                applicationConfig.getDeviceClock(),
+                openJournal(),
+                null);
 
         DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().setPrinterManager(printerManager);
         return printerManager;
     }
 
+    private static PrinterJobJournal openJournal() {
+        try {
+            return PrinterJobJournal.open();
+        } catch (IOException | RuntimeException exception) {
+            //Receipts still print without the journal, they are just not recovered after a crash
+            log.failure("Printer journal could not be opened", 17, exception);
+            return null;
+        }
+    }
+
     @Bean
     SimulatedJposPrinter getMyPrinter() {
         return simulatedPrinter;
@@ -6,6 +6,7 @@ import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import com.target.devicemanager.components.printer.entities.PrinterContent;
 import com.target.devicemanager.components.printer.entities.PrinterError;
+import com.target.devicemanager.components.printer.entities.PrinterJob;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -79,7 +80,7 @@ public class PrinterController {
     public DeviceHealthResponse getHealth() {
         String url = "/v1/printer/health";
         log.successAPI("API Request Received", 1,url, null, 0);
-        DeviceHealthResponse response = printerManager.getHealth();
+        DeviceHealthResponse response = printerManager.getHealthSnapshot();
         log.successAPI("API Request Completed Successfully", 1, url, response.toString(), 200);
         return response;
     }
@@ -115,6 +116,60 @@ public class PrinterController {
         }
     }
 
+    @Operation(description = "Lists receipts that were accepted but not finished before POSSUM last stopped")
+    @GetMapping(path = "/printer/jobs/unfinished")
+    public List<PrinterJob> getUnfinishedJobs() {
+        String url = "/v1/printer/jobs/unfinished";
+        log.successAPI("API Request Received", 1, url, null, 0);
+        List<PrinterJob> unfinishedJobs = printerManager.getUnfinishedJobs();
+        log.successAPI("API Request Completed Successfully", 1, url, unfinishedJobs.toString(), 200);
+        return unfinishedJobs;
+    }
+
+    @Operation(description = "Prints an unfinished receipt again below a REPRINT marker")
+    @PostMapping(path = "/printer/jobs/{jobId}/reprint")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "400", description = "COVER_OPEN, OUT_OF_PAPER",
+                    content = @Content(schema = @Schema(implementation = PrinterError.class))),
+            @ApiResponse(responseCode = "404", description = "UNKNOWN_JOB, DEVICE_OFFLINE",
+                    content = @Content(schema = @Schema(implementation = PrinterError.class))),
+            @ApiResponse(responseCode = "408", description = "PRINTER_TIME_OUT",
+                    content = @Content(schema = @Schema(implementation = PrinterError.class))),
+            @ApiResponse(responseCode = "409", description = "DEVICE_BUSY",
+                    content = @Content(schema = @Schema(implementation = DeviceError.class)))
+    })
+    public void reprintJob(@PathVariable long jobId) throws DeviceException {
+        String url = "/v1/printer/jobs/" + jobId + "/reprint";
+        log.successAPI("API Request Received", 1, url, null, 0);
+        try {
+            printerManager.reprintJob(jobId);
+            log.successAPI("API Request Completed Successfully", 1, url, "OK", 200);
+        } catch (DeviceException deviceException) {
+            log.failureAPI("API Request Failed with DeviceException", 13, url, deviceException.getDeviceError().toString(), deviceException.getDeviceError().getStatusCode().value(), null);
+            throw deviceException;
+        }
+    }
+
+    @Operation(description = "Drops an unfinished receipt without printing it")
+    @DeleteMapping(path = "/printer/jobs/{jobId}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "404", description = "UNKNOWN_JOB",
+                    content = @Content(schema = @Schema(implementation = PrinterError.class)))
+    })
+    public void dismissJob(@PathVariable long jobId) throws DeviceException {
+        String url = "/v1/printer/jobs/" + jobId;
+        log.successAPI("API Request Received", 1, url, null, 0);
+        try {
+            printerManager.dismissJob(jobId);
+            log.successAPI("API Request Completed Successfully", 1, url, "OK", 200);
+        } catch (DeviceException deviceException) {
+            log.failureAPI("API Request Failed with DeviceException", 13, url, deviceException.getDeviceError().toString(), deviceException.getDeviceError().getStatusCode().value(), null);
+            throw deviceException;
+        }
+    }
+
     @ExceptionHandler(value = HttpMessageNotReadableException.class)
     public ResponseEntity<DeviceError> handleInvalidFormat(HttpMessageNotReadableException originalException) {
         DeviceException printerException = new DeviceException(PrinterError.INVALID_FORMAT);
@@ -1,8 +1,13 @@
 package com.target.devicemanager.components.printer;
 
+import com.target.devicemanager.common.DeviceClock;
 import com.target.devicemanager.common.DeviceListener;
+import com.target.devicemanager.common.DeviceOperationEvent;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.JposEventRecorder;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.components.printer.entities.*;
 import jpos.JposConst;
 import jpos.JposException;
@@ -15,7 +20,10 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -26,18 +34,26 @@ public class PrinterDevice implements StatusUpdateListener {
     private boolean areListenersAttached;
     private boolean deviceConnected = false;
     private static final int RETURN_IMMEDIATE = 0;
-    private boolean isCheckInserted;
+    private volatile boolean isCheckInserted;
     private boolean wasDoorOpened = false;
     private boolean wasPaperEmpty = false;
     private boolean isReconnectNeeded = false;
     private static final String R5PrinterName = "NCR Kiosk POS Printer";
     private static final int TRY_LOCK_TIMEOUT = 1;
     private static final int PRINT_TIMEOUT_SECONDS = 30;
+    static final int SLIP_INSERTION_TIMEOUT_SECONDS = 20;
     private final ReentrantLock connectLock;
     private volatile boolean isLocked = false;
     private final AtomicReference<Thread> lockOwnerThread = new AtomicReference<>(null);
     private volatile boolean interruptedByTimeout = false;
     private final int[] ref = new int[1];
+    private final DeviceClock deviceClock;
+    //Completed by PTR_SUE_SLP_PAPEROK while a frank waits for its check
+    private volatile CompletableFuture<Void> slipInserted;
+    //Trace of the operation in progress, JavaPOS events are logged under it
+    private volatile TraceContext operationTrace;
+    private static final String DEVICE_TAG = DeviceOperationMetrics.getDeviceTag(POSPrinter.class);
+    private static final JposEventRecorder eventRecorder = JposEventRecorder.getRecorder(DEVICE_TAG);
     private static final Logger LOGGER = LoggerFactory.getLogger(PrinterDevice.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getPrinterServiceName(), "PrinterDevice", LOGGER);
 
@@ -51,6 +67,10 @@ public class PrinterDevice implements StatusUpdateListener {
     }
 
     public PrinterDevice(DynamicDevice<? extends POSPrinter> dynamicPrinter, DeviceListener deviceListener, ReentrantLock connectLock) {
+        this(dynamicPrinter, deviceListener, connectLock, DeviceClock.system());
+    }
+
+    public PrinterDevice(DynamicDevice<? extends POSPrinter> dynamicPrinter, DeviceListener deviceListener, ReentrantLock connectLock, DeviceClock deviceClock) {
         if (dynamicPrinter == null) {
             IllegalArgumentException ex = new IllegalArgumentException("dynamicPrinter cannot be null");
             log.failure("Printer Failed in Constructor: dynamicPrinter cannot be null", 18, ex);
@@ -64,6 +84,7 @@ public class PrinterDevice implements StatusUpdateListener {
         this.dynamicPrinter = dynamicPrinter;
         this.deviceListener = deviceListener;
         this.connectLock = connectLock;
+        this.deviceClock = deviceClock;
     }
 
     /**
@@ -173,6 +194,10 @@ public class PrinterDevice implements StatusUpdateListener {
 
         POSPrinter printer = null;
         boolean transactionStarted = false;
+        long printStart = System.nanoTime();
+        DeviceOperationEvent.PrintJob printJobEvent = new DeviceOperationEvent.PrintJob(DEVICE_TAG);
+        printJobEvent.begin();
+        operationTrace = TraceContext.current();
 
         try {
             synchronized (printer = dynamicPrinter.getDevice()) {
@@ -201,6 +226,10 @@ public class PrinterDevice implements StatusUpdateListener {
                     throw new JposException(114, 203);
                 }
 
+                if (printerStation == PrinterStationType.CHECK_PRINTER.getValue()) {
+                    waitForSlipInserted(printer);
+                }
+
                 reconnectR5Printer();
                 log.success("Reconnect Check for R5 completed", 5);
                 printer.transactionPrint(printerStation, POSPrinterConst.PTR_TP_TRANSACTION);
@@ -251,14 +280,20 @@ public class PrinterDevice implements StatusUpdateListener {
                     throw statusError;
                 }
 
+                    DeviceOperationMetrics.getDeviceOperationMetrics().recordSuccess(DEVICE_TAG, "print", getDeviceName(), printStart);
+                    printJobEvent.commitSuccess(getDeviceName());
                     log.success("printContent() completed successfully", 5);
             }
 
         } catch (PrinterException printerException) {
+            DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "print", getDeviceName(), printStart, printerException);
+            printJobEvent.commitFailure(getDeviceName(), printerException);
             log.failure("PrinterException: " + printerException.getDeviceError().getDescription(), 18, printerException);
             throw printerException;
 
         } catch (JposException jposException) {
+            DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "print", getDeviceName(), printStart, jposException);
+            printJobEvent.commitFailure(getDeviceName(), jposException);
             log.failure("JposException: " + jposException.getErrorCode()
                     + ", " + jposException.getErrorCodeExtended(), 18, jposException);
 
@@ -334,11 +369,47 @@ public class PrinterDevice implements StatusUpdateListener {
                             + cleanupException.getErrorCode(), 17, cleanupException);
                 }
             }
+            //Later events belong to no request, cleared before another print can take the lock
+            operationTrace = null;
             unlock();
             log.success("Printer lock released", 5);
         }
     }
 
+    /**
+     * Waits for PTR_SUE_SLP_PAPEROK when the slip station is empty, so franking waits on the insertion event instead
+     * of inside the print call. Printers without a slip sensor are left to wait in the print call as before.
+     * @throws PrinterException when no check is inserted in time.
+     */
+    private void waitForSlipInserted(POSPrinter printer) throws JposException, PrinterException {
+        //Armed before the slip is checked so an insertion in between is not missed
+        CompletableFuture<Void> inserted = new CompletableFuture<>();
+        slipInserted = inserted;
+        try {
+            try {
+                if (getIsCheckInserted() || !printer.getCapSlpEmptySensor() || !printer.getSlpEmpty()) {
+                    return;
+                }
+            } catch (JposException jposException) {
+                log.failure("Slip sensor not readable, leaving the insertion wait to the print call", 13, jposException);
+                return;
+            }
+            log.success("Waiting for check to be inserted", 5);
+            deviceClock.get(inserted, SLIP_INSERTION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            log.success("Check inserted", 5);
+        } catch (TimeoutException timeoutException) {
+            log.failure("Check not inserted within " + SLIP_INSERTION_TIMEOUT_SECONDS + "s", 13, timeoutException);
+            throw new PrinterException(PrinterError.MICR_TIME_OUT);
+        } catch (InterruptedException interruptedException) {
+            //Interrupted by forceUnlock, which owns the recovery
+            throw new JposException(JposConst.JPOS_E_TIMEOUT);
+        } catch (ExecutionException executionException) {
+            throw new JposException(JposConst.JPOS_E_FAILURE);
+        } finally {
+            slipInserted = null;
+        }
+    }
+
     /**
      * Prints the barcode.
      * @param printer From POS.
@@ -530,73 +601,81 @@ public class PrinterDevice implements StatusUpdateListener {
      */
     @Override
     public void statusUpdateOccurred(StatusUpdateEvent statusUpdateEvent) {
-        log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
-        int status = statusUpdateEvent.getStatus();
-        PrinterErrorHandlingSingleton printerErrorHandlingSingleton = PrinterErrorHandlingSingleton.getPrinterErrorHandlingSingleton();
-        switch (status) {
-            case JposConst.JPOS_SUE_POWER_OFF:
-            case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
-            case JposConst.JPOS_SUE_POWER_OFFLINE:
-                log.failure("Printer Status Update: Power offline", 18, null);
-                deviceConnected = false;
-                break;
-            case JposConst.JPOS_SUE_POWER_ONLINE:
-                log.success("Printer Status Update: Power offline", 5);
-                deviceConnected = true;
-                break;
-            case POSPrinterConst.PTR_SUE_COVER_OPEN:
-                log.success("Status Update: Printer cover is open", 13);
-                setWasDoorOpened(true);
-                setIsReconnectNeeded(false);
-                deviceListener.statusUpdateOccurred(statusUpdateEvent);
-                break;
-            case POSPrinterConst.PTR_SUE_COVER_OK:
-                log.success("Status Update: Printer cover OK", 5);
-                if (printerErrorHandlingSingleton.getError() != null) {
-                    printerErrorHandlingSingleton.clearError();
-                }
-                if (getWasDoorOpened()) {
-                    setIsReconnectNeeded(true);
-                    setWasDoorOpened(false);
-                }
-                break;
-            case POSPrinterConst.PTR_SUE_REC_EMPTY:
-                log.success("Status Update: Receipt paper is empty", 13);
-                if (printerErrorHandlingSingleton.getError() == null) {
-                    printerErrorHandlingSingleton.setError(new PrinterException(PrinterError.OUT_OF_PAPER));
-                }
-                log.success("SINGLETON: " + PrinterErrorHandlingSingleton.getPrinterErrorHandlingSingleton().getError(), 5);
-                setWasPaperEmpty(true);
-                setIsReconnectNeeded(false);
-                break;
-            case POSPrinterConst.PTR_SUE_REC_NEAREMPTY:
-                log.success("Status Update: Receipt printer paper near empty", 5);
-                if (getWasPaperEmpty()) {
+        eventRecorder.record(statusUpdateEvent);
+        //JavaPOS delivers events on its own thread, handle them under the trace of the running operation
+        try (TraceContext.Scope scope = TraceContext.attach(operationTrace)) {
+            log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
+            int status = statusUpdateEvent.getStatus();
+            PrinterErrorHandlingSingleton printerErrorHandlingSingleton = PrinterErrorHandlingSingleton.getPrinterErrorHandlingSingleton();
+            switch (status) {
+                case JposConst.JPOS_SUE_POWER_OFF:
+                case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
+                case JposConst.JPOS_SUE_POWER_OFFLINE:
+                    log.failure("Printer Status Update: Power offline", 18, null);
+                    deviceConnected = false;
+                    break;
+                case JposConst.JPOS_SUE_POWER_ONLINE:
+                    log.success("Printer Status Update: Power offline", 5);
+                    deviceConnected = true;
+                    break;
+                case POSPrinterConst.PTR_SUE_COVER_OPEN:
+                    log.success("Status Update: Printer cover is open", 13);
+                    setWasDoorOpened(true);
+                    setIsReconnectNeeded(false);
+                    deviceListener.statusUpdateOccurred(statusUpdateEvent);
+                    break;
+                case POSPrinterConst.PTR_SUE_COVER_OK:
+                    log.success("Status Update: Printer cover OK", 5);
+                    if (printerErrorHandlingSingleton.getError() != null) {
+                        printerErrorHandlingSingleton.clearError();
+                    }
+                    if (getWasDoorOpened()) {
+                        setIsReconnectNeeded(true);
+                        setWasDoorOpened(false);
+                    }
+                    break;
+                case POSPrinterConst.PTR_SUE_REC_EMPTY:
+                    log.success("Status Update: Receipt paper is empty", 13);
+                    if (printerErrorHandlingSingleton.getError() == null) {
+                        printerErrorHandlingSingleton.setError(new PrinterException(PrinterError.OUT_OF_PAPER));
+                    }
+                    log.success("SINGLETON: " + PrinterErrorHandlingSingleton.getPrinterErrorHandlingSingleton().getError(), 5);
+                    setWasPaperEmpty(true);
+                    setIsReconnectNeeded(false);
+                    break;
+                case POSPrinterConst.PTR_SUE_REC_NEAREMPTY:
+                    log.success("Status Update: Receipt printer paper near empty", 5);
+                    if (getWasPaperEmpty()) {
+                        clearPrinterBuffer();
+                        setWasPaperEmpty(false);
+                    }
+                    break;
+                case POSPrinterConst.PTR_SUE_REC_PAPEROK:
+                    log.success("Status Update: Receipt paper OK", 5);
                     clearPrinterBuffer();
-                    setWasPaperEmpty(false);
-                }
-                break;
-            case POSPrinterConst.PTR_SUE_REC_PAPEROK:
-                log.success("Status Update: Receipt paper OK", 5);
-                clearPrinterBuffer();
-                if (printerErrorHandlingSingleton.getError() != null) {
-                    printerErrorHandlingSingleton.clearError();
-                }
-                if (getWasPaperEmpty()) {
-                    setIsReconnectNeeded(true);
-                    setWasPaperEmpty(false);
-                }
-                break;
-            case POSPrinterConst.PTR_SUE_SLP_EMPTY:
-                log.success("Status Update: No check present", 5);
-                setIsCheckInserted(false);
-                break;
-            case POSPrinterConst.PTR_SUE_SLP_PAPEROK:
-                log.success("Status Update: Check inserted", 5);
-                setIsCheckInserted(true);
-                break;
-            default:
-                break;
+                    if (printerErrorHandlingSingleton.getError() != null) {
+                        printerErrorHandlingSingleton.clearError();
+                    }
+                    if (getWasPaperEmpty()) {
+                        setIsReconnectNeeded(true);
+                        setWasPaperEmpty(false);
+                    }
+                    break;
+                case POSPrinterConst.PTR_SUE_SLP_EMPTY:
+                    log.success("Status Update: No check present", 5);
+                    setIsCheckInserted(false);
+                    break;
+                case POSPrinterConst.PTR_SUE_SLP_PAPEROK:
+                    log.success("Status Update: Check inserted", 5);
+                    setIsCheckInserted(true);
+                    CompletableFuture<Void> inserted = slipInserted;
+                    if (inserted != null) {
+                        inserted.complete(null);
+                    }
+                    break;
+                default:
+                    break;
+            }
         }
     }
 
@@ -665,7 +744,7 @@ public class PrinterDevice implements StatusUpdateListener {
             interruptedByTimeout = true;
             owner.interrupt();
         }
-        Thread disconnectThread = new Thread(() -> {
+        Thread disconnectThread = new Thread(TraceContext.wrap(() -> {
             if (lockOwnerThread.get() != owner) {
                 log.failure("forceUnlock: skipping disconnect — lock owner changed, no longer stuck", 5, null);
                 return;
@@ -695,7 +774,7 @@ public class PrinterDevice implements StatusUpdateListener {
                     break;
                 }
                 try {
-                    Thread.sleep(1000);
+                    deviceClock.sleep(1000);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     log.failure("forceUnlock: reconnect polling interrupted", 17, null);
@@ -706,7 +785,7 @@ public class PrinterDevice implements StatusUpdateListener {
                 log.failure("forceUnlock: printer did not reconnect — @Scheduled connect() will retry", 17, null);
             }
             interruptedByTimeout = false;
-        }, "printer-force-disconnect");
+        }), "printer-force-disconnect");
         disconnectThread.setDaemon(true);
         disconnectThread.start();
 
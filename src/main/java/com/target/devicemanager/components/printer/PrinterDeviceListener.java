@@ -1,14 +1,17 @@
 package com.target.devicemanager.components.printer;
 
 import com.target.devicemanager.common.DeviceListener;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.EventSynchronizer;
+import com.target.devicemanager.common.JposEventRecorder;
 import jpos.JposConst;
+import jpos.POSPrinter;
 import jpos.POSPrinterConst;
 
 public class PrinterDeviceListener extends DeviceListener {
 
     public PrinterDeviceListener(EventSynchronizer eventSynchronizer) {
-        super(eventSynchronizer);
+        super(eventSynchronizer, JposEventRecorder.getRecorder(DeviceOperationMetrics.getDeviceTag(POSPrinter.class)));
     }
 
     @Override
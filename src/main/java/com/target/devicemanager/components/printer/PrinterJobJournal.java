@@ -0,0 +1,388 @@
+package com.target.devicemanager.components.printer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.components.printer.entities.PrinterContent;
+import com.target.devicemanager.components.printer.entities.PrinterJob;
+import com.target.devicemanager.components.printer.entities.PrinterStationType;
+import jpos.POSPrinterConst;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal of print jobs, so a receipt that was being printed when POSSUM stopped can be found and
+ * printed again. A job is written when it is accepted, with its station and contents, and a short record follows
+ * when it printed, failed, was reprinted or dismissed. Jobs with no such record after a restart are the recovered
+ * jobs.
+ * <p>
+ * Records are length-prefixed and carry a CRC32, so a record torn by a crash ends the replay instead of corrupting
+ * it. Appends are plain writes into the page cache; the file is forced to disk in batches by a sync thread, every
+ * -DprinterJournalSyncMsec (200 by default), so the print path never waits for the disk. On start, whenever the
+ * file grows past its limit, and once finished jobs pile up (-DprinterJournalCompactJobs, 64 by default) or have sat
+ * in it for -DprinterJournalCompactMsec (60 seconds by default), it is rewritten with only the unfinished jobs, so
+ * the contents of printed receipts do not linger on disk. Forcing and rewriting run outside the journal's lock,
+ * appends made while the rewrite runs are kept and follow the rewritten jobs.
+ */
+public class PrinterJobJournal {
+
+    static final byte ACCEPTED = 1;
+    static final byte PRINTED = 2;
+    static final byte FAILED = 3;
+    static final byte REPRINTED = 4;
+    static final byte DISMISSED = 5;
+
+    static final long DEFAULT_SYNC_INTERVAL_MSEC = 200;
+    static final long DEFAULT_COMPACT_SIZE = 16 * 1024 * 1024;
+    static final int DEFAULT_COMPACT_JOBS = 64;
+    static final long DEFAULT_COMPACT_INTERVAL_MSEC = 60000;
+    //payload length, crc, type, job id, time
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 1 + 8 + 8;
+    private static final byte[] NO_PAYLOAD = new byte[0];
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter CONTENTS_WRITER = MAPPER.writerFor(new TypeReference<List<PrinterContent>>() {});
+    private static final ObjectReader CONTENTS_READER = MAPPER.readerFor(new TypeReference<List<PrinterContent>>() {});
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrinterJobJournal.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getPrinterServiceName(), "PrinterJobJournal", LOGGER);
+
+    private final Path path;
+    private final long compactSize;
+    private final int compactJobs;
+    private final long compactIntervalMsec;
+    private FileChannel channel;
+    private boolean dirty;
+    private boolean compactionNeeded;
+    //Jobs finished since the last compaction, their contents are still in the file
+    private int finishedSinceCompaction;
+    private long firstFinishedNanos;
+    //Records appended while a compaction writes its snapshot, null when no compaction runs
+    private List<ByteBuffer> compactionTail;
+    private long nextJobId;
+    //Accepted jobs without an outcome, kept with their payload so compaction can write them again
+    private final Map<Long, PendingJob> pendingJobs = new LinkedHashMap<>();
+    //Jobs an earlier run left unfinished
+    private final Map<Long, PrinterJob> recoveredJobs = new LinkedHashMap<>();
+
+    /**
+     * Opens the journal at -DprinterJournal, by default printer.journal in the POSSUM log directory, and starts its
+     * sync thread.
+     */
+    public static PrinterJobJournal open() throws IOException {
+        String journalPath = System.getProperty("printerJournal");
+        if (journalPath == null) {
+            String logPath = System.getenv("POSSUM_LOG_PATH");
+            journalPath = (logPath == null ? "/var/log/target/possum" : logPath) + "/printer.journal";
+        }
+        PrinterJobJournal journal = new PrinterJobJournal(Paths.get(journalPath), DEFAULT_COMPACT_SIZE,
+                Integer.getInteger("printerJournalCompactJobs", DEFAULT_COMPACT_JOBS),
+                Long.getLong("printerJournalCompactMsec", DEFAULT_COMPACT_INTERVAL_MSEC));
+        long syncIntervalMsec = Long.getLong("printerJournalSyncMsec", DEFAULT_SYNC_INTERVAL_MSEC);
+        ScheduledExecutorService syncScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "printer-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncScheduler.scheduleWithFixedDelay(journal::sync, syncIntervalMsec, syncIntervalMsec, TimeUnit.MILLISECONDS);
+        return journal;
+    }
+
+    PrinterJobJournal(Path path, long compactSize) throws IOException {
+        this(path, compactSize, DEFAULT_COMPACT_JOBS, DEFAULT_COMPACT_INTERVAL_MSEC);
+    }
+
+    /**
+     * @param compactSize file size that triggers a compaction.
+     * @param compactJobs number of finished jobs that triggers a compaction.
+     * @param compactIntervalMsec age of the oldest finished job that triggers a compaction.
+     */
+    PrinterJobJournal(Path path, long compactSize, int compactJobs, long compactIntervalMsec) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        this.path = path.toAbsolutePath();
+        this.compactSize = compactSize;
+        this.compactJobs = compactJobs;
+        this.compactIntervalMsec = compactIntervalMsec;
+        Files.createDirectories(this.path.getParent());
+        //Job ids start from the clock so they do not repeat across runs once the journal was compacted
+        nextJobId = System.currentTimeMillis();
+        replay();
+        compact();
+        for (PrinterJob printerJob : recoveredJobs.values()) {
+            log.failure("Unfinished print job recovered from journal: " + printerJob, 13, null);
+        }
+    }
+
+    /**
+     * Writes an accepted job. Never throws, a receipt prints even when its journal cannot be written.
+     * @return the job id, 0 when the job could not be journaled.
+     */
+    public synchronized long accept(List<PrinterContent> contents, PrinterStationType station, long timeMillis) {
+        byte[] payload;
+        try {
+            byte[] json = CONTENTS_WRITER.writeValueAsBytes(contents);
+            payload = ByteBuffer.allocate(4 + json.length).putInt(station.getValue()).put(json).array();
+        } catch (IOException ioException) {
+            log.failure("Print job could not be journaled", 17, ioException);
+            return 0;
+        }
+        long jobId = nextJobId++;
+        if (!append(ACCEPTED, jobId, timeMillis, payload)) {
+            return 0;
+        }
+        pendingJobs.put(jobId, new PendingJob(timeMillis, payload));
+        return jobId;
+    }
+
+    /**
+     * Writes the outcome of a job.
+     * @param outcome PRINTED, FAILED, REPRINTED or DISMISSED.
+     */
+    public synchronized void finish(long jobId, byte outcome, long timeMillis) {
+        if (jobId == 0 || !pendingJobs.containsKey(jobId)) {
+            return;
+        }
+        append(outcome, jobId, timeMillis, NO_PAYLOAD);
+        pendingJobs.remove(jobId);
+        if (finishedSinceCompaction++ == 0) {
+            firstFinishedNanos = System.nanoTime();
+        }
+        recoveredJobs.remove(jobId);
+    }
+
+    public synchronized List<PrinterJob> getRecoveredJobs() {
+        return new ArrayList<>(recoveredJobs.values());
+    }
+
+    /**
+     * @return the recovered job, null when there is no unfinished job with that id.
+     */
+    public synchronized PrinterJob getRecoveredJob(long jobId) {
+        return recoveredJobs.get(jobId);
+    }
+
+    /**
+     * Forces appended records to disk and compacts the journal when it grew past its limit. Called by the sync
+     * thread.
+     */
+    public void sync() {
+        FileChannel dirtyChannel;
+        synchronized (this) {
+            dirtyChannel = dirty ? channel : null;
+            dirty = false;
+        }
+        try {
+            if (dirtyChannel != null) {
+                dirtyChannel.force(false);
+            }
+            if (isCompactionDue()) {
+                compact();
+            }
+        } catch (IOException ioException) {
+            synchronized (this) {
+                dirty = dirtyChannel != null;
+            }
+            log.failure("Printer journal could not be synced", 17, ioException);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private boolean append(byte type, long jobId, long timeMillis, byte[] payload) {
+        if (channel == null) {
+            return false;
+        }
+        try {
+            ByteBuffer record = encode(type, jobId, timeMillis, payload);
+            write(channel, record.duplicate());
+            if (compactionTail != null) {
+                compactionTail.add(record);
+            }
+            dirty = true;
+            return true;
+        } catch (IOException ioException) {
+            //A partly written record would end the replay there, rewrite the journal on the next sync
+            compactionNeeded = true;
+            log.failure("Printer journal could not be written", 17, ioException);
+            return false;
+        }
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || buffer.remaining() < RECORD_HEADER_SIZE - 8 + length) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.array(), start + 8, RECORD_HEADER_SIZE - 8 + length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            byte type = buffer.get();
+            long jobId = buffer.getLong();
+            long timeMillis = buffer.getLong();
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            nextJobId = Math.max(nextJobId, jobId + 1);
+            if (type == ACCEPTED) {
+                pendingJobs.put(jobId, new PendingJob(timeMillis, payload));
+            } else {
+                pendingJobs.remove(jobId);
+            }
+        }
+        if (buffer.hasRemaining()) {
+            log.failure("Printer journal ends in a torn record, ignoring the last " + buffer.remaining() + " bytes", 13, null);
+        }
+        pendingJobs.entrySet().removeIf(entry -> {
+            try {
+                recoveredJobs.put(entry.getKey(), toPrinterJob(entry.getKey(), entry.getValue()));
+                return false;
+            } catch (IOException ioException) {
+                log.failure("Print job " + entry.getKey() + " in journal could not be read", 17, ioException);
+                return true;
+            }
+        });
+    }
+
+    private synchronized boolean isCompactionDue() throws IOException {
+        return compactionNeeded
+                || (channel != null && channel.size() > compactSize)
+                || finishedSinceCompaction >= compactJobs
+                || (finishedSinceCompaction > 0 && System.nanoTime() - firstFinishedNanos >= TimeUnit.MILLISECONDS.toNanos(compactIntervalMsec));
+    }
+
+    /**
+     * Writes the unfinished jobs to a new file and swaps it in. The jobs are written and forced without the lock,
+     * only the records appended meanwhile and the swap itself hold it.
+     */
+    private void compact() throws IOException {
+        Map<Long, PendingJob> snapshot;
+        int finishedInSnapshot;
+        synchronized (this) {
+            if (compactionTail != null) {
+                return;
+            }
+            snapshot = new LinkedHashMap<>(pendingJobs);
+            finishedInSnapshot = finishedSinceCompaction;
+            compactionTail = new ArrayList<>();
+        }
+        Path compacted = Paths.get(path + ".tmp");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<Long, PendingJob> entry : snapshot.entrySet()) {
+                write(out, encode(ACCEPTED, entry.getKey(), entry.getValue().timeMillis, entry.getValue().payload));
+            }
+            out.force(true);
+            synchronized (this) {
+                for (ByteBuffer record : compactionTail) {
+                    write(out, record.duplicate());
+                }
+                FileChannel previous = channel;
+                channel = null;
+                try {
+                    if (previous != null) {
+                        previous.close();
+                    }
+                    Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    channel = openForAppend();
+                } catch (IOException ioException) {
+                    //Keep journaling into whichever file is in place, the next sync compacts again
+                    compactionNeeded = true;
+                    reopenAfterFailedSwap();
+                    throw ioException;
+                }
+                //The records that followed the snapshot are not forced yet
+                dirty = !compactionTail.isEmpty();
+                compactionNeeded = false;
+                //Jobs finished while the snapshot was written still have their contents in the file
+                finishedSinceCompaction -= finishedInSnapshot;
+                firstFinishedNanos = System.nanoTime();
+            }
+        } finally {
+            synchronized (this) {
+                compactionTail = null;
+            }
+        }
+    }
+
+    private FileChannel openForAppend() throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * The file at path holds every record either way, the old journal when the move failed and the compacted one
+     * when it went through.
+     */
+    private void reopenAfterFailedSwap() {
+        try {
+            channel = openForAppend();
+        } catch (IOException ioException) {
+            log.failure("Printer journal could not be reopened, retrying on the next sync", 17, ioException);
+        }
+    }
+
+    private static ByteBuffer encode(byte type, long jobId, long timeMillis, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        buffer.putInt(payload.length).putInt(0).put(type).putLong(jobId).putLong(timeMillis).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 8, buffer.position() - 8);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    private static PrinterJob toPrinterJob(long jobId, PendingJob pendingJob) throws IOException {
+        ByteBuffer payload = ByteBuffer.wrap(pendingJob.payload);
+        int station = payload.getInt();
+        List<PrinterContent> contents = CONTENTS_READER.readValue(Arrays.copyOfRange(pendingJob.payload, 4, pendingJob.payload.length));
+        return new PrinterJob(jobId, Instant.ofEpochMilli(pendingJob.timeMillis).toString(),
+                station == POSPrinterConst.PTR_S_SLIP ? PrinterStationType.CHECK_PRINTER : PrinterStationType.RECEIPT_PRINTER,
+                contents);
+    }
+
+    private static class PendingJob {
+        private final long timeMillis;
+        private final byte[] payload;
+
+        PendingJob(long timeMillis, byte[] payload) {
+            this.timeMillis = timeMillis;
+            this.payload = payload;
+        }
+    }
+}
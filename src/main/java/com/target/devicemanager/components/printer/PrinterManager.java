@@ -1,12 +1,18 @@
 package com.target.devicemanager.components.printer;
 
+import com.target.devicemanager.common.DeviceClock;
+import com.target.devicemanager.common.DeviceHealthSnapshotSingleton;
 import com.target.devicemanager.common.LogPayloadBuilder;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.entities.*;
+import com.target.devicemanager.components.printer.entities.ContentType;
 import com.target.devicemanager.components.printer.entities.PrinterContent;
 import com.target.devicemanager.components.printer.entities.PrinterError;
 import com.target.devicemanager.components.printer.entities.PrinterException;
+import com.target.devicemanager.components.printer.entities.PrinterJob;
 import com.target.devicemanager.components.printer.entities.PrinterStationType;
+import com.target.devicemanager.components.printer.entities.TextContent;
 import jpos.JposConst;
 import jpos.JposException;
 import org.slf4j.Logger;
@@ -17,9 +23,11 @@ import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 
 @EnableScheduling
@@ -31,7 +39,19 @@ public class PrinterManager {
 
     private final PrinterDevice printerDevice;
     private final Lock printerLock;
+    private final DeviceClock deviceClock;
+    //Write-ahead journal of receipts, null when it could not be opened
+    private final PrinterJobJournal journal;
+    private final boolean reprintOnStartup;
+    //Startup reprints run here, they can take a print deadline per job and must not hold the scheduler
+    private final Executor reprintExecutor;
+    private final AtomicBoolean reprintRunning = new AtomicBoolean(false);
+    private volatile boolean recoveredJobsReprinted = false;
+    //Printed above a receipt that is printed again from the journal
+    static final String REPRINT_MARKER = "\u001b|cA\u001b|bC*** REPRINT ***\u001b|N\n";
     private static final int PRINTER_TIMEOUT = 35;  // Timeout value for printContent call in seconds
+    // Franking also waits for the check to be inserted before printing
+    private static final int FRANK_TIMEOUT = PRINTER_TIMEOUT + PrinterDevice.SLIP_INSERTION_TIMEOUT_SECONDS;
     private ConnectEnum connectStatus = ConnectEnum.FIRST_CONNECT;
     private static final Logger LOGGER = LoggerFactory.getLogger(PrinterManager.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getPrinterServiceName(), "PrinterManager", LOGGER);
@@ -41,6 +61,15 @@ public class PrinterManager {
     }
 
     public PrinterManager(PrinterDevice printerDevice, Lock printerLock, CacheManager cacheManager, Future<Void> future, boolean isTest) {
+        this(printerDevice, printerLock, cacheManager, future, isTest, DeviceClock.system(), null, null);
+    }
+
+    /**
+     * @param deviceClock times the print and frank deadlines.
+     * @param journal records receipts so they can be reprinted after a crash, null prints without one.
+     * @param reprintExecutor reprints recovered jobs off the connect thread, null uses a daemon thread.
+     */
+    public PrinterManager(PrinterDevice printerDevice, Lock printerLock, CacheManager cacheManager, Future<Void> future, boolean isTest, DeviceClock deviceClock, PrinterJobJournal journal, Executor reprintExecutor) {
         if (printerDevice == null) {
             throw new IllegalArgumentException("printerDevice cannot be null");
         }
@@ -50,12 +79,24 @@ public class PrinterManager {
 
         this.printerDevice = printerDevice;
         this.printerLock = printerLock;
+        this.deviceClock = deviceClock;
+        this.journal = journal;
+        this.reprintExecutor = reprintExecutor == null ? newReprintExecutor() : reprintExecutor;
+        this.reprintOnStartup = Boolean.parseBoolean(System.getProperty("printerReprintOnStartup"));
 
         if(cacheManager != null) {
             this.cacheManager = cacheManager;
         }
     }
 
+    private static Executor newReprintExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "printer-reprint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Scheduled(fixedDelay = 5000, initialDelay = 5000)
     public void connect() {
         if (printerDevice.tryLock()) {
@@ -66,6 +107,18 @@ public class PrinterManager {
             }
         }
 
+        publishHealth(printerDevice.isConnected());
+
+        if (reprintOnStartup && !recoveredJobsReprinted && printerDevice.isConnected() && reprintRunning.compareAndSet(false, true)) {
+            reprintExecutor.execute(() -> {
+                try {
+                    recoveredJobsReprinted = reprintRecoveredJobs();
+                } finally {
+                    reprintRunning.set(false);
+                }
+            });
+        }
+
         if (connectStatus == ConnectEnum.FIRST_CONNECT) {
             connectStatus = ConnectEnum.CHECK_HEALTH;
         }
@@ -88,42 +141,89 @@ public class PrinterManager {
     }
 
     public void printReceipt(List<PrinterContent> contents) throws DeviceException {
+        printReceipt(contents, 0);
+    }
+
+    /**
+     * @param reprintOf unfinished job the receipt reprints, 0 for a new receipt. A reprint is journaled as that job
+     *                  rather than a new one, so a crash while it prints leaves one unfinished job and not two.
+     */
+    private void printReceipt(List<PrinterContent> contents, long reprintOf) throws DeviceException {
         if (!printerLock.tryLock()) {
             PrinterException printerException = new PrinterException(PrinterError.DEVICE_BUSY);
             throw printerException;
         }
 
+        long jobId = reprintOf != 0 || journal == null ? reprintOf : journal.accept(contents, PrinterStationType.RECEIPT_PRINTER, deviceClock.currentTimeMillis());
+        boolean printed = false;
+
+        try {
+            printWithDeadline(contents, PrinterStationType.RECEIPT_PRINTER, PRINTER_TIMEOUT);
+            printed = true;
+        } catch (PrinterException printerException) {
+            log.failure(printerException.getDeviceError().getDescription(), 17, printerException);
+            throw printerException;
+        } finally {
+            if (journal != null && reprintOf == 0) {
+                journal.finish(jobId, printed ? PrinterJobJournal.PRINTED : PrinterJobJournal.FAILED, deviceClock.currentTimeMillis());
+            } else if (journal != null && printed) {
+                //A failed reprint stays unfinished and can be reprinted again
+                journal.finish(jobId, PrinterJobJournal.REPRINTED, deviceClock.currentTimeMillis());
+            }
+            printerLock.unlock();
+        }
+    }
+
+    public void frankCheck(List<PrinterContent> contents) throws PrinterException {
+        if (!printerLock.tryLock()) {
+            PrinterException printerException = new PrinterException(PrinterError.DEVICE_BUSY);
+            throw printerException;
+        }
+
+        try {
+            printWithDeadline(contents, PrinterStationType.CHECK_PRINTER, FRANK_TIMEOUT);
+        } catch (PrinterException printerException) {
+            log.failure(printerException.getDeviceError().getDescription(), 17, printerException);
+            throw printerException;
+        } finally {
+            printerLock.unlock();
+        }
+    }
+
+    /**
+     * Prints on a worker thread and waits at most timeoutSeconds for it. A print that misses the deadline is
+     * interrupted and the printer is force unlocked, so a stuck station neither hangs the request thread nor holds
+     * printerLock.
+     */
+    private void printWithDeadline(List<PrinterContent> contents, PrinterStationType station, int timeoutSeconds) throws PrinterException {
         ExecutorService executorService = Executors.newSingleThreadExecutor();
         Future<?> localFuture = null;
 
-        try {
+        //Registered before the worker starts so a virtual clock cannot run the deadline out from under the print
+        try (DeviceClock.Participation participation = deviceClock.participate()) {
             Callable<Void> task = () -> {
-                printerDevice.printContent(contents, PrinterStationType.RECEIPT_PRINTER.getValue());
+                printerDevice.printContent(contents, station.getValue());
                 return null;
             };
 
-            localFuture = executorService.submit(task);
-            localFuture.get(PRINTER_TIMEOUT, TimeUnit.SECONDS);
+            localFuture = executorService.submit(TraceContext.wrap(participation.wrap(task)));
+            deviceClock.get(localFuture, timeoutSeconds, TimeUnit.SECONDS);
 
         } catch (ExecutionException executionException) {
             Throwable cause = executionException.getCause();
-            PrinterException printerException;
             if (cause instanceof PrinterException) {
-                printerException = (PrinterException) cause;
+                throw (PrinterException) cause;
             } else if (cause instanceof JposException) {
-                printerException = new PrinterException((JposException) cause);
+                throw new PrinterException((JposException) cause);
             } else {
-                printerException = new PrinterException(new JposException(JposConst.JPOS_E_FAILURE));
+                throw new PrinterException(new JposException(JposConst.JPOS_E_FAILURE));
             }
-            log.failure(printerException.getDeviceError().getDescription(), 17, printerException);
-            throw printerException;
 
         } catch (TimeoutException timeoutException) {
             if (localFuture != null) {
                 localFuture.cancel(true);
             }
             executorService.shutdownNow(); // attempt to stop running tasks immediately
-            log.failure(PrinterError.PRINTER_TIME_OUT.getDescription(), 17, timeoutException);
             printerDevice.forceUnlock();
             throw new PrinterException(PrinterError.PRINTER_TIME_OUT);
         } catch (InterruptedException interruptedException) {
@@ -133,31 +233,70 @@ public class PrinterManager {
             }
             executorService.shutdownNow();
             Thread.currentThread().interrupt();
-            PrinterException printerException = new PrinterException(new JposException(JposConst.JPOS_E_FAILURE));
-            log.failure(printerException.getDeviceError().getDescription(), 17, printerException);
-            throw printerException;
+            throw new PrinterException(new JposException(JposConst.JPOS_E_FAILURE));
         } finally {
             if (!executorService.isShutdown()) {
                 executorService.shutdownNow();
             }
-            printerLock.unlock();
         }
     }
 
-    public void frankCheck(List<PrinterContent> contents) throws PrinterException {
-        if (!printerLock.tryLock()) {
-            PrinterException printerException = new PrinterException(PrinterError.DEVICE_BUSY);
-            throw printerException;
+    /**
+     * Receipts an earlier run accepted but never finished printing.
+     */
+    public List<PrinterJob> getUnfinishedJobs() {
+        return journal == null ? new ArrayList<>() : journal.getRecoveredJobs();
+    }
+
+    /**
+     * Prints an unfinished receipt again under a REPRINT marker and drops it from the unfinished jobs.
+     */
+    public void reprintJob(long jobId) throws DeviceException {
+        PrinterJob printerJob = getUnfinishedJob(jobId);
+        List<PrinterContent> contents = new ArrayList<>();
+        TextContent reprintMarker = new TextContent();
+        reprintMarker.setType(ContentType.TEXT);
+        reprintMarker.setData(REPRINT_MARKER);
+        contents.add(reprintMarker);
+        contents.addAll(printerJob.getContents());
+        printReceipt(contents, jobId);
+        log.success("Reprinted unfinished print job " + jobId, 5);
+    }
+
+    /**
+     * Drops an unfinished receipt without printing it, for when the POS knows it printed or no longer needs it.
+     */
+    public void dismissJob(long jobId) throws DeviceException {
+        getUnfinishedJob(jobId);
+        journal.finish(jobId, PrinterJobJournal.DISMISSED, deviceClock.currentTimeMillis());
+        log.success("Dismissed unfinished print job " + jobId, 5);
+    }
+
+    private PrinterJob getUnfinishedJob(long jobId) throws PrinterException {
+        PrinterJob printerJob = journal == null ? null : journal.getRecoveredJob(jobId);
+        if (printerJob == null) {
+            throw new PrinterException(PrinterError.UNKNOWN_JOB);
         }
+        return printerJob;
+    }
 
-        try {
-            printerDevice.printContent(contents,PrinterStationType.CHECK_PRINTER.getValue());
-        } catch (JposException exception) {
-            PrinterException printerException = new PrinterException(exception);
-            throw printerException;
-        } finally {
-            printerLock.unlock();
+    /**
+     * @return true when every unfinished job was handled, false when the printer was busy and the jobs it skipped
+     * are tried again on the next connect.
+     */
+    private boolean reprintRecoveredJobs() {
+        boolean handled = true;
+        for (PrinterJob printerJob : getUnfinishedJobs()) {
+            try {
+                reprintJob(printerJob.getJobId());
+            } catch (DeviceException deviceException) {
+                if (DeviceError.DEVICE_BUSY.getCode().equals(deviceException.getDeviceError().getCode())) {
+                    handled = false;
+                }
+                log.failure("Unfinished print job " + printerJob.getJobId() + " could not be reprinted", 17, deviceException);
+            }
         }
+        return handled;
     }
 
     public DeviceHealthResponse getHealth() {
@@ -167,6 +306,7 @@ public class PrinterManager {
         } else {
             deviceHealthResponse = new DeviceHealthResponse(printerDevice.getDeviceName(), DeviceHealth.NOTREADY);
         }
+        publishHealth(deviceHealthResponse.getHealthStatus() == DeviceHealth.READY);
         try {
             Objects.requireNonNull(cacheManager.getCache("printerHealth")).put("health", deviceHealthResponse);
         } catch (Exception exception) {
@@ -175,6 +315,10 @@ public class PrinterManager {
         return deviceHealthResponse;
     }
 
+    public DeviceHealthResponse getHealthSnapshot() {
+        return DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(DeviceHealthSnapshotSingleton.PRINTER, printerDevice.getDeviceName());
+    }
+
     public DeviceHealthResponse getStatus() {
         try {
             if (cacheManager != null && Objects.requireNonNull(cacheManager.getCache("printerHealth")).get("health") != null) {
@@ -195,4 +339,8 @@ public class PrinterManager {
     public static int getPrinterTimeoutValue() {
         return PRINTER_TIMEOUT;
     }
+
+    private void publishHealth(boolean isReady) {
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.PRINTER, printerDevice.getDeviceName(), isReady ? DeviceHealth.READY : DeviceHealth.NOTREADY);
+    }
 }
@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.target.devicemanager.common.EnumDeserializer;
 import jpos.POSPrinterConst;
 
-import java.util.Arrays;
+import java.util.Map;
 
 public enum BarcodeAlignment {
     LEFT(POSPrinterConst.PTR_BC_LEFT),
@@ -12,6 +12,7 @@ public enum BarcodeAlignment {
     RIGHT(POSPrinterConst.PTR_BC_RIGHT);
 
     private final int alignment;
+    private static final Map<String, BarcodeAlignment> BY_NAME = EnumDeserializer.lookupTable(BarcodeAlignment.class);
 
     BarcodeAlignment(int alignment) {
         this.alignment = alignment;
@@ -19,7 +20,7 @@ public enum BarcodeAlignment {
 
     @JsonCreator
     public static BarcodeAlignment fromValue(String valueToDeserialize) {
-        BarcodeAlignment alignment = EnumDeserializer.deserialize(Arrays.asList(values()), valueToDeserialize);
+        BarcodeAlignment alignment = EnumDeserializer.deserialize(BY_NAME, valueToDeserialize);
 
         return alignment == null ? CENTER : alignment;
     }
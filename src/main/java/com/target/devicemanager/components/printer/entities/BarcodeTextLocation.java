@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.target.devicemanager.common.EnumDeserializer;
 import jpos.POSPrinterConst;
 
-import java.util.Arrays;
+import java.util.Map;
 
 public enum BarcodeTextLocation {
     NONE(POSPrinterConst.PTR_BC_TEXT_NONE),
@@ -12,6 +12,7 @@ public enum BarcodeTextLocation {
     BELOW(POSPrinterConst.PTR_BC_TEXT_BELOW);
 
     private final int textLocation;
+    private static final Map<String, BarcodeTextLocation> BY_NAME = EnumDeserializer.lookupTable(BarcodeTextLocation.class);
 
     BarcodeTextLocation(int location) {
         this.textLocation = location;
@@ -19,7 +20,7 @@ public enum BarcodeTextLocation {
 
     @JsonCreator
     public static BarcodeTextLocation fromValue(String valueToDeserialize) {
-        BarcodeTextLocation location = EnumDeserializer.deserialize(Arrays.asList(values()), valueToDeserialize);
+        BarcodeTextLocation location = EnumDeserializer.deserialize(BY_NAME, valueToDeserialize);
 
         return location == null ? BELOW : location;
     }
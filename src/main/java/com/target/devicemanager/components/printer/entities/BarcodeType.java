@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.target.devicemanager.common.EnumDeserializer;
 import jpos.POSPrinterConst;
 
-import java.util.Arrays;
+import java.util.Map;
 
 public enum BarcodeType {
     UPCA(POSPrinterConst.PTR_BCS_UPCA),
@@ -48,6 +48,7 @@ public enum BarcodeType {
     OTHER(POSPrinterConst.PTR_BCS_OTHER);
 
     private final int uposBarcodeType;
+    private static final Map<String, BarcodeType> BY_NAME = EnumDeserializer.lookupTable(BarcodeType.class);
 
     BarcodeType(int barCodeType) {
         uposBarcodeType = barCodeType;
@@ -55,7 +56,7 @@ public enum BarcodeType {
 
     @JsonCreator
     public static BarcodeType fromValue(String valueToDeserialize) {
-        BarcodeType type = EnumDeserializer.deserialize(Arrays.asList(values()), valueToDeserialize);
+        BarcodeType type = EnumDeserializer.deserialize(BY_NAME, valueToDeserialize);
 
         return type == null ? OTHER : type;
     }
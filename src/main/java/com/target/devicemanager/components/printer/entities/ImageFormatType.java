@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.target.devicemanager.common.EnumDeserializer;
 import jpos.POSPrinterConst;
 
-import java.util.Arrays;
+import java.util.Map;
 
 public enum ImageFormatType {
     BMP(POSPrinterConst.PTR_BMT_BMP),
@@ -12,6 +12,7 @@ public enum ImageFormatType {
     GIF(POSPrinterConst.PTR_BMT_JPEG);
 
     private final int value;
+    private static final Map<String, ImageFormatType> BY_NAME = EnumDeserializer.lookupTable(ImageFormatType.class);
 
     ImageFormatType(int value) {
         this.value = value;
@@ -19,7 +20,7 @@ public enum ImageFormatType {
 
     @JsonCreator
     public static ImageFormatType fromValue(String valueToDeserialize) {
-        ImageFormatType type = EnumDeserializer.deserialize(Arrays.asList(values()), valueToDeserialize);
+        ImageFormatType type = EnumDeserializer.deserialize(BY_NAME, valueToDeserialize);
 
         return type == null ? BMP : type;
     }
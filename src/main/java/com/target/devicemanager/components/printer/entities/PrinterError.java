@@ -11,6 +11,7 @@ public class PrinterError extends DeviceError {
     public static final PrinterError MICR_TIME_OUT = new PrinterError("INSERT_CHECK_TIME_OUT ","Insert the check promptly and try again", HttpStatus.REQUEST_TIMEOUT);
     public static final PrinterError ILLEGAL_OPERATION = new PrinterError("ILLEGAL_OPERATION","The printer does not exist or the content is invalid. Check if receipt paper is empty.", HttpStatus.NOT_FOUND);
     public static final PrinterError PRINTER_TIME_OUT = new PrinterError("PRINTER_TIME_OUT", "The printer timed out while trying to print the receipt. Try again.", HttpStatus.REQUEST_TIMEOUT);
+    public static final PrinterError UNKNOWN_JOB = new PrinterError("UNKNOWN_JOB", "No unfinished print job with this id.", HttpStatus.NOT_FOUND);
     public static final PrinterError PRINTER_BUSY = new PrinterError("PRINTER_BUSY", "The printer is still processing the previous request. Wait for the receipt to print.", HttpStatus.CONFLICT);
 
     public PrinterError(String code, String description, HttpStatus statusCode) {
@@ -5,6 +5,7 @@ import com.target.devicemanager.common.entities.DeviceErrorStatusResponse;
 public class PrinterErrorHandlingSingleton {
 
     private static final PrinterErrorHandlingSingleton printerErrorHandlingSingleton = new PrinterErrorHandlingSingleton();
+    private static final String PRINTER_DEVICE_NAME = "printer";
     private PrinterException PrinterException = null;
 
     private PrinterErrorHandlingSingleton() {
@@ -21,10 +22,13 @@ public class PrinterErrorHandlingSingleton {
 
     public void setError(PrinterException PrinterException) {
         this.PrinterException = PrinterException;
+        if (PrinterException != null) {
+            DeviceErrorStatusResponse.setDeviceErrorStatusResponse(PRINTER_DEVICE_NAME, PrinterException.getDeviceError());
+        }
     }
 
     public void clearError() {
-        DeviceErrorStatusResponse.sendClearError();
+        DeviceErrorStatusResponse.sendClearError(PRINTER_DEVICE_NAME);
         this.PrinterException = null;
     }
 }
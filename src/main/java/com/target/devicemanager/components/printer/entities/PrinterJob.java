@@ -0,0 +1,47 @@
+package com.target.devicemanager.components.printer.entities;
+
+import java.util.List;
+
+/**
+ * A print job from the printer journal that was accepted but never reported printed or failed, most likely because
+ * POSSUM stopped while it was printing.
+ */
+public class PrinterJob {
+
+    private final long jobId;
+    private final String acceptedAt;
+    private final PrinterStationType station;
+    private final List<PrinterContent> contents;
+
+    public PrinterJob(long jobId, String acceptedAt, PrinterStationType station, List<PrinterContent> contents) {
+        this.jobId = jobId;
+        this.acceptedAt = acceptedAt;
+        this.station = station;
+        this.contents = contents;
+    }
+
+    public long getJobId() {
+        return jobId;
+    }
+
+    public String getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public PrinterStationType getStation() {
+        return station;
+    }
+
+    public List<PrinterContent> getContents() {
+        return contents;
+    }
+
+    public String toString() {
+        return "PrinterJob{" +
+                "jobId=" + jobId +
+                ", acceptedAt='" + acceptedAt + '\'' +
+                ", station=" + station +
+                ", contents=" + (contents == null ? 0 : contents.size()) +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.target.devicemanager.components.printer.simulator;
 
+import com.target.devicemanager.common.DeviceClock;
 import com.target.devicemanager.common.SimulatorState;
 import com.target.devicemanager.components.printer.PrinterManager;
 import com.target.devicemanager.components.printer.entities.PrinterStationType;
@@ -20,8 +21,14 @@ public class SimulatedJposPrinter extends POSPrinter  {
     private SimulatedCheckPrintResult simulatedCheckPrintResult;
     private int statusUpdateStatus = JposConst.JPOS_SUE_POWER_OFF_OFFLINE;
     private final String simulatedPrinterName = "Simulated Printer";
+    private final DeviceClock deviceClock;
 
     public SimulatedJposPrinter() {
+        this(DeviceClock.system());
+    }
+
+    public SimulatedJposPrinter(DeviceClock deviceClock) {
+        this.deviceClock = deviceClock;
         simulatorState = SimulatorState.ONLINE;
         simulatedPrintResult = SimulatedPrintResult.PRINT_COMPLETE;
         simulatedCheckPrintResult = SimulatedCheckPrintResult.PRINT_COMPLETE;
@@ -138,6 +145,17 @@ public class SimulatedJposPrinter extends POSPrinter  {
         //do nothing
     }
 
+    @Override
+    public boolean getCapSlpEmptySensor() {
+        return true;
+    }
+
+    @Override
+    public boolean getSlpEmpty() {
+        //The simulated slip station always holds a check
+        return false;
+    }
+
     @Override
     public void transactionPrint(int printerType, int transactionType) {
         if (transactionType == POSPrinterConst.PTR_TP_NORMAL) {
@@ -156,7 +174,7 @@ public class SimulatedJposPrinter extends POSPrinter  {
                         break;
                     case TIME_OUT:
                         try {
-                            Thread.sleep((1000 * PrinterManager.getPrinterTimeoutValue()) + 30000); // Add 30s to the timeout value to ensure the timeout occurs and the printer busy behavior can be seen.
+                            deviceClock.sleep((1000 * PrinterManager.getPrinterTimeoutValue()) + 30000); // Add 30s to the timeout value to ensure the timeout occurs and the printer busy behavior can be seen.
                         } catch (InterruptedException interruptedException) {
                             //ignore error
                         }
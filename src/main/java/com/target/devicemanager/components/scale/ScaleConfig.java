@@ -13,6 +13,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Configuration
 class ScaleConfig {
@@ -22,7 +23,7 @@ class ScaleConfig {
     @Autowired
     ScaleConfig(ApplicationConfig applicationConfig) {
         this.applicationConfig = applicationConfig;
-        this.simulatedJposScale = new SimulatedJposScale();
+        this.simulatedJposScale = new SimulatedJposScale(applicationConfig.getDeviceClock());
     }
 
     @Bean
@@ -38,9 +39,11 @@ class ScaleConfig {
         }
 
         ScaleManager scaleManager = new ScaleManager(
-                new ScaleDevice(dynamicScale, new CopyOnWriteArrayList<>(), new CopyOnWriteArrayList<>()),
+                new ScaleDevice(dynamicScale, new CopyOnWriteArrayList<>(), new CopyOnWriteArrayList<>(), new ReentrantLock(true), applicationConfig.getDeviceClock()),
+                SseHub.getSseHub(),
                 new CopyOnWriteArrayList<>(),
-                new CopyOnWriteArrayList<>());
+                null,
+                applicationConfig.getDeviceClock());
 
         DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().setScaleManager(scaleManager);
         return scaleManager;
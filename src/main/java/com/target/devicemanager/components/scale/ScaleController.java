@@ -23,7 +23,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
@@ -54,9 +53,11 @@ public class ScaleController {
             @ApiResponse(responseCode = "404", description = "DEVICE_OFFLINE",
                     content = @Content(schema = @Schema(implementation = DeviceError.class))),
             @ApiResponse(responseCode = "409", description = "DEVICE_BUSY",
+                    content = @Content(schema = @Schema(implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "503", description = "SSE_CONNECTION_LIMIT",
                     content = @Content(schema = @Schema(implementation = DeviceError.class)))
     })
-    public SseEmitter getLiveWeight() throws IOException {
+    public SseEmitter getLiveWeight() throws DeviceException {
         String url = "/v1/scale/liveweight";
         log.successAPI("request", 1, url, null, 0);
         SseEmitter sseEmitter = new SseEmitter(Long.MAX_VALUE);
@@ -64,9 +65,11 @@ public class ScaleController {
             scaleManager.subscribeToLiveWeight(sseEmitter);
             log.successAPI("response", 1, url, null, 200);
             return sseEmitter;
-        } catch (IOException ioException) {
-            log.failureAPI("response", 13, url, ioException.getMessage(), 0, ioException);
-            throw ioException;
+        } catch (DeviceException deviceException) {
+            int statusCode = deviceException.getDeviceError() == null ? 0 : deviceException.getDeviceError().getStatusCode().value();
+            String body = deviceException.getDeviceError() == null ? null : deviceException.getDeviceError().toString();
+            log.failureAPI("response", 13, url, body, statusCode, deviceException);
+            throw deviceException;
         }
     }
 
@@ -107,7 +110,7 @@ public class ScaleController {
     public DeviceHealthResponse getHealth() {
         String url = "/v1/scale/health";
         log.successAPI("request", 1, url, null, 0);
-        DeviceHealthResponse response = scaleManager.getHealth();
+        DeviceHealthResponse response = scaleManager.getHealthSnapshot();
         log.successAPI("response", 1, url, response.toString(), 200);
         return response;
     }
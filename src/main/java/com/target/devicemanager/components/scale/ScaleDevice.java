@@ -1,7 +1,12 @@
 package com.target.devicemanager.components.scale;
 
+import com.target.devicemanager.common.DeviceClock;
+import com.target.devicemanager.common.DeviceOperationEvent;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.JposEventRecorder;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.events.ConnectionEvent;
 import com.target.devicemanager.common.events.ConnectionEventListener;
 import com.target.devicemanager.components.scale.entities.FormattedWeight;
@@ -30,7 +35,12 @@ public class ScaleDevice implements StatusUpdateListener, ErrorListener {
     private FormattedWeight currentLiveWeight;
     private boolean stableWeightInProgress;
     private final ReentrantLock connectLock;
+    private final DeviceClock deviceClock;
     private boolean isLocked = false;
+    //Trace of the operation in progress, JavaPOS events are logged under it
+    private volatile TraceContext operationTrace;
+    private static final String DEVICE_TAG = DeviceOperationMetrics.getDeviceTag(Scale.class);
+    private static final JposEventRecorder eventRecorder = JposEventRecorder.getRecorder(DEVICE_TAG);
     private static final Logger LOGGER = LoggerFactory.getLogger(ScaleDevice.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScaleServiceName(), "ScaleDevice", LOGGER);
     private boolean deviceConnected = false;
@@ -48,6 +58,10 @@ public class ScaleDevice implements StatusUpdateListener, ErrorListener {
     }
 
     public ScaleDevice(DynamicDevice<Scale> dynamicScale, List<ScaleEventListener> scaleEventListeners, List<ConnectionEventListener> connectionEventListeners, ReentrantLock connectLock)  {
+        this(dynamicScale, scaleEventListeners, connectionEventListeners, connectLock, DeviceClock.system());
+    }
+
+    public ScaleDevice(DynamicDevice<Scale> dynamicScale, List<ScaleEventListener> scaleEventListeners, List<ConnectionEventListener> connectionEventListeners, ReentrantLock connectLock, DeviceClock deviceClock)  {
         if (dynamicScale == null) {
             log.failure("Scale Failed in Constructor: dynamicScale cannot be null", 17,
                     new IllegalArgumentException("dynamicScale cannot be null"));
@@ -68,6 +82,7 @@ public class ScaleDevice implements StatusUpdateListener, ErrorListener {
         this.connectionEventListeners = connectionEventListeners;
         this.scaleEventListeners = scaleEventListeners;
         this.connectLock = connectLock;
+        this.deviceClock = deviceClock;
         stableWeightInProgress = false;
         weight = new int[1];
 
@@ -194,30 +209,46 @@ public class ScaleDevice implements StatusUpdateListener, ErrorListener {
         Scale scale;
         synchronized (scale = dynamicScale.getDevice()) {
             stableWeightInProgress = true;
-            long currentTimeMsec = System.currentTimeMillis();
-            long endTimeMsec = currentTimeMsec + timeout;
-            while (currentTimeMsec <= endTimeMsec) {
-                log.success("Read Weight Time Remaining " + (endTimeMsec - currentTimeMsec), 1);
-                try {
-                    scale.readWeight(weight, STABLE_WEIGHT_READ_TIMEOUT);
-                    log.success("After ReadWeight " + weight[0], 1);
-                    fireScaleStableWeightDataEvent(new FormattedWeight(weight[0]));
-                    stableWeightInProgress = false;
-                    weight = new int[1];
-                    return;
-                } catch (JposException jposException) {
-                    int severity = isConnected() ? 17 : 1;
-                    log.failure(isConnected() ? "Scale Failed to Read Stable Weight" : "Scale not connected in Read Stable Weight", severity, jposException);
-                    if(jposException.getErrorCode() != JposConst.JPOS_E_TIMEOUT) {
-                        fireScaleWeightErrorEvent(jposException);
+            long stableWeightStart = System.nanoTime();
+            DeviceOperationEvent.StableWeightRead stableWeightEvent = new DeviceOperationEvent.StableWeightRead(DEVICE_TAG);
+            stableWeightEvent.begin();
+            operationTrace = TraceContext.current();
+            try {
+                long currentTimeMsec = deviceClock.currentTimeMillis();
+                long endTimeMsec = currentTimeMsec + timeout;
+                while (currentTimeMsec <= endTimeMsec) {
+                    log.success("Read Weight Time Remaining " + (endTimeMsec - currentTimeMsec), 1);
+                    try {
+                        scale.readWeight(weight, STABLE_WEIGHT_READ_TIMEOUT);
+                        log.success("After ReadWeight " + weight[0], 1);
+                        fireScaleStableWeightDataEvent(new FormattedWeight(weight[0]));
+                        DeviceOperationMetrics.getDeviceOperationMetrics().recordSuccess(DEVICE_TAG, "stableWeight", getDeviceName(), stableWeightStart);
+                        stableWeightEvent.commitSuccess(getDeviceName());
                         stableWeightInProgress = false;
+                        weight = new int[1];
                         return;
+                    } catch (JposException jposException) {
+                        int severity = isConnected() ? 17 : 1;
+                        log.failure(isConnected() ? "Scale Failed to Read Stable Weight" : "Scale not connected in Read Stable Weight", severity, jposException);
+                        if(jposException.getErrorCode() != JposConst.JPOS_E_TIMEOUT) {
+                            DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "stableWeight", getDeviceName(), stableWeightStart, jposException);
+                            stableWeightEvent.commitFailure(getDeviceName(), jposException);
+                            fireScaleWeightErrorEvent(jposException);
+                            stableWeightInProgress = false;
+                            return;
+                        }
                     }
+                    currentTimeMsec = deviceClock.currentTimeMillis();
                 }
-                currentTimeMsec = System.currentTimeMillis();
+                JposException timeoutException = new JposException(JposConst.JPOS_E_TIMEOUT);
+                DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "stableWeight", getDeviceName(), stableWeightStart, timeoutException);
+                stableWeightEvent.commitFailure(getDeviceName(), timeoutException);
+                fireScaleWeightErrorEvent(timeoutException);
+                stableWeightInProgress = false;
+            } finally {
+                //Later events, such as live weight updates, belong to no request
+                operationTrace = null;
             }
-            fireScaleWeightErrorEvent(new JposException(JposConst.JPOS_E_TIMEOUT));
-            stableWeightInProgress = false;
         }
     }
 
@@ -226,36 +257,40 @@ public class ScaleDevice implements StatusUpdateListener, ErrorListener {
      * @param statusUpdateEvent
      */
     public void statusUpdateOccurred(StatusUpdateEvent statusUpdateEvent) {
-        log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
-        int status = statusUpdateEvent.getStatus();
-        switch (status) {
-            case JposConst.JPOS_SUE_POWER_OFF:
-            case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
-            case JposConst.JPOS_SUE_POWER_OFFLINE:
-                log.failure("Scale Status Update: Power offline", 17, null);
-                return;
-            case JposConst.JPOS_SUE_POWER_ONLINE:
-                connect();
-                return;
-            case ScaleConst.SCAL_SUE_STABLE_WEIGHT:
-                Scale theScale = dynamicScale.getDevice();
-                try {
-                    int scaleWeight = theScale.getScaleLiveWeight();
-                    fireScaleLiveWeightEvent(new FormattedWeight(scaleWeight));
-                } catch (JposException jposException) {
+        eventRecorder.record(statusUpdateEvent);
+        //JavaPOS delivers events on its own thread, handle them under the trace of the running operation
+        try (TraceContext.Scope scope = TraceContext.attach(operationTrace)) {
+            log.success("statusUpdateOccurred(): " + statusUpdateEvent.getStatus(), 1);
+            int status = statusUpdateEvent.getStatus();
+            switch (status) {
+                case JposConst.JPOS_SUE_POWER_OFF:
+                case JposConst.JPOS_SUE_POWER_OFF_OFFLINE:
+                case JposConst.JPOS_SUE_POWER_OFFLINE:
+                    log.failure("Scale Status Update: Power offline", 17, null);
+                    return;
+                case JposConst.JPOS_SUE_POWER_ONLINE:
+                    connect();
+                    return;
+                case ScaleConst.SCAL_SUE_STABLE_WEIGHT:
+                    Scale theScale = dynamicScale.getDevice();
+                    try {
+                        int scaleWeight = theScale.getScaleLiveWeight();
+                        fireScaleLiveWeightEvent(new FormattedWeight(scaleWeight));
+                    } catch (JposException jposException) {
+                        fireScaleLiveWeightEvent(new FormattedWeight());
+                    }
+                    break;
+                case ScaleConst.SCAL_SUE_WEIGHT_ZERO:
+                    fireScaleLiveWeightEvent(new FormattedWeight(0));
+                    break;
+                case ScaleConst.SCAL_SUE_NOT_READY:
+                case ScaleConst.SCAL_SUE_WEIGHT_OVERWEIGHT:
+                case ScaleConst.SCAL_SUE_WEIGHT_UNDER_ZERO:
+                case ScaleConst.SCAL_SUE_WEIGHT_UNSTABLE:
+                default:
                     fireScaleLiveWeightEvent(new FormattedWeight());
-                }
-                break;
-            case ScaleConst.SCAL_SUE_WEIGHT_ZERO:
-                fireScaleLiveWeightEvent(new FormattedWeight(0));
-                break;
-            case ScaleConst.SCAL_SUE_NOT_READY:
-            case ScaleConst.SCAL_SUE_WEIGHT_OVERWEIGHT:
-            case ScaleConst.SCAL_SUE_WEIGHT_UNDER_ZERO:
-            case ScaleConst.SCAL_SUE_WEIGHT_UNSTABLE:
-            default:
-                fireScaleLiveWeightEvent(new FormattedWeight());
-                break;
+                    break;
+            }
         }
     }
 
@@ -264,23 +299,26 @@ public class ScaleDevice implements StatusUpdateListener, ErrorListener {
      * @param errorEvent event error.
      */
     public void errorOccurred(ErrorEvent errorEvent) {
-        JposException jposException = new JposException(errorEvent.getErrorCode(), errorEvent.getErrorCodeExtended());
-        log.failure("Scale Received an Error", 17, jposException);
-        log.failure("Scale - errorOccurred(): errCode=" + errorEvent.getErrorCode()
-                        + " errCodeExt=" + errorEvent.getErrorCodeExtended()
-                        + " errLocus=" + errorEvent.getErrorLocus()
-                        + " errResponse=" + errorEvent.getErrorResponse(),
-                13,
-                null);
+        eventRecorder.record(errorEvent);
+        try (TraceContext.Scope scope = TraceContext.attach(operationTrace)) {
+            JposException jposException = new JposException(errorEvent.getErrorCode(), errorEvent.getErrorCodeExtended());
+            log.failure("Scale Received an Error", 17, jposException);
+            log.failure("Scale - errorOccurred(): errCode=" + errorEvent.getErrorCode()
+                            + " errCodeExt=" + errorEvent.getErrorCodeExtended()
+                            + " errLocus=" + errorEvent.getErrorLocus()
+                            + " errResponse=" + errorEvent.getErrorResponse(),
+                    13,
+                    null);
 
-        int errorCode = errorEvent.getErrorCode();
-        switch (errorCode) {
-            case JposConst.JPOS_E_OFFLINE:
-            case JposConst.JPOS_E_NOHARDWARE:
-                disconnect();
-                break;
-            default:
-                break;
+            int errorCode = errorEvent.getErrorCode();
+            switch (errorCode) {
+                case JposConst.JPOS_E_OFFLINE:
+                case JposConst.JPOS_E_NOHARDWARE:
+                    disconnect();
+                    break;
+                default:
+                    break;
+            }
         }
     }
 
@@ -1,5 +1,9 @@
 package com.target.devicemanager.components.scale;
 
+import com.target.devicemanager.common.DeviceClock;
+import com.target.devicemanager.common.DeviceHealthSnapshotSingleton;
+import com.target.devicemanager.common.SseConnection;
+import com.target.devicemanager.common.SseHub;
 import com.target.devicemanager.common.StructuredEventLogger;
 import com.target.devicemanager.common.entities.*;
 import com.target.devicemanager.common.events.ConnectionEvent;
@@ -13,13 +17,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.http.MediaType;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -36,44 +37,50 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
 
     private final ScaleDevice scaleDevice;
     private boolean isScaleReady = false;
-    private final List<SseEmitter> liveWeightClients;
+    private final SseHub sseHub;
     private final List<CompletableFuture<FormattedWeight>> stableWeightClients;
+    private final DeviceClock deviceClock;
     private static final int STABLE_WEIGHT_TIMEOUT_MSEC = 10000;
     private static final int HANG_TIMEOUT_MSEC = STABLE_WEIGHT_TIMEOUT_MSEC + 20000;
+    //Live weight is a latest-value stream, a slow client only needs the newest readings
+    private static final int LIVE_WEIGHT_QUEUE_SIZE = 16;
+    static final String LIVE_WEIGHT_TOPIC = "liveweight";
     private ConnectEnum connectStatus = ConnectEnum.FIRST_CONNECT;
-    private List<SseEmitter> deadEmitterList;
     private static final Logger LOGGER = LoggerFactory.getLogger(ScaleManager.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScaleServiceName(), "ScaleManager", LOGGER);
 
-    public ScaleManager(ScaleDevice scaleDevice, List<SseEmitter> liveWeightClients, List<CompletableFuture<FormattedWeight>> stableWeightClients) {
-        this(scaleDevice, liveWeightClients, stableWeightClients, null, null);
+    public ScaleManager(ScaleDevice scaleDevice, SseHub sseHub, List<CompletableFuture<FormattedWeight>> stableWeightClients) {
+        this(scaleDevice, sseHub, stableWeightClients, null);
     }
 
-    public ScaleManager(ScaleDevice scaleDevice, List<SseEmitter> liveWeightClients, List<CompletableFuture<FormattedWeight>> stableWeightClients, CacheManager cacheManager, List<SseEmitter> deadEmitterList) {
+    public ScaleManager(ScaleDevice scaleDevice, SseHub sseHub, List<CompletableFuture<FormattedWeight>> stableWeightClients, CacheManager cacheManager) {
+        this(scaleDevice, sseHub, stableWeightClients, cacheManager, DeviceClock.system());
+    }
+
+    public ScaleManager(ScaleDevice scaleDevice, SseHub sseHub, List<CompletableFuture<FormattedWeight>> stableWeightClients, CacheManager cacheManager, DeviceClock deviceClock) {
         if (scaleDevice == null) {
             throw new IllegalArgumentException("scaleDevice cannot be null");
         }
-        if (liveWeightClients == null) {
-            throw new IllegalArgumentException("liveWeightClients cannot be null");
+        if (sseHub == null) {
+            throw new IllegalArgumentException("sseHub cannot be null");
         }
         if (stableWeightClients == null) {
             throw new IllegalArgumentException("stableWeightClients cannot be null");
         }
+        if (deviceClock == null) {
+            throw new IllegalArgumentException("deviceClock cannot be null");
+        }
         this.scaleDevice = scaleDevice;
-        this.liveWeightClients = liveWeightClients;
+        this.sseHub = sseHub;
         this.stableWeightClients = stableWeightClients;
+        this.deviceClock = deviceClock;
+        this.sseHub.registerTopic(LIVE_WEIGHT_TOPIC, LIVE_WEIGHT_QUEUE_SIZE, SseHub.OverflowPolicy.DROP_OLDEST);
         this.scaleDevice.addScaleEventListener(this);
         this.scaleDevice.addConnectionEventListener(this);
 
         if(cacheManager != null) {
             this.cacheManager = cacheManager;
         }
-
-        if(deadEmitterList != null) {
-            this.deadEmitterList = deadEmitterList;
-        } else {
-            this.deadEmitterList = new ArrayList<>();
-        }
     }
 
     @Scheduled(fixedDelay = 5000, initialDelay = 5000)
@@ -86,6 +93,8 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
             }
         }
 
+        publishHealth(isScaleReady());
+
         if (connectStatus == ConnectEnum.FIRST_CONNECT) {
             connectStatus = ConnectEnum.CHECK_HEALTH;
         }
@@ -107,11 +116,9 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
         }
     }
 
-    void subscribeToLiveWeight(SseEmitter liveWeightEmitter) throws IOException {
-        liveWeightEmitter.onCompletion(() -> this.liveWeightClients.remove(liveWeightEmitter));
-        liveWeightEmitter.onTimeout(() -> this.liveWeightClients.remove(liveWeightEmitter));
-        liveWeightClients.add(liveWeightEmitter);
-        liveWeightEmitter.send(scaleDevice.getLiveWeight(), MediaType.APPLICATION_JSON);
+    void subscribeToLiveWeight(SseEmitter liveWeightEmitter) throws DeviceException {
+        SseConnection liveWeightConnection = sseHub.subscribe(LIVE_WEIGHT_TOPIC, liveWeightEmitter);
+        sseHub.send(liveWeightConnection, null, null, scaleDevice.getLiveWeight());
     }
 
     public FormattedWeight getStableWeight(CompletableFuture<FormattedWeight> stableWeightClient) throws ScaleException {
@@ -121,7 +128,7 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
             scaleDevice.startStableWeightRead(STABLE_WEIGHT_TIMEOUT_MSEC);
             try {
                 //Timeout as a double check against timing errors that would cause us to hang forever
-                return stableWeightClient.get(HANG_TIMEOUT_MSEC, TimeUnit.MILLISECONDS);
+                return deviceClock.get(stableWeightClient, HANG_TIMEOUT_MSEC, TimeUnit.MILLISECONDS);
             } catch (ExecutionException executionException) {
                 Throwable jposException = executionException.getCause();
                 throw (new ScaleException((JposException)jposException));
@@ -144,16 +151,7 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
 
     @Override
     public void scaleLiveWeightEventOccurred(WeightEvent liveWeightEvent) {
-        this.liveWeightClients.forEach(emitter -> {
-            try {
-                emitter.send(liveWeightEvent.getWeight(), MediaType.APPLICATION_JSON);
-            } catch(IOException ioException) {
-                //Remove the client from the connection pool
-                deadEmitterList.add(emitter);
-            }
-        });
-        this.liveWeightClients.removeAll(deadEmitterList);
-        deadEmitterList.clear();
+        sseHub.publish(LIVE_WEIGHT_TOPIC, null, null, liveWeightEvent.getWeight());
     }
 
     @Override
@@ -171,6 +169,7 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
     @Override
     public void connectionEventOccurred(ConnectionEvent connectionEvent) {
         isScaleReady = connectionEvent.isConnected();
+        publishHealth(isScaleReady);
     }
 
     /**
@@ -192,6 +191,7 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
         } else {
             deviceHealthResponse = new DeviceHealthResponse(scaleDevice.getDeviceName(), DeviceHealth.NOTREADY);
         }
+        publishHealth(deviceHealthResponse.getHealthStatus() == DeviceHealth.READY);
         try {
             Objects.requireNonNull(cacheManager.getCache("scaleHealth")).put("health", deviceHealthResponse);
         } catch (Exception exception) {
@@ -200,6 +200,10 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
         return deviceHealthResponse;
     }
 
+    public DeviceHealthResponse getHealthSnapshot() {
+        return DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(DeviceHealthSnapshotSingleton.SCALE, scaleDevice.getDeviceName());
+    }
+
     public DeviceHealthResponse getStatus() {
         try {
             if (cacheManager != null && Objects.requireNonNull(cacheManager.getCache("scaleHealth")).get("health") != null) {
@@ -216,4 +220,8 @@ public class ScaleManager implements ScaleEventListener, ConnectionEventListener
             return getHealth();
         }
     }
+
+    private void publishHealth(boolean isReady) {
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.SCALE, scaleDevice.getDeviceName(), isReady ? DeviceHealth.READY : DeviceHealth.NOTREADY);
+    }
 }
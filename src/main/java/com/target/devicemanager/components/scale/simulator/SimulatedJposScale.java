@@ -1,5 +1,6 @@
 package com.target.devicemanager.components.scale.simulator;
 
+import com.target.devicemanager.common.DeviceClock;
 import jpos.JposConst;
 import jpos.JposException;
 import jpos.Scale;
@@ -10,13 +11,19 @@ import jpos.events.StatusUpdateListener;
 import java.math.BigDecimal;
 
 public class SimulatedJposScale extends Scale {
+    private final DeviceClock deviceClock;
     private ScaleSimulatorState simulatorState;
     private int statusUpdateStatus;
     private int liveWeight;
     private int stableWeight;
 
     public SimulatedJposScale() {
+        this(DeviceClock.system());
+    }
+
+    public SimulatedJposScale(DeviceClock deviceClock) {
         simulatorState = ScaleSimulatorState.ONLINE;
+        this.deviceClock = deviceClock;
     }
 
     @Override
@@ -72,7 +79,7 @@ public class SimulatedJposScale extends Scale {
         }
 
         try {
-            Thread.sleep(timeout);
+            deviceClock.sleep(timeout);
         } catch (InterruptedException interruptedException) {
             throw new JposException(JposConst.JPOS_E_FAILURE);
         }
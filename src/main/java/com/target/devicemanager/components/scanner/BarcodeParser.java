@@ -0,0 +1,398 @@
+package com.target.devicemanager.components.scanner;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.components.scanner.entities.ParsedBarcode;
+import jpos.ScannerConst;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Optional stage after a scan that pulls GTIN, dates, weight, price and serial out of the label so every client does
+ * not have to. Which symbologies carry GS1 element strings and which are UPC/EAN is read from the same
+ * LabelIdentifiers.csv the JavaPOS driver uses. Results are cached per label since the same items get scanned over
+ * and over. Enabled with -DparseBarcodes=true.
+ */
+public class BarcodeParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BarcodeParser.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScannerServiceName(), "BarcodeParser", LOGGER);
+    private static final String LABEL_IDENTIFIERS_FILE = "LabelIdentifiers.csv";
+    private static final int PARSE_CACHE_SIZE = 4096;
+    private static final char GROUP_SEPARATOR = 0x1D;
+    private static final int VARIABLE_LENGTH = -1;
+    private static final int UNKNOWN_AI = 0;
+    //Indexed by the first two digits of an application identifier
+    private static final int[] AI_LENGTH = new int[100];
+    private static final int[] FIXED_DATA_LENGTH = new int[100];
+
+    enum SymbologyKind {
+        NONE,
+        GS1,
+        UPC_EAN
+    }
+
+    static {
+        Arrays.fill(FIXED_DATA_LENGTH, VARIABLE_LENGTH);
+        for (int prefix : new int[] {0, 1, 2, 10, 11, 12, 13, 15, 16, 17, 20, 21, 22, 30, 37, 90, 91, 92, 93, 94, 95, 96, 97, 98, 99}) {
+            AI_LENGTH[prefix] = 2;
+        }
+        for (int prefix : new int[] {23, 24, 25, 40, 41, 42, 71}) {
+            AI_LENGTH[prefix] = 3;
+        }
+        for (int prefix : new int[] {31, 32, 33, 34, 35, 36, 39, 43, 70, 72, 80, 81, 82}) {
+            AI_LENGTH[prefix] = 4;
+        }
+        //GS1 predefined lengths, these are never followed by a separator
+        FIXED_DATA_LENGTH[0] = 18;
+        FIXED_DATA_LENGTH[1] = 14;
+        FIXED_DATA_LENGTH[2] = 14;
+        for (int prefix = 11; prefix <= 19; prefix++) {
+            FIXED_DATA_LENGTH[prefix] = 6;
+        }
+        FIXED_DATA_LENGTH[20] = 2;
+        for (int prefix = 31; prefix <= 36; prefix++) {
+            FIXED_DATA_LENGTH[prefix] = 6;
+        }
+        FIXED_DATA_LENGTH[41] = 13;
+    }
+
+    private static final BarcodeParser barcodeParser = new BarcodeParser(
+            loadSymbologyKinds(), Boolean.parseBoolean(System.getProperty("parseBarcodes")));
+
+    private final SymbologyKind[] symbologyKinds;
+    private final boolean enabled;
+    private final Cache<ParseKey, ParsedBarcode> parseCache = Caffeine.newBuilder().maximumSize(PARSE_CACHE_SIZE).build();
+
+    BarcodeParser(SymbologyKind[] symbologyKinds, boolean enabled) {
+        if (symbologyKinds == null) {
+            throw new IllegalArgumentException("symbologyKinds cannot be null");
+        }
+        this.symbologyKinds = symbologyKinds;
+        this.enabled = enabled;
+    }
+
+    public static BarcodeParser getBarcodeParser() {
+        return barcodeParser;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Parses a label.
+     * @param data decoded label.
+     * @param uposType UPOS symbology from getScanDataType().
+     * @return parsed fields, null when the symbology carries none.
+     */
+    public ParsedBarcode parse(String data, int uposType) {
+        if (data == null || uposType < 0 || uposType >= symbologyKinds.length || symbologyKinds[uposType] == null) {
+            return null;
+        }
+        SymbologyKind symbologyKind = symbologyKinds[uposType];
+        if (symbologyKind == SymbologyKind.NONE) {
+            return null;
+        }
+        return parseCache.get(new ParseKey(uposType, data), key -> symbologyKind == SymbologyKind.GS1
+                ? parseElementString(data)
+                : parseUpcEan(data, uposType));
+    }
+
+    /**
+     * Parses a GS1 element string, with or without its symbology identifier (]C1, ]e0, ]d2, ]Q3).
+     */
+    static ParsedBarcode parseElementString(String data) {
+        ParsedBarcode parsedBarcode = new ParsedBarcode();
+        parsedBarcode.applicationIdentifiers = new LinkedHashMap<>();
+        int length = data.length();
+        int position = data.startsWith("]") && length >= 3 ? 3 : 0;
+        while (position < length) {
+            if (data.charAt(position) == GROUP_SEPARATOR) {
+                position++;
+                continue;
+            }
+            int aiLength = aiLength(data, position);
+            if (aiLength == UNKNOWN_AI || position + aiLength > length) {
+                parsedBarcode.unparsed = data.substring(position);
+                break;
+            }
+            String ai = data.substring(position, position + aiLength);
+            position += aiLength;
+            int fixedLength = FIXED_DATA_LENGTH[twoDigitPrefix(data, position - aiLength)];
+            int end;
+            if (fixedLength != VARIABLE_LENGTH) {
+                end = Math.min(length, position + fixedLength);
+            } else {
+                end = data.indexOf(GROUP_SEPARATOR, position);
+                end = end < 0 ? length : end;
+            }
+            String value = data.substring(position, end);
+            position = end;
+            parsedBarcode.applicationIdentifiers.put(ai, value);
+            applyElement(parsedBarcode, ai, value);
+        }
+        //The result is cached and handed to every scan of this label
+        parsedBarcode.applicationIdentifiers = Collections.unmodifiableMap(parsedBarcode.applicationIdentifiers);
+        return parsedBarcode;
+    }
+
+    /**
+     * Parses a UPC-A, UPC-E, EAN-8 or EAN-13, ignoring any add-on, into a GTIN-14 and checks the check digit.
+     */
+    static ParsedBarcode parseUpcEan(String data, int uposType) {
+        int digits = 0;
+        while (digits < data.length() && Character.isDigit(data.charAt(digits))) {
+            digits++;
+        }
+        String gtin;
+        if (uposType == ScannerConst.SCAN_SDT_UPCE || uposType == ScannerConst.SCAN_SDT_UPCE_S) {
+            gtin = digits >= 8 ? expandUpcE(data.substring(0, 8)) : null;
+        } else if (uposType == ScannerConst.SCAN_SDT_EAN8 || uposType == ScannerConst.SCAN_SDT_EAN8_S) {
+            gtin = digits >= 8 ? "000000" + data.substring(0, 8) : null;
+        } else if (digits == 12 || (digits > 13 && uposType == ScannerConst.SCAN_SDT_UPCA_S)) {
+            gtin = "00" + data.substring(0, 12);
+        } else if (digits >= 13) {
+            gtin = "0" + data.substring(0, 13);
+        } else {
+            gtin = null;
+        }
+        if (gtin == null) {
+            return null;
+        }
+        ParsedBarcode parsedBarcode = new ParsedBarcode();
+        parsedBarcode.gtin = gtin;
+        parsedBarcode.checkDigitValid = isCheckDigitValid(gtin);
+        //UPC number system 5 and EAN prefix 99 are coupons
+        parsedBarcode.coupon = gtin.startsWith("005") || gtin.startsWith("099");
+        return parsedBarcode;
+    }
+
+    static boolean isCheckDigitValid(String digits) {
+        int sum = 0;
+        int last = digits.length() - 1;
+        for (int index = last - 1; index >= 0; index--) {
+            int digit = digits.charAt(index) - '0';
+            sum += (last - index) % 2 == 1 ? digit * 3 : digit;
+        }
+        return (10 - sum % 10) % 10 == digits.charAt(last) - '0';
+    }
+
+    private static void applyElement(ParsedBarcode parsedBarcode, String ai, String value) {
+        switch (ai.substring(0, 2)) {
+            case "01":
+                parsedBarcode.gtin = value;
+                parsedBarcode.checkDigitValid = value.length() == 14 && isCheckDigitValid(value);
+                break;
+            case "10":
+                parsedBarcode.batch = value;
+                break;
+            case "15":
+                parsedBarcode.bestBefore = toIsoDate(value);
+                break;
+            case "17":
+                parsedBarcode.expiry = toIsoDate(value);
+                break;
+            case "21":
+                parsedBarcode.serial = value;
+                break;
+            case "31":
+                if (ai.startsWith("310")) {
+                    parsedBarcode.netWeight = toDecimal(value, ai.charAt(3));
+                    parsedBarcode.weightUnit = "kg";
+                }
+                break;
+            case "32":
+                if (ai.startsWith("320")) {
+                    parsedBarcode.netWeight = toDecimal(value, ai.charAt(3));
+                    parsedBarcode.weightUnit = "lb";
+                }
+                break;
+            case "39":
+                if (ai.startsWith("392")) {
+                    parsedBarcode.price = toDecimal(value, ai.charAt(3));
+                } else if (ai.startsWith("393") && value.length() > 3) {
+                    parsedBarcode.currency = value.substring(0, 3);
+                    parsedBarcode.price = toDecimal(value.substring(3), ai.charAt(3));
+                }
+                break;
+            case "81":
+                if (ai.startsWith("811")) {
+                    parsedBarcode.coupon = true;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static int aiLength(String data, int position) {
+        int prefix = twoDigitPrefix(data, position);
+        return prefix < 0 ? UNKNOWN_AI : AI_LENGTH[prefix];
+    }
+
+    private static int twoDigitPrefix(String data, int position) {
+        if (position + 2 > data.length()) {
+            return -1;
+        }
+        char first = data.charAt(position);
+        char second = data.charAt(position + 1);
+        if (first < '0' || first > '9' || second < '0' || second > '9') {
+            return -1;
+        }
+        return (first - '0') * 10 + (second - '0');
+    }
+
+    /**
+     * GS1 dates are YYMMDD, a day of 00 means the last day of the month.
+     */
+    private static String toIsoDate(String yymmdd) {
+        if (yymmdd.length() != 6) {
+            return null;
+        }
+        try {
+            YearMonth yearMonth = YearMonth.of(2000 + Integer.parseInt(yymmdd.substring(0, 2)), Integer.parseInt(yymmdd.substring(2, 4)));
+            int day = Integer.parseInt(yymmdd.substring(4, 6));
+            return yearMonth.atDay(day == 0 ? yearMonth.lengthOfMonth() : day).toString();
+        } catch (RuntimeException runtimeException) {
+            return null;
+        }
+    }
+
+    private static String toDecimal(String value, char decimals) {
+        try {
+            return new BigDecimal(new BigInteger(value), decimals - '0').toPlainString();
+        } catch (NumberFormatException numberFormatException) {
+            return null;
+        }
+    }
+
+    private static String expandUpcE(String upcE) {
+        char numberSystem = upcE.charAt(0);
+        if (numberSystem != '0' && numberSystem != '1') {
+            return null;
+        }
+        String body = upcE.substring(1, 7);
+        char check = upcE.charAt(7);
+        char last = body.charAt(5);
+        String manufacturerAndProduct;
+        switch (last) {
+            case '0':
+            case '1':
+            case '2':
+                manufacturerAndProduct = body.substring(0, 2) + last + "0000" + body.substring(2, 5);
+                break;
+            case '3':
+                manufacturerAndProduct = body.substring(0, 3) + "00000" + body.substring(3, 5);
+                break;
+            case '4':
+                manufacturerAndProduct = body.substring(0, 4) + "00000" + body.charAt(4);
+                break;
+            default:
+                manufacturerAndProduct = body.substring(0, 5) + "0000" + last;
+                break;
+        }
+        return "00" + numberSystem + manufacturerAndProduct + check;
+    }
+
+    /**
+     * Reads LabelIdentifiers.csv into a table indexed by UPOS symbology.
+     */
+    static SymbologyKind[] parseSymbologyKinds(BufferedReader reader) throws IOException {
+        SymbologyKind[] symbologyKinds = new SymbologyKind[0];
+        String line = reader.readLine(); //header
+        while ((line = reader.readLine()) != null) {
+            String[] fields = line.split(",", -1);
+            if (fields.length < 3) {
+                continue;
+            }
+            int uposType;
+            try {
+                uposType = Integer.parseInt(fields[1].trim());
+            } catch (NumberFormatException numberFormatException) {
+                continue;
+            }
+            if (uposType < 0) {
+                continue;
+            }
+            String tagName = fields[2].trim();
+            SymbologyKind symbologyKind;
+            if (tagName.contains("GS1") || tagName.contains("EAN128") || tagName.contains("DATABAR")) {
+                symbologyKind = SymbologyKind.GS1;
+            } else if (tagName.startsWith("CI_LABEL_ID_UPC") || tagName.startsWith("CI_LABEL_ID_EAN")) {
+                symbologyKind = SymbologyKind.UPC_EAN;
+            } else {
+                symbologyKind = SymbologyKind.NONE;
+            }
+            if (uposType >= symbologyKinds.length) {
+                symbologyKinds = Arrays.copyOf(symbologyKinds, uposType + 1);
+            }
+            //Several tags share a UPOS ID, the most specific kind wins
+            if (symbologyKinds[uposType] == null || symbologyKind.ordinal() > symbologyKinds[uposType].ordinal()) {
+                symbologyKinds[uposType] = symbologyKind;
+            }
+        }
+        return symbologyKinds;
+    }
+
+    private static SymbologyKind[] loadSymbologyKinds() {
+        //The driver reads ./LabelIdentifiers.csv, prefer that copy so both agree and fall back to the packaged one
+        File labelIdentifiersFile = new File(LABEL_IDENTIFIERS_FILE);
+        try (InputStream inputStream = labelIdentifiersFile.isFile()
+                ? new FileInputStream(labelIdentifiersFile)
+                : BarcodeParser.class.getClassLoader().getResourceAsStream(LABEL_IDENTIFIERS_FILE)) {
+            if (inputStream == null) {
+                log.failure(LABEL_IDENTIFIERS_FILE + " not found, barcode parsing disabled", 13, null);
+                return new SymbologyKind[0];
+            }
+            return parseSymbologyKinds(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        } catch (IOException ioException) {
+            log.failure("Failed to read " + LABEL_IDENTIFIERS_FILE, 13, ioException);
+            return new SymbologyKind[0];
+        }
+    }
+
+    private static final class ParseKey {
+        private final int uposType;
+        private final String data;
+
+        private ParseKey(int uposType, String data) {
+            this.uposType = uposType;
+            this.data = data;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ParseKey)) {
+                return false;
+            }
+            ParseKey parseKey = (ParseKey) other;
+            return uposType == parseKey.uposType && data.equals(parseKey.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uposType, data);
+        }
+    }
+}
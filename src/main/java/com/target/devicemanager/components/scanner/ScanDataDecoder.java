@@ -0,0 +1,165 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.components.scanner.entities.Barcode;
+import com.target.devicemanager.components.scanner.entities.BarcodeType;
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Turns the label bytes a scanner reports into a Barcode. The charset comes from the ECI escape the scanner puts in
+ * front of 2D labels (\nnnnnn), looked up in the same ECIEncoding.csv the JavaPOS driver is configured with. Only 2D
+ * symbologies carry ECI, other labels, and 2D labels without an ECI escape, are decoded with the platform charset as
+ * before.
+ */
+public class ScanDataDecoder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScanDataDecoder.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScannerServiceName(), "ScanDataDecoder", LOGGER);
+    private static final String ECI_ENCODING_FILE = "ECIEncoding.csv";
+    private static final int ECI_ESCAPE_LENGTH = 7;
+    //2D symbologies, the ones that carry ECI escapes and binary payloads such as the PDF417 on a driver's license
+    private static final Set<BarcodeType> TWO_D_SYMBOLOGIES = EnumSet.of(
+            BarcodeType.PDF417,
+            BarcodeType.UPDF417,
+            BarcodeType.MAXICODE,
+            BarcodeType.DATAMATRIX,
+            BarcodeType.QRCODE,
+            BarcodeType.UQRCODE,
+            BarcodeType.AZTEC);
+    private static final ScanDataDecoder scanDataDecoder = new ScanDataDecoder(
+            loadEciCharsets(), Boolean.parseBoolean(System.getProperty("scanRawData")));
+
+    private final Charset[] eciCharsets;
+    private final boolean includeRawData;
+
+    ScanDataDecoder(Charset[] eciCharsets, boolean includeRawData) {
+        if (eciCharsets == null) {
+            throw new IllegalArgumentException("eciCharsets cannot be null");
+        }
+        this.eciCharsets = eciCharsets;
+        this.includeRawData = includeRawData;
+    }
+
+    public static ScanDataDecoder getScanDataDecoder() {
+        return scanDataDecoder;
+    }
+
+    /**
+     * Decodes a label. The label array is only read, never copied, and is handed out as rawData for binary
+     * symbologies when -DscanRawData=true so clients can take the exact bytes (Base64 in JSON).
+     * @param label bytes from getScanDataLabel().
+     * @param type UPOS symbology from getScanDataType().
+     * @param source scanner the label came from.
+     * @return decoded barcode.
+     */
+    public Barcode decode(byte[] label, int type, ScannerType source) {
+        int offset = 0;
+        Charset charset = Charset.defaultCharset();
+        BarcodeType barcodeType = BarcodeType.fromInt(type);
+        //A 1D label may well start with a backslash and six digits, that is data and not an escape
+        int eci = TWO_D_SYMBOLOGIES.contains(barcodeType) ? parseEciEscape(label) : -1;
+        if (eci >= 0) {
+            offset = ECI_ESCAPE_LENGTH;
+            if (eci < eciCharsets.length && eciCharsets[eci] != null) {
+                charset = eciCharsets[eci];
+            } else {
+                log.success("Unsupported ECI " + eci + ", decoding with " + charset, 5);
+            }
+        }
+        String data = new String(label, offset, label.length - offset, charset);
+        if (eci >= 0 && data.indexOf('\\') >= 0) {
+            //With ECI transmission on a literal backslash is sent doubled
+            data = data.replace("\\\\", "\\");
+        }
+        Barcode barcode = new Barcode(data, barcodeType, source);
+        if (includeRawData && TWO_D_SYMBOLOGIES.contains(barcodeType)) {
+            barcode.rawData = label;
+        }
+        return barcode;
+    }
+
+    /**
+     * Returns the ECI code of a leading \nnnnnn escape or -1 when the label has none.
+     */
+    static int parseEciEscape(byte[] label) {
+        if (label.length < ECI_ESCAPE_LENGTH || label[0] != '\\') {
+            return -1;
+        }
+        int eci = 0;
+        for (int index = 1; index < ECI_ESCAPE_LENGTH; index++) {
+            byte digit = label[index];
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            eci = eci * 10 + (digit - '0');
+        }
+        return eci;
+    }
+
+    /**
+     * Reads ECIEncoding.csv into a table indexed by ECI code. Entries without a Java encoding, or with one this JVM
+     * does not support, stay null.
+     */
+    static Charset[] parseEciCharsets(BufferedReader reader) throws IOException {
+        Charset[] eciCharsets = new Charset[0];
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith("//") || line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            if (fields.length < 2 || fields[1].isBlank()) {
+                continue;
+            }
+            int eci;
+            try {
+                eci = Integer.parseInt(fields[0].trim());
+            } catch (NumberFormatException numberFormatException) {
+                log.failure("Skipping ECI entry " + line, 13, numberFormatException);
+                continue;
+            }
+            String encoding = fields[1].trim();
+            if (eci < 0 || !Charset.isSupported(encoding)) {
+                log.success("Skipping unsupported ECI entry " + line, 5);
+                continue;
+            }
+            if (eci >= eciCharsets.length) {
+                Charset[] grown = new Charset[eci + 1];
+                System.arraycopy(eciCharsets, 0, grown, 0, eciCharsets.length);
+                eciCharsets = grown;
+            }
+            eciCharsets[eci] = Charset.forName(encoding);
+        }
+        return eciCharsets;
+    }
+
+    private static Charset[] loadEciCharsets() {
+        //The driver reads ./ECIEncoding.csv, prefer that copy so both agree and fall back to the packaged one
+        File eciEncodingFile = new File(ECI_ENCODING_FILE);
+        try (InputStream inputStream = eciEncodingFile.isFile()
+                ? new FileInputStream(eciEncodingFile)
+                : ScanDataDecoder.class.getClassLoader().getResourceAsStream(ECI_ENCODING_FILE)) {
+            if (inputStream == null) {
+                log.failure(ECI_ENCODING_FILE + " not found, decoding all labels with " + Charset.defaultCharset(), 13, null);
+                return new Charset[0];
+            }
+            return parseEciCharsets(new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+        } catch (IOException ioException) {
+            log.failure("Failed to read " + ECI_ENCODING_FILE, 13, ioException);
+            return new Charset[0];
+        }
+    }
+}
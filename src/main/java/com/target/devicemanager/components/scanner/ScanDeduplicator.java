@@ -0,0 +1,105 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.common.DeviceClock;
+import com.target.devicemanager.components.scanner.entities.Barcode;
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drops a label when the same scanner already returned the same symbology and data within the window, which is what
+ * a flatbed double read looks like. The last few labels are kept in a fixed ring of primitive keys and times so a
+ * scan does not allocate. A label that keeps being read inside the window keeps being suppressed.
+ */
+public class ScanDeduplicator {
+
+    private static final int RING_SIZE = 16;
+
+    private final long windowMsec;
+    private final DeviceClock deviceClock;
+    private final Counter suppressedCounter;
+    private final long[] recentKeys = new long[RING_SIZE];
+    private final long[] recentTimes = new long[RING_SIZE];
+    private int nextSlot = 0;
+    private int usedSlots = 0;
+    private long suppressedCount = 0;
+
+    public ScanDeduplicator(ScannerType scannerType, long windowMsec, DeviceClock deviceClock, MeterRegistry meterRegistry) {
+        this(scannerType, scannerType == null ? null : ScannerDevice.getDefaultScannerId(scannerType), windowMsec, deviceClock, meterRegistry);
+    }
+
+    /**
+     * @param scannerType type of the scanner this stage belongs to, used to tag the counter.
+     * @param scannerId id of the scanner this stage belongs to, tags the counter per scanner.
+     * @param windowMsec how long a label counts as a duplicate, 0 turns suppression off.
+     * @param deviceClock clock the window is measured on.
+     * @param meterRegistry registry for possum.scanner.duplicates.suppressed.
+     */
+    public ScanDeduplicator(ScannerType scannerType, String scannerId, long windowMsec, DeviceClock deviceClock, MeterRegistry meterRegistry) {
+        if (scannerType == null) {
+            throw new IllegalArgumentException("scannerType cannot be null");
+        }
+        if (scannerId == null) {
+            throw new IllegalArgumentException("scannerId cannot be null");
+        }
+        if (deviceClock == null) {
+            throw new IllegalArgumentException("deviceClock cannot be null");
+        }
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("meterRegistry cannot be null");
+        }
+        this.windowMsec = Math.max(0, windowMsec);
+        this.deviceClock = deviceClock;
+        this.suppressedCounter = Counter.builder("possum.scanner.duplicates.suppressed")
+                .description("Scans dropped as a repeat read of the previous label")
+                .tag("scanner", scannerType.name())
+                .tag("scannerId", scannerId)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return windowMsec > 0;
+    }
+
+    /**
+     * Records the label and tells whether it repeats one seen within the window.
+     * @param barcode label returned by the scanner.
+     * @return true when the label should be dropped.
+     */
+    public synchronized boolean isDuplicate(Barcode barcode) {
+        if (windowMsec == 0 || barcode == null || barcode.data == null) {
+            return false;
+        }
+        long key = labelKey(barcode);
+        long now = deviceClock.currentTimeMillis();
+        for (int slot = 0; slot < usedSlots; slot++) {
+            if (recentKeys[slot] == key) {
+                boolean duplicate = now - recentTimes[slot] < windowMsec;
+                recentTimes[slot] = now;
+                if (duplicate) {
+                    suppressedCount++;
+                    suppressedCounter.increment();
+                }
+                return duplicate;
+            }
+        }
+        recentKeys[nextSlot] = key;
+        recentTimes[nextSlot] = now;
+        nextSlot = (nextSlot + 1) % RING_SIZE;
+        usedSlots = Math.min(usedSlots + 1, RING_SIZE);
+        return false;
+    }
+
+    public synchronized long getSuppressedCount() {
+        return suppressedCount;
+    }
+
+    /**
+     * Symbology in the high half, the String hash (cached by String) in the low half. The same digits read as UPC-A
+     * and as EAN-13 are different labels.
+     */
+    private static long labelKey(Barcode barcode) {
+        long symbology = barcode.type == null ? 0 : barcode.type.getValue();
+        return (symbology << 32) | (barcode.data.hashCode() & 0xFFFFFFFFL);
+    }
+}
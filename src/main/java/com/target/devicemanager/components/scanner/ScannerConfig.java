@@ -4,7 +4,9 @@ import com.target.devicemanager.common.*;
 import com.target.devicemanager.components.scanner.entities.ScannerType;
 import com.target.devicemanager.components.scanner.simulator.SimulatedJposScanner;
 import com.target.devicemanager.configuration.ApplicationConfig;
+import io.micrometer.core.instrument.Metrics;
 import jpos.Scanner;
+import jpos.config.JposEntry;
 import jpos.config.JposEntryRegistry;
 import jpos.loader.JposServiceLoader;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,12 +15,20 @@ import org.springframework.context.annotation.Configuration;
 
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.locks.ReentrantLock;
 
 @Configuration
 class ScannerConfig {
+    private static final String DUPLICATE_WINDOW_PROPERTY = "scanDuplicateWindowMsec";
+    private static final String SCANNER_ID_PROPERTY = "scannerId";
     private final ApplicationConfig applicationConfig;
     private final SimulatedJposScanner simulatedFlatbedScanner;
     private final SimulatedJposScanner simulatedHandheldScanner;
@@ -34,47 +44,120 @@ class ScannerConfig {
         List<ScannerDevice> scanners = new ArrayList<>();
         JposEntryRegistry deviceRegistry = JposServiceLoader.getManager().getEntryRegistry();
         if (applicationConfig.IsSimulationMode()) {
-            scanners.add(new ScannerDevice(
-                    new ScannerDeviceListener(new EventSynchronizer(new Phaser(1))),
+            scanners.add(newScannerDevice(
                     new SimulatedDynamicDevice<>(
                             simulatedFlatbedScanner,
                             new DevicePower(),
                             new DeviceConnector<>(simulatedFlatbedScanner, deviceRegistry)
                     ),
-                    ScannerType.FLATBED,
-                    applicationConfig
+                    ScannerType.FLATBED
             ));
 
-            scanners.add(new ScannerDevice(
-                    new ScannerDeviceListener(new EventSynchronizer(new Phaser(1))),
+            scanners.add(newScannerDevice(
                     new SimulatedDynamicDevice<>(
                             simulatedHandheldScanner,
                             new DevicePower(),
                             new DeviceConnector<>(simulatedHandheldScanner, deviceRegistry)
                     ),
-                    ScannerType.HANDHELD,
-                    applicationConfig
+                    ScannerType.HANDHELD
             ));
         } else {
+            //Entries carrying a scannerId belong to their own scanner below, not to the default flatbed and handheld
             Scanner flatbedScanner = new Scanner();
-            scanners.add(new ScannerDevice(
-                    new ScannerDeviceListener(new EventSynchronizer(new Phaser(1))),
-                    new DynamicDevice<>(flatbedScanner, new DevicePower(), new DeviceConnector<>(flatbedScanner, deviceRegistry, new SimpleEntry<>("deviceType", "Flatbed"))),
-                    ScannerType.FLATBED, applicationConfig));
+            scanners.add(newScannerDevice(
+                    new DynamicDevice<>(flatbedScanner, new DevicePower(), new DeviceConnector<>(flatbedScanner, deviceRegistry, new SimpleEntry<>("deviceType", "Flatbed"), entry -> !entry.hasPropertyWithName(SCANNER_ID_PROPERTY))),
+                    ScannerType.FLATBED));
 
             Scanner handScanner = new Scanner();
-            scanners.add(new ScannerDevice(
-                    new ScannerDeviceListener(new EventSynchronizer(new Phaser(1))),
-                    new DynamicDevice<>(handScanner, new DevicePower(), new DeviceConnector<>(handScanner, deviceRegistry, new SimpleEntry<>("deviceType", "HandScanner"))),
-                    ScannerType.HANDHELD, applicationConfig));
+            scanners.add(newScannerDevice(
+                    new DynamicDevice<>(handScanner, new DevicePower(), new DeviceConnector<>(handScanner, deviceRegistry, new SimpleEntry<>("deviceType", "HandScanner"), entry -> !entry.hasPropertyWithName(SCANNER_ID_PROPERTY))),
+                    ScannerType.HANDHELD));
+
+            for (Map.Entry<String, ScannerType> pooledScanner : getPooledScanners(deviceRegistry).entrySet()) {
+                Scanner scanner = new Scanner();
+                scanners.add(newScannerDevice(
+                        new DynamicDevice<>(scanner, new DevicePower(), new DeviceConnector<>(scanner, deviceRegistry, new SimpleEntry<>(SCANNER_ID_PROPERTY, pooledScanner.getKey()))),
+                        pooledScanner.getValue(),
+                        pooledScanner.getKey()));
+            }
         }
 
         return scanners;
     }
 
+    /**
+     * Scanner entries in devcon.xml with a scannerId property, keyed by id. Entries sharing an id are the fallback
+     * logical names of one scanner. A HandScanner deviceType makes it a handheld, anything else a flatbed.
+     */
+    private static Map<String, ScannerType> getPooledScanners(JposEntryRegistry deviceRegistry) {
+        if (deviceRegistry.getSize() == 0) {
+            deviceRegistry.load();
+        }
+        Map<String, ScannerType> pooledScanners = new LinkedHashMap<>();
+        for (JposEntry entry : Collections.list((Enumeration<JposEntry>) deviceRegistry.getEntries())) {
+            Object deviceCategory = entry.getPropertyValue("deviceCategory");
+            Object scannerId = entry.getPropertyValue(SCANNER_ID_PROPERTY);
+            if (scannerId == null || deviceCategory == null || !Scanner.class.getSimpleName().equals(deviceCategory.toString())) {
+                continue;
+            }
+            String id = scannerId.toString();
+            if (id.equalsIgnoreCase(ScannerType.FLATBED.name()) || id.equalsIgnoreCase(ScannerType.HANDHELD.name())) {
+                //Those ids belong to the default scanners
+                continue;
+            }
+            Object deviceType = entry.getPropertyValue("deviceType");
+            pooledScanners.putIfAbsent(id, deviceType != null && "HandScanner".equals(deviceType.toString()) ? ScannerType.HANDHELD : ScannerType.FLATBED);
+        }
+        return pooledScanners;
+    }
+
+    private ScannerDevice newScannerDevice(DynamicDevice<? extends Scanner> dynamicScanner, ScannerType scannerType) {
+        return newScannerDevice(dynamicScanner, scannerType, ScannerDevice.getDefaultScannerId(scannerType));
+    }
+
+    /**
+     * The device worker runs both the background disable after a cancel and the health supervisor's reconnects, so
+     * the two never overlap on one scanner.
+     */
+    private ScannerDevice newScannerDevice(DynamicDevice<? extends Scanner> dynamicScanner, ScannerType scannerType, String scannerId) {
+        ExecutorService deviceWorker = newDeviceWorker(scannerId);
+        return new ScannerDevice(
+                new ScannerDeviceListener(new EventSynchronizer(new Phaser(1)), JposEventRecorder.getRecorder("scanner." + scannerId)),
+                dynamicScanner,
+                scannerType,
+                new ReentrantLock(true),
+                applicationConfig,
+                getScanDeduplicator(scannerType, scannerId),
+                deviceWorker,
+                new ScannerHealthSupervisor(scannerType, scannerId, deviceWorker, Metrics.globalRegistry),
+                scannerId);
+    }
+
+    /**
+     * -DscanDuplicateWindowMsec sets the window for all scanners, -DscanDuplicateWindowMsec.FLATBED and
+     * -DscanDuplicateWindowMsec.HANDHELD override it per scanner. Defaults to 0, no suppression.
+     */
+    private ScanDeduplicator getScanDeduplicator(ScannerType scannerType, String scannerId) {
+        long windowMsec = Long.getLong(DUPLICATE_WINDOW_PROPERTY + "." + scannerType.name(), Long.getLong(DUPLICATE_WINDOW_PROPERTY, 0L));
+        return new ScanDeduplicator(scannerType, scannerId, windowMsec, applicationConfig.getDeviceClock(), Metrics.globalRegistry);
+    }
+
+    /**
+     * Single daemon thread per scanner, so a slow disable or handheld reconnect after a cancel stays off the request
+     * thread and runs in order with the next one.
+     */
+    private static ExecutorService newDeviceWorker(String scannerId) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scanner-" + scannerId + "-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Bean
     public ScannerManager getScannerManager() {
-        ScannerManager scannerManager = new ScannerManager(getScanners(), new ReentrantLock());
+        //A session lock per scanner so every scanner can serve a different client at the same time
+        ScannerManager scannerManager = new ScannerManager(getScanners(), ReentrantLock::new, null, null, null, false);
 
         DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton().setScannerManager(scannerManager);
         return scannerManager;
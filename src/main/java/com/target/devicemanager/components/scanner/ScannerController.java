@@ -6,6 +6,7 @@ import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import com.target.devicemanager.components.scanner.entities.Barcode;
 import com.target.devicemanager.components.scanner.entities.ScannerException;
+import com.target.devicemanager.components.scanner.entities.ScannerSummary;
 import com.target.devicemanager.components.scanner.entities.ScannerType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -50,6 +51,8 @@ public class ScannerController {
             @ApiResponse(responseCode = "404", description = "DEVICE_OFFLINE",
                     content = @Content(schema = @Schema( implementation = DeviceError.class))),
             @ApiResponse(responseCode = "409", description = "DEVICE_BUSY",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "503", description = "RECOVERING",
                     content = @Content(schema = @Schema( implementation = DeviceError.class)))
     })
     public Barcode getScannerData(@Parameter(description = "Scanner to Call") @PathVariable(required = false) ScannerType scannerType) throws ScannerException {
@@ -131,6 +134,146 @@ public class ScannerController {
         }
     }
 
+    @Operation(description = "Cancel previously requested scan on one scanner, a scan on the other scanner keeps running")
+    @DeleteMapping(path = "/scan/{scannerType}")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scan request canceled. Scanner has been disabled"),
+            @ApiResponse(responseCode = "412", description = "ALREADY_DISABLED",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class)))
+    })
+    public void cancelScanRequest(@Parameter(description = "Scanner to Cancel") @PathVariable ScannerType scannerType) throws ScannerException {
+        String url = "/v1/scan/" + scannerType;
+        log.success("API Request Received", 1);
+        try {
+            scannerManager.cancelScanRequest(scannerType);
+            log.successAPI("API Request Completed Successfully", 1, url, "OK", 200);
+        } catch (ScannerException scannerException) {
+            DeviceError error = scannerException.getDeviceError();
+            String code = error != null ? error.getCode() : null;
+            int status = (error != null && error.getStatusCode() != null)
+                    ? error.getStatusCode().value()
+                    : 0;
+
+            int severity = !Objects.equals(code, "ALREADY_DISABLED") ? 13 : 1;
+
+            log.failureAPI(
+                    "API Request Failed with ScannerException",
+                    severity,
+                    url,
+                    error != null ? error.toString() : null,
+                    status,
+                    scannerException
+            );
+            throw scannerException;
+        }
+    }
+
+    @Operation(description = "Retrieve barcode data from the first of the listed scanners to read a label")
+    @GetMapping(path = "/scanners/{scannerIds}/scan")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "204", description = "Scan request was cancelled"),
+            @ApiResponse(responseCode = "400", description = "UNKNOWN_DEVICE",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "500", description = "UNEXPECTED_ERROR",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "404", description = "DEVICE_OFFLINE",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "409", description = "DEVICE_BUSY",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "503", description = "RECOVERING",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class)))
+    })
+    public Barcode getScannerDataById(@Parameter(description = "Comma separated ids of the scanners to call") @PathVariable List<String> scannerIds) throws ScannerException {
+        String url = "/v1/scanners/" + String.join(",", scannerIds) + "/scan";
+        log.success("API Request Received", 1);
+        try {
+            Barcode data = scannerManager.getDataById(scannerIds);
+            log.successAPI("API Request Completed Successfully", 1, url, data == null ? null : data.toString(), 200);
+            return data;
+        } catch (ScannerException scannerException) {
+            DeviceError error = scannerException.getDeviceError();
+            String code = error != null ? error.getCode() : null;
+            int status = (error != null && error.getStatusCode() != null)
+                    ? error.getStatusCode().value()
+                    : 0;
+
+            int severity = (!Objects.equals(code, "DISABLED") &&
+                    !Objects.equals(code, "DEVICE_BUSY")) ? 13 : 1;
+
+            log.failureAPI(
+                    "API Request Failed with ScannerException",
+                    severity,
+                    url,
+                    error != null ? error.toString() : null,
+                    status,
+                    scannerException
+            );
+            throw scannerException;
+        }
+    }
+
+    @Operation(description = "Cancel previously requested scan on the listed scanners")
+    @DeleteMapping(path = "/scanners/{scannerIds}/scan")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Scan request canceled. Scanners have been disabled"),
+            @ApiResponse(responseCode = "400", description = "UNKNOWN_DEVICE",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class))),
+            @ApiResponse(responseCode = "412", description = "ALREADY_DISABLED",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class)))
+    })
+    public void cancelScanRequestById(@Parameter(description = "Comma separated ids of the scanners to cancel") @PathVariable List<String> scannerIds) throws ScannerException {
+        String url = "/v1/scanners/" + String.join(",", scannerIds) + "/scan";
+        log.success("API Request Received", 1);
+        try {
+            scannerManager.cancelScanRequestById(scannerIds);
+            log.successAPI("API Request Completed Successfully", 1, url, "OK", 200);
+        } catch (ScannerException scannerException) {
+            DeviceError error = scannerException.getDeviceError();
+            String code = error != null ? error.getCode() : null;
+            int status = (error != null && error.getStatusCode() != null)
+                    ? error.getStatusCode().value()
+                    : 0;
+
+            int severity = !Objects.equals(code, "ALREADY_DISABLED") ? 13 : 1;
+
+            log.failureAPI(
+                    "API Request Failed with ScannerException",
+                    severity,
+                    url,
+                    error != null ? error.toString() : null,
+                    status,
+                    scannerException
+            );
+            throw scannerException;
+        }
+    }
+
+    @Operation(description = "Lists every configured scanner with its id, type and health")
+    @GetMapping(path = "/scanners")
+    public ResponseEntity<List<ScannerSummary>> getScanners() {
+        String url = "/v1/scanners";
+        log.success("API Request Received", 1);
+        List<ScannerSummary> responseList = scannerManager.getScannerSummaries();
+        log.successAPI("API Request Completed Successfully", 1, url, responseList.toString(), 200);
+        return ResponseEntity.ok(responseList);
+    }
+
+    @Operation(description = "Reports the health of one scanner by id")
+    @GetMapping(path = "/scanners/{scannerId}/health")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "400", description = "UNKNOWN_DEVICE",
+                    content = @Content(schema = @Schema( implementation = DeviceError.class)))
+    })
+    public ResponseEntity<DeviceHealthResponse> getHealthById(@Parameter(description = "Id of the scanner") @PathVariable String scannerId) throws ScannerException {
+        String url = "/v1/scanners/" + scannerId + "/health";
+        log.success("API Request Received", 1);
+        DeviceHealthResponse response = scannerManager.getHealthSnapshotById(scannerId);
+        log.successAPI("API Request Completed Successfully", 1, url, response == null ? null : response.toString(), 200);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(description = "Reports the health of one scanner (FLATBED or HANDHELD)")
     @GetMapping(path = {"/scanner/health", "/scanner/health/{scannerType}"})
     public ResponseEntity<List<DeviceHealthResponse>> getHealth(@Parameter(description = "Scanner to Call") @PathVariable(required = false) ScannerType scannerType) {
@@ -139,11 +282,11 @@ public class ScannerController {
         if (scannerType == null) {
             url = "/v1/scanner/health";
             log.success("API Request Received", 1);
-            responseList = scannerManager.getHealth(ScannerType.BOTH);
+            responseList = scannerManager.getHealthSnapshot(ScannerType.BOTH);
         } else {
             url = "/v1/scanner/health/" + scannerType;
             log.success("API Request Received", 1);
-            responseList = scannerManager.getHealth(scannerType);
+            responseList = scannerManager.getHealthSnapshot(scannerType);
         }
 
         for (DeviceHealthResponse deviceResponse : responseList) {
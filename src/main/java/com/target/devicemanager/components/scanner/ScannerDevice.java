@@ -1,13 +1,19 @@
 package com.target.devicemanager.components.scanner;
 
+import com.target.devicemanager.common.DeviceClock;
+import com.target.devicemanager.common.DeviceOperationEvent;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.DeviceListener;
 import com.target.devicemanager.common.DynamicDevice;
 import com.target.devicemanager.common.entities.DeviceError;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.components.scanner.entities.Barcode;
+import com.target.devicemanager.components.scanner.entities.ScannerException;
 import com.target.devicemanager.components.scanner.entities.ScannerType;
 import com.target.devicemanager.configuration.ApplicationConfig;
+import io.micrometer.core.instrument.Metrics;
 import jpos.JposConst;
 import jpos.JposException;
 import jpos.Scanner;
@@ -15,9 +21,11 @@ import jpos.events.DataEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.Charset;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -25,12 +33,18 @@ public class ScannerDevice {
     private final DynamicDevice<? extends Scanner> dynamicScanner;
     private final DeviceListener deviceListener;
     private final ScannerType scannerType;
+    private final String scannerId;
     private boolean deviceConnected = false;
+    private static final String DEVICE_TAG = DeviceOperationMetrics.getDeviceTag(Scanner.class);
     private static final Logger LOGGER = LoggerFactory.getLogger(ScannerDevice.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScannerServiceName(), "ScannerDevice", LOGGER);
     private static final int MAX_RETRIES = 3;
     private static final int SCANNER_CMD_TIMEOUT = 999;
     private final ReentrantLock connectLock;
+    private final ScanDeduplicator scanDeduplicator;
+    private final Executor deviceWorker;
+    private final ScannerHealthSupervisor healthSupervisor;
+    private volatile CompletableFuture<Void> pendingDisable = CompletableFuture.completedFuture(null);
     private boolean isLocked = false;
     private boolean isTest = false;
     ApplicationConfig applicationConfig;
@@ -46,6 +60,21 @@ public class ScannerDevice {
     }
 
     public ScannerDevice(DeviceListener deviceListener, DynamicDevice<? extends Scanner> dynamicScanner, ScannerType scannerType, ReentrantLock connectLock, ApplicationConfig applicationConfig) {
+        this(deviceListener, dynamicScanner, scannerType, connectLock, applicationConfig,
+                scannerType == null ? null : new ScanDeduplicator(scannerType, 0, DeviceClock.system(), Metrics.globalRegistry),
+                Runnable::run, null, null);
+    }
+
+    /**
+     * @param scanDeduplicator drops repeat labels inside its window, null reports every label.
+     * @param deviceWorker runs the disable (and any handheld recovery) after a cancel. Use a single background thread
+     *                     so cancel returns as soon as the waiting request is released, Runnable::run keeps it in line.
+     * @param healthSupervisor tracks enable latency and reconnects the handheld in the background, requests fail fast
+     *                         with JPOS_E_BUSY while it does. Without one a failed handheld enable reconnects in line.
+     * @param scannerId id the scanner is addressed by, unique across all scanners. The scanner of each type that
+     *                  discovers over every registry entry uses getDefaultScannerId, which null defaults to.
+     */
+    public ScannerDevice(DeviceListener deviceListener, DynamicDevice<? extends Scanner> dynamicScanner, ScannerType scannerType, ReentrantLock connectLock, ApplicationConfig applicationConfig, ScanDeduplicator scanDeduplicator, Executor deviceWorker, ScannerHealthSupervisor healthSupervisor, String scannerId) {
         if(scannerType == null) {
             log.failure("Failed in Constructor: scannerType cannot be null", 17, null);
             throw new IllegalArgumentException("scannerType cannot be null");
@@ -61,8 +90,12 @@ public class ScannerDevice {
         this.dynamicScanner = dynamicScanner;
         this.deviceListener = deviceListener;
         this.scannerType = scannerType;
+        this.scannerId = scannerId == null ? getDefaultScannerId(scannerType) : scannerId;
         this.connectLock = connectLock;
         this.applicationConfig = applicationConfig;
+        this.scanDeduplicator = scanDeduplicator;
+        this.deviceWorker = deviceWorker == null ? Runnable::run : deviceWorker;
+        this.healthSupervisor = healthSupervisor;
     }
 
     /**
@@ -123,16 +156,43 @@ public class ScannerDevice {
      */
     public Barcode getScannerData() throws JposException {
         log.success(getScannerType() + " getScannerData(in)", 1);
-        enable();
+        awaitPendingDisable();
+        long scanStart = System.nanoTime();
+        DeviceOperationEvent.ScanSession scanEvent = new DeviceOperationEvent.ScanSession(DEVICE_TAG);
+        scanEvent.begin();
         //waitForData can potentially block forever
         try {
-            DataEvent dataEvent = deviceListener.waitForData();
-            return handleDataEvent(dataEvent);
+            enable();
+            while (true) {
+                DataEvent dataEvent = deviceListener.waitForData();
+                Barcode barcode = handleDataEvent(dataEvent);
+                if (scanDeduplicator == null || !scanDeduplicator.isDuplicate(barcode)) {
+                    DeviceOperationMetrics.getDeviceOperationMetrics().recordSuccess(DEVICE_TAG, "scan", getDeviceName(), scanStart);
+                    scanEvent.commitSuccess(getDeviceName());
+                    return barcode;
+                }
+                log.success(getScannerType() + " suppressed duplicate read of " + barcode.type, 5);
+                //AutoDisable turned the scanner off after the repeat read, keep waiting for the next label
+                enable();
+            }
         } catch (JposException jposException) {
+            DeviceOperationMetrics.getDeviceOperationMetrics().recordFailure(DEVICE_TAG, "scan", getDeviceName(), scanStart, jposException);
+            scanEvent.commitFailure(getDeviceName(), jposException);
             throw jposException;
         }
     }
 
+    /**
+     * A disable still running from the last cancel would turn the scanner off under a new request, wait for it.
+     */
+    private void awaitPendingDisable() {
+        try {
+            pendingDisable.join();
+        } catch (CompletionException completionException) {
+            log.failure(getScannerType() + " Background disable failed", 17, completionException.getCause());
+        }
+    }
+
     /**
      * Handles the data based on scanner type and barcode.
      * @param dataEvent instance of data event.
@@ -147,12 +207,12 @@ public class ScannerDevice {
             throw jposException;
         }
         try {
-            String data;
+            byte[] label;
             int type;
             ScannerType source;
             Scanner scanner;
             synchronized (scanner = (Scanner) dataEvent.getSource()) {
-                data = new String(scanner.getScanDataLabel(), Charset.defaultCharset());
+                label = scanner.getScanDataLabel();
                 type = scanner.getScanDataType();
                 if (applicationConfig != null && applicationConfig.IsSimulationMode()) {
                     source = ScannerType.fromValue(scanner.getPhysicalDeviceName());
@@ -160,8 +220,12 @@ public class ScannerDevice {
                     source = scannerType;
                 }
             }
-            Barcode barcode = new Barcode(data, type, source);
-            log.success(barcode.source + " - returning scanned data type: " + barcode.type + " of size " + data.length(), 9);
+            Barcode barcode = ScanDataDecoder.getScanDataDecoder().decode(label, type, source);
+            BarcodeParser barcodeParser = BarcodeParser.getBarcodeParser();
+            if (barcodeParser.isEnabled()) {
+                barcode.parsed = barcodeParser.parse(barcode.data, type);
+            }
+            log.success(barcode.source + " - returning scanned data type: " + barcode.type + " of size " + barcode.data.length(), 9);
             log.success(barcode.source + " getScannerData(out)", 1);
             return barcode;
         } catch (JposException jposException) {
@@ -171,17 +235,27 @@ public class ScannerDevice {
     }
 
     /**
-     * Disables scanner and cancels scanner data.
+     * Cancels scanner data and disables the scanner. The waiting request is released first, the disable and any
+     * handheld reconnect run on the device worker.
      * @return null.
      */
     public Void cancelScannerData() {
         log.success(getScannerType() + " cancelScannerData(in)", 1);
-        try{
-            disable();
-        } catch(JposException jposException){
-            log.failure("Received exception in cancelScannerData", 1, jposException);
-        } finally {
+        //Published before the waiter is released, a session starting right after must wait for this disable
+        CompletableFuture<Void> released = new CompletableFuture<>();
+        pendingDisable = released.thenRunAsync(TraceContext.wrap(() -> {
+            try {
+                disable();
+            } catch (JposException jposException) {
+                log.failure("Received exception in cancelScannerData", 1, jposException);
+            }
+            //Reconnect a slow handheld now, between sessions, rather than failing the next request
+            startRecoveryIfDue();
+        }), deviceWorker);
+        try {
             deviceListener.stopWaitingForData();
+        } finally {
+            released.complete(null);
         }
         log.success(getScannerType() + " cancelScannerData(out)", 1);
         return null;
@@ -218,21 +292,14 @@ public class ScannerDevice {
             JposException jposException = new JposException(JposConst.JPOS_E_OFFLINE);
             throw jposException;
         }
+        if (healthSupervisor != null && (healthSupervisor.isRecovering() || startRecoveryIfDue())) {
+            throw recoveringException();
+        }
         deviceListener.startEventListeners();
         try {
-            Scanner scanner;
-            synchronized (scanner = dynamicScanner.getDevice()) {
-                scanner.setAutoDisable(true);
-                scanner.setDecodeData(true);
-                scanner.setDataEventEnabled(true);
-                scanner.setDeviceEnabled(true);
-                if(isTest) { // used to test timeouts in unit testing
-                    try {
-                        Thread.sleep(1100);
-                    } catch (InterruptedException interruptedException) {
-                        //ignore
-                    }
-                }
+            long enableMillis = enableDevice();
+            if (healthSupervisor != null) {
+                healthSupervisor.recordEnable(enableMillis);
             }
         } catch (JposException jposException) {
             if(isConnected()) {
@@ -242,6 +309,10 @@ public class ScannerDevice {
             }
 
             if(getScannerType().equalsIgnoreCase("HANDHELD")) {
+                if (healthSupervisor != null) {
+                    healthSupervisor.recover(this::recoverHandheld);
+                    throw recoveringException();
+                }
                 log.success("Attempting HANDHELD Reconnect enable", 9);
                 handheldReconnect();
             } else {
@@ -252,6 +323,46 @@ public class ScannerDevice {
         log.success(getScannerType() + " enable(out)", 1);
     }
 
+    /**
+     * Sets the scanner up for a scan and turns it on.
+     * @return time the enable took in milliseconds.
+     * @throws JposException
+     */
+    private long enableDevice() throws JposException {
+        long start = System.nanoTime();
+        Scanner scanner;
+        synchronized (scanner = dynamicScanner.getDevice()) {
+            scanner.setAutoDisable(true);
+            scanner.setDecodeData(true);
+            scanner.setDataEventEnabled(true);
+            scanner.setDeviceEnabled(true);
+            if(isTest) { // used to test timeouts in unit testing
+                try {
+                    Thread.sleep(1100);
+                } catch (InterruptedException interruptedException) {
+                    //ignore
+                }
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Hands a due handheld reconnect to the health supervisor.
+     * @return true when a reconnect was started.
+     */
+    private boolean startRecoveryIfDue() {
+        if (healthSupervisor == null || !getScannerType().equalsIgnoreCase("HANDHELD") || !healthSupervisor.isRecoveryDue()) {
+            return false;
+        }
+        return healthSupervisor.recover(this::recoverHandheld);
+    }
+
+    private JposException recoveringException() {
+        log.success(getScannerType() + " reconnect in progress, failing request", 9);
+        return new JposException(JposConst.JPOS_E_BUSY, ScannerException.RECOVERING_ERROR_CODE_EXTENDED, getScannerType() + " reconnect in progress");
+    }
+
     /**
      * Disables scanner.
      * @throws JposException
@@ -270,6 +381,10 @@ public class ScannerDevice {
                 log.failure(getScannerType() + " Failed to Disable Device: " + jposException.getErrorCode() + ", " + jposException.getErrorCodeExtended(), 17, jposException);
             }
             if(getScannerType().equalsIgnoreCase("HANDHELD")) {
+                if (healthSupervisor != null) {
+                    healthSupervisor.recover(this::recoverHandheld);
+                    return;
+                }
                 log.success("Attempting HANDHELD Reconnect disable", 9);
                 handheldReconnect();
             } else {
@@ -304,6 +419,21 @@ public class ScannerDevice {
         }
     }
 
+    /**
+     * Gets the id the scanner is addressed by.
+     * @return scanner id.
+     */
+    public String getScannerId() {
+        return scannerId;
+    }
+
+    /**
+     * Id of the scanner that discovers over every registry entry of its type, flatbed or handheld.
+     */
+    public static String getDefaultScannerId(ScannerType scannerType) {
+        return scannerType.name().toLowerCase();
+    }
+
     /** Gets the scanner type.
      * @return Scanner type.
      */
@@ -347,6 +477,33 @@ public class ScannerDevice {
         log.success("handheldTimeoutOccurredCheck(out)", 1);
     }
 
+    /**
+     * Reconnects the handheld scanner on the device worker. Each attempt enables the scanner to check it answers
+     * within SCANNER_CMD_TIMEOUT and turns it off again, the next request enables it as usual.
+     */
+    private void recoverHandheld() {
+        log.success("recoverHandheld(in)", 1);
+        for (int retries = 1; retries <= MAX_RETRIES; retries++) {
+            try {
+                dynamicScanner.disconnect();
+                connect();
+                long enableMillis = enableDevice();
+                Scanner scanner;
+                synchronized (scanner = dynamicScanner.getDevice()) {
+                    scanner.setDeviceEnabled(false);
+                }
+                if (enableMillis < SCANNER_CMD_TIMEOUT) {
+                    log.success("Reconnect handheld : recovered dead hand scanner in " + retries + " attempt(s).", 9);
+                    break;
+                }
+                log.success("Reconnect handheld : still taking longer " + enableMillis + " milliseconds", 9);
+            } catch (JposException jposException) {
+                log.failure("Hand scanner reconnect exception: " + jposException.getMessage(), 17, jposException);
+            }
+        }
+        log.success("recoverHandheld(out)", 1);
+    }
+
     /**
      * Lock the current resource.
      * @return
@@ -1,13 +1,20 @@
 package com.target.devicemanager.components.scanner;
 
 import com.target.devicemanager.common.DeviceListener;
+import com.target.devicemanager.common.DeviceOperationMetrics;
 import com.target.devicemanager.common.EventSynchronizer;
+import com.target.devicemanager.common.JposEventRecorder;
 import jpos.JposConst;
+import jpos.Scanner;
 
 public class ScannerDeviceListener extends DeviceListener {
 
     public ScannerDeviceListener(EventSynchronizer eventSynchronizer) {
-        super(eventSynchronizer);
+        super(eventSynchronizer, JposEventRecorder.getRecorder(DeviceOperationMetrics.getDeviceTag(Scanner.class)));
+    }
+
+    public ScannerDeviceListener(EventSynchronizer eventSynchronizer, JposEventRecorder eventRecorder) {
+        super(eventSynchronizer, eventRecorder);
     }
 
     @Override
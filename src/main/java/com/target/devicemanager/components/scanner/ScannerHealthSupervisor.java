@@ -0,0 +1,136 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Watches how long enabling a scanner takes and reconnects it in the background once enables trend past the
+ * scanner command timeout. A hand scanner that has gone bad gets slower on every enable before it stops answering,
+ * so the average is smoothed rather than reacting to a single slow enable. Only one recovery runs at a time and
+ * requests are expected to fail fast while it does.
+ */
+public class ScannerHealthSupervisor {
+
+    static final long ENABLE_TIMEOUT_MSEC = 999;
+    //Weight of the newest enable in the running average, a single slow enable only trips it when it is very slow
+    private static final double SMOOTHING = 0.4;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScannerHealthSupervisor.class);
+    private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScannerServiceName(), "ScannerHealthSupervisor", LOGGER);
+
+    private final ScannerType scannerType;
+    private final Executor recoveryWorker;
+    private final Timer enableLatency;
+    private final Counter recoveryCounter;
+    private final AtomicBoolean recovering = new AtomicBoolean(false);
+    private double averageEnableMillis = 0;
+    private boolean recoveryDue = false;
+
+    public ScannerHealthSupervisor(ScannerType scannerType, Executor recoveryWorker, MeterRegistry meterRegistry) {
+        this(scannerType, scannerType == null ? null : ScannerDevice.getDefaultScannerId(scannerType), recoveryWorker, meterRegistry);
+    }
+
+    /**
+     * @param scannerType type of the scanner this supervisor watches, used to tag the meters.
+     * @param scannerId id of the scanner this supervisor watches, tags the meters so pooled scanners of one type
+     *                  do not share them.
+     * @param recoveryWorker runs recoveries, the scanner's device worker so they queue behind a pending disable.
+     * @param meterRegistry registry for possum.scanner.enable.latency and possum.scanner.recoveries.
+     */
+    public ScannerHealthSupervisor(ScannerType scannerType, String scannerId, Executor recoveryWorker, MeterRegistry meterRegistry) {
+        if (scannerType == null) {
+            throw new IllegalArgumentException("scannerType cannot be null");
+        }
+        if (scannerId == null) {
+            throw new IllegalArgumentException("scannerId cannot be null");
+        }
+        if (recoveryWorker == null) {
+            throw new IllegalArgumentException("recoveryWorker cannot be null");
+        }
+        if (meterRegistry == null) {
+            throw new IllegalArgumentException("meterRegistry cannot be null");
+        }
+        this.scannerType = scannerType;
+        this.recoveryWorker = recoveryWorker;
+        this.enableLatency = Timer.builder("possum.scanner.enable.latency")
+                .description("Time taken to enable the scanner for a scan")
+                .tag("scanner", scannerType.name())
+                .tag("scannerId", scannerId)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(Duration.ofMillis(ENABLE_TIMEOUT_MSEC))
+                .register(meterRegistry);
+        this.recoveryCounter = Counter.builder("possum.scanner.recoveries")
+                .description("Background reconnects started by the health supervisor")
+                .tag("scanner", scannerType.name())
+                .tag("scannerId", scannerId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a successful enable and marks a recovery as due once the running average passes the timeout.
+     * @param latencyMillis time the enable took.
+     */
+    public synchronized void recordEnable(long latencyMillis) {
+        enableLatency.record(latencyMillis, TimeUnit.MILLISECONDS);
+        averageEnableMillis = SMOOTHING * latencyMillis + (1 - SMOOTHING) * averageEnableMillis;
+        if (averageEnableMillis > ENABLE_TIMEOUT_MSEC && !recoveryDue) {
+            log.success(scannerType + " enable latency trending at " + Math.round(averageEnableMillis) + "ms, reconnect due", 9);
+            recoveryDue = true;
+        }
+    }
+
+    public synchronized boolean isRecoveryDue() {
+        return recoveryDue;
+    }
+
+    public synchronized double getAverageEnableMillis() {
+        return averageEnableMillis;
+    }
+
+    public boolean isRecovering() {
+        return recovering.get();
+    }
+
+    /**
+     * Starts the recovery on the worker unless one is already running.
+     * @param recovery reconnect routine of the scanner.
+     * @return true when this call started a recovery.
+     */
+    public boolean recover(Runnable recovery) {
+        if (!recovering.compareAndSet(false, true)) {
+            return false;
+        }
+        synchronized (this) {
+            recoveryDue = false;
+            averageEnableMillis = 0;
+        }
+        recoveryCounter.increment();
+        log.success(scannerType + " starting background recovery", 9);
+        try {
+            recoveryWorker.execute(TraceContext.wrap(() -> {
+                try {
+                    recovery.run();
+                } finally {
+                    recovering.set(false);
+                    log.success(scannerType + " background recovery finished", 9);
+                }
+            }));
+        } catch (RejectedExecutionException rejectedExecutionException) {
+            recovering.set(false);
+            log.failure(scannerType + " could not start background recovery", 17, rejectedExecutionException);
+            return false;
+        }
+        return true;
+    }
+}
@@ -1,11 +1,16 @@
 package com.target.devicemanager.components.scanner;
 
+import com.target.devicemanager.common.DeviceHealthSnapshotSingleton;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.entities.*;
 import com.target.devicemanager.components.scanner.entities.Barcode;
 import com.target.devicemanager.components.scanner.entities.ScannerError;
 import com.target.devicemanager.components.scanner.entities.ScannerException;
+import com.target.devicemanager.components.scanner.entities.ScannerSummary;
 import com.target.devicemanager.components.scanner.entities.ScannerType;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import jpos.JposException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,10 +21,15 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 
 @EnableScheduling
 @EnableCaching
@@ -28,8 +38,15 @@ public class ScannerManager {
     @Autowired
     private CacheManager cacheManager;
 
+    private static final String SCANNER_HEALTH_KEY_PREFIX = "scanner.";
+    private static final String CANCEL_BY_ID_TAG = "BY_ID";
     private final List<? extends ScannerDevice> scanners;
-    private final Lock scannerLock;
+    //Session locks keyed by scanner type, or by scanner id when lockPerScanner. A session takes the locks of every
+    //scanner it enables, so sessions on different scanners run side by side. BOTH takes every lock.
+    private final Map<String, Lock> scannerLocks;
+    private final boolean lockPerScanner;
+    private final Map<String, Timer> cancelLatency = new ConcurrentHashMap<>();
+    private volatile ScannerIndex scannerIndex;
     private ConnectEnum connectStatus = ConnectEnum.FIRST_CONNECT;
     private static final Logger LOGGER = LoggerFactory.getLogger(ScannerManager.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getScannerServiceName(), "ScannerManager", LOGGER);
@@ -37,19 +54,39 @@ public class ScannerManager {
     private boolean isTest = false;
     private List<Future<Boolean>> results;
 
+    /**
+     * All scanners share scannerLock, only one scan session runs at a time.
+     */
     public ScannerManager(List<? extends ScannerDevice> scanners, Lock scannerLock) {
         this(scanners, scannerLock, null, null, null, false);
     }
 
     public ScannerManager(List<? extends ScannerDevice> scanners, Lock scannerLock, CacheManager cacheManager, ExecutorService executor, List<Future<Boolean>> results, boolean isTest) {
+        this(scanners, sharedLocks(scannerLock), cacheManager, executor, results, isTest);
+    }
+
+    /**
+     * Each scanner type has its own session lock in scannerLocks, FLATBED and HANDHELD scans run independently.
+     */
+    public ScannerManager(List<? extends ScannerDevice> scanners, Map<ScannerType, ? extends Lock> scannerLocks, CacheManager cacheManager, ExecutorService executor, List<Future<Boolean>> results, boolean isTest) {
+        this(scanners, typeLocks(scanners, scannerLocks), false, cacheManager, executor, results, isTest);
+    }
+
+    /**
+     * Each scanner gets its own session lock from lockFactory, so every scanner, including several of one type,
+     * serves its own client.
+     */
+    public ScannerManager(List<? extends ScannerDevice> scanners, Supplier<? extends Lock> lockFactory, CacheManager cacheManager, ExecutorService executor, List<Future<Boolean>> results, boolean isTest) {
+        this(scanners, scannerLocks(scanners, lockFactory), true, cacheManager, executor, results, isTest);
+    }
+
+    private ScannerManager(List<? extends ScannerDevice> scanners, Map<String, Lock> scannerLocks, boolean lockPerScanner, CacheManager cacheManager, ExecutorService executor, List<Future<Boolean>> results, boolean isTest) {
         if (scanners == null) {
             throw new IllegalArgumentException("scanners cannot be null");
         }
-        if (scannerLock == null) {
-            throw new IllegalArgumentException("scannerLock cannot be null");
-        }
+        this.scannerLocks = scannerLocks;
+        this.lockPerScanner = lockPerScanner;
         this.scanners = scanners;
-        this.scannerLock = scannerLock;
         this.executor = executor;
         this.results = results;
 
@@ -63,6 +100,7 @@ public class ScannerManager {
     @Scheduled(fixedDelay = 5000, initialDelay = 5000)
     public void connect() {
         scanners.forEach(ScannerDevice::connect);
+        scanners.forEach(scanner -> publishHealth(scanner, scanner.isConnected()));
 
         if (connectStatus == ConnectEnum.FIRST_CONNECT) {
             for (ScannerDevice scanner : scanners) {
@@ -76,10 +114,11 @@ public class ScannerManager {
 
     public void reconnectScanners() throws DeviceException {
         List<Callable<Boolean>> taskList = new ArrayList<>();
-        scanners.forEach(scanner -> taskList.add(scanner::reconnect));
-        if(!isTest) {
-            executor = Executors.newFixedThreadPool(taskList.size());
+        for (ScannerDevice scanner : scanners) {
+            Callable<Boolean> reconnect = scanner::reconnect;
+            taskList.add(TraceContext.wrap(reconnect));
         }
+        ExecutorService executor = getExecutor(taskList.size());
         try {
             List<Future<Boolean>> executorInvoked = executor.invokeAll(taskList);
             if(!isTest) {
@@ -105,40 +144,53 @@ public class ScannerManager {
 
     Barcode getData(ScannerType scannerType) throws ScannerException {
         log.success("getData(in)", 1);
-        if (!scannerLock.tryLock()) {
-            ScannerException scannerException = new ScannerException(ScannerError.DEVICE_BUSY);
-            log.success("getData(out) - device busy", 1);
-            throw scannerException;
+        return runSession(getSessionLocks(scannerType), getScanners(scannerType));
+    }
+
+    /**
+     * Races the listed scanners for one label, the same way BOTH races every scanner.
+     * @param scannerIds ids of the scanners to enable.
+     */
+    Barcode getDataById(List<String> scannerIds) throws ScannerException {
+        log.success("getData(in)", 1);
+        List<ScannerDevice> sessionScanners = getScanners(scannerIds);
+        return runSession(getSessionLocks(sessionScanners), sessionScanners);
+    }
+
+    private Barcode runSession(List<Lock> sessionLocks, List<? extends ScannerDevice> sessionScanners) throws ScannerException {
+        List<Lock> heldLocks = new ArrayList<>();
+        for (Lock sessionLock : sessionLocks) {
+            if (!sessionLock.tryLock()) {
+                heldLocks.forEach(Lock::unlock);
+                ScannerException scannerException = new ScannerException(ScannerError.DEVICE_BUSY);
+                log.success("getData(out) - device busy", 1);
+                throw scannerException;
+            }
+            heldLocks.add(sessionLock);
         }
         try {
-            return enableScanners(scannerType);
+            return enableScanners(sessionScanners);
         } finally {
-            scannerLock.unlock();
+            heldLocks.forEach(Lock::unlock);
             log.success("getData(out)", 1);
         }
     }
 
-    private Barcode enableScanners(ScannerType scannerType) throws ScannerException {
+    private Barcode enableScanners(List<? extends ScannerDevice> sessionScanners) throws ScannerException {
         log.success("enableScanners(in)", 1);
-        List<Callable<Barcode>> taskList = new ArrayList<>();
-        for (ScannerDevice scanner : scanners) {
-            switch (scannerType.name()) {
-                case "FLATBED":
-                case "HANDHELD":
-                    if (scanner.getScannerType().equals(scannerType.name())) {
-                        taskList.add(scanner::getScannerData);
-                    }
-                    break;
-                default:
-                    taskList.add(scanner::getScannerData);
-            }
+        if (sessionScanners.isEmpty()) {
+            log.success("enableScanners(out) - no scanner configured", 1);
+            throw new ScannerException(ScannerError.DEVICE_OFFLINE);
         }
-        if(!isTest) {
-            executor = Executors.newFixedThreadPool(taskList.size());
+        List<Callable<Barcode>> taskList = new ArrayList<>();
+        for (ScannerDevice scanner : sessionScanners) {
+            Callable<Barcode> scan = scanner::getScannerData;
+            taskList.add(TraceContext.wrap(scan));
         }
+        ExecutorService executor = getExecutor(taskList.size());
         try {
             Barcode barcode = executor.invokeAny(taskList);
-            disableScanners();
+            disableScanners(sessionScanners);
             return barcode;
         } catch (ExecutionException | InterruptedException exception) {
             ScannerException scannerException;
@@ -161,26 +213,53 @@ public class ScannerManager {
     }
 
     void cancelScanRequest() throws ScannerException {
+        cancelScanRequest(ScannerType.BOTH);
+    }
+
+    /**
+     * Cancels the scan session on one scanner, or on every scanner for BOTH, leaving other sessions running.
+     */
+    void cancelScanRequest(ScannerType scannerType) throws ScannerException {
+        cancelSession(getSessionLocks(scannerType), getScanners(scannerType), scannerType.name());
+    }
+
+    /**
+     * Cancels the scan session on the listed scanners.
+     * @param scannerIds ids of the scanners to disable.
+     */
+    void cancelScanRequestById(List<String> scannerIds) throws ScannerException {
+        List<ScannerDevice> sessionScanners = getScanners(scannerIds);
+        cancelSession(getSessionLocks(sessionScanners), sessionScanners, CANCEL_BY_ID_TAG);
+    }
+
+    private void cancelSession(List<Lock> sessionLocks, List<? extends ScannerDevice> sessionScanners, String latencyTag) throws ScannerException {
         log.success("cancelScanRequest(in)", 1);
+        long cancelStart = System.nanoTime();
         //This makes sure no new scan data requests come in while we are cancelling
-        if (scannerLock.tryLock()) {
-            //Nothing to disable
-            try {
-                ScannerException scannerException = new ScannerException(ScannerError.ALREADY_DISABLED);
-                log.success("cancelScanRequest(out) - already disabled", 1);
-                throw scannerException;
-            } finally {
-                scannerLock.unlock();
+        boolean sessionActive = false;
+        for (Lock sessionLock : sessionLocks) {
+            if (sessionLock.tryLock()) {
+                sessionLock.unlock();
+            } else {
+                sessionActive = true;
             }
         }
+        if (!sessionActive) {
+            //Nothing to disable
+            ScannerException scannerException = new ScannerException(ScannerError.ALREADY_DISABLED);
+            log.success("cancelScanRequest(out) - already disabled", 1);
+            throw scannerException;
+        }
         try {
-            disableScanners();
+            disableScanners(sessionScanners);
         } catch (InterruptedException exception) {
             ScannerException scannerException = new ScannerException(ScannerError.UNEXPECTED_ERROR);
             log.failure("Interrupted while cancelling scan request", 17, exception);
             throw scannerException;
         } catch (Exception exception) {
             log.failure("Error in cancelScanRequest: " + exception.getMessage(), 17, exception);
+        } finally {
+            getCancelLatency(latencyTag).record(System.nanoTime() - cancelStart, TimeUnit.NANOSECONDS);
         }
         log.success("cancelScanRequest(out)", 1);
     }
@@ -188,24 +267,13 @@ public class ScannerManager {
     public List<DeviceHealthResponse> getHealth(ScannerType scannerType) {
         log.success("getHealth(in)", 1);
         List<DeviceHealthResponse> response = new ArrayList<>();
-        for (ScannerDevice scanner : scanners) {
-            switch (scannerType.name()) {
-                case "FLATBED":
-                case "HANDHELD":
-                    if(scanner.getScannerType().equals(scannerType.name())) {
-                        if (scanner.isConnected()) {
-                            response.add(new DeviceHealthResponse(scanner.getDeviceName(), DeviceHealth.READY));
-                        } else {
-                            response.add(new DeviceHealthResponse(scanner.getDeviceName(), DeviceHealth.NOTREADY));
-                        }
-                    }
-                    break;
-                default:
-                    if (scanner.isConnected()) {
-                        response.add(new DeviceHealthResponse(scanner.getDeviceName(), DeviceHealth.READY));
-                    } else {
-                        response.add(new DeviceHealthResponse(scanner.getDeviceName(), DeviceHealth.NOTREADY));
-                    }
+        for (ScannerDevice scanner : getScanners(scannerType)) {
+            if (scanner.isConnected()) {
+                response.add(new DeviceHealthResponse(scanner.getDeviceName(), DeviceHealth.READY));
+                publishHealth(scanner, true);
+            } else {
+                response.add(new DeviceHealthResponse(scanner.getDeviceName(), DeviceHealth.NOTREADY));
+                publishHealth(scanner, false);
             }
         }
         try {
@@ -217,6 +285,35 @@ public class ScannerManager {
         return response;
     }
 
+    public List<DeviceHealthResponse> getHealthSnapshot(ScannerType scannerType) {
+        List<DeviceHealthResponse> response = new ArrayList<>();
+        for (ScannerDevice scanner : getScanners(scannerType)) {
+            response.add(DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(getHealthKey(scanner), scanner.getDeviceName()));
+        }
+        return response;
+    }
+
+    /**
+     * Reads the published health of one scanner.
+     * @param scannerId id of the scanner.
+     */
+    public DeviceHealthResponse getHealthSnapshotById(String scannerId) throws ScannerException {
+        ScannerDevice scanner = getScanners(List.of(scannerId)).get(0);
+        return DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(getHealthKey(scanner), scanner.getDeviceName());
+    }
+
+    /**
+     * Lists every scanner with its id, type and published health.
+     */
+    public List<ScannerSummary> getScannerSummaries() {
+        List<ScannerSummary> response = new ArrayList<>();
+        for (ScannerDevice scanner : scanners) {
+            DeviceHealthResponse health = DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().getHealth(getHealthKey(scanner), scanner.getDeviceName());
+            response.add(new ScannerSummary(scanner.getScannerId(), ScannerType.fromValue(scanner.getScannerType()), scanner.getDeviceName(), health.getHealthStatus()));
+        }
+        return response;
+    }
+
     public List<DeviceHealthResponse> getStatus() {
         try {
             if (cacheManager != null && Objects.requireNonNull(cacheManager.getCache("scannerHealth")).get("health") != null) {
@@ -236,17 +333,15 @@ public class ScannerManager {
 
     public DeviceHealth getScannerHealthStatus(String scannerType) {
         String scannerName = "";
-        for (ScannerDevice scanner : scanners) {
-            switch (scannerType) {
-                case "FLATBED":
-                case "HANDHELD":
-                    if (scanner.getScannerType().equals(scannerType)) {
-                        scannerName = scanner.getDeviceName();
-                    }
-                    break;
-                default:
-                    scannerName = "";
-            }
+        switch (scannerType) {
+            case "FLATBED":
+            case "HANDHELD":
+                for (ScannerDevice scanner : getScanners(ScannerType.valueOf(scannerType))) {
+                    scannerName = scanner.getDeviceName();
+                }
+                break;
+            default:
+                scannerName = "";
         }
         for(DeviceHealthResponse deviceHealthResponse: getStatus()) {
             if(deviceHealthResponse.getDeviceName().equals(scannerName)) {
@@ -256,14 +351,18 @@ public class ScannerManager {
         return new DeviceHealthResponse(scannerName, DeviceHealth.NOTREADY).getHealthStatus();
     }
 
-    private void disableScanners() throws InterruptedException {
+    private void disableScanners(List<? extends ScannerDevice> sessionScanners) throws InterruptedException {
         log.success("disableScanners(in)", 1);
         List<Callable<Void>> taskList = new ArrayList<>();
         try {
-            scanners.forEach(scanner -> taskList.add(scanner::cancelScannerData));
-            if(!isTest) {
-                executor = Executors.newFixedThreadPool(taskList.size());
+            for (ScannerDevice scanner : sessionScanners) {
+                Callable<Void> cancel = scanner::cancelScannerData;
+                taskList.add(TraceContext.wrap(cancel));
             }
+            if (taskList.isEmpty()) {
+                return;
+            }
+            ExecutorService executor = getExecutor(taskList.size());
             executor.invokeAll(taskList);
             executor.shutdown();
         } catch (InterruptedException interruptedException) {
@@ -271,4 +370,176 @@ public class ScannerManager {
         }
         log.success("disableScanner(out)", 1);
     }
+
+    /**
+     * Locks a scan session on scannerType has to hold, in a fixed order. Scanners sharing a lock only take it once.
+     */
+    private List<Lock> getSessionLocks(ScannerType scannerType) {
+        if (lockPerScanner) {
+            return getSessionLocks(getScanners(scannerType));
+        }
+        List<Lock> sessionLocks = new ArrayList<>();
+        for (Map.Entry<String, Lock> entry : scannerLocks.entrySet()) {
+            if ((scannerType == ScannerType.BOTH || scannerType.name().equals(entry.getKey())) && !sessionLocks.contains(entry.getValue())) {
+                sessionLocks.add(entry.getValue());
+            }
+        }
+        return sessionLocks;
+    }
+
+    private List<Lock> getSessionLocks(List<? extends ScannerDevice> sessionScanners) {
+        List<Lock> sessionLocks = new ArrayList<>();
+        for (ScannerDevice scanner : sessionScanners) {
+            Lock sessionLock = scannerLocks.get(lockPerScanner ? scanner.getScannerId() : scanner.getScannerType());
+            if (sessionLock != null && !sessionLocks.contains(sessionLock)) {
+                sessionLocks.add(sessionLock);
+            }
+        }
+        return sessionLocks;
+    }
+
+    /**
+     * Default flatbed and handheld scanners of scannerType, also used for the type health endpoints. Pooled scanners
+     * are only reachable by id.
+     */
+    private List<? extends ScannerDevice> getScanners(ScannerType scannerType) {
+        if (scannerType == ScannerType.BOTH) {
+            return getScannerIndex().defaultScanners;
+        }
+        return getScannerIndex().byType.getOrDefault(scannerType, Collections.emptyList());
+    }
+
+    private List<ScannerDevice> getScanners(List<String> scannerIds) throws ScannerException {
+        Map<String, ScannerDevice> byId = getScannerIndex().byId;
+        List<ScannerDevice> sessionScanners = new ArrayList<>(scannerIds.size());
+        for (String scannerId : scannerIds) {
+            ScannerDevice scanner = byId.get(scannerId);
+            if (scanner == null) {
+                log.success("Unknown scanner id " + scannerId, 5);
+                throw new ScannerException(ScannerError.UNKNOWN_DEVICE);
+            }
+            if (!sessionScanners.contains(scanner)) {
+                sessionScanners.add(scanner);
+            }
+        }
+        return sessionScanners;
+    }
+
+    /**
+     * Scanners by type and by id, built on first use so requests do not walk the scanner list.
+     */
+    private ScannerIndex getScannerIndex() {
+        ScannerIndex index = scannerIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = scannerIndex;
+                if (index == null) {
+                    index = new ScannerIndex(scanners);
+                    scannerIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private Timer getCancelLatency(String scannerTag) {
+        return cancelLatency.computeIfAbsent(scannerTag, tag -> Timer.builder("possum.scanner.cancel.latency")
+                .description("Time from a cancel request until the waiting scan is released")
+                .tag("scanner", tag)
+                .register(Metrics.globalRegistry));
+    }
+
+    /**
+     * Sessions on different scanners run at the same time, so each call gets its own pool.
+     */
+    private ExecutorService getExecutor(int threads) {
+        return isTest ? executor : Executors.newFixedThreadPool(threads);
+    }
+
+    private static Map<ScannerType, Lock> sharedLocks(Lock scannerLock) {
+        Map<ScannerType, Lock> scannerLocks = new EnumMap<>(ScannerType.class);
+        if (scannerLock != null) {
+            scannerLocks.put(ScannerType.FLATBED, scannerLock);
+            scannerLocks.put(ScannerType.HANDHELD, scannerLock);
+        }
+        return scannerLocks;
+    }
+
+    private static Map<String, Lock> typeLocks(List<? extends ScannerDevice> scanners, Map<ScannerType, ? extends Lock> scannerLocks) {
+        if (scanners == null) {
+            throw new IllegalArgumentException("scanners cannot be null");
+        }
+        if (scannerLocks == null) {
+            throw new IllegalArgumentException("scannerLock cannot be null");
+        }
+        Map<String, Lock> typeLocks = new LinkedHashMap<>();
+        for (ScannerType scannerType : ScannerType.values()) {
+            if (scannerType != ScannerType.BOTH) {
+                Lock scannerLock = scannerLocks.get(scannerType);
+                if (scannerLock == null) {
+                    throw new IllegalArgumentException("scannerLock cannot be null");
+                }
+                typeLocks.put(scannerType.name(), scannerLock);
+            }
+        }
+        return typeLocks;
+    }
+
+    private static Map<String, Lock> scannerLocks(List<? extends ScannerDevice> scanners, Supplier<? extends Lock> lockFactory) {
+        if (scanners == null) {
+            throw new IllegalArgumentException("scanners cannot be null");
+        }
+        if (lockFactory == null) {
+            throw new IllegalArgumentException("lockFactory cannot be null");
+        }
+        Map<String, Lock> scannerLocks = new LinkedHashMap<>();
+        for (ScannerDevice scanner : scanners) {
+            if (scannerLocks.putIfAbsent(scanner.getScannerId(), lockFactory.get()) != null) {
+                throw new IllegalArgumentException("scannerId " + scanner.getScannerId() + " is not unique");
+            }
+        }
+        return scannerLocks;
+    }
+
+    private void publishHealth(ScannerDevice scanner, boolean isReady) {
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(getHealthKey(scanner), scanner.getDeviceName(), isReady ? DeviceHealth.READY : DeviceHealth.NOTREADY);
+    }
+
+    private String getHealthKey(ScannerDevice scanner) {
+        //The default scanner of each type keeps the key the availability endpoints read
+        if (!isDefaultScanner(scanner)) {
+            return SCANNER_HEALTH_KEY_PREFIX + scanner.getScannerId();
+        }
+        return ScannerType.HANDHELD.name().equals(scanner.getScannerType()) ? DeviceHealthSnapshotSingleton.HANDHELD_SCANNER : DeviceHealthSnapshotSingleton.FLATBED_SCANNER;
+    }
+
+    /**
+     * The default flatbed and handheld scanners carry no id or the id of their type, any other id is a pooled scanner.
+     */
+    private static boolean isDefaultScanner(ScannerDevice scanner) {
+        String scannerId = scanner.getScannerId();
+        return scannerId == null || scannerId.equalsIgnoreCase(scanner.getScannerType());
+    }
+
+    private static class ScannerIndex {
+        //Only default scanners, the type endpoints must not lock or enable a pooled scanner serving an id session
+        private final Map<ScannerType, List<ScannerDevice>> byType = new EnumMap<>(ScannerType.class);
+        private final List<ScannerDevice> defaultScanners = new ArrayList<>();
+        private final Map<String, ScannerDevice> byId = new LinkedHashMap<>();
+
+        ScannerIndex(List<? extends ScannerDevice> scanners) {
+            for (ScannerDevice scanner : scanners) {
+                ScannerType scannerType = ScannerType.fromValue(scanner.getScannerType());
+                if (isDefaultScanner(scanner)) {
+                    defaultScanners.add(scanner);
+                    if (scannerType != null) {
+                        byType.computeIfAbsent(scannerType, type -> new ArrayList<>()).add(scanner);
+                    }
+                }
+                if (scanner.getScannerId() != null) {
+                    byId.putIfAbsent(scanner.getScannerId(), scanner);
+                }
+            }
+        }
+    }
 }
@@ -1,9 +1,17 @@
 package com.target.devicemanager.components.scanner.entities;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class Barcode {
     public String data;
     public BarcodeType type;
     public ScannerType source;
+    //Exact label bytes for binary symbologies, serialized as Base64 and left out when not set
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public byte[] rawData;
+    //Fields parsed from the label when -DparseBarcodes=true, left out otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public ParsedBarcode parsed;
 
     public Barcode() {
     }
@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.target.devicemanager.common.EnumDeserializer;
 import jpos.ScannerConst;
 
-import java.util.Arrays;
+import java.util.Map;
 
 public enum BarcodeType {
     UPCA(ScannerConst.SCAN_SDT_UPCA),
@@ -49,6 +49,9 @@ public enum BarcodeType {
     UNKNOWN(ScannerConst.SCAN_SDT_UNKNOWN);
 
     private final int scannerBarcodeType;
+    private static final Map<String, BarcodeType> BY_NAME = EnumDeserializer.lookupTable(BarcodeType.class);
+    //Indexed by the UPOS symbology constant, fromInt runs for every label the scanners report
+    private static final BarcodeType[] BY_VALUE = buildValueTable();
 
     BarcodeType(int barCodeType) {
         scannerBarcodeType = barCodeType;
@@ -56,17 +59,31 @@ public enum BarcodeType {
 
     @JsonCreator
     public static BarcodeType fromValue(String valueToDeserialize) {
-        BarcodeType type = EnumDeserializer.deserialize(Arrays.asList(values()), valueToDeserialize);
+        BarcodeType type = EnumDeserializer.deserialize(BY_NAME, valueToDeserialize);
         return type == null ? UNKNOWN : type;
     }
 
     public static BarcodeType fromInt(int id) {
-        for (BarcodeType barcodeType : values()) {
-            if (barcodeType.getValue() == id) {
-                return barcodeType;
+        if (id < 0 || id >= BY_VALUE.length || BY_VALUE[id] == null) {
+            return BarcodeType.UNKNOWN;
+        }
+        return BY_VALUE[id];
+    }
+
+    private static BarcodeType[] buildValueTable() {
+        BarcodeType[] barcodeTypes = values();
+        int maxValue = 0;
+        for (BarcodeType barcodeType : barcodeTypes) {
+            maxValue = Math.max(maxValue, barcodeType.scannerBarcodeType);
+        }
+        BarcodeType[] valueTable = new BarcodeType[maxValue + 1];
+        for (BarcodeType barcodeType : barcodeTypes) {
+            //Some symbologies share a constant (EAN8 and JAN8), the first one declared wins
+            if (barcodeType.scannerBarcodeType >= 0 && valueTable[barcodeType.scannerBarcodeType] == null) {
+                valueTable[barcodeType.scannerBarcodeType] = barcodeType;
             }
         }
-        return BarcodeType.UNKNOWN;
+        return valueTable;
     }
 
     public int getValue() {
@@ -0,0 +1,28 @@
+package com.target.devicemanager.components.scanner.entities;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * Structured fields taken out of a GS1 element string or a UPC/EAN label. Only the fields present in the label are
+ * set. Instances are shared through the parse cache and must not be modified.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ParsedBarcode {
+    public String gtin;
+    public Boolean checkDigitValid;
+    public Boolean coupon;
+    public String expiry;
+    public String bestBefore;
+    public String batch;
+    public String serial;
+    public String netWeight;
+    public String weightUnit;
+    public String price;
+    public String currency;
+    //Every application identifier in the label with its raw value, in label order
+    public Map<String, String> applicationIdentifiers;
+    //Set when the element string could not be parsed to the end, holds the remainder
+    public String unparsed;
+}
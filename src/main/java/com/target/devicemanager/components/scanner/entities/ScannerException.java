@@ -7,6 +7,8 @@ import jpos.JposException;
 
 public class ScannerException extends DeviceException {
     private static final long serialVersionUID = 1L;
+    //Extended code of the JPOS_E_BUSY a scanner raises while its background reconnect runs, a plain JPOS_E_BUSY stays DEVICE_BUSY
+    public static final int RECOVERING_ERROR_CODE_EXTENDED = JposConst.JPOSERREXT + 900;
 
     public ScannerException(DeviceError scannerError) {
         super(scannerError);
@@ -21,6 +23,10 @@ public class ScannerException extends DeviceException {
         errorCodeMap.put(JposConst.JPOS_E_ILLEGAL, ScannerError.UNEXPECTED_ERROR);
         errorCodeMap.put(JposConst.JPOS_E_CLOSED, ScannerError.DEVICE_OFFLINE);
 
+        if (originalException.getErrorCode() == JposConst.JPOS_E_BUSY && originalException.getErrorCodeExtended() == RECOVERING_ERROR_CODE_EXTENDED) {
+            super.deviceError = ScannerError.RECOVERING;
+            return;
+        }
         super.deviceError = errorCodeMap.getOrDefault(originalException.getErrorCode(),
                 errorCodeMap.getOrDefault(originalException.getErrorCodeExtended(), DeviceError.UNEXPECTED_ERROR));
     }
@@ -0,0 +1,43 @@
+package com.target.devicemanager.components.scanner.entities;
+
+import com.target.devicemanager.common.entities.DeviceHealth;
+
+public class ScannerSummary {
+
+    private final String scannerId;
+    private final ScannerType scannerType;
+    private final String deviceName;
+    private final DeviceHealth health;
+
+    public ScannerSummary(String scannerId, ScannerType scannerType, String deviceName, DeviceHealth health) {
+        this.scannerId = scannerId;
+        this.scannerType = scannerType;
+        this.deviceName = deviceName == null ? "" : deviceName;
+        this.health = health == null ? DeviceHealth.NOTREADY : health;
+    }
+
+    public String getScannerId() {
+        return scannerId;
+    }
+
+    public ScannerType getScannerType() {
+        return scannerType;
+    }
+
+    public String getDeviceName() {
+        return deviceName;
+    }
+
+    public DeviceHealth getHealthStatus() {
+        return health;
+    }
+
+    public String toString() {
+        return "ScannerSummary{" +
+                "scannerId='" + scannerId + '\'' +
+                ", scannerType=" + scannerType +
+                ", deviceName='" + deviceName + '\'' +
+                ", health=" + health +
+                '}';
+    }
+}
@@ -3,7 +3,7 @@ package com.target.devicemanager.components.scanner.entities;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.target.devicemanager.common.EnumDeserializer;
 
-import java.util.Arrays;
+import java.util.Map;
 
 public enum ScannerType {
     HANDHELD("HANDHELD"),
@@ -11,6 +11,7 @@ public enum ScannerType {
     BOTH("BOTH");
 
     private final String scannerTypeString;
+    private static final Map<String, ScannerType> BY_NAME = EnumDeserializer.lookupTable(ScannerType.class);
 
     ScannerType(String scannerTypeString) {
         this.scannerTypeString = scannerTypeString;
@@ -18,7 +19,7 @@ public enum ScannerType {
 
     @JsonCreator
     public static ScannerType fromValue(String valueToDeserialize) {
-        ScannerType type = EnumDeserializer.deserialize(Arrays.asList(values()), valueToDeserialize);
+        ScannerType type = EnumDeserializer.deserialize(BY_NAME, valueToDeserialize);
         return type;
     }
 
@@ -64,6 +64,9 @@ public class SimulatedJposScanner extends Scanner {
 
     @Override
     public byte[] getScanDataLabel() {
+        if (barcode.rawData != null) {
+            return barcode.rawData;
+        }
         return barcode.data.getBytes(Charset.defaultCharset());
     }
 
@@ -1,7 +1,9 @@
 package com.target.devicemanager.configuration;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.target.devicemanager.common.DeviceClock;
 import com.target.devicemanager.common.StructuredEventLogger;
+import com.target.devicemanager.common.VirtualDeviceClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
@@ -18,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class ApplicationConfig {
     private final boolean isSimulationMode;
+    private final DeviceClock deviceClock;
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationConfig.class);
     private static final StructuredEventLogger log = StructuredEventLogger.of(StructuredEventLogger.getConfigurationServiceName(), "ApplicationConfig", LOGGER);
 
@@ -25,6 +28,13 @@ public class ApplicationConfig {
         isSimulationMode = Boolean.parseBoolean(System.getProperty("useSimulators"));
         log.success("Application Version - PACKAGE_VERSION", 5);
         log.success("Is Simulation Mode - " + isSimulationMode, 5);
+        //Virtual time only applies to simulators, real devices always run on the wall clock
+        if (isSimulationMode && "virtual".equalsIgnoreCase(System.getProperty("simulatorClock"))) {
+            deviceClock = new VirtualDeviceClock(System.currentTimeMillis(), true);
+            log.success("Simulator Clock - virtual", 5);
+        } else {
+            deviceClock = DeviceClock.system();
+        }
     }
 
     @Bean
@@ -68,5 +78,9 @@ public class ApplicationConfig {
         return isSimulationMode;
     }
 
+    public DeviceClock getDeviceClock() {
+        return deviceClock;
+    }
+
 }
 
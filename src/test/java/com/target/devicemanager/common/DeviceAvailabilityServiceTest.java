@@ -14,13 +14,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -43,73 +55,88 @@ class DeviceAvailabilityServiceTest {
     void setUp() {
         deviceAvailabilityService = new DeviceAvailabilityService();
         deviceAvailabilitySingleton = DeviceAvailabilitySingleton.getDeviceAvailabilitySingleton();
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().reset();
     }
 
     @Test
     void Test_findDevStatus_Printer() {
         //arrange
-        DeviceHealthResponse devReady = new DeviceHealthResponse("printer", DeviceHealth.READY);
+        deviceAvailabilitySingleton.setPrinterManager(mockPrinterManager);
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.PRINTER, "printer", DeviceHealth.READY);
 
         //act
-        deviceAvailabilitySingleton.setPrinterManager(mockPrinterManager);
+        DeviceHealth actual = deviceAvailabilityService.findDevStatus("printer");
 
         //assert
-        when(deviceAvailabilitySingleton.getPrinterManager().getStatus()).thenReturn(devReady);
-        assertEquals(DeviceHealth.READY, deviceAvailabilityService.findDevStatus("printer"));
+        assertEquals(DeviceHealth.READY, actual);
+        verify(mockPrinterManager, never()).getStatus();
     }
 
     @Test
     void Test_findDevStatus_Scale() {
         //arrange
-        DeviceHealthResponse devReady = new DeviceHealthResponse("scale", DeviceHealth.READY);
+        deviceAvailabilitySingleton.setScaleManager(mockScaleManager);
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.SCALE, "scale", DeviceHealth.READY);
 
         //act
-        deviceAvailabilitySingleton.setScaleManager(mockScaleManager);
+        DeviceHealth actual = deviceAvailabilityService.findDevStatus("scale");
 
         //assert
-        when(deviceAvailabilitySingleton.getScaleManager().getStatus()).thenReturn(devReady);
-        assertEquals(DeviceHealth.READY, deviceAvailabilityService.findDevStatus("scale"));
+        assertEquals(DeviceHealth.READY, actual);
+        verify(mockScaleManager, never()).getStatus();
     }
 
     @Test
     void Test_findDevStatus_FlatbedScanner() {
         //arrange
-        DeviceHealth expected = new DeviceHealthResponse("FLATBED", DeviceHealth.NOTREADY).getHealthStatus();
         deviceAvailabilitySingleton.setScannerManager(mockScannerManager);
-        when(deviceAvailabilitySingleton.getScannerManager().getScannerHealthStatus("FLATBED")).thenReturn(expected);
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.FLATBED_SCANNER, "FLATBED", DeviceHealth.NOTREADY);
 
         //act
         DeviceHealth actual = deviceAvailabilityService.findDevStatus("flatbedscanner");
 
         //assert
-        assertEquals(expected, actual);
+        assertEquals(DeviceHealth.NOTREADY, actual);
+        verify(mockScannerManager, never()).getScannerHealthStatus(any());
     }
 
     @Test
     void Test_findDevStatus_HandScanner() {
         //arrange
-        DeviceHealth expected = new DeviceHealthResponse("HANDHELD", DeviceHealth.READY).getHealthStatus();
         deviceAvailabilitySingleton.setScannerManager(mockScannerManager);
-        when(deviceAvailabilitySingleton.getScannerManager().getScannerHealthStatus("HANDHELD")).thenReturn(expected);
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.HANDHELD_SCANNER, "HANDHELD", DeviceHealth.READY);
 
         //act
         DeviceHealth actual = deviceAvailabilityService.findDevStatus("handscanner");
 
         //assert
-        assertEquals(expected, actual);
+        assertEquals(DeviceHealth.READY, actual);
+        verify(mockScannerManager, never()).getScannerHealthStatus(any());
     }
 
     @Test
     void Test_findDevStatus_LineDisplay() {
         //arrange
-        DeviceHealthResponse devReady = new DeviceHealthResponse("linedisplay", DeviceHealth.READY);
+        deviceAvailabilitySingleton.setLineDisplayManager(mockLineDisplayManager);
+        DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton().publish(DeviceHealthSnapshotSingleton.LINE_DISPLAY, "linedisplay", DeviceHealth.READY);
 
         //act
-        deviceAvailabilitySingleton.setLineDisplayManager(mockLineDisplayManager);
+        DeviceHealth actual = deviceAvailabilityService.findDevStatus("linedisplay");
+
+        //assert
+        assertEquals(DeviceHealth.READY, actual);
+        verify(mockLineDisplayManager, never()).getStatus();
+    }
+
+    @Test
+    void Test_findDevStatus_WhenNotPublished_ReturnsNotReady() {
+        //arrange
+
+        //act
+        DeviceHealth actual = deviceAvailabilityService.findDevStatus("printer");
 
         //assert
-        when(deviceAvailabilitySingleton.getLineDisplayManager().getStatus()).thenReturn(devReady);
-        assertEquals(DeviceHealth.READY, deviceAvailabilityService.findDevStatus("linedisplay"));
+        assertEquals(DeviceHealth.NOTREADY, actual);
     }
 
     @Test
@@ -176,4 +203,37 @@ class DeviceAvailabilityServiceTest {
         assertTrue(respString.contains("calibrated_count=null"));
         assertTrue(respString.contains("has_remote_display=false"));
     }
+
+    @Test
+    void Test_getAvailableDevicesResponse_IfNoneMatch_ReturnsNotModified() {
+        String confirmout_loc = "src/test/resources/scale_callibrated_true_callibration_1_has_remore_display_null.json";
+        ResponseEntity<byte[]> first = deviceAvailabilityService.getAvailableDevicesResponse(confirmout_loc, null);
+        String eTag = first.getHeaders().getETag();
+
+        ResponseEntity<byte[]> second = deviceAvailabilityService.getAvailableDevicesResponse(confirmout_loc, eTag);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(eTag);
+        assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains("\"calibrated_count\":1"));
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+    }
+
+    @Test
+    void Test_getAvailableDevices_WhenConfirmoutChanges_ReparsesFile() throws IOException {
+        Path confirmout = Files.createTempFile("confirmout-", ".json");
+        try {
+            Files.copy(Path.of("src/test/resources/scale_callibrated_true_callibration_1_has_remore_display_null.json"), confirmout, StandardCopyOption.REPLACE_EXISTING);
+            String firstETag = deviceAvailabilityService.getAvailableDevicesResponse(confirmout.toString(), null).getHeaders().getETag();
+
+            Files.copy(Path.of("src/test/resources/scale_callibrated_false_callibration_2_has_remore_display_null.json"), confirmout, StandardCopyOption.REPLACE_EXISTING);
+            DeviceAvailabilityResponse response = deviceAvailabilityService.getAvailableDevices(confirmout.toString());
+            String secondETag = deviceAvailabilityService.getAvailableDevicesResponse(confirmout.toString(), firstETag).getHeaders().getETag();
+
+            assertTrue(response.devicelist.toString().contains("calibrated_count=2"));
+            assertNotEquals(firstETag, secondETag);
+        } finally {
+            Files.deleteIfExists(confirmout);
+        }
+    }
 }
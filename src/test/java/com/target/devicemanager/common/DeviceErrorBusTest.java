@@ -0,0 +1,122 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.DeviceError;
+import com.target.devicemanager.common.entities.DeviceErrorStatus;
+import com.target.devicemanager.common.entities.DeviceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DeviceErrorBusTest {
+
+    private DeviceErrorBus deviceErrorBus;
+
+    @Mock
+    private SseEmitter mockSseEmitter;
+
+    @BeforeEach
+    void setUp() {
+        deviceErrorBus = new DeviceErrorBus("src/test/resources/does_not_exist.json", new SseHub(new SimpleMeterRegistry(), 8, 60000));
+    }
+
+    @Test
+    void publishError_KeepsFaultUntilCleared() {
+        //arrange
+
+        //act
+        deviceErrorBus.publishError("printer", DeviceError.DEVICE_OFFLINE);
+        List<DeviceErrorStatus> faulted = deviceErrorBus.getDeviceErrorStatuses();
+        deviceErrorBus.clearError("printer");
+        List<DeviceErrorStatus> cleared = deviceErrorBus.getDeviceErrorStatuses();
+
+        //assert
+        assertTrue(faulted.get(0).faultPresent);
+        assertEquals(DeviceError.DEVICE_OFFLINE, faulted.get(0).deviceError);
+        assertFalse(cleared.get(0).faultPresent);
+        assertEquals(2, deviceErrorBus.getSequence());
+    }
+
+    @Test
+    void publishError_WhenStateUnchanged_DoesNotAdvanceSequence() {
+        //arrange
+        deviceErrorBus.publishError("printer", DeviceError.DEVICE_OFFLINE);
+
+        //act
+        deviceErrorBus.publishError("printer", DeviceError.DEVICE_OFFLINE);
+
+        //assert
+        assertEquals(1, deviceErrorBus.getSequence());
+    }
+
+    @Test
+    void clearAllErrors_ClearsOnlyFaultedDevices() {
+        //arrange
+        deviceErrorBus.publishError("printer", DeviceError.DEVICE_OFFLINE);
+        deviceErrorBus.clearError("scale");
+
+        //act
+        deviceErrorBus.clearAllErrors();
+
+        //assert
+        assertEquals(3, deviceErrorBus.getSequence());
+        deviceErrorBus.getDeviceErrorStatuses().forEach(status -> assertFalse(status.faultPresent));
+    }
+
+    @Test
+    void subscribe_WithoutLastEventId_SendsSnapshotThenDeltas() throws IOException, DeviceException {
+        //arrange
+        deviceErrorBus.publishError("printer", DeviceError.DEVICE_OFFLINE);
+
+        //act
+        deviceErrorBus.subscribe(mockSseEmitter, null);
+        deviceErrorBus.clearError("printer");
+
+        //assert
+        verify(mockSseEmitter, timeout(1000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ReplaysMissedDeltas() throws IOException, DeviceException {
+        //arrange
+        deviceErrorBus.publishError("printer", DeviceError.DEVICE_OFFLINE);
+        deviceErrorBus.clearError("printer");
+        deviceErrorBus.publishError("scale", DeviceError.DEVICE_BUSY);
+
+        //act
+        deviceErrorBus.subscribe(mockSseEmitter, 1L);
+
+        //assert
+        verify(mockSseEmitter, timeout(1000).times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void subscribe_WhenSendFails_DropsSubscriber() throws IOException, DeviceException {
+        //arrange
+        doThrow(new IOException()).when(mockSseEmitter).send(any(SseEmitter.SseEventBuilder.class));
+        deviceErrorBus.subscribe(mockSseEmitter, null);
+        verify(mockSseEmitter, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+
+        //act
+        deviceErrorBus.publishError("printer", DeviceError.DEVICE_OFFLINE);
+
+        //assert
+        verify(mockSseEmitter, after(200).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+}
@@ -0,0 +1,75 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.DeviceHealth;
+import com.target.devicemanager.common.entities.DeviceHealthResponse;
+import com.target.devicemanager.common.entities.DeviceHealthSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DeviceHealthSnapshotSingletonTest {
+
+    private DeviceHealthSnapshotSingleton deviceHealthSnapshotSingleton;
+
+    @BeforeEach
+    void setUp() {
+        deviceHealthSnapshotSingleton = DeviceHealthSnapshotSingleton.getDeviceHealthSnapshotSingleton();
+        deviceHealthSnapshotSingleton.reset();
+    }
+
+    @Test
+    void getHealth_WhenNeverPublished_ReturnsNotReady() {
+        //arrange
+
+        //act
+        DeviceHealthResponse actual = deviceHealthSnapshotSingleton.getHealth(DeviceHealthSnapshotSingleton.PRINTER, "printer");
+
+        //assert
+        assertEquals("printer", actual.getDeviceName());
+        assertEquals(DeviceHealth.NOTREADY, actual.getHealthStatus());
+    }
+
+    @Test
+    void publish_WhenHealthChanges_ReplacesSnapshot() {
+        //arrange
+        DeviceHealthSnapshot before = deviceHealthSnapshotSingleton.getSnapshot();
+
+        //act
+        deviceHealthSnapshotSingleton.publish(DeviceHealthSnapshotSingleton.SCALE, "scale", DeviceHealth.READY);
+
+        //assert
+        DeviceHealthSnapshot after = deviceHealthSnapshotSingleton.getSnapshot();
+        assertNotSame(before, after);
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(DeviceHealth.READY, deviceHealthSnapshotSingleton.getHealth(DeviceHealthSnapshotSingleton.SCALE, "scale").getHealthStatus());
+        assertEquals(0, before.getDeviceHealthResponses().size());
+    }
+
+    @Test
+    void publish_WhenHealthUnchanged_KeepsSnapshot() {
+        //arrange
+        deviceHealthSnapshotSingleton.publish(DeviceHealthSnapshotSingleton.SCALE, "scale", DeviceHealth.READY);
+        DeviceHealthSnapshot before = deviceHealthSnapshotSingleton.getSnapshot();
+
+        //act
+        deviceHealthSnapshotSingleton.publish(DeviceHealthSnapshotSingleton.SCALE, "scale", DeviceHealth.READY);
+
+        //assert
+        assertSame(before, deviceHealthSnapshotSingleton.getSnapshot());
+    }
+
+    @Test
+    void getHealth_WhenCallerUpdatesResponse_SnapshotIsUnchanged() {
+        //arrange
+        deviceHealthSnapshotSingleton.publish(DeviceHealthSnapshotSingleton.LINE_DISPLAY, "linedisplay", DeviceHealth.READY);
+
+        //act
+        deviceHealthSnapshotSingleton.getHealth(DeviceHealthSnapshotSingleton.LINE_DISPLAY, "linedisplay").updateHealthStatus(DeviceHealth.NOTREADY);
+
+        //assert
+        assertEquals(DeviceHealth.READY, deviceHealthSnapshotSingleton.getHealth(DeviceHealthSnapshotSingleton.LINE_DISPLAY, "linedisplay").getHealthStatus());
+    }
+}
@@ -0,0 +1,74 @@
+package com.target.devicemanager.common;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jpos.JposConst;
+import jpos.JposException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeviceOperationEventTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void commitSuccess_WhenRecording_RecordsDeviceAndLogicalName() throws Exception {
+        //arrange
+        Path file = tempDir.resolve("success.jfr");
+
+        //act
+        try (Recording recording = new Recording()) {
+            recording.enable(DeviceOperationEvent.NAME_PREFIX + "PrintJob");
+            recording.start();
+            DeviceOperationEvent.PrintJob printJob = new DeviceOperationEvent.PrintJob("posprinter");
+            printJob.begin();
+            printJob.commitSuccess("NCR-7199-Printer");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //assert
+        List<RecordedEvent> events = readEvents(file, "PrintJob");
+        assertEquals(1, events.size());
+        assertEquals("posprinter", events.get(0).getString("device"));
+        assertEquals("NCR-7199-Printer", events.get(0).getString("logicalName"));
+        assertEquals(DeviceOperationMetrics.SUCCESS, events.get(0).getString("outcome"));
+    }
+
+    @Test
+    void commitFailure_WhenDisabled_RecordsCancelled() throws Exception {
+        //arrange
+        Path file = tempDir.resolve("cancelled.jfr");
+
+        //act
+        try (Recording recording = new Recording()) {
+            recording.enable(DeviceOperationEvent.NAME_PREFIX + "ScanSession");
+            recording.start();
+            DeviceOperationEvent.ScanSession scanSession = new DeviceOperationEvent.ScanSession("scanner");
+            scanSession.begin();
+            scanSession.commitFailure("DLS-Magellan-USB-Scanner", new JposException(JposConst.JPOS_E_DISABLED));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        //assert
+        List<RecordedEvent> events = readEvents(file, "ScanSession");
+        assertEquals(1, events.size());
+        assertEquals(DeviceOperationMetrics.CANCELLED, events.get(0).getString("outcome"));
+        assertEquals("JPOS_" + JposConst.JPOS_E_DISABLED, events.get(0).getString("error"));
+    }
+
+    private static List<RecordedEvent> readEvents(Path file, String eventName) throws Exception {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(DeviceOperationEvent.NAME_PREFIX + eventName))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,114 @@
+package com.target.devicemanager.common;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jpos.CashDrawer;
+import jpos.JposConst;
+import jpos.JposException;
+import jpos.POSPrinter;
+import jpos.Scanner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeviceOperationMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeviceOperationMetrics deviceOperationMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        deviceOperationMetrics = new DeviceOperationMetrics(meterRegistry);
+    }
+
+    @Test
+    void ctor_WhenMeterRegistryIsNull_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> new DeviceOperationMetrics(null));
+
+        //assert
+        assertEquals("meterRegistry cannot be null", iae.getMessage());
+    }
+
+    @Test
+    void recordSuccess_TagsTimerByDeviceOperationAndLogicalName() {
+        //arrange
+
+        //act
+        deviceOperationMetrics.recordSuccess("scanner", "scan", "DLS-Magellan-USB-Scanner", System.nanoTime());
+
+        //assert
+        assertEquals(1, meterRegistry.get(DeviceOperationMetrics.OPERATION_TIMER)
+                .tag("device", "scanner")
+                .tag("operation", "scan")
+                .tag("logical.name", "DLS-Magellan-USB-Scanner")
+                .tag("outcome", DeviceOperationMetrics.SUCCESS)
+                .timer().count());
+    }
+
+    @Test
+    void recordSuccess_WhenRepeated_RecordsOnOneTimer() {
+        //arrange
+        deviceOperationMetrics.recordSuccess("scanner", "scan", "DLS-Magellan-USB-Scanner", System.nanoTime());
+
+        //act
+        deviceOperationMetrics.recordSuccess("scanner", "scan", "DLS-Magellan-USB-Scanner", System.nanoTime());
+
+        //assert
+        assertEquals(1, meterRegistry.getMeters().size());
+        assertEquals(2, meterRegistry.get(DeviceOperationMetrics.OPERATION_TIMER).timer().count());
+    }
+
+    @Test
+    void recordFailure_WhenDisabled_RecordsCancelledWithoutError() {
+        //arrange
+
+        //act
+        deviceOperationMetrics.recordFailure("scanner", "scan", null, System.nanoTime(), new JposException(JposConst.JPOS_E_DISABLED));
+
+        //assert
+        assertEquals(1, meterRegistry.get(DeviceOperationMetrics.OPERATION_TIMER)
+                .tag("outcome", DeviceOperationMetrics.CANCELLED)
+                .tag("logical.name", "unknown")
+                .timer().count());
+        assertNull(meterRegistry.find(DeviceOperationMetrics.ERROR_COUNTER).counter());
+    }
+
+    @Test
+    void recordFailure_WhenJposError_CountsErrorByCode() {
+        //arrange
+
+        //act
+        deviceOperationMetrics.recordFailure("posprinter", "print", "Printer", System.nanoTime(), new JposException(JposConst.JPOS_E_TIMEOUT));
+
+        //assert
+        assertEquals(1, meterRegistry.get(DeviceOperationMetrics.OPERATION_TIMER)
+                .tag("outcome", DeviceOperationMetrics.FAILURE)
+                .timer().count());
+        assertEquals(1.0, meterRegistry.get(DeviceOperationMetrics.ERROR_COUNTER)
+                .tag("error", "JPOS_" + JposConst.JPOS_E_TIMEOUT)
+                .counter().count());
+    }
+
+    @Test
+    void getDeviceTag_ReturnsJposControlName() {
+        //arrange
+
+        //act
+        String scannerTag = DeviceOperationMetrics.getDeviceTag(Scanner.class);
+        String printerTag = DeviceOperationMetrics.getDeviceTag(POSPrinter.class);
+        String cashDrawerTag = DeviceOperationMetrics.getDeviceTag(CashDrawer.class);
+        String nullTag = DeviceOperationMetrics.getDeviceTag(null);
+
+        //assert
+        assertEquals("scanner", scannerTag);
+        assertEquals("posprinter", printerTag);
+        assertEquals("cashdrawer", cashDrawerTag);
+        assertEquals("unknown", nullTag);
+    }
+}
@@ -0,0 +1,70 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.components.scanner.entities.BarcodeType;
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import jpos.ScannerConst;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EnumDeserializerTest {
+
+    private final Map<String, ScannerType> lookupTable = EnumDeserializer.lookupTable(ScannerType.class);
+
+    @Test
+    void deserialize_MatchesNameIgnoringCase() {
+        //arrange
+
+        //act
+        ScannerType exact = EnumDeserializer.deserialize(lookupTable, "FLATBED");
+        ScannerType lowerCase = EnumDeserializer.deserialize(lookupTable, "handheld");
+
+        //assert
+        assertEquals(ScannerType.FLATBED, exact);
+        assertEquals(ScannerType.HANDHELD, lowerCase);
+    }
+
+    @Test
+    void deserialize_WhenUnknownOrNull_ReturnsNull() {
+        //arrange
+
+        //act
+        ScannerType unknown = EnumDeserializer.deserialize(lookupTable, "countertop");
+        ScannerType nullValue = EnumDeserializer.deserialize(lookupTable, null);
+
+        //assert
+        assertNull(unknown);
+        assertNull(nullValue);
+    }
+
+    @Test
+    void fromInt_ReturnsFirstDeclaredTypeForConstant() {
+        //arrange
+
+        //act
+        BarcodeType upca = BarcodeType.fromInt(ScannerConst.SCAN_SDT_UPCA);
+        BarcodeType ean8 = BarcodeType.fromInt(ScannerConst.SCAN_SDT_EAN8);
+        BarcodeType other = BarcodeType.fromInt(ScannerConst.SCAN_SDT_OTHER);
+
+        //assert
+        assertEquals(BarcodeType.UPCA, upca);
+        assertEquals(BarcodeType.EAN8, ean8);
+        assertEquals(BarcodeType.OTHER, other);
+    }
+
+    @Test
+    void fromInt_WhenOutOfRange_ReturnsUnknown() {
+        //arrange
+
+        //act
+        BarcodeType negative = BarcodeType.fromInt(-1);
+        BarcodeType tooLarge = BarcodeType.fromInt(Integer.MAX_VALUE);
+
+        //assert
+        assertEquals(BarcodeType.UNKNOWN, negative);
+        assertEquals(BarcodeType.UNKNOWN, tooLarge);
+    }
+}
@@ -0,0 +1,113 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.JposEventRecord;
+import jpos.JposConst;
+import jpos.POSPrinterConst;
+import jpos.events.DataEvent;
+import jpos.events.ErrorEvent;
+import jpos.events.StatusUpdateEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JposEventRecorderTest {
+
+    private final Object source = new Object();
+
+    @Test
+    void ctor_WhenDeviceIsNull_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> new JposEventRecorder(null, 4));
+
+        //assert
+        assertEquals("device cannot be null", iae.getMessage());
+    }
+
+    @Test
+    void ctor_WhenCapacityIsZero_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> new JposEventRecorder("posprinter", 0));
+
+        //assert
+        assertEquals("capacity must be positive", iae.getMessage());
+    }
+
+    @Test
+    void record_KeepsEventDetailsAndDeliveringThread() {
+        //arrange
+        JposEventRecorder jposEventRecorder = new JposEventRecorder("posprinter", 4);
+
+        //act
+        jposEventRecorder.record(new StatusUpdateEvent(source, POSPrinterConst.PTR_SUE_COVER_OPEN));
+        jposEventRecorder.record(new ErrorEvent(source, JposConst.JPOS_E_EXTENDED, POSPrinterConst.JPOS_EPTR_REC_EMPTY, JposConst.JPOS_EL_OUTPUT, JposConst.JPOS_ER_RETRY));
+
+        //assert
+        List<JposEventRecord> events = jposEventRecorder.getEvents();
+        assertEquals(2, events.size());
+        assertEquals(JposEventRecorder.STATUS_UPDATE, events.get(0).getEventType());
+        assertEquals(POSPrinterConst.PTR_SUE_COVER_OPEN, events.get(0).getCode());
+        assertEquals(JposEventRecorder.ERROR, events.get(1).getEventType());
+        assertEquals(JposConst.JPOS_E_EXTENDED, events.get(1).getCode());
+        assertEquals(POSPrinterConst.JPOS_EPTR_REC_EMPTY, events.get(1).getCodeExtended());
+        assertEquals(JposConst.JPOS_EL_OUTPUT, events.get(1).getErrorLocus());
+        assertEquals(JposConst.JPOS_ER_RETRY, events.get(1).getErrorResponse());
+        assertEquals(Thread.currentThread().getName(), events.get(1).getThreadName());
+        assertTrue(events.get(0).getNanoTime() <= events.get(1).getNanoTime());
+    }
+
+    @Test
+    void record_WhenRingIsFull_OverwritesOldestEvents() {
+        //arrange
+        JposEventRecorder jposEventRecorder = new JposEventRecorder("scanner.flatbed", 2);
+
+        //act
+        jposEventRecorder.record(new DataEvent(source, 1));
+        jposEventRecorder.record(new DataEvent(source, 2));
+        jposEventRecorder.record(new DataEvent(source, 3));
+
+        //assert
+        List<JposEventRecord> events = jposEventRecorder.getEvents();
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(0).getCode());
+        assertEquals(1, events.get(0).getSequence());
+        assertEquals(3, events.get(1).getCode());
+        assertEquals(3, jposEventRecorder.getRecordedCount());
+    }
+
+    @Test
+    void record_WhenSameEventIsForwarded_RecordsItOnce() {
+        //arrange
+        JposEventRecorder jposEventRecorder = new JposEventRecorder("posprinter", 4);
+        StatusUpdateEvent statusUpdateEvent = new StatusUpdateEvent(source, POSPrinterConst.PTR_SUE_COVER_OPEN);
+
+        //act
+        jposEventRecorder.record(statusUpdateEvent);
+        jposEventRecorder.record(statusUpdateEvent);
+        jposEventRecorder.record(null);
+
+        //assert
+        assertEquals(1, jposEventRecorder.getRecordedCount());
+    }
+
+    @Test
+    void getRecorder_ReturnsSameRecorderForDevice() {
+        //arrange
+
+        //act
+        JposEventRecorder jposEventRecorder = JposEventRecorder.getRecorder("scale");
+
+        //assert
+        assertSame(jposEventRecorder, JposEventRecorder.getRecorder("scale"));
+        assertSame(jposEventRecorder, JposEventRecorder.getRecorders().get("scale"));
+        assertEquals(JposEventRecorder.DEFAULT_CAPACITY, jposEventRecorder.getCapacity());
+    }
+}
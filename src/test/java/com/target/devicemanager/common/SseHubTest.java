@@ -0,0 +1,174 @@
+package com.target.devicemanager.common;
+
+import com.target.devicemanager.common.entities.DeviceError;
+import com.target.devicemanager.common.entities.DeviceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SseHubTest {
+
+    private static final String TOPIC = "test";
+
+    private SseHub sseHub;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Mock
+    private SseEmitter mockSseEmitter;
+
+    @Mock
+    private SseEmitter mockSseEmitter2;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sseHub = new SseHub(meterRegistry, 1, 60000);
+        sseHub.registerTopic(TOPIC, 4, SseHub.OverflowPolicy.DROP_OLDEST);
+    }
+
+    @Test
+    void publish_SendsToSubscriberAndRecordsMetrics() throws IOException, DeviceException {
+        //arrange
+        sseHub.subscribe(TOPIC, mockSseEmitter);
+
+        //act
+        sseHub.publish(TOPIC, null, null, "{\"weight\":\"1.00\"}");
+
+        //assert
+        verify(mockSseEmitter, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(1, meterRegistry.get("possum.sse.subscribers").tag("topic", TOPIC).gauge().value());
+        assertEquals(1, meterRegistry.get("possum.sse.send.latency").tag("topic", TOPIC).timer().count());
+        assertTrue(meterRegistry.get("possum.sse.bytes").tag("topic", TOPIC).counter().count() > 0);
+    }
+
+    @Test
+    void subscribe_WhenMaxConnectionsReached_ThrowsDeviceException() throws DeviceException {
+        //arrange
+        sseHub.subscribe(TOPIC, mockSseEmitter);
+
+        //act
+        DeviceException deviceException = assertThrows(DeviceException.class, () -> sseHub.subscribe(TOPIC, mockSseEmitter2));
+
+        //assert
+        assertEquals(DeviceError.SSE_CONNECTION_LIMIT, deviceException.getDeviceError());
+        assertEquals(1, meterRegistry.get("possum.sse.rejected").tag("topic", TOPIC).counter().count());
+        assertEquals(1, sseHub.getSubscriberCount(TOPIC));
+    }
+
+    @Test
+    void publish_WhenSendFails_RemovesSubscriberAndFreesSlot() throws IOException, DeviceException {
+        //arrange
+        doThrow(new IOException()).when(mockSseEmitter).send(any(SseEmitter.SseEventBuilder.class));
+        sseHub.subscribe(TOPIC, mockSseEmitter);
+
+        //act
+        sseHub.publish(TOPIC, null, null, "{}");
+        verify(mockSseEmitter, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+
+        //assert
+        verify(mockSseEmitter, after(200).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(0, sseHub.getSubscriberCount(TOPIC));
+        sseHub.subscribe(TOPIC, mockSseEmitter2);
+    }
+
+    @Test
+    void publish_WhenTopicNotRegistered_ThrowsIllegalArgumentException() {
+        //arrange
+
+        //act
+        IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class, () -> sseHub.publish("unknown", null, null, "{}"));
+
+        //assert
+        assertEquals("topic unknown is not registered", illegalArgumentException.getMessage());
+    }
+
+    @Test
+    void heartbeat_SendsCommentToIdleSubscriber() throws IOException, DeviceException {
+        //arrange
+        sseHub = new SseHub(new SimpleMeterRegistry(), 1, 50);
+        sseHub.registerTopic(TOPIC, 4, SseHub.OverflowPolicy.DROP_OLDEST);
+
+        //act
+        sseHub.subscribe(TOPIC, mockSseEmitter);
+
+        //assert
+        verify(mockSseEmitter, timeout(1000).atLeastOnce()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void publish_WhenSubscriberStallsInSend_OtherSubscriberStillReceivesAndStalledOneIsClosed() throws Exception {
+        //arrange
+        sseHub = new SseHub(new SimpleMeterRegistry(), 2, 60000, 100);
+        sseHub.registerTopic(TOPIC, 4, SseHub.OverflowPolicy.DROP_OLDEST);
+        CountDownLatch releaseSend = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            releaseSend.await();
+            return null;
+        }).when(mockSseEmitter).send(any(SseEmitter.SseEventBuilder.class));
+        sseHub.subscribe(TOPIC, mockSseEmitter);
+        sseHub.subscribe(TOPIC, mockSseEmitter2);
+
+        try {
+            //act
+            sseHub.publish(TOPIC, null, null, "{}");
+
+            //assert
+            verify(mockSseEmitter2, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+            verify(mockSseEmitter, timeout(1000)).complete();
+            assertEquals(1, sseHub.getSubscriberCount(TOPIC));
+        } finally {
+            releaseSend.countDown();
+        }
+    }
+
+    @Test
+    void publish_WhenDisconnectPolicyOverflows_CompletesEmitterOffThePublishingThread() throws Exception {
+        //arrange
+        sseHub.registerTopic("disconnect", 1, SseHub.OverflowPolicy.DISCONNECT);
+        CountDownLatch releaseSend = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            releaseSend.await();
+            return null;
+        }).when(mockSseEmitter).send(any(SseEmitter.SseEventBuilder.class));
+        AtomicReference<Thread> completingThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            completingThread.set(Thread.currentThread());
+            return null;
+        }).when(mockSseEmitter).complete();
+        sseHub.subscribe("disconnect", mockSseEmitter);
+        sseHub.publish("disconnect", null, null, "{}");
+        verify(mockSseEmitter, timeout(1000)).send(any(SseEmitter.SseEventBuilder.class));
+        sseHub.publish("disconnect", null, null, "{}");
+
+        try {
+            //act
+            sseHub.publish("disconnect", null, null, "{}");
+
+            //assert
+            verify(mockSseEmitter, timeout(1000)).complete();
+            assertNotEquals(Thread.currentThread(), completingThread.get());
+            assertEquals(0, sseHub.getSubscriberCount("disconnect"));
+        } finally {
+            releaseSend.countDown();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.target.devicemanager.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class TraceContextTest {
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void ctor_WhenTraceIdIsNull_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> new TraceContext(null, "1"));
+
+        //assert
+        assertEquals("traceId cannot be null", iae.getMessage());
+    }
+
+    @Test
+    void attach_WhenClosed_RestoresPreviousContext() {
+        //arrange
+        TraceContext outer = new TraceContext("a", "1");
+        TraceContext inner = new TraceContext("b", "2");
+
+        //act
+        TraceContext insideInner;
+        String innerTraceId;
+        TraceContext afterInner;
+        String afterInnerTransactionId;
+        try (TraceContext.Scope outerScope = TraceContext.attach(outer)) {
+            try (TraceContext.Scope innerScope = TraceContext.attach(inner)) {
+                insideInner = TraceContext.current();
+                innerTraceId = MDC.get(TraceContext.MDC_TRACE_ID);
+            }
+            afterInner = TraceContext.current();
+            afterInnerTransactionId = MDC.get(TraceContext.MDC_TRANSACTION_ID);
+        }
+
+        //assert
+        assertSame(inner, insideInner);
+        assertEquals("b", innerTraceId);
+        assertSame(outer, afterInner);
+        assertEquals("1", afterInnerTransactionId);
+        assertNull(TraceContext.current());
+        assertNull(MDC.get(TraceContext.MDC_TRACE_ID));
+    }
+
+    @Test
+    void wrap_WhenRunOnAnotherThread_CarriesContext() throws Exception {
+        //arrange
+        TraceContext traceContext = new TraceContext("a", "1");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Callable<TraceContext> task;
+        try (TraceContext.Scope scope = TraceContext.attach(traceContext)) {
+            task = TraceContext.wrap(TraceContext::current);
+        }
+
+        //act
+        TraceContext actual;
+        try {
+            actual = executor.submit(task).get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //assert
+        assertSame(traceContext, actual);
+        assertNull(TraceContext.current());
+    }
+
+    @Test
+    void newId_ReturnsHexOfLength() {
+        //arrange
+
+        //act
+        String traceId = TraceContext.newId(32);
+        String spanId = TraceContext.newId(16);
+
+        //assert
+        assertTrue(traceId.matches("[0-9a-f]{32}"));
+        assertTrue(spanId.matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filter_WithCorrelationHeader_AttachesItAndEchoesIt() throws Exception {
+        //arrange
+        TraceContextFilter traceContextFilter = new TraceContextFilter(mock(ObjectProvider.class));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/scan");
+        request.addHeader(TraceContext.CORRELATION_HEADER, "lane7-sale-42");
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<TraceContext> seen = new AtomicReference<>();
+
+        //act
+        traceContextFilter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest servletRequest, jakarta.servlet.ServletResponse servletResponse) {
+                seen.set(TraceContext.current());
+            }
+        });
+
+        //assert
+        assertEquals("lane7-sale-42", seen.get().getTransactionId());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", seen.get().getTraceId());
+        assertEquals("lane7-sale-42", response.getHeader(TraceContext.CORRELATION_HEADER));
+        assertNull(TraceContext.current());
+    }
+}
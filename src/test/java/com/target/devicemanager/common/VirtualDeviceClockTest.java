@@ -0,0 +1,175 @@
+package com.target.devicemanager.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualDeviceClockTest {
+
+    private VirtualDeviceClock virtualDeviceClock;
+
+    @BeforeEach
+    void setUp() {
+        virtualDeviceClock = new VirtualDeviceClock(1000);
+    }
+
+    @Test
+    void sleep_ReturnsOnlyOnceClockAdvancedPastWakeTime() throws InterruptedException, ExecutionException {
+        //arrange
+        CompletableFuture<Void> sleeper = CompletableFuture.runAsync(() -> {
+            try {
+                virtualDeviceClock.sleep(30000);
+            } catch (InterruptedException interruptedException) {
+                throw new RuntimeException(interruptedException);
+            }
+        });
+        assertTrue(virtualDeviceClock.awaitWaiters(1, 1000));
+
+        //act
+        virtualDeviceClock.advance(29999);
+        boolean wokeEarly = sleeper.isDone();
+        virtualDeviceClock.advance(1);
+
+        //assert
+        sleeper.get();
+        assertFalse(wokeEarly);
+        assertEquals(31000, virtualDeviceClock.currentTimeMillis());
+        assertEquals(0, virtualDeviceClock.getWaiterCount());
+    }
+
+    @Test
+    void sleep_AutoAdvance_MovesClockWithoutBlocking() throws InterruptedException {
+        //arrange
+        VirtualDeviceClock autoAdvanceClock = new VirtualDeviceClock(1000, true);
+
+        //act
+        autoAdvanceClock.sleep(500);
+        autoAdvanceClock.sleep(500);
+
+        //assert
+        assertEquals(2000, autoAdvanceClock.currentTimeMillis());
+    }
+
+    @Test
+    void get_ReturnsCompletedFutureBeforeDeadline() throws InterruptedException, ExecutionException, TimeoutException {
+        //arrange
+        CompletableFuture<String> future = CompletableFuture.completedFuture("done");
+
+        //act
+        String result = virtualDeviceClock.get(future, 35, TimeUnit.SECONDS);
+
+        //assert
+        assertEquals("done", result);
+    }
+
+    @Test
+    void get_TimesOutWhenClockPassesDeadline() throws InterruptedException {
+        //arrange
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<Throwable> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                virtualDeviceClock.get(future, 35, TimeUnit.SECONDS);
+                return null;
+            } catch (Exception exception) {
+                return exception;
+            }
+        });
+        assertTrue(virtualDeviceClock.awaitWaiters(1, 1000));
+
+        //act
+        virtualDeviceClock.advance(TimeUnit.SECONDS.toMillis(35));
+
+        //assert
+        assertTrue(waiter.join() instanceof TimeoutException);
+    }
+
+    @Test
+    void get_AutoAdvance_WaitsWhileParticipantRuns() throws Exception {
+        //arrange
+        VirtualDeviceClock autoAdvanceClock = new VirtualDeviceClock(0, true);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        DeviceClock.Participation participation = autoAdvanceClock.participate();
+        Future<String> future = executorService.submit(participation.wrap(() -> {
+            release.await();
+            return "done";
+        }));
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return autoAdvanceClock.get(future, 35, TimeUnit.SECONDS);
+            } catch (Exception exception) {
+                return exception.toString();
+            }
+        });
+        assertTrue(autoAdvanceClock.awaitWaiters(1, 1000));
+
+        //act
+        CompletableFuture<Void> sleeper = CompletableFuture.runAsync(() -> {
+            try {
+                autoAdvanceClock.sleep(TimeUnit.SECONDS.toMillis(65));
+            } catch (InterruptedException interruptedException) {
+                throw new RuntimeException(interruptedException);
+            }
+        });
+        assertTrue(autoAdvanceClock.awaitWaiters(2, 1000));
+        Thread.sleep(50);
+        long stalledMillis = autoAdvanceClock.currentTimeMillis();
+        release.countDown();
+
+        //assert
+        assertEquals("done", waiter.get(5, TimeUnit.SECONDS));
+        participation.close();
+        sleeper.get(5, TimeUnit.SECONDS);
+        assertEquals(0, stalledMillis);
+        assertEquals(65000, autoAdvanceClock.currentTimeMillis());
+        executorService.shutdown();
+    }
+
+    @Test
+    void get_AutoAdvance_ParticipantSleepingPastDeadlineTimesOutWaiter() throws Exception {
+        //arrange
+        VirtualDeviceClock autoAdvanceClock = new VirtualDeviceClock(0, true);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        DeviceClock.Participation participation = autoAdvanceClock.participate();
+        Future<String> future = executorService.submit(participation.wrap(() -> {
+            autoAdvanceClock.sleep(TimeUnit.SECONDS.toMillis(65));
+            return "late";
+        }));
+
+        //act
+        TimeoutException timeoutException = assertThrows(TimeoutException.class, () -> autoAdvanceClock.get(future, 35, TimeUnit.SECONDS));
+        long timedOutMillis = autoAdvanceClock.currentTimeMillis();
+        participation.close();
+
+        //assert
+        assertNotNull(timeoutException);
+        assertEquals(35000, timedOutMillis);
+        assertEquals("late", future.get(5, TimeUnit.SECONDS));
+        executorService.shutdown();
+    }
+
+    @Test
+    void advance_WhenNegative_Throws() {
+        //arrange
+
+        //act
+        IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class, () -> virtualDeviceClock.advance(-1));
+
+        //assert
+        assertEquals("millis cannot be negative", illegalArgumentException.getMessage());
+    }
+}
@@ -116,17 +116,17 @@ public class CashDrawerControllerTest {
     }
 
     @Test
-    public void getHealth_ReturnsHealthFromManager() {
+    public void getHealth_ReturnsHealthFromSnapshot() {
         //arrange
         DeviceHealthResponse expected = new DeviceHealthResponse("cashDrawer", DeviceHealth.READY);
-        when(mockCashDrawerManager.getHealth()).thenReturn(expected);
+        when(mockCashDrawerManager.getHealthSnapshot()).thenReturn(expected);
 
         //act
         DeviceHealthResponse actual = cashDrawerController.getHealth();
 
         //assert
         assertEquals(expected, actual);
-        verify(mockCashDrawerManager).getHealth();
+        verify(mockCashDrawerManager).getHealthSnapshot();
     }
 
     @Test
@@ -1,7 +1,9 @@
 package com.target.devicemanager.components.cashdrawer;
 
+import com.target.devicemanager.common.DeviceClock;
 import com.target.devicemanager.common.DeviceListener;
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.TraceContext;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.components.cashdrawer.entities.CashDrawerError;
 import jpos.CashDrawer;
@@ -17,6 +19,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -647,6 +651,30 @@ public class CashDrawerDeviceTest {
         fail("Expected Exception, but got none");
     }
 
+    @Test
+    public void statusUpdateOccurred_AfterOpenCashDrawer_IsNotHandledUnderItsTrace() throws JposException, DeviceException {
+        //arrange
+        List<TraceContext> journaledTraces = new ArrayList<>();
+        CashDrawerJournal mockJournal = mock(CashDrawerJournal.class);
+        doAnswer(invocation -> journaledTraces.add(TraceContext.current())).when(mockJournal).append(anyInt(), anyLong());
+        CashDrawerDevice journaledDevice = new CashDrawerDevice(mockDynamicCashDrawer, mockDeviceListener, mockConnectLock, mock(DeviceClock.class), mockJournal);
+        journaledDevice.setDeviceConnected(true);
+        journaledDevice.setCashDrawerOpen(false);
+        TraceContext trace = new TraceContext("trace", "transaction");
+        try (TraceContext.Scope scope = TraceContext.attach(trace)) {
+            journaledDevice.openCashDrawer();
+        }
+        when(mockStatusUpdateEvent.getStatus()).thenReturn(CashDrawerConst.CASH_SUE_DRAWEROPEN);
+
+        //act
+        journaledDevice.statusUpdateOccurred(mockStatusUpdateEvent);
+
+        //assert
+        assertEquals(2, journaledTraces.size());
+        assertSame(trace, journaledTraces.get(0));
+        assertNull(journaledTraces.get(1));
+    }
+
     @Test
     public void getDeviceName_ReturnsName() {
         // arrange
@@ -762,6 +790,25 @@ public class CashDrawerDeviceTest {
         assertFalse(cashDrawerSpy.getCashDrawerOpen());
     }
 
+    @Test
+    public void statusUpdateOccurred_WhenJournal_AppendsDrawerEvents() {
+        //arrange
+        CashDrawerJournal mockJournal = mock(CashDrawerJournal.class);
+        DeviceClock mockDeviceClock = mock(DeviceClock.class);
+        when(mockDeviceClock.currentTimeMillis()).thenReturn(1000L);
+        CashDrawerDevice journaledDevice = new CashDrawerDevice(mockDynamicCashDrawer, mockDeviceListener, mockConnectLock, mockDeviceClock, mockJournal);
+
+        //act
+        journaledDevice.statusUpdateOccurred(new StatusUpdateEvent(mockCashDrawer, CashDrawerConst.CASH_SUE_DRAWEROPEN));
+        journaledDevice.statusUpdateOccurred(new StatusUpdateEvent(mockCashDrawer, CashDrawerConst.CASH_SUE_DRAWERCLOSED));
+        journaledDevice.statusUpdateOccurred(new StatusUpdateEvent(mockCashDrawer, JposConst.JPOS_SUE_POWER_OFF));
+
+        //assert
+        verify(mockJournal).append(CashDrawerJournal.OPENED, 1000L);
+        verify(mockJournal).append(CashDrawerJournal.CLOSED, 1000L);
+        verify(mockJournal).append(CashDrawerJournal.OFFLINE, 1000L);
+    }
+
     @Test
     public void statusUpdateOccurred_WhenOtherStatus_DoNothing() {
         //arrange
@@ -0,0 +1,118 @@
+package com.target.devicemanager.components.cashdrawer;
+
+import com.target.devicemanager.components.cashdrawer.entities.CashDrawerOpenStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CashDrawerJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ctor_WhenCapacityIsZero_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> new CashDrawerJournal(tempDir.resolve("cashdrawer.journal"), 0));
+
+        //assert
+        assertEquals("capacity must be positive", iae.getMessage());
+    }
+
+    @Test
+    void getOpenStatistics_PairsOpensWithCloses() throws Exception {
+        //arrange
+        CashDrawerJournal journal = new CashDrawerJournal(tempDir.resolve("cashdrawer.journal"), 16);
+        journal.append(CashDrawerJournal.OPEN_REQUESTED, 1000);
+        journal.append(CashDrawerJournal.OPENED, 1100);
+        journal.append(CashDrawerJournal.CLOSED, 4100);
+        journal.append(CashDrawerJournal.OPEN_REQUESTED, 5000);
+        journal.append(CashDrawerJournal.OPENED, 5100);
+        journal.append(CashDrawerJournal.CLOSED, 6100);
+        journal.append(CashDrawerJournal.OPENED, 7000);
+        journal.append(CashDrawerJournal.OFFLINE, 8000);
+
+        //act
+        CashDrawerOpenStatistics statistics = journal.getOpenStatistics(0, 10000);
+
+        //assert
+        assertEquals(2, statistics.getOpenRequests());
+        assertEquals(3, statistics.getOpens());
+        assertEquals(2, statistics.getClosedOpens());
+        assertEquals(1, statistics.getUnclosedOpens());
+        assertEquals(1, statistics.getOfflineEvents());
+        assertEquals(4000, statistics.getTotalOpenMillis());
+        assertEquals(2000, statistics.getAverageOpenMillis());
+        assertEquals(3000, statistics.getMaxOpenMillis());
+    }
+
+    @Test
+    void getOpenStatistics_CountsOnlyOpensInRange_AndMatchesLaterClose() throws Exception {
+        //arrange
+        CashDrawerJournal journal = new CashDrawerJournal(tempDir.resolve("cashdrawer.journal"), 16);
+        journal.append(CashDrawerJournal.OPENED, 1000);
+        journal.append(CashDrawerJournal.CLOSED, 2000);
+        journal.append(CashDrawerJournal.OPENED, 9000);
+        journal.append(CashDrawerJournal.CLOSED, 12000);
+        journal.append(CashDrawerJournal.OPENED, 20000);
+        journal.append(CashDrawerJournal.CLOSED, 21000);
+
+        //act
+        CashDrawerOpenStatistics statistics = journal.getOpenStatistics(5000, 10000);
+
+        //assert
+        assertEquals(1, statistics.getOpens());
+        assertEquals(1, statistics.getClosedOpens());
+        assertEquals(3000, statistics.getMaxOpenMillis());
+    }
+
+    @Test
+    void ctor_WhenJournalExists_ContinuesAfterLastRecord() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("cashdrawer.journal");
+        CashDrawerJournal journal = new CashDrawerJournal(path, 16);
+        journal.append(CashDrawerJournal.OPENED, 1000);
+        journal.append(CashDrawerJournal.CLOSED, 2000);
+
+        //act
+        CashDrawerJournal reopened = new CashDrawerJournal(path, 16);
+        reopened.append(CashDrawerJournal.OPENED, 3000);
+        reopened.append(CashDrawerJournal.CLOSED, 3500);
+
+        //assert
+        assertEquals(4, reopened.getCount());
+        CashDrawerOpenStatistics statistics = reopened.getOpenStatistics(0, 10000);
+        assertEquals(2, statistics.getClosedOpens());
+        assertEquals(1500, statistics.getTotalOpenMillis());
+    }
+
+    @Test
+    void append_WhenFull_MovesJournalAsideAndKeepsItsRecords() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("cashdrawer.journal");
+        CashDrawerJournal journal = new CashDrawerJournal(path, 2);
+        journal.append(CashDrawerJournal.OPENED, 1000);
+        journal.append(CashDrawerJournal.CLOSED, 2000);
+
+        //act
+        journal.append(CashDrawerJournal.OPENED, 3000);
+        journal.append(CashDrawerJournal.CLOSED, 5000);
+
+        //assert
+        assertTrue(Files.exists(tempDir.resolve("cashdrawer.journal.1")));
+        assertEquals(2, journal.getCount());
+        CashDrawerOpenStatistics statistics = journal.getOpenStatistics(0, 10000);
+        assertEquals(2, statistics.getClosedOpens());
+        assertEquals(2000, statistics.getMaxOpenMillis());
+        CashDrawerOpenStatistics reopenedStatistics = new CashDrawerJournal(path, 2).getOpenStatistics(0, 10000);
+        assertEquals(2, reopenedStatistics.getClosedOpens());
+    }
+}
@@ -5,6 +5,7 @@ import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealth;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import com.target.devicemanager.components.cashdrawer.entities.CashDrawerError;
+import com.target.devicemanager.components.cashdrawer.entities.CashDrawerOpenStatistics;
 import jpos.JposConst;
 import jpos.JposException;
 import org.junit.jupiter.api.BeforeEach;
@@ -423,4 +424,35 @@ public class CashDrawerManagerTest {
         //assert
         assertEquals(expected.toString(), deviceHealthResponse.toString());
     }
+
+    @Test
+    public void getOpenStatistics_WhenJournal_ReturnsJournalStatistics() throws DeviceException {
+        //arrange
+        CashDrawerJournal mockJournal = mock(CashDrawerJournal.class);
+        CashDrawerOpenStatistics expected = new CashDrawerOpenStatistics("from", "to", 1, 1, 1, 0, 0, 500, 500, 500);
+        when(mockJournal.getOpenStatistics(0, 1000)).thenReturn(expected);
+        CashDrawerManager journaledManager = new CashDrawerManager(mockCashDrawerDevice, mockCashDrawerLock, mockCacheManager, mockJournal);
+
+        //act
+        CashDrawerOpenStatistics statistics = journaledManager.getOpenStatistics(0, 1000);
+
+        //assert
+        assertEquals(expected, statistics);
+    }
+
+    @Test
+    public void getOpenStatistics_WhenNoJournal_ThrowsException() {
+        //arrange
+
+        //act
+        try {
+            cashDrawerManager.getOpenStatistics(0, 1000);
+        } catch (DeviceException deviceException) {
+            //assert
+            assertEquals(DeviceError.UNEXPECTED_ERROR, deviceException.getDeviceError());
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
 }
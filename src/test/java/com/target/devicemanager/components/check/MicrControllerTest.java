@@ -233,16 +233,16 @@ public class MicrControllerTest {
 
 
     @Test
-    public void getHealth_ReturnsHealthFromManager() {
+    public void getHealth_ReturnsHealthFromSnapshot() {
         //arrange
         DeviceHealthResponse expected = new DeviceHealthResponse("micr", DeviceHealth.READY);
-        when(mockMicrManager.getHealth()).thenReturn(expected);
+        when(mockMicrManager.getHealthSnapshot()).thenReturn(expected);
 
         //act
         DeviceHealthResponse actual = micrController.getHealth();
 
         //assert
-        verify(mockMicrManager).getHealth();
+        verify(mockMicrManager).getHealthSnapshot();
         assertEquals(expected, actual);
     }
 
@@ -0,0 +1,81 @@
+package com.target.devicemanager.components.linedisplay;
+
+import com.target.devicemanager.components.linedisplay.entities.LineDisplayAnimation;
+import com.target.devicemanager.components.linedisplay.entities.LineEffect;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LineDisplayAnimatorTest {
+
+    @Test
+    public void ctor_WhenSchedulerIsNull_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException iae = assertThrows(IllegalArgumentException.class, () -> new LineDisplayAnimator(null));
+
+        //assert
+        assertEquals("scheduler cannot be null", iae.getMessage());
+    }
+
+    @Test
+    public void renderLine_WhenScrolling_MovesTextOneCharacterPerStep() {
+        //arrange
+        String text = "Save 20% on coffee today";
+
+        //act
+        String first = LineDisplayAnimator.renderLine(text, LineEffect.SCROLL, 0);
+        String second = LineDisplayAnimator.renderLine(text, LineEffect.SCROLL, 1);
+        String wrapped = LineDisplayAnimator.renderLine(text, LineEffect.SCROLL, 20);
+
+        //assert
+        assertEquals("Save 20% on coffee t", first);
+        assertEquals("ave 20% on coffee to", second);
+        assertEquals("oday   Save 20% on c", wrapped);
+    }
+
+    @Test
+    public void renderLine_WhenBlinking_BlanksEveryOtherStep() {
+        //arrange
+
+        //act
+        String shown = LineDisplayAnimator.renderLine("SALE", LineEffect.BLINK, 2);
+        String blank = LineDisplayAnimator.renderLine("SALE", LineEffect.BLINK, 3);
+
+        //assert
+        assertEquals("SALE                ", shown);
+        assertEquals("                    ", blank);
+    }
+
+    @Test
+    public void renderFrame_WhenEffectsOmitted_PadsAndTruncatesLikeStaticText() {
+        //arrange
+        LineDisplayAnimation animation = new LineDisplayAnimation();
+        animation.line1 = "Welcome";
+        animation.line2 = "So Much More Than Twenty Characters";
+
+        //act
+        String[] frame = LineDisplayAnimator.renderFrame(animation, 7);
+
+        //assert
+        assertArrayEquals(new String[] {"Welcome             ", "So Much More Than Tw"}, frame);
+    }
+
+    @Test
+    public void getIntervalMsec_ClampsToMinimum() {
+        //arrange
+        LineDisplayAnimation animation = new LineDisplayAnimation();
+
+        //act
+        int defaultInterval = LineDisplayAnimator.getIntervalMsec(animation);
+        animation.intervalMsec = 10;
+        int clampedInterval = LineDisplayAnimator.getIntervalMsec(animation);
+
+        //assert
+        assertEquals(LineDisplayAnimator.DEFAULT_INTERVAL_MSEC, defaultInterval);
+        assertEquals(LineDisplayAnimator.MIN_INTERVAL_MSEC, clampedInterval);
+    }
+}
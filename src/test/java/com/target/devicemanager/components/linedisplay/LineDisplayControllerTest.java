@@ -4,7 +4,9 @@ import com.target.devicemanager.common.entities.DeviceError;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealth;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
+import com.target.devicemanager.components.linedisplay.entities.LineDisplayAnimation;
 import com.target.devicemanager.components.linedisplay.entities.LineDisplayData;
+import com.target.devicemanager.components.linedisplay.entities.LineEffect;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -66,6 +68,51 @@ public class LineDisplayControllerTest {
         verify(mockLineDisplayManager).displayLine("Test Data Line 1", "Test Data Line 2");
     }
 
+    @Test
+    public void startAnimation_CallsThroughToLineDisplayManager() throws DeviceException {
+        //arrange
+        LineDisplayAnimation animation = new LineDisplayAnimation();
+        animation.line1 = "Save 20% on coffee today";
+        animation.line1Effect = LineEffect.SCROLL;
+
+        //act
+        lineDisplayController.startAnimation(animation);
+
+        //assert
+        verify(mockLineDisplayManager).startAnimation(animation);
+    }
+
+    @Test
+    public void startAnimation_WhenThrowsError() throws DeviceException {
+        //arrange
+        LineDisplayAnimation animation = new LineDisplayAnimation();
+        doThrow(new DeviceException(DeviceError.DEVICE_OFFLINE)).when(mockLineDisplayManager).startAnimation(animation);
+
+        //act
+        try {
+            lineDisplayController.startAnimation(animation);
+        }
+
+        //assert
+        catch (DeviceException deviceException) {
+            assertEquals(DeviceError.DEVICE_OFFLINE, deviceException.getDeviceError());
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
+
+    @Test
+    public void stopAnimation_CallsThroughToLineDisplayManager() {
+        //arrange
+
+        //act
+        lineDisplayController.stopAnimation();
+
+        //assert
+        verify(mockLineDisplayManager).stopAnimation();
+    }
+
     @Test
     public void displayLines_WhenThrowsError() throws DeviceException {
         //arrange
@@ -89,16 +136,16 @@ public class LineDisplayControllerTest {
     }
 
     @Test
-    public void getHealth_ReturnsHealthFromManager() {
+    public void getHealth_ReturnsHealthFromSnapshot() {
         //arrange
         DeviceHealthResponse expected = new DeviceHealthResponse("line display", DeviceHealth.READY);
-        when(mockLineDisplayManager.getHealth()).thenReturn(expected);
+        when(mockLineDisplayManager.getHealthSnapshot()).thenReturn(expected);
 
         //act
         DeviceHealthResponse actual = lineDisplayController.getHealth();
 
         //assert
-        verify(mockLineDisplayManager).getHealth();
+        verify(mockLineDisplayManager).getHealthSnapshot();
         assertEquals(expected, actual);
     }
 
@@ -3,6 +3,7 @@ package com.target.devicemanager.components.linedisplay;
 import com.target.devicemanager.common.DynamicDevice;
 import com.target.devicemanager.common.events.ConnectionEvent;
 import com.target.devicemanager.common.events.ConnectionEventListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jpos.JposConst;
 import jpos.JposException;
 import jpos.LineDisplay;
@@ -276,6 +277,70 @@ public class LineDisplayDeviceTest {
         verify(mockLineDisplay).displayTextAt(1, 0, "Test Data Line 2", LineDisplayConst.DISP_DT_NORMAL);
     }
 
+    @Test
+    public void displayLine_WhenLinesUnchanged_SkipsWrite() throws JposException {
+        //arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LineDisplayDevice device = new LineDisplayDevice(mockDynamicLineDisplay, mockConnectionEventListenerList, mockConnectLock, meterRegistry);
+        device.displayLine("Total        $10.00", "Items             3");
+
+        //act
+        device.displayLine("Total        $10.00", "Items             3");
+
+        //assert
+        verify(mockLineDisplay, times(2)).displayTextAt(anyInt(), anyInt(), any(), anyInt());
+        assertEquals(1, meterRegistry.get("possum.linedisplay.writes.skipped").counter().count());
+        assertEquals(2, meterRegistry.get("possum.linedisplay.roundtrips.saved").counter().count());
+    }
+
+    @Test
+    public void displayLine_WhenPartOfLineChanged_SendsOnlyChangedRange() throws JposException {
+        //arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LineDisplayDevice device = new LineDisplayDevice(mockDynamicLineDisplay, mockConnectionEventListenerList, mockConnectLock, meterRegistry);
+        device.displayLine("Total        $10.00", "Items             3");
+
+        //act
+        device.displayLine("Total        $12.50", "Items             3");
+
+        //assert
+        verify(mockLineDisplay).displayTextAt(0, 15, "2.5", LineDisplayConst.DISP_DT_NORMAL);
+        verify(mockLineDisplay, times(1)).displayTextAt(eq(1), anyInt(), any(), anyInt());
+        assertEquals(0, meterRegistry.get("possum.linedisplay.writes.skipped").counter().count());
+        assertEquals(1, meterRegistry.get("possum.linedisplay.roundtrips.saved").counter().count());
+    }
+
+    @Test
+    public void displayLine_AfterWriteFailed_SendsWholeLine() throws JposException {
+        //arrange
+        LineDisplayDevice device = new LineDisplayDevice(mockDynamicLineDisplay, mockConnectionEventListenerList, mockConnectLock, new SimpleMeterRegistry());
+        device.displayLine("Total        $10.00", "Items             3");
+        doThrow(new JposException(JposConst.JPOS_E_FAILURE)).doNothing().when(mockLineDisplay).displayTextAt(0, 15, "2.5", LineDisplayConst.DISP_DT_NORMAL);
+        assertThrows(JposException.class, () -> device.displayLine("Total        $12.50", "Items             3"));
+
+        //act
+        device.displayLine("Total        $12.50", "Items             3");
+
+        //assert
+        verify(mockLineDisplay).displayTextAt(0, 0, "Total        $12.50", LineDisplayConst.DISP_DT_NORMAL);
+    }
+
+    @Test
+    public void displayLine_AfterDisconnect_SendsWholeLines() throws JposException {
+        //arrange
+        LineDisplayDevice device = new LineDisplayDevice(mockDynamicLineDisplay, mockConnectionEventListenerList, mockConnectLock, new SimpleMeterRegistry());
+        device.displayLine("Total        $10.00", "Items             3");
+        when(mockDynamicLineDisplay.isConnected()).thenReturn(true);
+        device.disconnect();
+
+        //act
+        device.displayLine("Total        $10.00", "Items             3");
+
+        //assert
+        verify(mockLineDisplay, times(2)).displayTextAt(0, 0, "Total        $10.00", LineDisplayConst.DISP_DT_NORMAL);
+        verify(mockLineDisplay, times(2)).displayTextAt(1, 0, "Items             3", LineDisplayConst.DISP_DT_NORMAL);
+    }
+
     @Test
     public void displayLine_WhenDisplayThrowsException_ConnectedFalse() throws JposException {
         //arrange
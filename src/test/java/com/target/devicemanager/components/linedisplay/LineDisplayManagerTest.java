@@ -5,11 +5,14 @@ import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealth;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import com.target.devicemanager.common.events.ConnectionEvent;
+import com.target.devicemanager.components.linedisplay.entities.LineDisplayAnimation;
+import com.target.devicemanager.components.linedisplay.entities.LineEffect;
 import jpos.JposConst;
 import jpos.JposException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -17,11 +20,18 @@ import org.mockito.quality.Strictness;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.*;
 
@@ -257,6 +267,148 @@ public class LineDisplayManagerTest {
         fail("Expected OFFLINE Exception, but got none.");
     }
 
+    @Test
+    public void displayLine_WithDisplayWorker_ReturnsBeforeWriting() throws DeviceException, JposException {
+        //arrange
+        List<Runnable> displayWorker = new ArrayList<>();
+        LineDisplayManager asyncManager = new LineDisplayManager(mockLineDisplayDevice, mockCacheManager, displayWorker::add);
+        when(mockLineDisplayDevice.isConnected()).thenReturn(true);
+
+        //act
+        asyncManager.displayLine("Milk", "$3.49");
+
+        //assert
+        verify(mockLineDisplayDevice, never()).displayLine(anyString(), anyString());
+        assertEquals(1, displayWorker.size());
+        displayWorker.get(0).run();
+        verify(mockLineDisplayDevice).displayLine("Milk                ", "$3.49               ");
+    }
+
+    @Test
+    public void displayLine_WithDisplayWorker_WritesOnlyLatestPendingFrame() throws DeviceException, JposException {
+        //arrange
+        List<Runnable> displayWorker = new ArrayList<>();
+        LineDisplayManager asyncManager = new LineDisplayManager(mockLineDisplayDevice, mockCacheManager, displayWorker::add);
+        when(mockLineDisplayDevice.isConnected()).thenReturn(true);
+
+        //act
+        asyncManager.displayLine("Milk", "$3.49");
+        asyncManager.displayLine("Bread", "$2.99");
+        asyncManager.displayLine("Subtotal", "$6.48");
+        displayWorker.forEach(Runnable::run);
+
+        //assert
+        assertEquals(1, displayWorker.size());
+        verify(mockLineDisplayDevice, times(1)).displayLine(anyString(), anyString());
+        verify(mockLineDisplayDevice).displayLine("Subtotal            ", "$6.48               ");
+    }
+
+    @Test
+    public void displayLine_WithDisplayWorker_AfterFrameWritten_QueuesNextFrame() throws DeviceException, JposException {
+        //arrange
+        List<Runnable> displayWorker = new ArrayList<>();
+        LineDisplayManager asyncManager = new LineDisplayManager(mockLineDisplayDevice, mockCacheManager, displayWorker::add);
+        when(mockLineDisplayDevice.isConnected()).thenReturn(true);
+        asyncManager.displayLine("Milk", "$3.49");
+        displayWorker.get(0).run();
+
+        //act
+        asyncManager.displayLine("Bread", "$2.99");
+
+        //assert
+        assertEquals(2, displayWorker.size());
+        displayWorker.get(1).run();
+        verify(mockLineDisplayDevice).displayLine("Bread               ", "$2.99               ");
+    }
+
+    @Test
+    public void displayLine_WithDisplayWorker_WhenLineDisplayIsOffline_ThrowOfflineException() throws JposException {
+        //arrange
+        List<Runnable> displayWorker = new ArrayList<>();
+        LineDisplayManager asyncManager = new LineDisplayManager(mockLineDisplayDevice, mockCacheManager, displayWorker::add);
+        when(mockLineDisplayDevice.isConnected()).thenReturn(false);
+
+        //act
+        try {
+            asyncManager.displayLine("123", "abd");
+        } catch (DeviceException deviceException) {
+            assertEquals(DeviceError.DEVICE_OFFLINE, deviceException.getDeviceError());
+            assertEquals(0, displayWorker.size());
+            return;
+        }
+
+        //assert
+        fail("Expected OFFLINE Exception, but got none.");
+    }
+
+    @Test
+    public void startAnimation_WritesRenderedFrameOnEveryStep() throws DeviceException, JposException {
+        //arrange
+        ScheduledExecutorService mockScheduler = mock(ScheduledExecutorService.class);
+        ArgumentCaptor<Runnable> step = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(mock(ScheduledFuture.class)).when(mockScheduler).scheduleAtFixedRate(step.capture(), anyLong(), anyLong(), any());
+        LineDisplayManager animatedManager = new LineDisplayManager(mockLineDisplayDevice, mockCacheManager, null, mockScheduler);
+        when(mockLineDisplayDevice.isConnected()).thenReturn(true);
+        LineDisplayAnimation animation = new LineDisplayAnimation();
+        animation.line1 = "SALE";
+        animation.line1Effect = LineEffect.BLINK;
+        animation.line2 = "Aisle 7";
+        animation.intervalMsec = 500;
+
+        //act
+        animatedManager.startAnimation(animation);
+        step.getValue().run();
+        step.getValue().run();
+
+        //assert
+        verify(mockScheduler).scheduleAtFixedRate(any(), eq(0L), eq(500L), eq(TimeUnit.MILLISECONDS));
+        verify(mockLineDisplayDevice).displayLine("SALE                ", "Aisle 7             ");
+        verify(mockLineDisplayDevice).displayLine("                    ", "Aisle 7             ");
+        assertTrue(animatedManager.isAnimating());
+    }
+
+    @Test
+    public void displayLine_WhileAnimating_StopsAnimation() throws DeviceException, JposException {
+        //arrange
+        ScheduledExecutorService mockScheduler = mock(ScheduledExecutorService.class);
+        ScheduledFuture<?> mockFuture = mock(ScheduledFuture.class);
+        ArgumentCaptor<Runnable> step = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(mockFuture).when(mockScheduler).scheduleAtFixedRate(step.capture(), anyLong(), anyLong(), any());
+        LineDisplayManager animatedManager = new LineDisplayManager(mockLineDisplayDevice, mockCacheManager, null, mockScheduler);
+        when(mockLineDisplayDevice.isConnected()).thenReturn(true);
+        LineDisplayAnimation animation = new LineDisplayAnimation();
+        animation.line1 = "Save 20% on coffee today";
+        animation.line1Effect = LineEffect.SCROLL;
+        animatedManager.startAnimation(animation);
+
+        //act
+        animatedManager.displayLine("Milk", "$3.49");
+        step.getValue().run();
+
+        //assert
+        verify(mockFuture).cancel(false);
+        verify(mockLineDisplayDevice, times(1)).displayLine(anyString(), anyString());
+        verify(mockLineDisplayDevice).displayLine("Milk                ", "$3.49               ");
+        assertFalse(animatedManager.isAnimating());
+    }
+
+    @Test
+    public void startAnimation_WithoutScheduler_ThrowsUnexpectedError() {
+        //arrange
+        when(mockLineDisplayDevice.isConnected()).thenReturn(true);
+
+        //act
+        try {
+            lineDisplayManager.startAnimation(new LineDisplayAnimation());
+        } catch (DeviceException deviceException) {
+            assertEquals(DeviceError.UNEXPECTED_ERROR, deviceException.getDeviceError());
+            return;
+        }
+
+        //assert
+        fail("Expected UNEXPECTED_ERROR Exception, but got none.");
+    }
+
     @Test
     public void connectionEventOccurred_DoesNothing() {
         //Combine these since we default to not connected it's useful to test that we actually do disconnect
@@ -116,16 +116,16 @@ public class PrinterControllerTest {
     }
 
     @Test
-    public void getHealth_ReturnsHealthFromManager() {
+    public void getHealth_ReturnsHealthFromSnapshot() {
         //arrange
         DeviceHealthResponse expected = new DeviceHealthResponse("printer", DeviceHealth.READY);
-        when(mockPrinterManager.getHealth()).thenReturn(expected);
+        when(mockPrinterManager.getHealthSnapshot()).thenReturn(expected);
 
         //act
         DeviceHealthResponse actual = printerController.getHealth();
 
         //assert
-        verify(mockPrinterManager).getHealth();
+        verify(mockPrinterManager).getHealthSnapshot();
         assertEquals(expected, actual);
     }
 
@@ -1,5 +1,6 @@
 package com.target.devicemanager.components.printer;
 
+import com.target.devicemanager.common.DeviceClock;
 import com.target.devicemanager.common.DeviceListener;
 import com.target.devicemanager.common.DynamicDevice;
 import com.target.devicemanager.components.printer.entities.*;
@@ -23,6 +24,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -641,6 +643,61 @@ public class PrinterDeviceTest {
         verify(mockPrinter).clearOutput();
     }
 
+    @Test
+    public void printContent_WhenSlipEmpty_PrintsAfterCheckInsertedEvent() throws Exception {
+        //arrange
+        DeviceClock mockDeviceClock = mock(DeviceClock.class);
+        PrinterDevice slipPrinterDevice = new PrinterDevice(mockDynamicPrinter, mockDeviceListener, new ReentrantLock(true), mockDeviceClock);
+        slipPrinterDevice.setDeviceConnected(true);
+        List<PrinterContent> contents = new ArrayList<>();
+        TextContent textContent = new TextContent();
+        textContent.setType(ContentType.TEXT);
+        textContent.setData("Franked");
+        contents.add(textContent);
+        when(mockPrinter.getPhysicalDeviceName()).thenReturn("Slip Printer");
+        when(mockPrinter.getCapSlpEmptySensor()).thenReturn(true);
+        when(mockPrinter.getSlpEmpty()).thenReturn(true);
+        when(mockDeviceClock.get(any(), anyLong(), any())).thenAnswer(invocation -> {
+            slipPrinterDevice.statusUpdateOccurred(new StatusUpdateEvent(mockPrinter, POSPrinterConst.PTR_SUE_SLP_PAPEROK));
+            return ((Future<?>) invocation.getArgument(0)).get(0, TimeUnit.SECONDS);
+        });
+
+        //act
+        slipPrinterDevice.printContent(contents, PrinterStationType.CHECK_PRINTER.getValue());
+
+        //assert
+        verify(mockDeviceClock).get(any(), eq((long) PrinterDevice.SLIP_INSERTION_TIMEOUT_SECONDS), eq(TimeUnit.SECONDS));
+        verify(mockPrinter).printNormal(PrinterStationType.CHECK_PRINTER.getValue(), "Franked");
+        verify(mockPrinter).beginRemoval(0);
+    }
+
+    @Test
+    public void printContent_WhenCheckNotInserted_ThrowsInsertCheckTimeout() throws Exception {
+        //arrange
+        DeviceClock mockDeviceClock = mock(DeviceClock.class);
+        PrinterDevice slipPrinterDevice = new PrinterDevice(mockDynamicPrinter, mockDeviceListener, new ReentrantLock(true), mockDeviceClock);
+        slipPrinterDevice.setDeviceConnected(true);
+        List<PrinterContent> contents = new ArrayList<>();
+        TextContent textContent = new TextContent();
+        textContent.setType(ContentType.TEXT);
+        contents.add(textContent);
+        when(mockPrinter.getCapSlpEmptySensor()).thenReturn(true);
+        when(mockPrinter.getSlpEmpty()).thenReturn(true);
+        when(mockDeviceClock.get(any(), anyLong(), any())).thenThrow(new TimeoutException());
+
+        //act
+        try {
+            slipPrinterDevice.printContent(contents, PrinterStationType.CHECK_PRINTER.getValue());
+        } catch (PrinterException printerException) {
+            //assert
+            assertEquals(PrinterError.MICR_TIME_OUT, printerException.getDeviceError());
+            verify(mockPrinter, never()).transactionPrint(anyInt(), anyInt());
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
+
     @Test
     public void printContent_WhenContentBarcodeFails() throws JposException {
         //arrange
@@ -0,0 +1,185 @@
+package com.target.devicemanager.components.printer;
+
+import com.target.devicemanager.components.printer.entities.BarcodeContent;
+import com.target.devicemanager.components.printer.entities.ContentType;
+import com.target.devicemanager.components.printer.entities.PrinterContent;
+import com.target.devicemanager.components.printer.entities.PrinterJob;
+import com.target.devicemanager.components.printer.entities.PrinterStationType;
+import com.target.devicemanager.components.printer.entities.TextContent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrinterJobJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ctor_WhenJobsWereNotFinished_RecoversThemWithContents() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("printer.journal");
+        PrinterJobJournal journal = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE);
+        long printedJob = journal.accept(List.of(text("Printed")), PrinterStationType.RECEIPT_PRINTER, 1000);
+        journal.finish(printedJob, PrinterJobJournal.PRINTED, 1100);
+        long unfinishedJob = journal.accept(List.of(text("Unfinished"), barcode("123456")), PrinterStationType.RECEIPT_PRINTER, 2000);
+        journal.sync();
+
+        //act
+        PrinterJobJournal recovered = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE);
+
+        //assert
+        List<PrinterJob> recoveredJobs = recovered.getRecoveredJobs();
+        assertEquals(1, recoveredJobs.size());
+        assertEquals(unfinishedJob, recoveredJobs.get(0).getJobId());
+        assertEquals(PrinterStationType.RECEIPT_PRINTER, recoveredJobs.get(0).getStation());
+        List<PrinterContent> contents = recoveredJobs.get(0).getContents();
+        assertEquals(2, contents.size());
+        assertInstanceOf(TextContent.class, contents.get(0));
+        assertEquals("Unfinished", contents.get(0).data);
+        assertInstanceOf(BarcodeContent.class, contents.get(1));
+        assertEquals("123456", contents.get(1).data);
+    }
+
+    @Test
+    void finish_WhenRecoveredJobIsDismissed_IsNotRecoveredAgain() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("printer.journal");
+        long jobId = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE)
+                .accept(List.of(text("Receipt")), PrinterStationType.RECEIPT_PRINTER, 1000);
+        PrinterJobJournal recovered = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE);
+
+        //act
+        recovered.finish(jobId, PrinterJobJournal.DISMISSED, 2000);
+
+        //assert
+        assertNull(recovered.getRecoveredJob(jobId));
+        assertTrue(new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE).getRecoveredJobs().isEmpty());
+    }
+
+    @Test
+    void ctor_WhenLastRecordIsTorn_RecoversRecordsBeforeIt() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("printer.journal");
+        long jobId = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE)
+                .accept(List.of(text("Receipt")), PrinterStationType.RECEIPT_PRINTER, 1000);
+        Files.write(path, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        //act
+        PrinterJobJournal recovered = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE);
+
+        //assert
+        assertEquals(1, recovered.getRecoveredJobs().size());
+        assertEquals(jobId, recovered.getRecoveredJobs().get(0).getJobId());
+    }
+
+    @Test
+    void sync_WhenJournalIsLargerThanLimit_KeepsOnlyUnfinishedJobs() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("printer.journal");
+        PrinterJobJournal journal = new PrinterJobJournal(path, 256);
+        for (int i = 0; i < 10; i++) {
+            long jobId = journal.accept(List.of(text("Receipt " + i)), PrinterStationType.RECEIPT_PRINTER, 1000 + i);
+            journal.finish(jobId, PrinterJobJournal.PRINTED, 1000 + i);
+        }
+        long unfinishedJob = journal.accept(List.of(text("Unfinished")), PrinterStationType.RECEIPT_PRINTER, 2000);
+
+        //act
+        journal.sync();
+
+        //assert
+        assertTrue(Files.size(path) < 256);
+        List<PrinterJob> recoveredJobs = new PrinterJobJournal(path, 256).getRecoveredJobs();
+        assertEquals(1, recoveredJobs.size());
+        assertEquals(unfinishedJob, recoveredJobs.get(0).getJobId());
+    }
+
+    @Test
+    void sync_WhenFinishedJobsReachLimit_DropsTheirContents() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("printer.journal");
+        PrinterJobJournal journal = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE, 2, PrinterJobJournal.DEFAULT_COMPACT_INTERVAL_MSEC);
+        for (int i = 0; i < 2; i++) {
+            long jobId = journal.accept(List.of(text("Printed receipt")), PrinterStationType.RECEIPT_PRINTER, 1000 + i);
+            journal.finish(jobId, PrinterJobJournal.PRINTED, 1000 + i);
+        }
+
+        //act
+        journal.sync();
+
+        //assert
+        assertFalse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8).contains("Printed receipt"));
+    }
+
+    @Test
+    void sync_WhenFinishedJobIsOlderThanInterval_DropsItsContents() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("printer.journal");
+        PrinterJobJournal journal = new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE, PrinterJobJournal.DEFAULT_COMPACT_JOBS, 0);
+        long jobId = journal.accept(List.of(text("Printed receipt")), PrinterStationType.RECEIPT_PRINTER, 1000);
+        journal.finish(jobId, PrinterJobJournal.PRINTED, 1100);
+        long unfinishedJob = journal.accept(List.of(text("Unfinished")), PrinterStationType.RECEIPT_PRINTER, 2000);
+
+        //act
+        journal.sync();
+
+        //assert
+        String contents = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        assertFalse(contents.contains("Printed receipt"));
+        assertTrue(contents.contains("Unfinished"));
+        assertEquals(unfinishedJob, new PrinterJobJournal(path, PrinterJobJournal.DEFAULT_COMPACT_SIZE).getRecoveredJobs().get(0).getJobId());
+    }
+
+    @Test
+    void sync_WhenCompactionCannotSwapFile_JournalsAgainAfterNextSync() throws Exception {
+        //arrange
+        Path path = tempDir.resolve("printer.journal");
+        PrinterJobJournal journal = new PrinterJobJournal(path, 0);
+        long firstJob = journal.accept(List.of(text("First")), PrinterStationType.RECEIPT_PRINTER, 1000);
+        //A non-empty directory in place of the journal makes the move and the reopen fail
+        Files.delete(path);
+        Files.createDirectory(path);
+        Path blocker = Files.createFile(path.resolve("blocker"));
+        journal.sync();
+        long lostJob = journal.accept(List.of(text("Lost")), PrinterStationType.RECEIPT_PRINTER, 1500);
+        Files.delete(blocker);
+        Files.delete(path);
+
+        //act
+        journal.sync();
+        long secondJob = journal.accept(List.of(text("Second")), PrinterStationType.RECEIPT_PRINTER, 2000);
+
+        //assert
+        assertEquals(0, lostJob);
+        assertTrue(secondJob != 0);
+        List<PrinterJob> recoveredJobs = new PrinterJobJournal(path, 0).getRecoveredJobs();
+        assertEquals(2, recoveredJobs.size());
+        assertEquals(firstJob, recoveredJobs.get(0).getJobId());
+        assertEquals(secondJob, recoveredJobs.get(1).getJobId());
+    }
+
+    private static TextContent text(String data) {
+        TextContent textContent = new TextContent();
+        textContent.setType(ContentType.TEXT);
+        textContent.setData(data);
+        return textContent;
+    }
+
+    private static BarcodeContent barcode(String data) {
+        BarcodeContent barcodeContent = new BarcodeContent();
+        barcodeContent.setType(ContentType.BARCODE);
+        barcodeContent.setData(data);
+        return barcodeContent;
+    }
+}
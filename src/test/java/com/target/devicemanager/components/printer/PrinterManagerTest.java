@@ -1,18 +1,27 @@
 package com.target.devicemanager.components.printer;
 
+import com.target.devicemanager.common.DeviceClock;
+import com.target.devicemanager.common.DeviceListener;
+import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.VirtualDeviceClock;
 import com.target.devicemanager.common.entities.DeviceError;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealth;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
+import com.target.devicemanager.components.cashdrawer.CashDrawerDevice;
 import com.target.devicemanager.components.printer.entities.PrinterContent;
 import com.target.devicemanager.components.printer.entities.PrinterError;
 import com.target.devicemanager.components.printer.entities.PrinterException;
+import com.target.devicemanager.components.printer.entities.PrinterJob;
 import com.target.devicemanager.components.printer.entities.PrinterStationType;
+import com.target.devicemanager.components.printer.entities.TextContent;
+import jpos.CashDrawer;
 import jpos.JposConst;
 import jpos.JposException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -26,8 +35,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.*;
 
@@ -256,6 +267,139 @@ public class PrinterManagerTest {
         verify(mockPrinterLock).unlock();
     }
 
+    @Test
+    public void printReceipt_WhenJournal_JournalsJobAsPrinted() throws JposException, DeviceException {
+        //arrange
+        PrinterJobJournal mockJournal = mock(PrinterJobJournal.class);
+        PrinterManager journaledManager = new PrinterManager(mockPrinterDevice, mockPrinterLock, null, null, false, DeviceClock.system(), mockJournal, Runnable::run);
+        List<PrinterContent> testContents = new ArrayList<>();
+        when(mockPrinterLock.tryLock()).thenReturn(true);
+        when(mockJournal.accept(eq(testContents), eq(PrinterStationType.RECEIPT_PRINTER), anyLong())).thenReturn(7L);
+
+        //act
+        journaledManager.printReceipt(testContents);
+
+        //assert
+        verify(mockJournal).finish(eq(7L), eq(PrinterJobJournal.PRINTED), anyLong());
+        verify(mockPrinterLock).unlock();
+    }
+
+    @Test
+    public void printReceipt_WhenJournalAndPrintFails_JournalsJobAsFailed() throws JposException {
+        //arrange
+        PrinterJobJournal mockJournal = mock(PrinterJobJournal.class);
+        PrinterManager journaledManager = new PrinterManager(mockPrinterDevice, mockPrinterLock, null, null, false, DeviceClock.system(), mockJournal, Runnable::run);
+        List<PrinterContent> testContents = new ArrayList<>();
+        when(mockPrinterLock.tryLock()).thenReturn(true);
+        when(mockJournal.accept(eq(testContents), eq(PrinterStationType.RECEIPT_PRINTER), anyLong())).thenReturn(7L);
+        doThrow(new JposException(JposConst.JPOS_E_OFFLINE)).when(mockPrinterDevice).printContent(any(), anyInt());
+
+        //act
+        try {
+            journaledManager.printReceipt(testContents);
+        } catch (DeviceException deviceException) {
+            //assert
+            verify(mockJournal).finish(eq(7L), eq(PrinterJobJournal.FAILED), anyLong());
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
+
+    @Test
+    public void reprintJob_PrintsMarkerAndContents_AndJournalsReprint() throws JposException, DeviceException {
+        //arrange
+        PrinterJobJournal mockJournal = mock(PrinterJobJournal.class);
+        PrinterManager journaledManager = new PrinterManager(mockPrinterDevice, mockPrinterLock, null, null, false, DeviceClock.system(), mockJournal, Runnable::run);
+        TextContent textContent = new TextContent();
+        textContent.setData("Receipt");
+        when(mockJournal.getRecoveredJob(3L)).thenReturn(new PrinterJob(3L, "2026-10-19T10:00:00Z", PrinterStationType.RECEIPT_PRINTER, List.of(textContent)));
+        when(mockPrinterLock.tryLock()).thenReturn(true);
+
+        //act
+        journaledManager.reprintJob(3L);
+
+        //assert
+        ArgumentCaptor<List<PrinterContent>> contentsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(mockPrinterDevice).printContent(contentsCaptor.capture(), eq(PrinterStationType.RECEIPT_PRINTER.getValue()));
+        assertEquals(2, contentsCaptor.getValue().size());
+        assertEquals(PrinterManager.REPRINT_MARKER, contentsCaptor.getValue().get(0).data);
+        assertEquals("Receipt", contentsCaptor.getValue().get(1).data);
+        verify(mockJournal).finish(eq(3L), eq(PrinterJobJournal.REPRINTED), anyLong());
+        verify(mockJournal, never()).accept(any(), any(), anyLong());
+    }
+
+    @Test
+    public void reprintJob_WhenPrintFails_LeavesJobUnfinished() throws JposException {
+        //arrange
+        PrinterJobJournal mockJournal = mock(PrinterJobJournal.class);
+        PrinterManager journaledManager = new PrinterManager(mockPrinterDevice, mockPrinterLock, null, null, false, DeviceClock.system(), mockJournal, Runnable::run);
+        TextContent textContent = new TextContent();
+        textContent.setData("Receipt");
+        when(mockJournal.getRecoveredJob(3L)).thenReturn(new PrinterJob(3L, "2026-10-19T10:00:00Z", PrinterStationType.RECEIPT_PRINTER, List.of(textContent)));
+        when(mockPrinterLock.tryLock()).thenReturn(true);
+        doThrow(new JposException(JposConst.JPOS_E_OFFLINE)).when(mockPrinterDevice).printContent(any(), anyInt());
+
+        //act
+        try {
+            journaledManager.reprintJob(3L);
+        } catch (DeviceException deviceException) {
+            //assert
+            verify(mockJournal, never()).accept(any(), any(), anyLong());
+            verify(mockJournal, never()).finish(eq(3L), anyByte(), anyLong());
+            verify(mockPrinterLock).unlock();
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
+
+    @Test
+    public void connect_WhenStartupReprintFindsPrinterBusy_ReprintsOnNextConnect() throws JposException {
+        //arrange
+        PrinterJobJournal mockJournal = mock(PrinterJobJournal.class);
+        TextContent textContent = new TextContent();
+        textContent.setData("Receipt");
+        PrinterJob printerJob = new PrinterJob(3L, "2026-10-19T10:00:00Z", PrinterStationType.RECEIPT_PRINTER, List.of(textContent));
+        when(mockJournal.getRecoveredJobs()).thenReturn(List.of(printerJob));
+        when(mockJournal.getRecoveredJob(3L)).thenReturn(printerJob);
+        when(mockPrinterDevice.isConnected()).thenReturn(true);
+        when(mockPrinterLock.tryLock()).thenReturn(false, true);
+        System.setProperty("printerReprintOnStartup", "true");
+        PrinterManager journaledManager;
+        try {
+            journaledManager = new PrinterManager(mockPrinterDevice, mockPrinterLock, null, null, false, DeviceClock.system(), mockJournal, Runnable::run);
+        } finally {
+            System.clearProperty("printerReprintOnStartup");
+        }
+        journaledManager.connect();
+        verify(mockJournal, never()).finish(eq(3L), eq(PrinterJobJournal.REPRINTED), anyLong());
+
+        //act
+        journaledManager.connect();
+        journaledManager.connect();
+
+        //assert
+        verify(mockJournal).finish(eq(3L), eq(PrinterJobJournal.REPRINTED), anyLong());
+        verify(mockPrinterDevice).printContent(anyList(), eq(PrinterStationType.RECEIPT_PRINTER.getValue()));
+    }
+
+    @Test
+    public void reprintJob_WhenJobUnknown_ThrowsException() {
+        //arrange
+
+        //act
+        try {
+            printerManager.reprintJob(3L);
+        } catch (DeviceException deviceException) {
+            //assert
+            assertEquals(PrinterError.UNKNOWN_JOB, deviceException.getDeviceError());
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
+
     @Test
     public void printReceipt_WhenFutureThrowsTimeoutException() {
         // arrange
@@ -467,6 +611,72 @@ public class PrinterManagerTest {
         fail("Expected Exception, but got none");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void printReceipt_WhenDrawerPollsOnVirtualClock_DoesNotTimeOut() throws Exception {
+        //arrange
+        VirtualDeviceClock virtualDeviceClock = new VirtualDeviceClock(0, true);
+        PrinterManager clockedManager = new PrinterManager(mockPrinterDevice, mockPrinterLock, null, null, false, virtualDeviceClock, null, null);
+        DynamicDevice<CashDrawer> mockDynamicCashDrawer = mock(DynamicDevice.class);
+        CashDrawer mockCashDrawer = mock(CashDrawer.class);
+        when(mockDynamicCashDrawer.getDevice()).thenReturn(mockCashDrawer);
+        CashDrawerDevice cashDrawerDevice = new CashDrawerDevice(mockDynamicCashDrawer, mock(DeviceListener.class), new ReentrantLock(true), virtualDeviceClock);
+        cashDrawerDevice.setDeviceConnected(true);
+        doAnswer(invocation -> {
+            cashDrawerDevice.setCashDrawerOpen(true);
+            return null;
+        }).when(mockCashDrawer).openDrawer();
+        when(mockPrinterLock.tryLock()).thenReturn(true);
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return null;
+        }).when(mockPrinterDevice).printContent(any(), anyInt());
+        ExecutorService drawerExecutor = Executors.newSingleThreadExecutor();
+        Future<?> drawerPoll = drawerExecutor.submit(() -> {
+            cashDrawerDevice.openCashDrawer();
+            return null;
+        });
+        assertTrue(virtualDeviceClock.awaitWaiters(1, 1000));
+
+        //act
+        try {
+            clockedManager.printReceipt(new ArrayList<>());
+        } finally {
+            cashDrawerDevice.setCashDrawerOpen(false);
+            drawerPoll.get(5, TimeUnit.SECONDS);
+            drawerExecutor.shutdown();
+        }
+
+        //assert
+        verify(mockPrinterDevice).printContent(any(), eq(PrinterStationType.RECEIPT_PRINTER.getValue()));
+        verify(mockPrinterDevice, never()).forceUnlock();
+        verify(mockPrinterLock).unlock();
+    }
+
+    @Test
+    public void frankCheck_WhenDeadlinePasses_ForceUnlocksPrinter() throws Exception {
+        //arrange
+        DeviceClock mockDeviceClock = mock(DeviceClock.class);
+        PrinterManager clockedManager = new PrinterManager(mockPrinterDevice, mockPrinterLock, null, null, false, mockDeviceClock, null, null);
+        when(mockDeviceClock.participate()).thenReturn(DeviceClock.Participation.NONE);
+        List<PrinterContent> testContents = new ArrayList<>();
+        when(mockPrinterLock.tryLock()).thenReturn(true);
+        when(mockDeviceClock.get(any(), anyLong(), any())).thenThrow(new TimeoutException());
+
+        //act
+        try {
+            clockedManager.frankCheck(testContents);
+        } catch (PrinterException printerException) {
+            //assert
+            assertEquals(PrinterError.PRINTER_TIME_OUT, printerException.getDeviceError());
+            verify(mockPrinterDevice).forceUnlock();
+            verify(mockPrinterLock).unlock();
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
+
     @Test
     public void getHealth_WhenDeviceOffline_ShouldReturnNotReadyHealthResponse() {
         //arrange
@@ -15,8 +15,6 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -60,7 +58,7 @@ public class ScaleControllerTest {
     }
 
     @Test
-    public void getLiveWeight_CallsThroughToManager() throws IOException {
+    public void getLiveWeight_CallsThroughToManager() throws DeviceException {
         //arrange
 
         //act
@@ -71,9 +69,9 @@ public class ScaleControllerTest {
     }
 
     @Test
-    public void getLiveWeight_WhenThrowsError() throws IOException {
+    public void getLiveWeight_WhenThrowsError() throws DeviceException {
         //arrange
-        doThrow(new IOException()).when(mockScaleManager).subscribeToLiveWeight(any());
+        doThrow(new DeviceException(DeviceError.SSE_CONNECTION_LIMIT)).when(mockScaleManager).subscribeToLiveWeight(any());
 
         //act
         try {
@@ -81,9 +79,9 @@ public class ScaleControllerTest {
         }
 
         //assert
-        catch(IOException ioException) {
+        catch(DeviceException deviceException) {
             verify(mockScaleManager).subscribeToLiveWeight(any());
-            assertEquals(ioException.getMessage(), ioException.getMessage());
+            assertEquals(DeviceError.SSE_CONNECTION_LIMIT, deviceException.getDeviceError());
             return;
         }
         fail("Expected Exception, but got none.");
@@ -123,16 +121,16 @@ public class ScaleControllerTest {
     }
 
     @Test
-    public void getHealth_ReturnsHealthFromManager() {
+    public void getHealth_ReturnsHealthFromSnapshot() {
         //arrange
         DeviceHealthResponse expected = new DeviceHealthResponse("scale", DeviceHealth.READY);
-        when(mockScaleManager.getHealth()).thenReturn(expected);
+        when(mockScaleManager.getHealthSnapshot()).thenReturn(expected);
 
         //act
         DeviceHealthResponse actual = scaleController.getHealth();
 
         //assert
-        verify(mockScaleManager).getHealth();
+        verify(mockScaleManager).getHealthSnapshot();
         assertEquals(expected, actual);
     }
 
@@ -1,6 +1,7 @@
 package com.target.devicemanager.components.scale;
 
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.VirtualDeviceClock;
 import com.target.devicemanager.common.events.ConnectionEvent;
 import com.target.devicemanager.common.events.ConnectionEventListener;
 import com.target.devicemanager.components.scale.entities.FormattedWeight;
@@ -583,6 +584,25 @@ public class ScaleDeviceTest {
         verify(mockScaleEventListener, times(2)).scaleWeightErrorEventOccurred(any());
     }
 
+    @Test
+    public void startStableWeightRead_TimesOutOnVirtualClock() throws JposException {
+        //arrange
+        VirtualDeviceClock virtualDeviceClock = new VirtualDeviceClock(0, true);
+        ScaleDevice virtualClockScaleDevice = new ScaleDevice(mockDynamicScale, scaleEventListenerList, connectionEventListenerList, mockConnectLock, virtualDeviceClock);
+        doAnswer(invocation -> {
+            virtualDeviceClock.sleep(invocation.getArgument(1, Integer.class));
+            throw new JposException(JposConst.JPOS_E_TIMEOUT);
+        }).when(mockScale).readWeight(any(), anyInt());
+
+        //act
+        virtualClockScaleDevice.startStableWeightRead(30000);
+
+        //assert
+        verify(mockScale, times(31)).readWeight(any(), eq(1000));
+        verify(mockScaleEventListener).scaleWeightErrorEventOccurred(any());
+        assertEquals(31000, virtualDeviceClock.currentTimeMillis());
+    }
+
     @Test
     public void statusUpdateOccurred_PowerOff() {
         //arrange
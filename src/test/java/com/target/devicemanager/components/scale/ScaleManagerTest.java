@@ -1,5 +1,7 @@
 package com.target.devicemanager.components.scale;
 
+import com.target.devicemanager.common.SseConnection;
+import com.target.devicemanager.common.SseHub;
 import com.target.devicemanager.common.entities.DeviceError;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.common.entities.DeviceHealth;
@@ -20,10 +22,8 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.http.MediaType;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,14 +42,15 @@ public class ScaleManagerTest {
     private ScaleManager scaleManager;
     private ScaleManager scaleManagerListCacheEmitter;
     private List<CompletableFuture<FormattedWeight>> completableFutureFormattedWeightList;
-    private List<SseEmitter> sseEmitterList;
 
     @Mock
     private ScaleDevice mockScaleDevice;
     @Mock
     private CacheManager mockCacheManager;
     @Mock
-    private List<SseEmitter> mockSseEmitterList;
+    private SseHub mockSseHub;
+    @Mock
+    private SseConnection mockSseConnection;
     @Mock
     private List<CompletableFuture<FormattedWeight>> mockCompletableFutureFormattedWeightList;
     @Mock
@@ -111,14 +112,12 @@ public class ScaleManagerTest {
     public void testInitialize() {
         completableFutureFormattedWeightList = new ArrayList<>();
         completableFutureFormattedWeightList.add(mockCompletableFutureFormattedWeight);
-        sseEmitterList = new ArrayList<>();
-        sseEmitterList.add(mockSseEmitter);
-        scaleManager = new ScaleManager(mockScaleDevice, mockSseEmitterList, mockCompletableFutureFormattedWeightList);
-        scaleManagerListCacheEmitter = new ScaleManager(mockScaleDevice, sseEmitterList, completableFutureFormattedWeightList, mockCacheManager, mockSseEmitterList);
+        scaleManager = new ScaleManager(mockScaleDevice, mockSseHub, mockCompletableFutureFormattedWeightList);
+        scaleManagerListCacheEmitter = new ScaleManager(mockScaleDevice, mockSseHub, completableFutureFormattedWeightList, mockCacheManager);
     }
 
     @Test
-    public void ctor_WhenScaleDeviceAndLiveWeightAndStableWeightAreNull_ThrowsException() {
+    public void ctor_WhenScaleDeviceAndSseHubAndStableWeightAreNull_ThrowsException() {
         try {
             new ScaleManager(null, null, null);
         } catch (IllegalArgumentException iae) {
@@ -130,7 +129,7 @@ public class ScaleManagerTest {
     }
 
     @Test
-    public void ctor_WhenScaleDeviceAndLiveWeightAreNull_ThrowsException() {
+    public void ctor_WhenScaleDeviceAndSseHubAreNull_ThrowsException() {
         try {
             new ScaleManager(null, null, mockCompletableFutureFormattedWeightList);
         } catch (IllegalArgumentException iae) {
@@ -144,7 +143,7 @@ public class ScaleManagerTest {
     @Test
     public void ctor_WhenScaleDeviceAndStableWeightAreNull_ThrowsException() {
         try {
-            new ScaleManager(null, mockSseEmitterList, null);
+            new ScaleManager(null, mockSseHub, null);
         } catch (IllegalArgumentException iae) {
             assertEquals("scaleDevice cannot be null", iae.getMessage());
             return;
@@ -154,11 +153,11 @@ public class ScaleManagerTest {
     }
 
     @Test
-    public void ctor_WhenLiveWeightAndStableWeightAreNull_ThrowsException() {
+    public void ctor_WhenSseHubAndStableWeightAreNull_ThrowsException() {
         try {
             new ScaleManager(mockScaleDevice, null, null);
         } catch (IllegalArgumentException iae) {
-            assertEquals("liveWeightClients cannot be null", iae.getMessage());
+            assertEquals("sseHub cannot be null", iae.getMessage());
             return;
         }
 
@@ -168,7 +167,7 @@ public class ScaleManagerTest {
     @Test
     public void ctor_WhenScaleDeviceIsNull_ThrowsException() {
         try {
-            new ScaleManager(null, mockSseEmitterList, mockCompletableFutureFormattedWeightList);
+            new ScaleManager(null, mockSseHub, mockCompletableFutureFormattedWeightList);
         } catch (IllegalArgumentException iae) {
             assertEquals("scaleDevice cannot be null", iae.getMessage());
             return;
@@ -178,11 +177,11 @@ public class ScaleManagerTest {
     }
 
     @Test
-    public void ctor_WhenLiveWeightIsNull_ThrowsException() {
+    public void ctor_WhenSseHubIsNull_ThrowsException() {
         try {
             new ScaleManager(mockScaleDevice, null, mockCompletableFutureFormattedWeightList);
         } catch (IllegalArgumentException iae) {
-            assertEquals("liveWeightClients cannot be null", iae.getMessage());
+            assertEquals("sseHub cannot be null", iae.getMessage());
             return;
         }
 
@@ -192,7 +191,7 @@ public class ScaleManagerTest {
     @Test
     public void ctor_WhenStableWeightIsNull_ThrowsException() {
         try {
-            new ScaleManager(mockScaleDevice, mockSseEmitterList, null);
+            new ScaleManager(mockScaleDevice, mockSseHub, null);
         } catch (IllegalArgumentException iae) {
             assertEquals("stableWeightClients cannot be null", iae.getMessage());
             return;
@@ -202,9 +201,21 @@ public class ScaleManagerTest {
     }
 
     @Test
-    public void ctor_WhenScaleDeviceAndLiveWeightAndStableWeightAreNotNull_DoesNotThrowException() {
+    public void ctor_WhenDeviceClockIsNull_ThrowsException() {
+        try {
+            new ScaleManager(mockScaleDevice, mockSseHub, mockCompletableFutureFormattedWeightList, null, null);
+        } catch (IllegalArgumentException iae) {
+            assertEquals("deviceClock cannot be null", iae.getMessage());
+            return;
+        }
+
+        fail("Expected Exception, but got none");
+    }
+
+    @Test
+    public void ctor_WhenScaleDeviceAndSseHubAndStableWeightAreNotNull_DoesNotThrowException() {
         try {
-            new ScaleManager(mockScaleDevice, mockSseEmitterList, mockCompletableFutureFormattedWeightList);
+            new ScaleManager(mockScaleDevice, mockSseHub, mockCompletableFutureFormattedWeightList);
         } catch (Exception exception) {
             fail("Existing Device Arguments should not result in an Exception");
         }
@@ -294,43 +305,37 @@ public class ScaleManagerTest {
     }
 
     @Test
-    public void subscribeToLiveWeight_WhenEmitterCompletes() throws IOException {
-        //arrange
-        mockSseEmitter.complete();
-
-        //act
-        scaleManagerListCacheEmitter.subscribeToLiveWeight(mockSseEmitter);
-
-        //assert
-        verify(mockSseEmitter).onCompletion(any());
-        verify(mockSseEmitter).send(any(), eq(MediaType.APPLICATION_JSON));
-
-    }
-
-    @Test
-    public void subscribeToLiveWeight_WhenEmitterTimesOut() throws IOException {
+    public void subscribeToLiveWeight_SendsCurrentWeightToNewConnection() throws DeviceException {
         //arrange
+        FormattedWeight formattedWeight = new FormattedWeight(3);
+        when(mockSseHub.subscribe(ScaleManager.LIVE_WEIGHT_TOPIC, mockSseEmitter)).thenReturn(mockSseConnection);
+        when(mockScaleDevice.getLiveWeight()).thenReturn(formattedWeight);
 
         //act
-        scaleManagerListCacheEmitter.subscribeToLiveWeight(mockSseEmitter);
+        scaleManager.subscribeToLiveWeight(mockSseEmitter);
 
         //assert
-        verify(mockSseEmitter).onTimeout(any());
-        verify(mockSseEmitter).send(any(), eq(MediaType.APPLICATION_JSON));
-
+        verify(mockSseHub).subscribe(ScaleManager.LIVE_WEIGHT_TOPIC, mockSseEmitter);
+        verify(mockSseHub).send(mockSseConnection, null, null, formattedWeight);
     }
 
     @Test
-    public void subscribeToLiveWeight_VerifyEmitterList() throws IOException {
+    public void subscribeToLiveWeight_WhenConnectionLimitReached_ThrowsDeviceException() throws DeviceException {
         //arrange
+        when(mockSseHub.subscribe(ScaleManager.LIVE_WEIGHT_TOPIC, mockSseEmitter)).thenThrow(new DeviceException(DeviceError.SSE_CONNECTION_LIMIT));
 
         //act
-        scaleManager.subscribeToLiveWeight(mockSseEmitter);
+        try {
+            scaleManager.subscribeToLiveWeight(mockSseEmitter);
+        }
 
         //assert
-        verify(mockSseEmitterList).add(mockSseEmitter);
-        verify(mockSseEmitter).send(any(), eq(MediaType.APPLICATION_JSON));
-
+        catch (DeviceException deviceException) {
+            assertEquals(DeviceError.SSE_CONNECTION_LIMIT, deviceException.getDeviceError());
+            verify(mockSseHub, never()).send(any(), any(), any(), any());
+            return;
+        }
+        fail("Expected SSE_CONNECTION_LIMIT, but got none.");
     }
 
     @Test
@@ -444,32 +449,16 @@ public class ScaleManagerTest {
     }
 
     @Test
-    public void scaleLiveWeightEventOccurred_DoesNotThrowIOException() throws IOException {
-        //arrange
-        FormattedWeight formattedWeight = new FormattedWeight(3);
-        WeightEvent weightEvent = new WeightEvent(mockScaleDevice, formattedWeight);
-
-        //act
-        scaleManagerListCacheEmitter.scaleLiveWeightEventOccurred(weightEvent);
-
-        //assert
-        verify(mockSseEmitter).send(weightEvent.getWeight(), MediaType.APPLICATION_JSON);
-        verify(mockSseEmitterList).clear();
-    }
-
-    @Test
-    public void scaleLiveWeightEventOccurred_ThrowsIOException() throws IOException {
+    public void scaleLiveWeightEventOccurred_PublishesWeightToLiveWeightTopic() {
         //arrange
         FormattedWeight formattedWeight = new FormattedWeight(3);
         WeightEvent weightEvent = new WeightEvent(mockScaleDevice, formattedWeight);
-        doThrow(new IOException()).when(mockSseEmitter).send(weightEvent.getWeight(), MediaType.APPLICATION_JSON);
 
         //act
         scaleManagerListCacheEmitter.scaleLiveWeightEventOccurred(weightEvent);
 
         //assert
-        verify(mockSseEmitterList).add(mockSseEmitter);
-        verify(mockSseEmitterList).clear();
+        verify(mockSseHub).publish(ScaleManager.LIVE_WEIGHT_TOPIC, null, null, weightEvent.getWeight());
     }
 
     @Test
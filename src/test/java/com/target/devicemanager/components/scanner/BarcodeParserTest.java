@@ -0,0 +1,178 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.components.scanner.entities.ParsedBarcode;
+import jpos.ScannerConst;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarcodeParserTest {
+
+    private BarcodeParser barcodeParser;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String labelIdentifiersCsv = "UPOS Identifier Names,UPOS IDs,Tag Name,USA (code),EU (code)\n"
+                + "SCAN_SDT_UPCA,101,CI_LABEL_ID_UPCA,41,43\n"
+                + "SCAN_SDT_UPCE,102,CI_LABEL_ID_UPCE,45,45\n"
+                + "SCAN_SDT_EAN128,120,CI_LABEL_ID_EAN128,5D4331,6B\n"
+                + "SCAN_SDT_RSS_EXPANDED ,132,CI_LABEL_ID_DATABAR_EXPANDED,5258,74\n"
+                + "SCAN_SDT_Code39,108,CI_LABEL_ID_CODE39,2A,56\n";
+        BarcodeParser.SymbologyKind[] symbologyKinds = BarcodeParser.parseSymbologyKinds(new BufferedReader(new StringReader(labelIdentifiersCsv)));
+        barcodeParser = new BarcodeParser(symbologyKinds, true);
+    }
+
+    @Test
+    void parse_Gs1ElementString_ExtractsFields() {
+        //arrange
+        String data = "]C101095011010209171719050810ABC123\u001D3103000750";
+
+        //act
+        ParsedBarcode parsedBarcode = barcodeParser.parse(data, ScannerConst.SCAN_SDT_EAN128);
+
+        //assert
+        assertEquals("09501101020917", parsedBarcode.gtin);
+        assertTrue(parsedBarcode.checkDigitValid);
+        assertEquals("2019-05-08", parsedBarcode.expiry);
+        assertEquals("ABC123", parsedBarcode.batch);
+        assertEquals("0.750", parsedBarcode.netWeight);
+        assertEquals("kg", parsedBarcode.weightUnit);
+        assertEquals(4, parsedBarcode.applicationIdentifiers.size());
+        assertNull(parsedBarcode.unparsed);
+    }
+
+    @Test
+    void parse_Gs1PriceWithCurrencyAndSerial() {
+        //arrange
+        String data = "010950110102091721SN42\u001D39328401999";
+
+        //act
+        ParsedBarcode parsedBarcode = barcodeParser.parse(data, ScannerConst.SCAN_SDT_RSS_EXPANDED);
+
+        //assert
+        assertEquals("SN42", parsedBarcode.serial);
+        assertEquals("840", parsedBarcode.currency);
+        assertEquals("19.99", parsedBarcode.price);
+    }
+
+    @Test
+    void parse_Gs1HealthcareReimbursementAi_UsesThreeDigitAi() {
+        //arrange
+        String data = "010950110102091771012345\u001D10LOT7";
+
+        //act
+        ParsedBarcode parsedBarcode = barcodeParser.parse(data, ScannerConst.SCAN_SDT_EAN128);
+
+        //assert
+        assertEquals("12345", parsedBarcode.applicationIdentifiers.get("710"));
+        assertEquals("LOT7", parsedBarcode.batch);
+        assertNull(parsedBarcode.unparsed);
+    }
+
+    @Test
+    void parse_CachedResult_ApplicationIdentifiersAreUnmodifiable() {
+        //arrange
+        String data = "0109501101020917";
+        ParsedBarcode parsedBarcode = barcodeParser.parse(data, ScannerConst.SCAN_SDT_EAN128);
+
+        //act
+        assertThrows(UnsupportedOperationException.class, () -> parsedBarcode.applicationIdentifiers.put("10", "LOT"));
+
+        //assert
+        assertSame(parsedBarcode, barcodeParser.parse(data, ScannerConst.SCAN_SDT_EAN128));
+        assertEquals(1, barcodeParser.parse(data, ScannerConst.SCAN_SDT_EAN128).applicationIdentifiers.size());
+    }
+
+    @Test
+    void parse_Gs1DayZero_IsLastDayOfMonth() {
+        //arrange
+        String data = "17240200";
+
+        //act
+        ParsedBarcode parsedBarcode = barcodeParser.parse(data, ScannerConst.SCAN_SDT_EAN128);
+
+        //assert
+        assertEquals("2024-02-29", parsedBarcode.expiry);
+    }
+
+    @Test
+    void parse_Gs1UnknownAi_KeepsRemainder() {
+        //arrange
+        String data = "0109501101020917XX99";
+
+        //act
+        ParsedBarcode parsedBarcode = barcodeParser.parse(data, ScannerConst.SCAN_SDT_EAN128);
+
+        //assert
+        assertEquals("09501101020917", parsedBarcode.gtin);
+        assertEquals("XX99", parsedBarcode.unparsed);
+    }
+
+    @Test
+    void parse_UpcA_BuildsGtinAndChecksDigit() {
+        //arrange
+
+        //act
+        ParsedBarcode valid = barcodeParser.parse("036000291452", ScannerConst.SCAN_SDT_UPCA);
+        ParsedBarcode invalid = barcodeParser.parse("036000291453", ScannerConst.SCAN_SDT_UPCA);
+
+        //assert
+        assertEquals("00036000291452", valid.gtin);
+        assertTrue(valid.checkDigitValid);
+        assertFalse(valid.coupon);
+        assertFalse(invalid.checkDigitValid);
+    }
+
+    @Test
+    void parse_UpcE_ExpandsToUpcA() {
+        //arrange
+
+        //act
+        ParsedBarcode parsedBarcode = barcodeParser.parse("04252614", ScannerConst.SCAN_SDT_UPCE);
+
+        //assert
+        assertEquals("00042100005264", parsedBarcode.gtin);
+        assertTrue(parsedBarcode.checkDigitValid);
+    }
+
+    @Test
+    void parse_UpcNumberSystemFive_IsCoupon() {
+        //arrange
+
+        //act
+        ParsedBarcode parsedBarcode = barcodeParser.parse("512345678900", ScannerConst.SCAN_SDT_UPCA);
+
+        //assert
+        assertTrue(parsedBarcode.coupon);
+    }
+
+    @Test
+    void parse_SameLabel_ReturnsCachedResult() {
+        //arrange
+        ParsedBarcode first = barcodeParser.parse("036000291452", ScannerConst.SCAN_SDT_UPCA);
+
+        //act
+        ParsedBarcode second = barcodeParser.parse("036000291452", ScannerConst.SCAN_SDT_UPCA);
+
+        //assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void parse_SymbologyWithoutFields_ReturnsNull() {
+        //arrange
+
+        //act
+        ParsedBarcode code39 = barcodeParser.parse("ABC-123", ScannerConst.SCAN_SDT_Code39);
+        ParsedBarcode notInTable = barcodeParser.parse("ABC-123", ScannerConst.SCAN_SDT_OTHER);
+
+        //assert
+        assertNull(code39);
+        assertNull(notInTable);
+    }
+}
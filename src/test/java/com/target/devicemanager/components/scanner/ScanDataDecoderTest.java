@@ -0,0 +1,123 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.components.scanner.entities.Barcode;
+import com.target.devicemanager.components.scanner.entities.BarcodeType;
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import jpos.ScannerConst;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanDataDecoderTest {
+
+    private Charset[] eciCharsets;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String eciEncodingCsv = "//Lines beginning with '//' will be ignored by parser.,,\n"
+                + "0,, Default character set\n"
+                + "3,ISO8859_1, ISO/IEC 8859-1 Latin alphabet No. 1\n"
+                + "26,UTF8, ISO/IEC 10646 UTF-8\n"
+                + "27,NOT_A_CHARSET, Unsupported\n";
+        eciCharsets = ScanDataDecoder.parseEciCharsets(new BufferedReader(new StringReader(eciEncodingCsv)));
+    }
+
+    @Test
+    void parseEciCharsets_SkipsEmptyAndUnsupportedEntries() throws IOException {
+        //arrange
+        String eciEncodingCsv = "0,, Default character set\n"
+                + "3,ISO8859_1, ISO/IEC 8859-1 Latin alphabet No. 1\n"
+                + "not a number,UTF8\n"
+                + "27,NOT_A_CHARSET, Unsupported\n";
+
+        //act
+        Charset[] parsed = ScanDataDecoder.parseEciCharsets(new BufferedReader(new StringReader(eciEncodingCsv)));
+
+        //assert
+        assertEquals(4, parsed.length);
+        assertNull(parsed[0]);
+        assertEquals(StandardCharsets.ISO_8859_1, parsed[3]);
+    }
+
+    @Test
+    void decode_WithEciEscape_UsesEciCharsetAndStripsEscape() {
+        //arrange
+        ScanDataDecoder scanDataDecoder = new ScanDataDecoder(eciCharsets, false);
+        byte[] label = "\\000026Zürich \\\\ 東京".getBytes(StandardCharsets.UTF_8);
+
+        //act
+        Barcode barcode = scanDataDecoder.decode(label, ScannerConst.SCAN_SDT_QRCODE, ScannerType.HANDHELD);
+
+        //assert
+        assertEquals("Zürich \\ 東京", barcode.data);
+        assertEquals(BarcodeType.QRCODE, barcode.type);
+        assertEquals(ScannerType.HANDHELD, barcode.source);
+        assertNull(barcode.rawData);
+    }
+
+    @Test
+    void decode_WithoutEciEscape_UsesDefaultCharset() {
+        //arrange
+        ScanDataDecoder scanDataDecoder = new ScanDataDecoder(eciCharsets, false);
+        byte[] label = "012345678905".getBytes(Charset.defaultCharset());
+
+        //act
+        Barcode barcode = scanDataDecoder.decode(label, ScannerConst.SCAN_SDT_UPCA, ScannerType.FLATBED);
+
+        //assert
+        assertEquals("012345678905", barcode.data);
+        assertEquals(BarcodeType.UPCA, barcode.type);
+    }
+
+    @Test
+    void decode_When1DLabelStartsLikeEciEscape_KeepsWholeLabel() {
+        //arrange
+        ScanDataDecoder scanDataDecoder = new ScanDataDecoder(eciCharsets, false);
+        byte[] label = "\\000123ABC".getBytes(StandardCharsets.US_ASCII);
+
+        //act
+        Barcode barcode = scanDataDecoder.decode(label, ScannerConst.SCAN_SDT_Code128, ScannerType.HANDHELD);
+
+        //assert
+        assertEquals("\\000123ABC", barcode.data);
+        assertEquals(BarcodeType.CODE128, barcode.type);
+    }
+
+    @Test
+    void decode_WithRawDataEnabled_KeepsLabelForBinarySymbologiesOnly() {
+        //arrange
+        ScanDataDecoder scanDataDecoder = new ScanDataDecoder(eciCharsets, true);
+        byte[] pdf417Label = new byte[] {'@', 0x0A, 0x1E, 0x0D, 'A', 'N', 'S', 'I'};
+        byte[] upcLabel = "012345678905".getBytes(Charset.defaultCharset());
+
+        //act
+        Barcode pdf417 = scanDataDecoder.decode(pdf417Label, ScannerConst.SCAN_SDT_PDF417, ScannerType.HANDHELD);
+        Barcode upc = scanDataDecoder.decode(upcLabel, ScannerConst.SCAN_SDT_UPCA, ScannerType.FLATBED);
+
+        //assert
+        assertSame(pdf417Label, pdf417.rawData);
+        assertNull(upc.rawData);
+    }
+
+    @Test
+    void parseEciEscape_WhenNotAnEscape_ReturnsMinusOne() {
+        //arrange
+
+        //act
+        int tooShort = ScanDataDecoder.parseEciEscape("\\0026".getBytes(StandardCharsets.US_ASCII));
+        int notDigits = ScanDataDecoder.parseEciEscape("\\00002A1234".getBytes(StandardCharsets.US_ASCII));
+        int escape = ScanDataDecoder.parseEciEscape("\\000003abc".getBytes(StandardCharsets.US_ASCII));
+
+        //assert
+        assertEquals(-1, tooShort);
+        assertEquals(-1, notDigits);
+        assertEquals(3, escape);
+    }
+}
@@ -0,0 +1,139 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.common.VirtualDeviceClock;
+import com.target.devicemanager.components.scanner.entities.Barcode;
+import com.target.devicemanager.components.scanner.entities.BarcodeType;
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanDeduplicatorTest {
+
+    private VirtualDeviceClock virtualDeviceClock;
+    private SimpleMeterRegistry meterRegistry;
+    private ScanDeduplicator scanDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        virtualDeviceClock = new VirtualDeviceClock(1000);
+        meterRegistry = new SimpleMeterRegistry();
+        scanDeduplicator = new ScanDeduplicator(ScannerType.FLATBED, 500, virtualDeviceClock, meterRegistry);
+    }
+
+    @Test
+    void ctor_WhenScannerTypeIsNull_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new ScanDeduplicator(null, 500, virtualDeviceClock, meterRegistry));
+
+        //assert
+        assertEquals("scannerType cannot be null", exception.getMessage());
+    }
+
+    @Test
+    void isDuplicate_WhenSameLabelWithinWindow_ReturnsTrue() {
+        //arrange
+        scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+        virtualDeviceClock.advance(499);
+
+        //act
+        boolean duplicate = scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //assert
+        assertTrue(duplicate);
+        assertEquals(1, scanDeduplicator.getSuppressedCount());
+        assertEquals(1.0, meterRegistry.get("possum.scanner.duplicates.suppressed").tag("scanner", "FLATBED").counter().count());
+    }
+
+    @Test
+    void isDuplicate_WhenPooledScannerOfSameType_CountsPerScannerId() {
+        //arrange
+        ScanDeduplicator pooledDeduplicator = new ScanDeduplicator(ScannerType.FLATBED, "lane2", 500, virtualDeviceClock, meterRegistry);
+        pooledDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //act
+        boolean duplicate = pooledDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //assert
+        assertTrue(duplicate);
+        assertEquals(1.0, meterRegistry.get("possum.scanner.duplicates.suppressed").tag("scannerId", "lane2").counter().count());
+        assertEquals(0.0, meterRegistry.get("possum.scanner.duplicates.suppressed").tag("scannerId", "flatbed").counter().count());
+    }
+
+    @Test
+    void isDuplicate_WhenSameLabelAfterWindow_ReturnsFalse() {
+        //arrange
+        scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+        virtualDeviceClock.advance(500);
+
+        //act
+        boolean duplicate = scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //assert
+        assertFalse(duplicate);
+        assertEquals(0, scanDeduplicator.getSuppressedCount());
+    }
+
+    @Test
+    void isDuplicate_WhenLabelKeepsRepeating_KeepsSuppressing() {
+        //arrange
+        scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+        virtualDeviceClock.advance(400);
+        scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+        virtualDeviceClock.advance(400);
+
+        //act
+        boolean duplicate = scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //assert
+        assertTrue(duplicate);
+        assertEquals(2, scanDeduplicator.getSuppressedCount());
+    }
+
+    @Test
+    void isDuplicate_WhenSameDataDifferentSymbology_ReturnsFalse() {
+        //arrange
+        scanDeduplicator.isDuplicate(new Barcode("0012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //act
+        boolean duplicate = scanDeduplicator.isDuplicate(new Barcode("0012345678905", BarcodeType.EAN13, ScannerType.FLATBED));
+
+        //assert
+        assertFalse(duplicate);
+    }
+
+    @Test
+    void isDuplicate_WhenDifferentLabelInBetween_StillSuppressesRepeat() {
+        //arrange
+        scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+        scanDeduplicator.isDuplicate(new Barcode("036000291452", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //act
+        boolean duplicate = scanDeduplicator.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.FLATBED));
+
+        //assert
+        assertTrue(duplicate);
+    }
+
+    @Test
+    void isDuplicate_WhenWindowIsZero_ReturnsFalse() {
+        //arrange
+        ScanDeduplicator disabled = new ScanDeduplicator(ScannerType.HANDHELD, 0, virtualDeviceClock, meterRegistry);
+        disabled.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.HANDHELD));
+
+        //act
+        boolean duplicate = disabled.isDuplicate(new Barcode("012345678905", BarcodeType.UPCA, ScannerType.HANDHELD));
+
+        //assert
+        assertFalse(disabled.isEnabled());
+        assertFalse(duplicate);
+    }
+}
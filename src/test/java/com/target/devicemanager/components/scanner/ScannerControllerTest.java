@@ -6,6 +6,7 @@ import com.target.devicemanager.common.entities.DeviceHealth;
 import com.target.devicemanager.common.entities.DeviceHealthResponse;
 import com.target.devicemanager.components.scanner.entities.Barcode;
 import com.target.devicemanager.components.scanner.entities.ScannerException;
+import com.target.devicemanager.components.scanner.entities.ScannerSummary;
 import com.target.devicemanager.components.scanner.entities.ScannerType;
 import jpos.ScannerConst;
 import org.junit.jupiter.api.BeforeEach;
@@ -158,6 +159,57 @@ public class ScannerControllerTest {
         verify(mockScannerManager).cancelScanRequest();
     }
 
+    @Test
+    public void cancelScanRequest_WithScannerType_CallsThroughToManager() throws ScannerException {
+        //arrange
+
+        //act
+        scannerController.cancelScanRequest(ScannerType.FLATBED);
+
+        //assert
+        verify(mockScannerManager).cancelScanRequest(ScannerType.FLATBED);
+        verify(mockScannerManager, never()).cancelScanRequest();
+    }
+
+    @Test
+    public void getScannerDataById_WithScannerIds_CallsThroughToManager() throws ScannerException {
+        //arrange
+        Barcode expected = new Barcode("data", ScannerConst.SCAN_SDT_UPCA, ScannerType.FLATBED);
+        when(mockScannerManager.getDataById(List.of("flatbed", "lane2"))).thenReturn(expected);
+
+        //act
+        Barcode actual = scannerController.getScannerDataById(List.of("flatbed", "lane2"));
+
+        //assert
+        assertEquals(expected, actual);
+        verify(mockScannerManager, never()).getData(any());
+    }
+
+    @Test
+    public void cancelScanRequestById_WithScannerIds_CallsThroughToManager() throws ScannerException {
+        //arrange
+
+        //act
+        scannerController.cancelScanRequestById(List.of("lane2"));
+
+        //assert
+        verify(mockScannerManager).cancelScanRequestById(List.of("lane2"));
+        verify(mockScannerManager, never()).cancelScanRequest();
+    }
+
+    @Test
+    public void getScanners_ReturnsSummariesFromManager() {
+        //arrange
+        List<ScannerSummary> expectedList = List.of(new ScannerSummary("lane2", ScannerType.FLATBED, "Flatbed2", DeviceHealth.READY));
+        when(mockScannerManager.getScannerSummaries()).thenReturn(expectedList);
+
+        //act
+        ResponseEntity<List<ScannerSummary>> actual = scannerController.getScanners();
+
+        //assert
+        assertEquals(ResponseEntity.ok(expectedList), actual);
+    }
+
     @Test
     public void cancelScanRequest_WhenThrowsError() throws DeviceException {
         //arrange
@@ -186,16 +238,16 @@ public class ScannerControllerTest {
         expectedList.add(expectedHandheld);
         expectedList.add(expectedFlatbed);
         ResponseEntity<List<DeviceHealthResponse>> expected = ResponseEntity.ok(expectedList);
-        when(mockScannerManager.getHealth(any())).thenReturn(expectedList);
+        when(mockScannerManager.getHealthSnapshot(any())).thenReturn(expectedList);
 
         //act
         ResponseEntity<List<DeviceHealthResponse>> actual = scannerController.getHealth(null);
 
         //assert
         assertEquals(expected, actual);
-        verify(mockScannerManager).getHealth(ScannerType.BOTH);
-        verify(mockScannerManager, never()).getHealth(ScannerType.HANDHELD);
-        verify(mockScannerManager, never()).getHealth(ScannerType.FLATBED);
+        verify(mockScannerManager).getHealthSnapshot(ScannerType.BOTH);
+        verify(mockScannerManager, never()).getHealthSnapshot(ScannerType.HANDHELD);
+        verify(mockScannerManager, never()).getHealthSnapshot(ScannerType.FLATBED);
     }
 
     @Test
@@ -207,16 +259,16 @@ public class ScannerControllerTest {
         expectedList.add(expectedHandheld);
         expectedList.add(expectedFlatbed);
         ResponseEntity<List<DeviceHealthResponse>> expected = ResponseEntity.ok(expectedList);
-        when(mockScannerManager.getHealth(any())).thenReturn(expectedList);
+        when(mockScannerManager.getHealthSnapshot(any())).thenReturn(expectedList);
 
         //act
         ResponseEntity<List<DeviceHealthResponse>> actual = scannerController.getHealth(ScannerType.HANDHELD);
 
         //assert
         assertEquals(expected, actual);
-        verify(mockScannerManager, never()).getHealth(ScannerType.BOTH);
-        verify(mockScannerManager).getHealth(ScannerType.HANDHELD);
-        verify(mockScannerManager, never()).getHealth(ScannerType.FLATBED);
+        verify(mockScannerManager, never()).getHealthSnapshot(ScannerType.BOTH);
+        verify(mockScannerManager).getHealthSnapshot(ScannerType.HANDHELD);
+        verify(mockScannerManager, never()).getHealthSnapshot(ScannerType.FLATBED);
     }
 
     @Test
@@ -228,16 +280,16 @@ public class ScannerControllerTest {
         expectedList.add(expectedHandheld);
         expectedList.add(expectedFlatbed);
         ResponseEntity<List<DeviceHealthResponse>> expected = ResponseEntity.ok(expectedList);
-        when(mockScannerManager.getHealth(any())).thenReturn(expectedList);
+        when(mockScannerManager.getHealthSnapshot(any())).thenReturn(expectedList);
 
         //act
         ResponseEntity<List<DeviceHealthResponse>> actual = scannerController.getHealth(ScannerType.FLATBED);
 
         //assert
         assertEquals(expected, actual);
-        verify(mockScannerManager, never()).getHealth(ScannerType.BOTH);
-        verify(mockScannerManager, never()).getHealth(ScannerType.HANDHELD);
-        verify(mockScannerManager).getHealth(ScannerType.FLATBED);
+        verify(mockScannerManager, never()).getHealthSnapshot(ScannerType.BOTH);
+        verify(mockScannerManager, never()).getHealthSnapshot(ScannerType.HANDHELD);
+        verify(mockScannerManager).getHealthSnapshot(ScannerType.FLATBED);
     }
 
     @Test
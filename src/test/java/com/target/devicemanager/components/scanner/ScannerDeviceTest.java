@@ -2,11 +2,14 @@ package com.target.devicemanager.components.scanner;
 
 import com.target.devicemanager.common.DeviceListener;
 import com.target.devicemanager.common.DynamicDevice;
+import com.target.devicemanager.common.VirtualDeviceClock;
 import com.target.devicemanager.common.entities.DeviceException;
 import com.target.devicemanager.components.cashdrawer.CashDrawerDeviceListener;
 import com.target.devicemanager.components.scanner.entities.Barcode;
+import com.target.devicemanager.components.scanner.entities.ScannerException;
 import com.target.devicemanager.components.scanner.entities.ScannerType;
 import com.target.devicemanager.configuration.ApplicationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jpos.JposConst;
 import jpos.JposException;
 import jpos.Scanner;
@@ -14,13 +17,20 @@ import jpos.events.DataEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -532,6 +542,28 @@ public class ScannerDeviceTest {
         assertEquals(expectedSource, barcode.source);
     }
 
+    @Test
+    public void getScannerData_WhenDuplicateWithinWindow_ReturnsNextLabel() throws JposException {
+        //arrange
+        VirtualDeviceClock virtualDeviceClock = new VirtualDeviceClock(1000);
+        ScanDeduplicator scanDeduplicator = new ScanDeduplicator(ScannerType.FLATBED, 500, virtualDeviceClock, new SimpleMeterRegistry());
+        ScannerDevice dedupScannerDevice = new ScannerDevice(mockDeviceListener, mockDynamicFlatbedScanner, ScannerType.FLATBED, new ReentrantLock(true), new ApplicationConfig(), scanDeduplicator, Runnable::run, null, null);
+        byte[] firstLabel = {'0', '1', '2', '3'};
+        byte[] secondLabel = {'4', '5', '6', '7'};
+        when(mockFlatbedScanner.getScanDataLabel()).thenReturn(firstLabel, firstLabel, secondLabel);
+        when(mockFlatbedScanner.getScanDataType()).thenReturn(101);
+        when(mockDeviceListener.waitForData()).thenReturn(new DataEvent(mockFlatbedScanner, 1));
+        dedupScannerDevice.getScannerData();
+
+        //act
+        Barcode barcode = dedupScannerDevice.getScannerData();
+
+        //assert
+        verify(mockDeviceListener, times(3)).waitForData();
+        assertEquals(new String(secondLabel, Charset.defaultCharset()), barcode.data);
+        assertEquals(1, scanDeduplicator.getSuppressedCount());
+    }
+
     class TestInterruptingThread extends Thread{
         public void run() {
             try {
@@ -583,6 +615,81 @@ public class ScannerDeviceTest {
         verify(mockDeviceListener).stopWaitingForData();
     }
 
+    @Test
+    public void cancelScannerData_WithDeviceWorker_ReleasesWaiterBeforeDisable() throws JposException {
+        //arrange
+        List<Runnable> queuedWork = new ArrayList<>();
+        ScannerDevice workerScannerDevice = new ScannerDevice(mockDeviceListener, mockDynamicFlatbedScanner, ScannerType.FLATBED, new ReentrantLock(true), new ApplicationConfig(), null, queuedWork::add, null, null);
+
+        //act
+        workerScannerDevice.cancelScannerData();
+
+        //assert
+        verify(mockDeviceListener).stopWaitingForData();
+        verify(mockFlatbedScanner, never()).setDeviceEnabled(false);
+        assertEquals(1, queuedWork.size());
+        queuedWork.get(0).run();
+        verify(mockFlatbedScanner).setDeviceEnabled(false);
+    }
+
+    @Test
+    public void getScannerData_WhenStartedWhileCancelReleasesWaiter_WaitsForDisable() throws Exception {
+        //arrange
+        List<Runnable> queuedWork = new ArrayList<>();
+        ScannerDevice workerScannerDevice = new ScannerDevice(mockDeviceListener, mockDynamicFlatbedScanner, ScannerType.FLATBED, new ReentrantLock(true), new ApplicationConfig(), null, queuedWork::add, null, null);
+        AtomicReference<CompletableFuture<Barcode>> nextSession = new AtomicReference<>();
+        doAnswer(invocation -> {
+            //The released client starts its next session before cancelScannerData returns
+            nextSession.set(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return workerScannerDevice.getScannerData();
+                } catch (JposException jposException) {
+                    throw new CompletionException(jposException);
+                }
+            }));
+            Thread.sleep(100);
+            return null;
+        }).when(mockDeviceListener).stopWaitingForData();
+        when(mockDeviceListener.waitForData()).thenThrow(new JposException(JposConst.JPOS_E_CLOSED));
+
+        //act
+        workerScannerDevice.cancelScannerData();
+
+        //assert
+        assertFalse(nextSession.get().isDone());
+        verify(mockDeviceListener, never()).startEventListeners();
+        assertEquals(1, queuedWork.size());
+        queuedWork.get(0).run();
+        assertThrows(ExecutionException.class, () -> nextSession.get().get(5, TimeUnit.SECONDS));
+        InOrder inOrder = inOrder(mockFlatbedScanner, mockDeviceListener);
+        inOrder.verify(mockFlatbedScanner).setDeviceEnabled(false);
+        inOrder.verify(mockDeviceListener).startEventListeners();
+    }
+
+    @Test
+    public void getScannerData_WhenHandheldEnableFailsWithSupervisor_FailsFastAndRecoversInBackground() throws JposException {
+        //arrange
+        List<Runnable> queuedWork = new ArrayList<>();
+        ScannerHealthSupervisor scannerHealthSupervisor = new ScannerHealthSupervisor(ScannerType.HANDHELD, queuedWork::add, new SimpleMeterRegistry());
+        ScannerDevice supervisedScannerDevice = new ScannerDevice(mockDeviceListener, mockDynamicHandheldScanner, ScannerType.HANDHELD, new ReentrantLock(true), new ApplicationConfig(), null, queuedWork::add, scannerHealthSupervisor, null);
+        doThrow(new JposException(JposConst.JPOS_E_FAILURE)).doNothing().when(mockHandheldScanner).setDeviceEnabled(true);
+
+        //act
+        JposException jposException = assertThrows(JposException.class, supervisedScannerDevice::getScannerData);
+
+        //assert
+        assertEquals(JposConst.JPOS_E_BUSY, jposException.getErrorCode());
+        assertEquals(ScannerException.RECOVERING_ERROR_CODE_EXTENDED, jposException.getErrorCodeExtended());
+        verify(mockDynamicHandheldScanner, never()).disconnect();
+        verify(mockDeviceListener, never()).waitForData();
+        assertTrue(scannerHealthSupervisor.isRecovering());
+        assertEquals(1, queuedWork.size());
+        queuedWork.get(0).run();
+        verify(mockDynamicHandheldScanner).disconnect();
+        verify(mockHandheldScanner).setDeviceEnabled(false);
+        assertFalse(scannerHealthSupervisor.isRecovering());
+    }
+
     @Test
     public void getDeviceName_Returns() throws JposException {
         //arrange
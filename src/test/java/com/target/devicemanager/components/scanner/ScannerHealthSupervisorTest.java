@@ -0,0 +1,117 @@
+package com.target.devicemanager.components.scanner;
+
+import com.target.devicemanager.components.scanner.entities.ScannerType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScannerHealthSupervisorTest {
+
+    private List<Runnable> queuedWork;
+    private SimpleMeterRegistry meterRegistry;
+    private ScannerHealthSupervisor scannerHealthSupervisor;
+
+    @BeforeEach
+    void setUp() {
+        queuedWork = new ArrayList<>();
+        meterRegistry = new SimpleMeterRegistry();
+        scannerHealthSupervisor = new ScannerHealthSupervisor(ScannerType.HANDHELD, queuedWork::add, meterRegistry);
+    }
+
+    @Test
+    void ctor_WhenRecoveryWorkerIsNull_ThrowsException() {
+        //arrange
+
+        //act
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new ScannerHealthSupervisor(ScannerType.HANDHELD, null, meterRegistry));
+
+        //assert
+        assertEquals("recoveryWorker cannot be null", exception.getMessage());
+    }
+
+    @Test
+    void recordEnable_WhenSingleSlowEnable_RecoveryNotDue() {
+        //arrange
+        scannerHealthSupervisor.recordEnable(100);
+        scannerHealthSupervisor.recordEnable(100);
+
+        //act
+        scannerHealthSupervisor.recordEnable(1500);
+
+        //assert
+        assertFalse(scannerHealthSupervisor.isRecoveryDue());
+        assertEquals(3, meterRegistry.get("possum.scanner.enable.latency").tag("scanner", "HANDHELD").timer().count());
+    }
+
+    @Test
+    void recordEnable_WhenEnablesTrendPastTimeout_RecoveryDue() {
+        //arrange
+        scannerHealthSupervisor.recordEnable(1500);
+        scannerHealthSupervisor.recordEnable(1500);
+
+        //act
+        scannerHealthSupervisor.recordEnable(1500);
+
+        //assert
+        assertTrue(scannerHealthSupervisor.isRecoveryDue());
+    }
+
+    @Test
+    void recover_WhenAlreadyRecovering_DoesNotStartSecond() {
+        //arrange
+        AtomicInteger recoveries = new AtomicInteger();
+        scannerHealthSupervisor.recover(recoveries::incrementAndGet);
+
+        //act
+        boolean started = scannerHealthSupervisor.recover(recoveries::incrementAndGet);
+
+        //assert
+        assertFalse(started);
+        assertTrue(scannerHealthSupervisor.isRecovering());
+        assertEquals(1, queuedWork.size());
+        assertEquals(1.0, meterRegistry.get("possum.scanner.recoveries").tag("scanner", "HANDHELD").counter().count());
+    }
+
+    @Test
+    void recover_WhenRecoveryFinishes_ClearsRecoveringAndDue() {
+        //arrange
+        AtomicInteger recoveries = new AtomicInteger();
+        scannerHealthSupervisor.recordEnable(3000);
+        scannerHealthSupervisor.recover(recoveries::incrementAndGet);
+
+        //act
+        queuedWork.get(0).run();
+
+        //assert
+        assertEquals(1, recoveries.get());
+        assertFalse(scannerHealthSupervisor.isRecovering());
+        assertFalse(scannerHealthSupervisor.isRecoveryDue());
+        assertEquals(0, scannerHealthSupervisor.getAverageEnableMillis());
+    }
+
+    @Test
+    void recover_WhenPooledScannersOfOneType_CountsPerScannerId() {
+        //arrange
+        ScannerHealthSupervisor pooledSupervisor = new ScannerHealthSupervisor(ScannerType.HANDHELD, "lane2", queuedWork::add, meterRegistry);
+        pooledSupervisor.recordEnable(100);
+
+        //act
+        pooledSupervisor.recover(() -> { });
+
+        //assert
+        assertEquals(1.0, meterRegistry.get("possum.scanner.recoveries").tag("scannerId", "lane2").counter().count());
+        assertEquals(0.0, meterRegistry.get("possum.scanner.recoveries").tag("scannerId", "handheld").counter().count());
+        assertEquals(1, meterRegistry.get("possum.scanner.enable.latency").tag("scannerId", "lane2").timer().count());
+        assertEquals(0, meterRegistry.get("possum.scanner.enable.latency").tag("scannerId", "handheld").timer().count());
+    }
+}
@@ -47,6 +47,10 @@ public class ScannerManagerTest {
     @Mock
     private Lock mockScannerLock;
     @Mock
+    private Lock mockFlatbedLock;
+    @Mock
+    private Lock mockHandheldLock;
+    @Mock
     private ExecutorService mockExecutor;
     @Mock
     private Future<Boolean> mockFuture;
@@ -388,6 +392,178 @@ public class ScannerManagerTest {
         verify(mockHandheldScannerDevice).cancelScannerData();
     }
 
+    @Test
+    public void getData_WhenOtherScannerInSession_ScansIndependently() throws ScannerException, JposException {
+        //arrange
+        ScannerManager stripedScannerManager = new ScannerManager(scannerDevices, Map.of(ScannerType.FLATBED, mockFlatbedLock, ScannerType.HANDHELD, mockHandheldLock), null, null, null, false);
+        when(mockFlatbedLock.tryLock()).thenReturn(false);
+        when(mockHandheldLock.tryLock()).thenReturn(true);
+        when(mockFlatbedScannerDevice.getScannerType()).thenReturn("FLATBED");
+        when(mockHandheldScannerDevice.getScannerType()).thenReturn("HANDHELD");
+
+        //act
+        stripedScannerManager.getData(ScannerType.HANDHELD);
+
+        //assert
+        verify(mockHandheldScannerDevice).getScannerData();
+        verify(mockHandheldScannerDevice).cancelScannerData();
+        verify(mockFlatbedScannerDevice, never()).getScannerData();
+        verify(mockFlatbedScannerDevice, never()).cancelScannerData();
+        verify(mockFlatbedLock, never()).tryLock();
+        verify(mockHandheldLock).unlock();
+    }
+
+    @Test
+    public void getData_WhenBothAndOneScannerInSession_ThrowsBusyAndReleasesLocks() throws JposException {
+        //arrange
+        ScannerManager stripedScannerManager = new ScannerManager(scannerDevices, Map.of(ScannerType.FLATBED, mockFlatbedLock, ScannerType.HANDHELD, mockHandheldLock), null, null, null, false);
+        when(mockFlatbedLock.tryLock()).thenReturn(false);
+        when(mockHandheldLock.tryLock()).thenReturn(true);
+
+        //act
+        try {
+            stripedScannerManager.getData(ScannerType.BOTH);
+        }
+        //assert
+        catch (ScannerException scannerException) {
+            verify(mockHandheldLock).unlock();
+            verify(mockFlatbedLock, never()).unlock();
+            verify(mockHandheldScannerDevice, never()).getScannerData();
+            verify(mockFlatbedScannerDevice, never()).getScannerData();
+            assertEquals(DeviceError.DEVICE_BUSY, scannerException.getDeviceError());
+            return;
+        }
+        fail("Expected Exception, but got none");
+    }
+
+    @Test
+    public void cancelScanRequest_WithScannerType_DisablesOnlyThatScanner() throws ScannerException {
+        //arrange
+        ScannerManager stripedScannerManager = new ScannerManager(scannerDevices, Map.of(ScannerType.FLATBED, mockFlatbedLock, ScannerType.HANDHELD, mockHandheldLock), null, null, null, false);
+        when(mockFlatbedLock.tryLock()).thenReturn(false);
+        when(mockHandheldLock.tryLock()).thenReturn(false);
+        when(mockFlatbedScannerDevice.getScannerType()).thenReturn("FLATBED");
+        when(mockHandheldScannerDevice.getScannerType()).thenReturn("HANDHELD");
+
+        //act
+        stripedScannerManager.cancelScanRequest(ScannerType.FLATBED);
+
+        //assert
+        verify(mockFlatbedScannerDevice).cancelScannerData();
+        verify(mockHandheldScannerDevice, never()).cancelScannerData();
+        verify(mockHandheldLock, never()).tryLock();
+    }
+
+    @Test
+    public void getDataById_WithScannerIds_RacesOnlyListedScanners() throws ScannerException, JposException {
+        //arrange
+        ScannerDevice mockPooledScannerDevice = mock(ScannerDevice.class);
+        scannerDevices.add(mockPooledScannerDevice);
+        when(mockHandheldScannerDevice.getScannerId()).thenReturn("handheld");
+        when(mockFlatbedScannerDevice.getScannerId()).thenReturn("flatbed");
+        when(mockPooledScannerDevice.getScannerId()).thenReturn("lane2");
+        when(mockHandheldLock.tryLock()).thenReturn(true);
+        when(mockFlatbedLock.tryLock()).thenReturn(false);
+        Iterator<Lock> locks = List.of(mockHandheldLock, mockFlatbedLock, mockScannerLock).iterator();
+        ScannerManager pooledScannerManager = new ScannerManager(scannerDevices, locks::next, null, null, null, false);
+        when(mockScannerLock.tryLock()).thenReturn(true);
+
+        //act
+        pooledScannerManager.getDataById(List.of("handheld", "lane2"));
+
+        //assert
+        verify(mockHandheldScannerDevice).cancelScannerData();
+        verify(mockPooledScannerDevice).cancelScannerData();
+        verify(mockFlatbedScannerDevice, never()).getScannerData();
+        verify(mockFlatbedLock, never()).tryLock();
+        verify(mockHandheldLock).unlock();
+        verify(mockScannerLock).unlock();
+    }
+
+    @Test
+    public void getData_WhenPooledScannerInIdSession_ScansOnlyDefaultScanner() throws ScannerException, JposException {
+        //arrange
+        ScannerDevice mockPooledScannerDevice = mock(ScannerDevice.class);
+        scannerDevices.add(mockPooledScannerDevice);
+        when(mockHandheldScannerDevice.getScannerId()).thenReturn("handheld");
+        when(mockHandheldScannerDevice.getScannerType()).thenReturn("HANDHELD");
+        when(mockFlatbedScannerDevice.getScannerId()).thenReturn("flatbed");
+        when(mockFlatbedScannerDevice.getScannerType()).thenReturn("FLATBED");
+        when(mockPooledScannerDevice.getScannerId()).thenReturn("lane2");
+        when(mockPooledScannerDevice.getScannerType()).thenReturn("HANDHELD");
+        Iterator<Lock> locks = List.of(mockHandheldLock, mockFlatbedLock, mockScannerLock).iterator();
+        ScannerManager pooledScannerManager = new ScannerManager(scannerDevices, locks::next, null, null, null, false);
+        when(mockHandheldLock.tryLock()).thenReturn(true);
+        when(mockScannerLock.tryLock()).thenReturn(false);
+
+        //act
+        pooledScannerManager.getData(ScannerType.HANDHELD);
+
+        //assert
+        verify(mockHandheldScannerDevice).getScannerData();
+        verify(mockHandheldLock).unlock();
+        verify(mockPooledScannerDevice, never()).getScannerData();
+        verify(mockPooledScannerDevice, never()).cancelScannerData();
+        verify(mockScannerLock, never()).tryLock();
+    }
+
+    @Test
+    public void getDataById_WithUnknownScannerId_ThrowsUnknownDevice() throws JposException {
+        //arrange
+        when(mockHandheldScannerDevice.getScannerId()).thenReturn("handheld");
+        when(mockFlatbedScannerDevice.getScannerId()).thenReturn("flatbed");
+        ScannerManager pooledScannerManager = new ScannerManager(scannerDevices, () -> mockScannerLock, null, null, null, false);
+
+        //act
+        try {
+            pooledScannerManager.getDataById(List.of("handheld", "lane9"));
+        }
+        //assert
+        catch (ScannerException scannerException) {
+            assertEquals(DeviceError.UNKNOWN_DEVICE, scannerException.getDeviceError());
+            verify(mockScannerLock, never()).tryLock();
+            verify(mockHandheldScannerDevice, never()).getScannerData();
+            return;
+        }
+        fail("Expected Exception, but got none");
+    }
+
+    @Test
+    public void cancelScanRequestById_WithScannerId_DisablesOnlyThatScanner() throws ScannerException {
+        //arrange
+        when(mockHandheldScannerDevice.getScannerId()).thenReturn("handheld");
+        when(mockFlatbedScannerDevice.getScannerId()).thenReturn("flatbed");
+        Iterator<Lock> locks = List.of(mockHandheldLock, mockFlatbedLock).iterator();
+        ScannerManager pooledScannerManager = new ScannerManager(scannerDevices, locks::next, null, null, null, false);
+        when(mockFlatbedLock.tryLock()).thenReturn(false);
+
+        //act
+        pooledScannerManager.cancelScanRequestById(List.of("flatbed"));
+
+        //assert
+        verify(mockFlatbedScannerDevice).cancelScannerData();
+        verify(mockHandheldScannerDevice, never()).cancelScannerData();
+        verify(mockHandheldLock, never()).tryLock();
+    }
+
+    @Test
+    public void ctor_WhenScannerIdsRepeat_ThrowsException() {
+        //arrange
+        when(mockHandheldScannerDevice.getScannerId()).thenReturn("lane2");
+        when(mockFlatbedScannerDevice.getScannerId()).thenReturn("lane2");
+
+        //act
+        try {
+            new ScannerManager(scannerDevices, () -> mockScannerLock, null, null, null, false);
+        }
+        //assert
+        catch (IllegalArgumentException iae) {
+            assertEquals("scannerId lane2 is not unique", iae.getMessage());
+            return;
+        }
+        fail("Expected Exception, but got none");
+    }
+
     @Test
     public void getHealth_WhenFlatbedDeviceOffline_ShouldReturnNotReadyHealthResponse() {
         //arrange
@@ -502,6 +678,32 @@ public class ScannerManagerTest {
         assertEquals(expectedList.toString(), testCache.get("health").get().toString());
     }
 
+    @Test
+    public void getHealth_WhenPooledScannerOfType_ReportsDefaultScannerOnly() {
+        //arrange
+        ScannerDevice mockPooledScannerDevice = mock(ScannerDevice.class);
+        scannerDevices.add(mockPooledScannerDevice);
+        when(mockHandheldScannerDevice.isConnected()).thenReturn(true);
+        when(mockHandheldScannerDevice.getDeviceName()).thenReturn("HANDHELD");
+        when(mockHandheldScannerDevice.getScannerType()).thenReturn("HANDHELD");
+        when(mockFlatbedScannerDevice.getScannerType()).thenReturn("FLATBED");
+        when(mockPooledScannerDevice.getScannerId()).thenReturn("lane2");
+        when(mockPooledScannerDevice.getScannerType()).thenReturn("HANDHELD");
+        when(mockPooledScannerDevice.getDeviceName()).thenReturn("lane2");
+        when(mockCacheManager.getCache("scannerHealth")).thenReturn(testCache);
+
+        //act
+        List<DeviceHealthResponse> deviceHealthResponseList = scannerManagerCache.getHealth(ScannerType.HANDHELD);
+        List<DeviceHealthResponse> snapshotList = scannerManagerCache.getHealthSnapshot(ScannerType.HANDHELD);
+
+        //assert
+        assertEquals(1, deviceHealthResponseList.size());
+        assertEquals("HANDHELD", deviceHealthResponseList.get(0).getDeviceName());
+        assertEquals(1, snapshotList.size());
+        assertEquals("HANDHELD", snapshotList.get(0).getDeviceName());
+        verify(mockPooledScannerDevice, never()).isConnected();
+    }
+
     @Test
     public void getStatus_WhenCacheExists() {
         //arrange
@@ -640,6 +842,29 @@ public class ScannerManagerTest {
         assertEquals(DeviceHealth.READY, actual);
     }
 
+    @Test
+    void getScannerHealthStatus_WhenPooledHandheldListedLast_ReportsDefaultScanner() {
+        //arrange
+        ScannerDevice mockPooledScannerDevice = mock(ScannerDevice.class);
+        scannerDevices.add(mockPooledScannerDevice);
+        List<DeviceHealthResponse> devReady = new ArrayList<>();
+        devReady.add(new DeviceHealthResponse("Honeywell", DeviceHealth.READY));
+        devReady.add(new DeviceHealthResponse("Pooled", DeviceHealth.NOTREADY));
+        Mockito.doReturn(devReady).when(scannerManagerCache).getStatus();
+        Mockito.doReturn("Honeywell").when(mockHandheldScannerDevice).getDeviceName();
+        Mockito.doReturn("HANDHELD").when(mockHandheldScannerDevice).getScannerType();
+        Mockito.doReturn("FLATBED").when(mockFlatbedScannerDevice).getScannerType();
+        Mockito.doReturn("Pooled").when(mockPooledScannerDevice).getDeviceName();
+        Mockito.doReturn("HANDHELD").when(mockPooledScannerDevice).getScannerType();
+        Mockito.doReturn("lane2").when(mockPooledScannerDevice).getScannerId();
+
+        //act
+        DeviceHealth actual = scannerManagerCache.getScannerHealthStatus("HANDHELD");
+
+        //assert
+        assertEquals(DeviceHealth.READY, actual);
+    }
+
     @Test
     void getScannerHealthStatus_HandheldScanner_missing() {
         //arrange
@@ -0,0 +1,35 @@
+package com.target.devicemanager.components.scanner.entities;
+
+import com.target.devicemanager.common.entities.DeviceError;
+import jpos.JposConst;
+import jpos.JposException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScannerExceptionTest {
+
+    @Test
+    void ctor_WhenJposBusy_MapsToDeviceBusy() {
+        //arrange
+        JposException jposException = new JposException(JposConst.JPOS_E_BUSY);
+
+        //act
+        ScannerException scannerException = new ScannerException(jposException);
+
+        //assert
+        assertEquals(DeviceError.DEVICE_BUSY, scannerException.getDeviceError());
+    }
+
+    @Test
+    void ctor_WhenJposBusyWhileRecovering_MapsToRecovering() {
+        //arrange
+        JposException jposException = new JposException(JposConst.JPOS_E_BUSY, ScannerException.RECOVERING_ERROR_CODE_EXTENDED, "HANDHELD reconnect in progress");
+
+        //act
+        ScannerException scannerException = new ScannerException(jposException);
+
+        //assert
+        assertEquals(ScannerError.RECOVERING, scannerException.getDeviceError());
+    }
+}